@@ -34,6 +34,7 @@ import org.opencms.ade.detailpage.CmsDetailPageConfigurationWriter;
 import org.opencms.ade.detailpage.CmsDetailPageInfo;
 import org.opencms.ade.detailpage.CmsSitemapDetailPageFinder;
 import org.opencms.ade.detailpage.I_CmsDetailPageFinder;
+import org.opencms.ade.galleries.CmsGalleryIndex;
 import org.opencms.configuration.CmsSystemConfiguration;
 import org.opencms.db.I_CmsProjectDriver;
 import org.opencms.file.CmsFile;
@@ -70,6 +71,7 @@ import org.opencms.xml.content.CmsXmlContentFactory;
 import org.opencms.xml.content.CmsXmlContentProperty;
 import org.opencms.xml.content.CmsXmlContentPropertyHelper;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -181,6 +183,9 @@ public class CmsADEManager {
     /** The sitemap configuration file type. */
     private I_CmsResourceType m_configType;
 
+    /** The snapshot of the configuration files shared by the online and offline cache. */
+    private CmsConfigurationSnapshot m_configurationSnapshot;
+
     /** The detail page finder. */
     private I_CmsDetailPageFinder m_detailPageFinder = new CmsSitemapDetailPageFinder();
 
@@ -199,6 +204,9 @@ public class CmsADEManager {
     /** The offline inherited container configuration cache. */
     private CmsContainerConfigurationCache m_offlineContainerConfigurationCache;
 
+    /** The offline gallery index. */
+    private CmsGalleryIndex m_offlineGalleryIndex;
+
     /** The offline cache instance. */
     private CmsConfigurationCache m_onlineCache;
 
@@ -208,6 +216,9 @@ public class CmsADEManager {
     /** The online inherited container configuration cache. */
     private CmsContainerConfigurationCache m_onlineContainerConfigurationCache;
 
+    /** The online gallery index. */
+    private CmsGalleryIndex m_onlineGalleryIndex;
+
     /** ADE parameters. */
     private Map<String, String> m_parameters;
 
@@ -436,6 +447,20 @@ public class CmsADEManager {
         return favList;
     }
 
+    /**
+     * Returns the gallery index for the current project of the given CMS context.<p>
+     * 
+     * @param cms the current CMS context
+     * 
+     * @return the gallery index 
+     */
+    public CmsGalleryIndex getGalleryIndex(CmsObject cms) {
+
+        return cms.getRequestContext().getCurrentProject().isOnlineProject()
+        ? m_onlineGalleryIndex
+        : m_offlineGalleryIndex;
+    }
+
     /**
      * Returns the inheritance state for the given inheritance name and resource.<p>
      * 
@@ -679,12 +704,25 @@ public class CmsADEManager {
                 CmsProject temp = getTempfileProject(m_onlineCms);
                 m_offlineCms = OpenCms.initCmsObject(m_onlineCms);
                 m_offlineCms.getRequestContext().setCurrentProject(temp);
-                m_onlineCache = new CmsConfigurationCache(m_onlineCms, m_configType, m_moduleConfigType);
-                m_offlineCache = new CmsConfigurationCache(m_offlineCms, m_configType, m_moduleConfigType);
+                m_configurationSnapshot = new CmsConfigurationSnapshot(new File(
+                    OpenCms.getSystemInfo().getAbsoluteRfsPathRelativeToWebInf(CmsConfigurationSnapshot.SNAPSHOT_FILE)));
+                m_configurationSnapshot.load();
+                m_onlineCache = new CmsConfigurationCache(
+                    m_onlineCms,
+                    m_configType,
+                    m_moduleConfigType,
+                    m_configurationSnapshot);
+                m_offlineCache = new CmsConfigurationCache(
+                    m_offlineCms,
+                    m_configType,
+                    m_moduleConfigType,
+                    m_configurationSnapshot);
                 m_onlineCache.initialize();
                 m_offlineCache.initialize();
                 m_onlineContainerConfigurationCache = new CmsContainerConfigurationCache(m_onlineCms, "online");
                 m_offlineContainerConfigurationCache = new CmsContainerConfigurationCache(m_offlineCms, "offline");
+                m_onlineGalleryIndex = new CmsGalleryIndex(m_onlineCms, "online");
+                m_offlineGalleryIndex = new CmsGalleryIndex(m_offlineCms, "offline");
                 CmsGlobalConfigurationCacheEventHandler handler = new CmsGlobalConfigurationCacheEventHandler(
                     m_onlineCms);
                 handler.addCache(m_offlineCache, m_onlineCache, "ADE configuration cache");
@@ -692,7 +730,10 @@ public class CmsADEManager {
                     m_offlineContainerConfigurationCache,
                     m_onlineContainerConfigurationCache,
                     "Inherited container cache");
+                handler.addCache(m_offlineGalleryIndex, m_onlineGalleryIndex, "Gallery index");
                 OpenCms.getEventManager().addCmsEventListener(handler);
+                m_onlineGalleryIndex.initialize();
+                m_offlineGalleryIndex.initialize();
                 m_initStatus = Status.initialized;
             } catch (CmsException e) {
                 m_initStatus = Status.notInitialized;
@@ -890,7 +931,9 @@ public class CmsADEManager {
      */
     public void shutdown() {
 
-        // do nothing 
+        if (m_configurationSnapshot != null) {
+            m_configurationSnapshot.save();
+        }
     }
 
     /**
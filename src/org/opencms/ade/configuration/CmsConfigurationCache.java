@@ -93,6 +93,9 @@ class CmsConfigurationCache implements I_CmsGlobalConfigurationCache {
     /** The configurations from the sitemap / VFS. */
     private Map<String, CmsADEConfigData> m_siteConfigurations = new HashMap<String, CmsADEConfigData>();
 
+    /** The snapshot used for reading the configuration files, may be null. */
+    private CmsConfigurationSnapshot m_snapshot;
+
     /** 
      * Creates a new cache instance.<p>
      * 
@@ -102,9 +105,27 @@ class CmsConfigurationCache implements I_CmsGlobalConfigurationCache {
      */
     public CmsConfigurationCache(CmsObject cms, I_CmsResourceType configType, I_CmsResourceType moduleConfigType) {
 
+        this(cms, configType, moduleConfigType, null);
+    }
+
+    /** 
+     * Creates a new cache instance which uses a snapshot for reading the configuration files.<p>
+     * 
+     * @param cms the CMS context used for reading the configuration data
+     * @param configType the sitemap configuration file type 
+     * @param moduleConfigType the module configuration file type 
+     * @param snapshot the snapshot of the configuration files, may be null 
+     */
+    public CmsConfigurationCache(
+        CmsObject cms,
+        I_CmsResourceType configType,
+        I_CmsResourceType moduleConfigType,
+        CmsConfigurationSnapshot snapshot) {
+
         m_cms = cms;
         m_configType = configType;
         m_moduleConfigType = moduleConfigType;
+        m_snapshot = snapshot;
     }
 
     /**
@@ -467,12 +488,13 @@ class CmsConfigurationCache implements I_CmsGlobalConfigurationCache {
 
         LOG.info("Refreshing module configuration.");
         if (m_cms.existsResource("/")) {
-            CmsConfigurationReader reader = new CmsConfigurationReader(m_cms);
+            CmsConfigurationReader reader = new CmsConfigurationReader(m_cms, m_snapshot);
             m_moduleConfiguration = reader.readModuleConfigurations();
         } else {
             m_moduleConfiguration = new CmsADEConfigData();
         }
         m_moduleConfiguration.initialize(m_cms);
+        saveSnapshot();
     }
 
     /**
@@ -582,7 +604,7 @@ class CmsConfigurationCache implements I_CmsGlobalConfigurationCache {
                     // configuration file fails.
                     m_siteConfigurations.remove(rootPath);
                     CmsResource configRes = m_cms.readResource(structureId);
-                    CmsConfigurationReader reader = new CmsConfigurationReader(m_cms);
+                    CmsConfigurationReader reader = new CmsConfigurationReader(m_cms, m_snapshot);
                     LOG.info("Reading configuration file " + rootPath + "(" + structureId + ")");
                     String basePath = getBasePath(rootPath);
                     CmsADEConfigData configData = reader.parseSitemapConfiguration(basePath, configRes);
@@ -596,6 +618,7 @@ class CmsConfigurationCache implements I_CmsGlobalConfigurationCache {
             }
         }
         m_configurationsToRead.clear();
+        saveSnapshot();
         // Methods which recursively call this method must be called after this point,
         // because it will lead to an infinite recursion otherwise.
 
@@ -619,4 +642,14 @@ class CmsConfigurationCache implements I_CmsGlobalConfigurationCache {
         m_siteConfigurations.remove(rootPath);
     }
 
+    /**
+     * Saves the snapshot of the configuration files in the background, if it has been changed.<p>
+     */
+    private void saveSnapshot() {
+
+        if (m_snapshot != null) {
+            m_snapshot.scheduleSave();
+        }
+    }
+
 }
@@ -194,6 +194,9 @@ public class CmsConfigurationReader {
     /** The resource type configuration objects. */
     private List<CmsResourceTypeConfig> m_resourceTypeConfigs = new ArrayList<CmsResourceTypeConfig>();
 
+    /** The snapshot used for reading the configuration files, may be null. */
+    private CmsConfigurationSnapshot m_snapshot;
+
     /** 
      * Creates a new configuration reader.<p>
      * 
@@ -204,6 +207,18 @@ public class CmsConfigurationReader {
         m_cms = cms;
     }
 
+    /** 
+     * Creates a new configuration reader which uses a snapshot for reading the configuration files.<p>
+     * 
+     * @param cms the CMS context which should be used to read the configuration data
+     * @param snapshot the snapshot of the configuration files, may be null 
+     */
+    public CmsConfigurationReader(CmsObject cms, CmsConfigurationSnapshot snapshot) {
+
+        m_cms = cms;
+        m_snapshot = snapshot;
+    }
+
     /**
      * Returns the list of function references.<p>
      * 
@@ -435,7 +450,9 @@ public class CmsConfigurationReader {
     public CmsADEConfigData parseSitemapConfiguration(String basePath, CmsResource configRes) throws CmsException {
 
         LOG.info("Parsing configuration " + configRes.getRootPath());
-        CmsFile configFile = m_cms.readFile(configRes);
+        CmsFile configFile = m_snapshot != null
+        ? m_snapshot.readFile(m_cms, configRes)
+        : m_cms.readFile(configRes);
         CmsXmlContent content = CmsXmlContentFactory.unmarshal(m_cms, configFile);
         return parseConfiguration(basePath, content);
     }
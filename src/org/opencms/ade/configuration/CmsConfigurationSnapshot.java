@@ -0,0 +1,309 @@
+/*
+ * This library is part of OpenCms -
+ * the Open Source Content Management System
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software GmbH, please see the
+ * company website: http://www.alkacon.com
+ *
+ * For further information about OpenCms, please see the
+ * project website: http://www.opencms.org
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.opencms.ade.configuration;
+
+import org.opencms.file.CmsFile;
+import org.opencms.file.CmsObject;
+import org.opencms.file.CmsResource;
+import org.opencms.main.CmsException;
+import org.opencms.main.CmsExecutorRegistry;
+import org.opencms.main.CmsLog;
+import org.opencms.main.OpenCms;
+import org.opencms.util.CmsUUID;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.logging.Log;
+
+/**
+ * Persistent snapshot of the contents of the sitemap and module configuration files.<p>
+ * 
+ * The snapshot is stored in a versioned, compressed binary file in the RFS, so that the configuration files 
+ * do not have to be read from the database again when OpenCms is restarted. A snapshot entry is only used if the 
+ * content date and the date of last modification of the resource in the VFS are unchanged, otherwise the 
+ * configuration file is read from the VFS and the entry is replaced.<p>
+ * 
+ * Since the entries are keyed by resource id and validated by date, one snapshot can be shared by the online 
+ * and the offline configuration cache. When a changed snapshot is saved, the entries which have not been used 
+ * since it was loaded are dropped.<p>
+ * 
+ * @since 9.0.0
+ */
+public class CmsConfigurationSnapshot {
+
+    /**
+     * A single snapshot entry.<p>
+     */
+    protected static class CmsSnapshotEntry {
+
+        /** The file content. */
+        private byte[] m_contents;
+
+        /** The content date of the file. */
+        private long m_dateContent;
+
+        /** The date of last modification of the file. */
+        private long m_dateLastModified;
+
+        /**
+         * Creates a new snapshot entry.<p>
+         * 
+         * @param dateLastModified the date of last modification of the file
+         * @param dateContent the content date of the file 
+         * @param contents the file content 
+         */
+        protected CmsSnapshotEntry(long dateLastModified, long dateContent, byte[] contents) {
+
+            m_dateLastModified = dateLastModified;
+            m_dateContent = dateContent;
+            m_contents = contents;
+        }
+
+        /**
+         * Checks if this entry is valid for the given resource.<p>
+         * 
+         * @param resource the resource to check 
+         * 
+         * @return true if this entry contains the current content of the resource 
+         */
+        protected boolean isValid(CmsResource resource) {
+
+            return (resource.getDateContent() == m_dateContent)
+                && (resource.getDateLastModified() == m_dateLastModified);
+        }
+    }
+
+    /** The path of the snapshot file, relative to the WEB-INF folder. */
+    public static final String SNAPSHOT_FILE = "cache" + File.separatorChar + "adeconfig.snapshot";
+
+    /** The version of the snapshot file format, snapshots with another version are ignored. */
+    public static final int VERSION = 1;
+
+    /** The log object for this class. */
+    private static final Log LOG = CmsLog.getLog(CmsConfigurationSnapshot.class);
+
+    /** The marker at the start of a snapshot file. */
+    private static final int MAGIC = 0x4f434143;
+
+    /** The flag which indicates that the snapshot has been changed since it was loaded or saved. */
+    private volatile boolean m_changed;
+
+    /** The snapshot entries by resource id. */
+    private Map<CmsUUID, CmsSnapshotEntry> m_entries = new ConcurrentHashMap<CmsUUID, CmsSnapshotEntry>();
+
+    /** The snapshot file. */
+    private File m_file;
+
+    /** The flag which indicates that saving the snapshot has been scheduled. */
+    private AtomicBoolean m_saveScheduled = new AtomicBoolean();
+
+    /** The ids of the entries which have been used or added since the snapshot was loaded. */
+    private Set<CmsUUID> m_used = Collections.synchronizedSet(new HashSet<CmsUUID>());
+
+    /**
+     * Creates a new snapshot which is stored in the given file.<p>
+     * 
+     * @param file the snapshot file 
+     */
+    public CmsConfigurationSnapshot(File file) {
+
+        m_file = file;
+    }
+
+    /**
+     * Loads the snapshot from the RFS.<p>
+     * 
+     * If the snapshot file does not exist or can not be read, the snapshot remains empty.<p>
+     */
+    public synchronized void load() {
+
+        m_entries.clear();
+        m_used.clear();
+        if (!m_file.isFile()) {
+            return;
+        }
+        DataInputStream in = null;
+        try {
+            in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(m_file))));
+            if ((in.readInt() != MAGIC) || (in.readInt() != VERSION)) {
+                LOG.info("Ignoring configuration snapshot " + m_file + " with an unknown format");
+                return;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                CmsUUID resourceId = new CmsUUID(in.readUTF());
+                long dateLastModified = in.readLong();
+                long dateContent = in.readLong();
+                byte[] contents = new byte[in.readInt()];
+                in.readFully(contents);
+                m_entries.put(resourceId, new CmsSnapshotEntry(dateLastModified, dateContent, contents));
+            }
+            LOG.info("Loaded " + count + " configuration files from snapshot " + m_file);
+        } catch (Exception e) {
+            LOG.warn("Could not read configuration snapshot " + m_file + ": " + e.getLocalizedMessage(), e);
+            m_entries.clear();
+        } finally {
+            if (in != null) {
+                try {
+                    in.close();
+                } catch (IOException e) {
+                    // ignore
+                }
+            }
+        }
+        m_changed = false;
+    }
+
+    /**
+     * Reads a configuration file, using the snapshot content if it is still valid.<p>
+     * 
+     * @param cms the CMS context used to read the file if the snapshot content is not valid
+     * @param resource the configuration resource
+     * 
+     * @return the configuration file with its content 
+     * 
+     * @throws CmsException if reading the file fails 
+     */
+    public CmsFile readFile(CmsObject cms, CmsResource resource) throws CmsException {
+
+        CmsUUID resourceId = resource.getResourceId();
+        CmsSnapshotEntry entry = m_entries.get(resourceId);
+        if ((entry != null) && !(resource instanceof CmsFile) && entry.isValid(resource)) {
+            m_used.add(resourceId);
+            CmsFile file = new CmsFile(resource);
+            // the content of the new file object is empty, so setting it does not change the content date
+            file.setContents(entry.m_contents);
+            return file;
+        }
+        CmsFile file = cms.readFile(resource);
+        m_entries.put(resourceId, new CmsSnapshotEntry(
+            file.getDateLastModified(),
+            file.getDateContent(),
+            file.getContents()));
+        m_used.add(resourceId);
+        m_changed = true;
+        return file;
+    }
+
+    /**
+     * Saves the snapshot to the RFS if it has been changed.<p>
+     */
+    public synchronized void save() {
+
+        m_saveScheduled.set(false);
+        if (!m_changed) {
+            return;
+        }
+        Set<CmsUUID> used;
+        synchronized (m_used) {
+            used = new HashSet<CmsUUID>(m_used);
+        }
+        m_entries.keySet().retainAll(used);
+        m_changed = false;
+        File tempFile = new File(m_file.getPath() + ".tmp");
+        DataOutputStream out = null;
+        try {
+            m_file.getParentFile().mkdirs();
+            out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(tempFile))));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            Map<CmsUUID, CmsSnapshotEntry> entries = new HashMap<CmsUUID, CmsSnapshotEntry>(m_entries);
+            out.writeInt(entries.size());
+            for (Map.Entry<CmsUUID, CmsSnapshotEntry> entry : entries.entrySet()) {
+                out.writeUTF(entry.getKey().toString());
+                out.writeLong(entry.getValue().m_dateLastModified);
+                out.writeLong(entry.getValue().m_dateContent);
+                out.writeInt(entry.getValue().m_contents.length);
+                out.write(entry.getValue().m_contents);
+            }
+            out.close();
+            out = null;
+            if (!tempFile.renameTo(m_file)) {
+                // some platforms can not rename to an existing file
+                m_file.delete();
+                if (!tempFile.renameTo(m_file)) {
+                    throw new IOException(tempFile.getPath());
+                }
+            }
+            LOG.info("Saved " + entries.size() + " configuration files to snapshot " + m_file);
+        } catch (IOException e) {
+            LOG.warn("Could not write configuration snapshot " + m_file + ": " + e.getLocalizedMessage(), e);
+            tempFile.delete();
+        } finally {
+            if (out != null) {
+                try {
+                    out.close();
+                } catch (IOException e) {
+                    // ignore
+                }
+            }
+        }
+    }
+
+    /**
+     * Saves the snapshot in a background thread if it has been changed.<p>
+     */
+    public void scheduleSave() {
+
+        if (!m_changed || !m_saveScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            OpenCms.getExecutorRegistry().getExecutor(CmsExecutorRegistry.POOL_BACKGROUND).execute(new Runnable() {
+
+                public void run() {
+
+                    save();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            m_saveScheduled.set(false);
+            LOG.warn(e.getLocalizedMessage(), e);
+        } catch (IllegalStateException e) {
+            // OpenCms is shutting down, the snapshot is saved by the ADE manager
+            m_saveScheduled.set(false);
+        }
+    }
+}
@@ -646,6 +646,15 @@ public class CmsContainerpageService extends CmsGwtService implements I_CmsConta
         return new CmsRemovedElementStatus(structureId, elementInfo, deletionCandidate);
     }
 
+    /**
+     * @see org.opencms.gwt.CmsGwtService#isReusable()
+     */
+    @Override
+    public boolean isReusable() {
+
+        return true;
+    }
+
     /**
      * @see org.opencms.ade.containerpage.shared.rpc.I_CmsContainerpageService#prefetch()
      */
@@ -916,6 +925,16 @@ public class CmsContainerpageService extends CmsGwtService implements I_CmsConta
         saveDetailContainers(detailContainerResource, containers, locale);
     }
 
+    /**
+     * @see org.opencms.gwt.CmsGwtService#clearThreadStorage()
+     */
+    @Override
+    protected void clearThreadStorage() {
+
+        super.clearThreadStorage();
+        m_sessionCache = null;
+    }
+
     /**
      * Converts the given setting values according to the setting configuration of the given resource.<p>
      * 
@@ -1152,14 +1171,20 @@ public class CmsContainerpageService extends CmsGwtService implements I_CmsConta
             getResponse(),
             locale);
         Map<String, CmsContainerElementData> result = new HashMap<String, CmsContainerElementData>();
+        Map<String, CmsContainerElementBean> elements = new LinkedHashMap<String, CmsContainerElementBean>();
+        for (String elemId : clientIds) {
+            if ((elemId != null) && !elements.containsKey(elemId)) {
+                elements.put(elemId, getCachedElement(elemId));
+            }
+        }
+        elemUtil.readElementResources(elements.values());
         Set<String> ids = new HashSet<String>();
-        Iterator<String> it = clientIds.iterator();
-        while (it.hasNext()) {
-            String elemId = it.next();
-            if ((elemId == null) || ids.contains(elemId)) {
+        for (Map.Entry<String, CmsContainerElementBean> entry : elements.entrySet()) {
+            String elemId = entry.getKey();
+            if (ids.contains(elemId)) {
                 continue;
             }
-            CmsContainerElementBean element = getCachedElement(elemId);
+            CmsContainerElementBean element = entry.getValue();
             CmsContainerElementData elementData = elemUtil.getElementData(element, containers);
             result.put(element.editorHash(), elementData);
             if (elementData.isGroupContainer() || elementData.isInheritContainer()) {
@@ -1168,6 +1193,7 @@ public class CmsContainerpageService extends CmsGwtService implements I_CmsConta
                 List<CmsContainerElementBean> subElements = elementData.isGroupContainer() ? getGroupContainerElements(
                     elementRes,
                     locale) : getInheritedElements(elementRes, locale, uriParam);
+                elemUtil.readElementResources(subElements);
                 // adding all sub-items to the elements data
                 for (CmsContainerElementBean subElement : subElements) {
                     getSessionCache().setCacheContainerElement(subElement.editorHash(), subElement);
@@ -1328,9 +1354,10 @@ public class CmsContainerpageService extends CmsGwtService implements I_CmsConta
             locale);
         CmsADESessionCache cache = getSessionCache();
         List<CmsContainerElementData> result = new ArrayList<CmsContainerElementData>();
+        Set<CmsUUID> existingIds = elemUtil.readElementResources(listElements);
         for (CmsContainerElementBean element : listElements) {
             // checking if resource exists
-            if (cms.existsResource(element.getId(), CmsResourceFilter.ONLY_VISIBLE_NO_DELETED)) {
+            if (existingIds.contains(element.getId())) {
                 cache.setCacheContainerElement(element.editorHash(), element);
                 CmsContainerElementData elementData = elemUtil.getElementData(element, containers);
                 result.add(elementData);
@@ -115,6 +115,9 @@ public class CmsElementUtil {
     /** The current page uri. */
     private String m_currentPageUri;
 
+    /** The element resources read in advance, by structure id. */
+    private Map<CmsUUID, CmsResource> m_elementResources = new HashMap<CmsUUID, CmsResource>();
+
     /** The content locale. */
     private Locale m_locale;
 
@@ -265,7 +268,7 @@ public class CmsElementUtil {
 
         Locale requestLocale = m_cms.getRequestContext().getLocale();
         m_cms.getRequestContext().setLocale(m_locale);
-        element.initResource(m_cms);
+        initResource(element);
 
         CmsResourceUtil resUtil = new CmsResourceUtil(m_cms, element.getResource());
         CmsUUID structureId = resUtil.getResource().getStructureId();
@@ -380,6 +383,42 @@ public class CmsElementUtil {
         return elementData;
     }
 
+    /**
+     * Reads the resources of the given elements with a single bulk read.<p>
+     * 
+     * The resources are used instead of reading them one by one when the data of the elements is collected 
+     * by this instance. Resources which are not found, not visible or not readable are left out, they are 
+     * read again when used, so the usual exception is thrown.<p>
+     * 
+     * @param elements the container elements 
+     * 
+     * @return the structure ids of the elements whose resources exist and are visible
+     * 
+     * @throws CmsException if something goes wrong
+     */
+    public Set<CmsUUID> readElementResources(Collection<CmsContainerElementBean> elements) throws CmsException {
+
+        Set<CmsUUID> ids = new HashSet<CmsUUID>();
+        for (CmsContainerElementBean element : elements) {
+            if (element.getId() != null) {
+                ids.add(element.getId());
+            }
+        }
+        Set<CmsUUID> result = new HashSet<CmsUUID>();
+        if (ids.isEmpty()) {
+            return result;
+        }
+        // use the filter of CmsContainerElementBean#initResource, but only for visible resources 
+        CmsResourceFilter filter = (m_cms.getRequestContext().getCurrentProject().isOnlineProject()
+        ? CmsResourceFilter.DEFAULT
+        : CmsResourceFilter.IGNORE_EXPIRATION).addRequireVisible();
+        for (CmsResource resource : m_cms.readResources(ids, filter)) {
+            m_elementResources.put(resource.getStructureId(), resource);
+            result.add(resource.getStructureId());
+        }
+        return result;
+    }
+
     /**
      * Sets the data to the given container element.<p>
      * 
@@ -396,7 +435,7 @@ public class CmsElementUtil {
         Locale wpLocale = OpenCms.getWorkplaceManager().getWorkplaceLocale(m_cms);
         String noEditReason = "";
         // reinitializing resource to avoid caching issues
-        elementBean.initResource(m_cms);
+        initResource(elementBean);
         boolean newEditorDisabled = !CmsWorkplaceEditorManager.checkAcaciaEditorAvailable(
             m_cms,
             elementBean.getResource());
@@ -510,7 +549,7 @@ public class CmsElementUtil {
     private String getElementContent(CmsContainerElementBean element, CmsResource formatter, CmsContainer container)
     throws CmsException, ServletException, IOException {
 
-        element.initResource(m_cms);
+        initResource(element);
         CmsTemplateLoaderFacade loaderFacade = new CmsTemplateLoaderFacade(OpenCms.getResourceManager().getLoader(
             formatter), element.getResource(), formatter);
         CmsResource loaderRes = loaderFacade.getLoaderStartResource();
@@ -571,6 +610,18 @@ public class CmsElementUtil {
         return !propConfig.isEmpty();
     }
 
+    /**
+     * Initializes the resource of the given element, using the resource read in advance if available.<p>
+     * 
+     * @param element the container element 
+     * 
+     * @throws CmsException if something goes wrong reading the element resource
+     */
+    private void initResource(CmsContainerElementBean element) throws CmsException {
+
+        element.initResource(m_cms, m_elementResources.get(element.getId()));
+    }
+
     /**
      * Parses the given request parameters string into a parameter map.<p>
      * 
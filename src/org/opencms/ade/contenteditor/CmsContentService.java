@@ -251,6 +251,15 @@ public class CmsContentService extends CmsGwtService implements I_CmsContentServ
         return result;
     }
 
+    /**
+     * @see org.opencms.gwt.CmsGwtService#isReusable()
+     */
+    @Override
+    public boolean isReusable() {
+
+        return true;
+    }
+
     /**
      * @see com.alkacon.acacia.shared.rpc.I_ContentService#loadContentDefinition(java.lang.String)
      */
@@ -551,6 +560,16 @@ public class CmsContentService extends CmsGwtService implements I_CmsContentServ
         return new ValidationResult(null, null);
     }
 
+    /**
+     * @see org.opencms.gwt.CmsGwtService#clearThreadStorage()
+     */
+    @Override
+    protected void clearThreadStorage() {
+
+        super.clearThreadStorage();
+        m_workplaceLocale = null;
+    }
+
     /**
      * Decodes the newlink request parameter if possible.<p>
      * 
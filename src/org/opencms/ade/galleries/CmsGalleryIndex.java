@@ -0,0 +1,380 @@
+/*
+ * This library is part of OpenCms -
+ * the Open Source Content Management System
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software GmbH, please see the
+ * company website: http://www.alkacon.com
+ *
+ * For further information about OpenCms, please see the
+ * project website: http://www.opencms.org
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.opencms.ade.galleries;
+
+import org.opencms.ade.configuration.I_CmsGlobalConfigurationCache;
+import org.opencms.db.CmsPublishedResource;
+import org.opencms.file.CmsObject;
+import org.opencms.file.CmsResource;
+import org.opencms.file.CmsResourceFilter;
+import org.opencms.file.I_CmsResource;
+import org.opencms.file.types.I_CmsResourceType;
+import org.opencms.main.CmsException;
+import org.opencms.main.CmsExecutorRegistry;
+import org.opencms.main.CmsLog;
+import org.opencms.main.OpenCms;
+import org.opencms.util.CmsUUID;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.apache.commons.logging.Log;
+
+/**
+ * An index of the gallery folders by their resource type, used to find the available galleries 
+ * without reading all resources of a gallery type from the VFS every time a gallery dialog is opened.<p>
+ * 
+ * The index only contains the structure ids of the galleries. The galleries are read with the context of the 
+ * current user, so permissions, visibility and the current root paths are checked as usual. 
+ * The index is kept up-to-date through the resource events passed to it by the 
+ * {@link org.opencms.ade.configuration.CmsGlobalConfigurationCacheEventHandler}.
+ * If a gallery type is requested which has not yet been indexed, e.g. after the caches have been cleared,
+ * the index for that type is built by reading all resources of the type.<p>
+ * 
+ * @since 9.0.0
+ */
+public class CmsGalleryIndex implements I_CmsGlobalConfigurationCache {
+
+    /**
+     * A change of the index made while the index for a gallery type was being built.<p>
+     */
+    private static class CmsGalleryChange {
+
+        /** The structure id of the folder. */
+        protected CmsUUID m_structureId;
+
+        /** The type id of the folder, -1 if it has been removed. */
+        protected int m_typeId;
+
+        /**
+         * Creates a new change.<p>
+         * 
+         * @param structureId the structure id of the folder
+         * @param typeId the type id of the folder, -1 if it has been removed
+         */
+        protected CmsGalleryChange(CmsUUID structureId, int typeId) {
+
+            m_structureId = structureId;
+            m_typeId = typeId;
+        }
+    }
+
+    /** The logger instance for this class. */
+    private static final Log LOG = CmsLog.getLog(CmsGalleryIndex.class);
+
+    /** The number of index builds currently running. */
+    private int m_buildCount;
+
+    /** The changes made while an index was being built, <code>null</code> if no index is being built. */
+    private List<CmsGalleryChange> m_changes;
+
+    /** The number of times this index has been cleared. */
+    private int m_clearCount;
+
+    /** The CMS context used for building the index. */
+    private CmsObject m_cms;
+
+    /** The structure ids of the galleries by gallery type id. */
+    private Map<Integer, Set<CmsUUID>> m_galleriesByType;
+
+    /** The name of this index, used for debugging purposes. */
+    private String m_name;
+
+    /**
+     * Creates a new gallery index.<p>
+     * 
+     * @param cms the CMS context to use for building the index, must be able to read all galleries 
+     * @param name the name of the index, for debugging purposes
+     * 
+     * @throws CmsException if something goes wrong
+     */
+    public CmsGalleryIndex(CmsObject cms, String name)
+    throws CmsException {
+
+        m_cms = OpenCms.initCmsObject(cms);
+        m_cms.getRequestContext().setSiteRoot("");
+        m_name = name;
+        m_galleriesByType = new HashMap<Integer, Set<CmsUUID>>();
+    }
+
+    /**
+     * @see org.opencms.ade.configuration.I_CmsGlobalConfigurationCache#clear()
+     */
+    public synchronized void clear() {
+
+        m_galleriesByType.clear();
+        m_clearCount += 1;
+    }
+
+    /**
+     * Returns the galleries of the given type within the given folders, read with the given CMS context.<p>
+     * 
+     * The galleries are sorted by their root paths. Galleries that are not visible for the current user
+     * or are deleted are not contained in the result.<p>
+     * 
+     * @param cms the current users CMS context
+     * @param galleryTypeId the gallery type id
+     * @param folderRootPaths the root paths of the folders to get the galleries from
+     * 
+     * @return the galleries
+     */
+    public List<CmsResource> getGalleries(CmsObject cms, int galleryTypeId, List<String> folderRootPaths) {
+
+        List<CmsUUID> structureIds = new ArrayList<CmsUUID>(getGalleryIds(galleryTypeId));
+        List<CmsResource> galleries = new ArrayList<CmsResource>();
+        if (structureIds.isEmpty()) {
+            return galleries;
+        }
+        List<CmsResource> resources;
+        try {
+            // galleries which have been deleted or are not visible for the current user are left out
+            resources = cms.readResources(structureIds, CmsResourceFilter.ONLY_VISIBLE_NO_DELETED);
+        } catch (CmsException e) {
+            LOG.error(e.getLocalizedMessage(), e);
+            return galleries;
+        }
+        for (CmsResource gallery : resources) {
+            // check the current root path, the index is not updated for the galleries below a moved folder
+            if ((gallery.getTypeId() == galleryTypeId) && isInFolders(gallery.getRootPath(), folderRootPaths)) {
+                galleries.add(gallery);
+            }
+        }
+        Collections.sort(galleries, I_CmsResource.COMPARE_ROOT_PATH);
+        return galleries;
+    }
+
+    /**
+     * Builds the index for all gallery types in the background thread pool.<p>
+     * 
+     * Requests for a gallery type not yet indexed will build the index for that type directly.<p>
+     */
+    public void initialize() {
+
+        Runnable task = new Runnable() {
+
+            /**
+             * @see java.lang.Runnable#run()
+             */
+            public void run() {
+
+                long start = System.currentTimeMillis();
+                Iterator<Integer> itTypes = getGalleryTypeIds().iterator();
+                while (itTypes.hasNext()) {
+                    getGalleryIds(itTypes.next().intValue());
+                }
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("gallery-index "
+                        + m_name
+                        + " initialized in "
+                        + (System.currentTimeMillis() - start)
+                        + " ms");
+                }
+            }
+        };
+        try {
+            OpenCms.getExecutorRegistry().getExecutor(CmsExecutorRegistry.POOL_BACKGROUND).execute(task);
+        } catch (RejectedExecutionException e) {
+            // the index for each gallery type will be built on first use
+            LOG.warn(e.getLocalizedMessage(), e);
+        }
+    }
+
+    /**
+     * @see org.opencms.ade.configuration.I_CmsGlobalConfigurationCache#remove(org.opencms.db.CmsPublishedResource)
+     */
+    public synchronized void remove(CmsPublishedResource pubRes) {
+
+        remove(pubRes.getStructureId());
+    }
+
+    /**
+     * @see org.opencms.ade.configuration.I_CmsGlobalConfigurationCache#remove(org.opencms.file.CmsResource)
+     */
+    public synchronized void remove(CmsResource resource) {
+
+        remove(resource.getStructureId());
+    }
+
+    /**
+     * @see org.opencms.ade.configuration.I_CmsGlobalConfigurationCache#update(org.opencms.db.CmsPublishedResource)
+     */
+    public synchronized void update(CmsPublishedResource pubRes) {
+
+        if (pubRes.isFolder()) {
+            update(pubRes.getStructureId(), pubRes.getType());
+        }
+    }
+
+    /**
+     * @see org.opencms.ade.configuration.I_CmsGlobalConfigurationCache#update(org.opencms.file.CmsResource)
+     */
+    public synchronized void update(CmsResource resource) {
+
+        if (resource.isFolder()) {
+            update(resource.getStructureId(), resource.getTypeId());
+        }
+    }
+
+    /**
+     * Returns the structure ids of all galleries of the given type, building the index for the type if needed.<p>
+     * 
+     * The VFS is read without holding the lock of this index, so updates of the index are not blocked 
+     * while the index is built. Changes made in the meantime are applied to the newly built index 
+     * before it is stored.<p>
+     * 
+     * @param galleryTypeId the gallery type id
+     * 
+     * @return the structure ids of the galleries
+     */
+    protected Set<CmsUUID> getGalleryIds(int galleryTypeId) {
+
+        Integer key = new Integer(galleryTypeId);
+        int clearCount;
+        int firstChange;
+        synchronized (this) {
+            Set<CmsUUID> ids = m_galleriesByType.get(key);
+            if (ids != null) {
+                return new HashSet<CmsUUID>(ids);
+            }
+            if (m_buildCount == 0) {
+                m_changes = new ArrayList<CmsGalleryChange>();
+            }
+            m_buildCount += 1;
+            clearCount = m_clearCount;
+            firstChange = m_changes.size();
+        }
+        Set<CmsUUID> ids = new HashSet<CmsUUID>();
+        boolean complete = false;
+        try {
+            List<CmsResource> galleries = m_cms.readResources(
+                "/",
+                CmsResourceFilter.ALL.addRequireType(galleryTypeId),
+                true);
+            for (CmsResource gallery : galleries) {
+                ids.add(gallery.getStructureId());
+            }
+            complete = true;
+        } catch (CmsException e) {
+            // don't store the incomplete index, it will be built again with the next request
+            LOG.error(e.getLocalizedMessage(), e);
+        }
+        synchronized (this) {
+            for (CmsGalleryChange change : m_changes.subList(firstChange, m_changes.size())) {
+                if (change.m_typeId == galleryTypeId) {
+                    ids.add(change.m_structureId);
+                } else {
+                    ids.remove(change.m_structureId);
+                }
+            }
+            m_buildCount -= 1;
+            if (m_buildCount == 0) {
+                m_changes = null;
+            }
+            if (complete && (clearCount == m_clearCount) && !m_galleriesByType.containsKey(key)) {
+                m_galleriesByType.put(key, new HashSet<CmsUUID>(ids));
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Returns the ids of all resource types used as gallery type by any other resource type.<p>
+     * 
+     * @return the gallery type ids
+     */
+    protected Set<Integer> getGalleryTypeIds() {
+
+        Set<Integer> result = new HashSet<Integer>();
+        for (I_CmsResourceType type : OpenCms.getResourceManager().getResourceTypes()) {
+            for (I_CmsResourceType galleryType : type.getGalleryTypes()) {
+                result.add(new Integer(galleryType.getTypeId()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Removes the resource with the given structure id from the index.<p>
+     * 
+     * @param structureId the structure id
+     */
+    protected synchronized void remove(CmsUUID structureId) {
+
+        for (Set<CmsUUID> ids : m_galleriesByType.values()) {
+            ids.remove(structureId);
+        }
+        if (m_changes != null) {
+            m_changes.add(new CmsGalleryChange(structureId, -1));
+        }
+    }
+
+    /**
+     * Updates the index for the folder with the given structure id and type.<p>
+     * 
+     * @param structureId the structure id of the folder
+     * @param typeId the type id of the folder
+     */
+    protected synchronized void update(CmsUUID structureId, int typeId) {
+
+        // the type may have changed
+        remove(structureId);
+        Set<CmsUUID> ids = m_galleriesByType.get(new Integer(typeId));
+        if (ids != null) {
+            // only add the folder if the type is already indexed, otherwise it is found when building the index
+            ids.add(structureId);
+        }
+        if (m_changes != null) {
+            m_changes.add(new CmsGalleryChange(structureId, typeId));
+        }
+    }
+
+    /**
+     * Checks if the given root path is within one of the given folders.<p>
+     * 
+     * @param rootPath the root path to check
+     * @param folderRootPaths the root paths of the folders
+     * 
+     * @return <code>true</code> if the root path is within one of the folders
+     */
+    private boolean isInFolders(String rootPath, List<String> folderRootPaths) {
+
+        for (String folder : folderRootPaths) {
+            if (rootPath.startsWith(folder)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
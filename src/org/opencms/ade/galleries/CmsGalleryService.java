@@ -677,6 +677,15 @@ public class CmsGalleryService extends CmsGwtService implements I_CmsGalleryServ
         return null;
     }
 
+    /**
+     * @see org.opencms.gwt.CmsGwtService#isReusable()
+     */
+    @Override
+    public boolean isReusable() {
+
+        return true;
+    }
+
     /**
      * @see org.opencms.ade.galleries.shared.rpc.I_CmsGalleryService#loadVfsEntryBean(java.lang.String)
      */
@@ -743,6 +752,17 @@ public class CmsGalleryService extends CmsGwtService implements I_CmsGalleryServ
         }
     }
 
+    /**
+     * @see org.opencms.gwt.CmsGwtService#clearThreadStorage()
+     */
+    @Override
+    protected void clearThreadStorage() {
+
+        super.clearThreadStorage();
+        m_workplaceSettings = null;
+        m_wpLocale = null;
+    }
+
     /**
      * Gets the sitemap sub entries for a given path as resources.<p>
      * 
@@ -891,15 +911,12 @@ public class CmsGalleryService extends CmsGwtService implements I_CmsGalleryServ
      */
     protected List<CmsResource> readAll(Collection<CmsUUID> structureIds, CmsResourceFilter filter) {
 
-        List<CmsResource> result = new ArrayList<CmsResource>();
-        for (CmsUUID id : structureIds) {
-            try {
-                result.add(getCmsObject().readResource(id, filter));
-            } catch (CmsException e) {
-                LOG.info(e.getLocalizedMessage(), e);
-            }
+        try {
+            return getCmsObject().readResources(structureIds, filter);
+        } catch (CmsException e) {
+            LOG.info(e.getLocalizedMessage(), e);
+            return new ArrayList<CmsResource>();
         }
-        return result;
     }
 
     /**
@@ -1526,33 +1543,32 @@ public class CmsGalleryService extends CmsGwtService implements I_CmsGalleryServ
      */
     private List<CmsResource> getGalleriesByType(int galleryTypeId) throws CmsException {
 
-        List<CmsResource> galleries = new ArrayList<CmsResource>();
-        galleries = getCmsObject().readResources(
-            "/",
-            CmsResourceFilter.ONLY_VISIBLE_NO_DELETED.addRequireType(galleryTypeId));
-
-        String siteRoot = getCmsObject().getRequestContext().getSiteRoot();
+        CmsObject cms = getCmsObject();
+        List<String> folders = new ArrayList<String>();
+        folders.add("/");
+        String siteRoot = cms.getRequestContext().getSiteRoot();
         // if the current site is NOT the root site - add all other galleries from the system path
         if (!siteRoot.equals("")) {
-            List<CmsResource> systemGalleries = null;
-            // get the galleries in the /system/ folder
-            systemGalleries = getCmsObject().readResources(
-                CmsWorkplace.VFS_PATH_SYSTEM,
-                CmsResourceFilter.ONLY_VISIBLE_NO_DELETED.addRequireType(galleryTypeId));
-            if (systemGalleries != null) {
-                // add the found system galleries to the result
-                galleries.addAll(systemGalleries);
-            }
+            folders.add(CmsWorkplace.VFS_PATH_SYSTEM);
         }
-
         if (!OpenCms.getSiteManager().isSharedFolder(siteRoot)) {
-            String shared = OpenCms.getSiteManager().getSharedFolder();
-            List<CmsResource> sharedGalleries = getCmsObject().readResources(
-                shared,
-                CmsResourceFilter.ONLY_VISIBLE_NO_DELETED.addRequireType(galleryTypeId));
-            if (sharedGalleries != null) {
-                galleries.addAll(sharedGalleries);
+            folders.add(OpenCms.getSiteManager().getSharedFolder());
+        }
+
+        if (OpenCms.getADEManager().isInitialized()) {
+            // look up the galleries in the gallery index instead of reading the whole VFS
+            List<String> folderRootPaths = new ArrayList<String>();
+            for (String folder : folders) {
+                folderRootPaths.add(cms.getRequestContext().addSiteRoot(folder));
             }
+            return OpenCms.getADEManager().getGalleryIndex(cms).getGalleries(cms, galleryTypeId, folderRootPaths);
+        }
+
+        List<CmsResource> galleries = new ArrayList<CmsResource>();
+        for (String folder : folders) {
+            galleries.addAll(cms.readResources(
+                folder,
+                CmsResourceFilter.ONLY_VISIBLE_NO_DELETED.addRequireType(galleryTypeId)));
         }
         return galleries;
     }
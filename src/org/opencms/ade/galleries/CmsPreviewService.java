@@ -220,6 +220,15 @@ public class CmsPreviewService extends CmsGwtService implements I_CmsPreviewServ
         return resInfo;
     }
 
+    /**
+     * @see org.opencms.gwt.CmsGwtService#isReusable()
+     */
+    @Override
+    public boolean isReusable() {
+
+        return true;
+    }
+
     /**
      * Retrieves the resource information and puts it into the provided resource info bean.<p>
      * 
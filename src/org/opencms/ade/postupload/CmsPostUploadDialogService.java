@@ -93,6 +93,15 @@ public class CmsPostUploadDialogService extends CmsGwtService implements I_CmsPo
         return result;
     }
 
+    /**
+     * @see org.opencms.gwt.CmsGwtService#isReusable()
+     */
+    @Override
+    public boolean isReusable() {
+
+        return true;
+    }
+
     /**
      * @see org.opencms.ade.postupload.shared.rpc.I_CmsPostUploadDialogService#load(org.opencms.util.CmsUUID, boolean)
      */
@@ -297,6 +297,15 @@ public class CmsPublishService extends CmsGwtService implements I_CmsPublishServ
         return result;
     }
 
+    /**
+     * @see org.opencms.gwt.CmsGwtService#isReusable()
+     */
+    @Override
+    public boolean isReusable() {
+
+        return true;
+    }
+
     /**
      * Checks if there is any reason to deactivate the preview function.<p>
      * 
@@ -122,6 +122,15 @@ public class CmsUploadService extends CmsGwtService implements I_CmsUploadServic
         return info;
     }
 
+    /**
+     * @see org.opencms.gwt.CmsGwtService#isReusable()
+     */
+    @Override
+    public boolean isReusable() {
+
+        return true;
+    }
+
     /**
      * Checks if a resource already exists for the given path.<p>
      * 
@@ -0,0 +1,192 @@
+/*
+ * This library is part of OpenCms -
+ * the Open Source Content Management System
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software GmbH, please see the
+ * company website: http://www.alkacon.com
+ *
+ * For further information about OpenCms, please see the
+ * project website: http://www.opencms.org
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.opencms.cache;
+
+import java.util.Arrays;
+
+/**
+ * A compact, probabilistic estimate of how often keys have been accessed.<p>
+ * 
+ * The sketch is a count-min sketch with {@link #DEPTH} rows of counters. Every key is mapped to one 
+ * counter per row, and the estimated frequency of a key is the smallest of its counters, 
+ * capped at {@link #MAX_FREQUENCY}. To let the estimates follow changes in the access pattern, 
+ * all counters are halved once the number of recorded accesses reaches ten times the width of a row.<p>
+ * 
+ * This class is not thread safe, the caller has to synchronize the access.<p>
+ * 
+ * @see org.opencms.cache.CmsLruCache
+ * 
+ * @since 9.0.0
+ */
+public class CmsFrequencySketch {
+
+    /** The number of counter rows. */
+    public static final int DEPTH = 4;
+
+    /** The maximum value of a single counter. */
+    public static final int MAX_FREQUENCY = 15;
+
+    /** The counters, row after row. */
+    private byte[] m_counters;
+
+    /** The number of accesses recorded since the counters were halved. */
+    private int m_samples;
+
+    /** The number of recorded accesses after which the counters are halved. */
+    private int m_sampleSize;
+
+    /** The number of counters in a row, always a power of two. */
+    private int m_width;
+
+    /**
+     * Creates a new frequency sketch.<p>
+     * 
+     * @param maximumSize the number of distinct keys the sketch should be able to tell apart
+     */
+    public CmsFrequencySketch(int maximumSize) {
+
+        m_width = 16;
+        while ((m_width < maximumSize) && (m_width < (1 << 28))) {
+            m_width <<= 1;
+        }
+        m_counters = new byte[DEPTH * m_width];
+        m_sampleSize = 10 * m_width;
+    }
+
+    /**
+     * Resets all counters of this sketch.<p>
+     */
+    public void clear() {
+
+        Arrays.fill(m_counters, (byte)0);
+        m_samples = 0;
+    }
+
+    /**
+     * Returns the estimated number of accesses to the given key.<p>
+     * 
+     * @param key the key
+     * 
+     * @return the estimated number of accesses, between 0 and {@link #MAX_FREQUENCY}
+     */
+    public int frequency(Object key) {
+
+        int hash = hash(key);
+        int step = step(hash);
+        int result = MAX_FREQUENCY;
+        for (int row = 0; row < DEPTH; row++) {
+            result = Math.min(result, m_counters[counterIndex(hash, step, row)]);
+        }
+        return result;
+    }
+
+    /**
+     * Records an access to the given key.<p>
+     * 
+     * @param key the key
+     */
+    public void increment(Object key) {
+
+        int hash = hash(key);
+        int step = step(hash);
+        boolean changed = false;
+        for (int row = 0; row < DEPTH; row++) {
+            int index = counterIndex(hash, step, row);
+            if (m_counters[index] < MAX_FREQUENCY) {
+                m_counters[index] += 1;
+                changed = true;
+            }
+        }
+        if (changed) {
+            m_samples += 1;
+            if (m_samples >= m_sampleSize) {
+                age();
+            }
+        }
+    }
+
+    /**
+     * Halves all counters, so that older accesses count less than recent ones.<p>
+     */
+    private void age() {
+
+        for (int i = 0; i < m_counters.length; i++) {
+            m_counters[i] = (byte)(m_counters[i] >> 1);
+        }
+        m_samples = m_samples / 2;
+    }
+
+    /**
+     * Returns the index of the counter of the given row for a key.<p>
+     * 
+     * The counters of a key are found by double hashing, so two keys which share a counter 
+     * in one row most likely use different counters in the other rows.<p>
+     * 
+     * @param hash the hash of the key
+     * @param step the second hash of the key
+     * @param row the row
+     * 
+     * @return the index of the counter
+     */
+    private int counterIndex(int hash, int step, int row) {
+
+        return (row * m_width) + ((hash + (row * step)) & (m_width - 1));
+    }
+
+    /**
+     * Returns the hash of a key, with the bits of its hash code mixed so that similar 
+     * hash codes are spread over the whole row.<p>
+     * 
+     * @param key the key
+     * 
+     * @return the hash
+     */
+    private int hash(Object key) {
+
+        int h = (key == null) ? 0 : key.hashCode();
+        // the finalization step of the MurmurHash3 algorithm, which is in the public domain
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * Returns the second hash of a key used for double hashing.<p>
+     * 
+     * @param hash the hash of the key
+     * 
+     * @return the second hash
+     */
+    private int step(int hash) {
+
+        return Integer.rotateLeft(hash, 16) | 1;
+    }
+}
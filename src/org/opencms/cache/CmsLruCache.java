@@ -29,6 +29,9 @@ package org.opencms.cache;
 
 import org.opencms.main.CmsLog;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
+
 import org.apache.commons.logging.Log;
 
 /**
@@ -44,39 +47,198 @@ import org.apache.commons.logging.Log;
  * The cache policy is affected by the "costs" of the objects being cached. Valuable cache costs
  * might be the byte size of the cached objects for example.
  * <p>
+ * Two eviction policies are available. The {@link Policy#LRU} policy keeps all objects in a single 
+ * list and always removes the last recently used objects. The {@link Policy#ADAPTIVE} policy 
+ * splits the list into a probation and a protected segment, and keeps a {@link CmsFrequencySketch} 
+ * of the accessed keys. Objects enter the probation segment and are promoted to the protected 
+ * segment when they are used again. Once the cache is full, a new object is only admitted if it 
+ * was requested more often than the objects it would push out of the cache, so a single large but 
+ * rarely used object can not replace many small, frequently used ones.<p>
+ * 
  * To add/remove cached objects from the data structure that stores them, the objects have to
  * implement the methods defined in the interface I_CmsLruCacheObject to be notified when they
  * are added/removed from the CmsFlexLruCache.<p>
  *
  * @see org.opencms.cache.I_CmsLruCacheObject
+ * @see org.opencms.cache.CmsLruCacheSimulator
  * 
  * @since 6.0.0
  */
 public class CmsLruCache extends java.lang.Object {
 
+    /** The available eviction policies. */
+    public enum Policy {
+        /** Frequency based admission with a segmented LRU list. */
+        ADAPTIVE,
+        /** Plain LRU list, evicting by object costs only. */
+        LRU;
+    }
+
+    /**
+     * The state of an object cached by the adaptive policy.<p>
+     */
+    private static class CmsLruNode {
+
+        /** The key of the object. */
+        protected Object m_key;
+
+        /** Flag to indicate if the object is in the protected segment. */
+        protected boolean m_protected;
+
+        /**
+         * Creates a new node.<p>
+         * 
+         * @param key the key of the object
+         */
+        protected CmsLruNode(Object key) {
+
+            m_key = key;
+        }
+    }
+
+    /**
+     * A double linked list of cached objects, the head is the most recently used object.<p>
+     */
+    private static class CmsLruSegment {
+
+        /** The costs of all objects in the list. */
+        protected int m_costs;
+
+        /** The number of objects in the list. */
+        protected int m_count;
+
+        /** The head of the list. */
+        protected I_CmsLruCacheObject m_head;
+
+        /** The tail of the list. */
+        protected I_CmsLruCacheObject m_tail;
+
+        /**
+         * Adds an object as the new head of this list.<p>
+         * 
+         * @param theCacheObject the object to add
+         */
+        protected void addHead(I_CmsLruCacheObject theCacheObject) {
+
+            if (m_head != null) {
+                // there is at least 1 object already in the list
+                m_head.setNextLruObject(theCacheObject);
+                theCacheObject.setPreviousLruObject(m_head);
+            } else {
+                // it is the first object to be added to the list
+                m_tail = theCacheObject;
+                theCacheObject.setPreviousLruObject(null);
+            }
+            theCacheObject.setNextLruObject(null);
+            m_head = theCacheObject;
+            m_costs += theCacheObject.getLruCacheCosts();
+            m_count++;
+        }
+
+        /**
+         * Tests if this list contains the given object.<p>
+         * 
+         * @param theCacheObject the object to test
+         * 
+         * @return true if the object is inside this list
+         */
+        protected boolean contains(I_CmsLruCacheObject theCacheObject) {
+
+            if (m_count == 0) {
+                return false;
+            }
+            if ((theCacheObject.getNextLruObject() != null) || (theCacheObject.getPreviousLruObject() != null)) {
+                // the object has either a predecessor or successor in the list
+                return true;
+            }
+            // the object may be the one and only object in the list
+            return (m_count == 1) && (m_head == theCacheObject);
+        }
+
+        /**
+         * Moves an object of this list to the head position.<p>
+         * 
+         * @param theCacheObject the object to move
+         */
+        protected void moveToHead(I_CmsLruCacheObject theCacheObject) {
+
+            if (m_head == theCacheObject) {
+                // the object is already at the head pos.
+                return;
+            }
+            remove(theCacheObject);
+            addHead(theCacheObject);
+        }
+
+        /**
+         * Removes an object from this list, no matter what position it has inside the list.<p>
+         * 
+         * @param theCacheObject the object to remove
+         */
+        protected void remove(I_CmsLruCacheObject theCacheObject) {
+
+            I_CmsLruCacheObject next = theCacheObject.getNextLruObject();
+            I_CmsLruCacheObject prev = theCacheObject.getPreviousLruObject();
+            if (next == null) {
+                // the object is the head
+                m_head = prev;
+            } else {
+                next.setPreviousLruObject(prev);
+            }
+            if (prev == null) {
+                // the object is the tail
+                m_tail = next;
+            } else {
+                prev.setNextLruObject(next);
+            }
+            theCacheObject.setNextLruObject(null);
+            theCacheObject.setPreviousLruObject(null);
+            m_costs -= theCacheObject.getLruCacheCosts();
+            m_count--;
+        }
+    }
+
+    /** The default number of distinct keys the frequency sketch of the adaptive policy is sized for. */
+    public static final int DEFAULT_SKETCH_SIZE = 16384;
+
+    /** The percentage of the average cache costs the protected segment of the adaptive policy may use. */
+    public static final int PROTECTED_SEGMENT_PERCENT = 80;
+
+    /** The name of the log channel cache accesses are traced to, see {@link #trace(Object, int)}. */
+    public static final String TRACE_CHANNEL = "org.opencms.cache.CmsLruCache.trace";
+
     /** The log object for this class. */
     private static final Log LOG = CmsLog.getLog(CmsLruCache.class);
 
+    /** The log object for the access trace. */
+    private static final Log TRACE = CmsLog.getLog(TRACE_CHANNEL);
+
     /** The average sum of costs the cached objects. */
     private long m_avgCacheCosts;
 
-    /** The head of the list of double linked LRU cache objects. */
-    private I_CmsLruCacheObject m_listHead;
-
-    /** The tail of the list of double linked LRU cache objects. */
-    private I_CmsLruCacheObject m_listTail;
-
     /** The maximum sum of costs the cached objects might reach. */
     private long m_maxCacheCosts;
 
     /** The maximum costs of cacheable objects. */
     private int m_maxObjectCosts;
 
-    /** The costs of all cached objects. */
-    private int m_objectCosts;
+    /** The segment information of all objects cached by the adaptive policy. */
+    private Map<I_CmsLruCacheObject, CmsLruNode> m_nodes;
+
+    /** The eviction policy of this cache. */
+    private Policy m_policy;
+
+    /** The list of cached objects, with the adaptive policy the probation segment. */
+    private CmsLruSegment m_probation;
+
+    /** The protected segment of the adaptive policy. */
+    private CmsLruSegment m_protected;
 
-    /** The sum of all cached objects. */
-    private int m_objectCount;
+    /** The number of objects the adaptive policy refused to admit. */
+    private long m_rejectedCount;
+
+    /** The frequency sketch of the adaptive policy. */
+    private CmsFrequencySketch m_sketch;
 
     /**
      * The constructor with all options.<p>
@@ -87,9 +249,61 @@ public class CmsLruCache extends java.lang.Object {
      */
     public CmsLruCache(long theMaxCacheCosts, long theAvgCacheCosts, int theMaxObjectCosts) {
 
+        this(theMaxCacheCosts, theAvgCacheCosts, theMaxObjectCosts, Policy.LRU, DEFAULT_SKETCH_SIZE);
+    }
+
+    /**
+     * The constructor with all options and an eviction policy.<p>
+     *
+     * @param theMaxCacheCosts the maximum cache costs of all cached objects
+     * @param theAvgCacheCosts the average cache costs of all cached objects
+     * @param theMaxObjectCosts the maximum allowed cache costs per object. Set theMaxObjectCosts to -1 if you don't want to limit the max. allowed cache costs per object
+     * @param thePolicy the eviction policy, if <code>null</code> the {@link Policy#LRU} policy is used
+     * @param theSketchSize the number of distinct keys the frequency sketch of the adaptive policy is sized for
+     */
+    public CmsLruCache(
+        long theMaxCacheCosts,
+        long theAvgCacheCosts,
+        int theMaxObjectCosts,
+        Policy thePolicy,
+        int theSketchSize) {
+
         m_maxCacheCosts = theMaxCacheCosts;
         m_avgCacheCosts = theAvgCacheCosts;
         m_maxObjectCosts = theMaxObjectCosts;
+        m_policy = (thePolicy == null) ? Policy.LRU : thePolicy;
+        m_probation = new CmsLruSegment();
+        if (m_policy == Policy.ADAPTIVE) {
+            m_protected = new CmsLruSegment();
+            m_nodes = new IdentityHashMap<I_CmsLruCacheObject, CmsLruNode>();
+            m_sketch = new CmsFrequencySketch(theSketchSize);
+        }
+    }
+
+    /**
+     * Returns if cache accesses should be traced with {@link #trace(Object, int)}.<p>
+     * 
+     * @return <code>true</code> if cache accesses should be traced
+     */
+    public static boolean isTraceEnabled() {
+
+        return TRACE.isDebugEnabled();
+    }
+
+    /**
+     * Writes a cache access to the trace log channel {@link #TRACE_CHANNEL}.<p>
+     * 
+     * The traced accesses can be replayed offline with the {@link CmsLruCacheSimulator}
+     * to compare the hit ratios of the different policies.<p>
+     * 
+     * @param key the key of the accessed object
+     * @param costs the cache costs of the accessed object
+     */
+    public static void trace(Object key, int costs) {
+
+        if (TRACE.isDebugEnabled()) {
+            TRACE.debug("\t" + key + "\t" + costs);
+        }
     }
 
     /**
@@ -101,7 +315,27 @@ public class CmsLruCache extends java.lang.Object {
      * @param theCacheObject the object being added to the cache
      * @return true if the object was added to the cache, false if the object was denied because its cache costs were higher than the allowed max. cache costs per object
      */
-    public synchronized boolean add(I_CmsLruCacheObject theCacheObject) {
+    public boolean add(I_CmsLruCacheObject theCacheObject) {
+
+        return add(theCacheObject, theCacheObject);
+    }
+
+    /**
+     * Adds a new object with the given key to this cache.<p>
+     * 
+     * If add the same object more than once,
+     * the object is touched instead.<p>
+     * 
+     * The key is used by the adaptive policy to track how often an object has been requested,
+     * so it has to be equal for all objects that are created for the same cache entry.<p>
+     *
+     * @param theCacheObject the object being added to the cache
+     * @param theKey the key of the object
+     * 
+     * @return true if the object was added to the cache, false if the object was denied because its cache costs were higher than the allowed max. cache costs per object,
+     *      or because the adaptive policy did not admit it
+     */
+    public synchronized boolean add(I_CmsLruCacheObject theCacheObject, Object theKey) {
 
         if (theCacheObject == null) {
             // null can't be added or touched in the cache 
@@ -119,15 +353,24 @@ public class CmsLruCache extends java.lang.Object {
             return false;
         }
 
-        if (!isCached(theCacheObject)) {
-            // add the object to the list of all cached objects in the cache
-            addHead(theCacheObject);
-        } else {
-            touch(theCacheObject);
+        if (isCached(theCacheObject)) {
+            return touch(theCacheObject);
         }
 
+        if (m_policy == Policy.ADAPTIVE) {
+            m_sketch.increment(theKey);
+            if (!isAdmitted(theCacheObject, theKey)) {
+                m_rejectedCount++;
+                return false;
+            }
+            m_nodes.put(theCacheObject, new CmsLruNode(theKey));
+        }
+        // add the object to the list of all cached objects in the cache
+        m_probation.addHead(theCacheObject);
+        theCacheObject.addToLruCache();
+
         // check if the cache has to trash the last-recently-used objects before adding a new object
-        if (m_objectCosts > m_maxCacheCosts) {
+        if (getObjectCosts() > m_maxCacheCosts) {
             gc();
         }
 
@@ -139,18 +382,16 @@ public class CmsLruCache extends java.lang.Object {
      */
     public synchronized void clear() {
 
-        // remove all objects from the linked list from the tail to the head:
-        I_CmsLruCacheObject currentObject = m_listTail;
-        while (currentObject != null) {
-            currentObject = currentObject.getNextLruObject();
-            removeTail();
+        // remove all objects from the segments from the tail to the head
+        while (m_probation.m_tail != null) {
+            removeTail(m_probation);
+        }
+        if (m_protected != null) {
+            while (m_protected.m_tail != null) {
+                removeTail(m_protected);
+            }
+            m_nodes.clear();
         }
-
-        // reset the data structure
-        m_objectCosts = 0;
-        m_objectCount = 0;
-        m_listHead = null;
-        m_listTail = null;
     }
 
     /**
@@ -190,7 +431,51 @@ public class CmsLruCache extends java.lang.Object {
      */
     public int getObjectCosts() {
 
-        return m_objectCosts;
+        int costs = m_probation.m_costs;
+        if (m_protected != null) {
+            costs += m_protected.m_costs;
+        }
+        return costs;
+    }
+
+    /**
+     * Returns the eviction policy of this cache.<p>
+     * 
+     * @return the eviction policy of this cache
+     */
+    public Policy getPolicy() {
+
+        return m_policy;
+    }
+
+    /**
+     * Returns the number of objects the adaptive policy did not admit to this cache.<p>
+     * 
+     * @return the number of objects that were not admitted
+     */
+    public long getRejectedCount() {
+
+        return m_rejectedCount;
+    }
+
+    /**
+     * Records a cache hit for an object.<p>
+     * 
+     * With the adaptive policy the object is touched, which also counts the access for 
+     * the admission of new objects. With the LRU policy the position of the object 
+     * is only updated when it is added again, so a hit does not need to acquire the 
+     * lock of this cache.<p>
+     * 
+     * @param theCacheObject the object that was read from the cache
+     * 
+     * @return true if the object is cached and the hit was recorded
+     */
+    public boolean recordHit(I_CmsLruCacheObject theCacheObject) {
+
+        if (m_policy == Policy.ADAPTIVE) {
+            return touch(theCacheObject);
+        }
+        return false;
     }
 
     /**
@@ -206,39 +491,7 @@ public class CmsLruCache extends java.lang.Object {
             // theCacheObject is null or not inside the cache
             return null;
         }
-
-        // set the list pointers correct
-        if (theCacheObject.getNextLruObject() == null) {
-            // remove the object from the head pos.
-            I_CmsLruCacheObject newHead = theCacheObject.getPreviousLruObject();
-
-            if (newHead != null) {
-                // if newHead is null, theCacheObject 
-                // was the only object in the cache
-                newHead.setNextLruObject(null);
-            }
-
-            m_listHead = newHead;
-        } else if (theCacheObject.getPreviousLruObject() == null) {
-            // remove the object from the tail pos.
-            I_CmsLruCacheObject newTail = theCacheObject.getNextLruObject();
-
-            if (newTail != null) {
-                // if newTail is null, theCacheObject 
-                // was the only object in the cache                
-                newTail.setPreviousLruObject(null);
-            }
-
-            m_listTail = newTail;
-        } else {
-            // remove the object from within the list
-            theCacheObject.getPreviousLruObject().setNextLruObject(theCacheObject.getNextLruObject());
-            theCacheObject.getNextLruObject().setPreviousLruObject(theCacheObject.getPreviousLruObject());
-        }
-
-        // update cache stats. and notify the cached object
-        decreaseCache(theCacheObject);
-
+        removeFromSegment(getSegment(theCacheObject), theCacheObject);
         return theCacheObject;
     }
 
@@ -249,7 +502,11 @@ public class CmsLruCache extends java.lang.Object {
      */
     public int size() {
 
-        return m_objectCount;
+        int count = m_probation.m_count;
+        if (m_protected != null) {
+            count += m_protected.m_count;
+        }
+        return count;
     }
 
     /**
@@ -261,17 +518,25 @@ public class CmsLruCache extends java.lang.Object {
     public String toString() {
 
         StringBuffer buf = new StringBuffer();
+        buf.append("policy: " + m_policy).append(", ");
         buf.append("max. costs: " + m_maxCacheCosts).append(", ");
         buf.append("avg. costs: " + m_avgCacheCosts).append(", ");
         buf.append("max. costs/object: " + m_maxObjectCosts).append(", ");
-        buf.append("costs: " + m_objectCosts).append(", ");
-        buf.append("count: " + m_objectCount);
+        buf.append("costs: " + getObjectCosts()).append(", ");
+        buf.append("count: " + size());
+        if (m_policy == Policy.ADAPTIVE) {
+            buf.append(", ");
+            buf.append("protected costs: " + m_protected.m_costs).append(", ");
+            buf.append("rejected: " + m_rejectedCount);
+        }
         return buf.toString();
     }
 
     /**
      * Touch an existing object in this cache, in the sense that it's "last-recently-used" state
      * is updated.<p>
+     * 
+     * With the adaptive policy a touched object is moved to the protected segment.<p>
      *
      * @param theCacheObject the object being touched
      * @return true if an object was found and touched
@@ -294,114 +559,117 @@ public class CmsLruCache extends java.lang.Object {
             return false;
         }
 
-        // set the list pointers correct
-        I_CmsLruCacheObject nextObj = theCacheObject.getNextLruObject();
-        if (nextObj == null) {
-            // case 1: the object is already at the head pos.
+        if (m_policy != Policy.ADAPTIVE) {
+            m_probation.moveToHead(theCacheObject);
             return true;
         }
-        I_CmsLruCacheObject prevObj = theCacheObject.getPreviousLruObject();
-        if (prevObj == null) {
-            // case 2: the object at the tail pos., remove it from the tail to put it to the front as the new head
-            I_CmsLruCacheObject newTail = nextObj;
-            newTail.setPreviousLruObject(null);
-            m_listTail = newTail;
-        } else {
-            // case 3: the object is somewhere within the list, remove it to put it the front as the new head
-            prevObj.setNextLruObject(nextObj);
-            nextObj.setPreviousLruObject(prevObj);
-        }
-
-        // set the touched object as the new head in the linked list:
-        I_CmsLruCacheObject oldHead = m_listHead;
-        if (oldHead != null) {
-            oldHead.setNextLruObject(theCacheObject);
-            theCacheObject.setNextLruObject(null);
-            theCacheObject.setPreviousLruObject(oldHead);
-        }
-        m_listHead = theCacheObject;
-
-        return true;
-    }
 
-    /**
-     * Adds a cache object as the new haed to the list of all cached objects in this cache.<p>
-     *
-     * @param theCacheObject the object being added as the new head to the list of all cached objects
-     */
-    private void addHead(I_CmsLruCacheObject theCacheObject) {
-
-        // set the list pointers correct
-        if (m_objectCount > 0) {
-            // there is at least 1 object already in the list
-            I_CmsLruCacheObject oldHead = m_listHead;
-            oldHead.setNextLruObject(theCacheObject);
-            theCacheObject.setPreviousLruObject(oldHead);
-            m_listHead = theCacheObject;
-        } else {
-            // it is the first object to be added to the list
-            m_listTail = theCacheObject;
-            m_listHead = theCacheObject;
-            theCacheObject.setPreviousLruObject(null);
+        CmsLruNode node = m_nodes.get(theCacheObject);
+        m_sketch.increment(node.m_key);
+        if (node.m_protected) {
+            m_protected.moveToHead(theCacheObject);
+            return true;
         }
-        theCacheObject.setNextLruObject(null);
 
-        // update cache stats. and notify the cached object
-        increaseCache(theCacheObject);
-    }
-
-    /**
-     * Decrease this caches statistics
-     * and notify the cached object that it was removed from this cache.<p>
-     *
-     * @param theCacheObject the object being notified that it was removed from the cache
-     */
-    private void decreaseCache(I_CmsLruCacheObject theCacheObject) {
-
-        // notify the object that it was now removed from the cache
-        //theCacheObject.notify();
-        theCacheObject.removeFromLruCache();
-
-        // set the list pointers to null
-        theCacheObject.setNextLruObject(null);
-        theCacheObject.setPreviousLruObject(null);
-
-        // update the cache stats.
-        m_objectCosts -= theCacheObject.getLruCacheCosts();
-        m_objectCount--;
+        // promote the object from the probation to the protected segment
+        m_probation.remove(theCacheObject);
+        m_protected.addHead(theCacheObject);
+        node.m_protected = true;
+
+        // demote the last recently used objects of the protected segment if it has grown too large
+        long protectedLimit = (m_avgCacheCosts * PROTECTED_SEGMENT_PERCENT) / 100;
+        while ((m_protected.m_costs > protectedLimit) && (m_protected.m_count > 1)) {
+            I_CmsLruCacheObject demoted = m_protected.m_tail;
+            m_protected.remove(demoted);
+            m_probation.addHead(demoted);
+            m_nodes.get(demoted).m_protected = false;
+        }
+        return true;
     }
 
     /**
      * Removes the last recently used objects from the list of all cached objects as long
      * as the costs of all cached objects are higher than the allowed avg. costs of the cache.<p>
+     * 
+     * With the adaptive policy the objects in the probation segment are removed first.<p>
      */
     private void gc() {
 
-        I_CmsLruCacheObject currentObject = m_listTail;
-        while (currentObject != null) {
-            if (m_objectCosts < m_avgCacheCosts) {
+        while (getObjectCosts() >= m_avgCacheCosts) {
+            if (m_probation.m_tail != null) {
+                removeTail(m_probation);
+            } else if ((m_protected != null) && (m_protected.m_tail != null)) {
+                removeTail(m_protected);
+            } else {
                 break;
             }
-            currentObject = currentObject.getNextLruObject();
-            removeTail();
         }
     }
 
     /**
-     * Increase this caches statistics 
-     * and notify the cached object that it was added to this cache.<p>
-     *
-     * @param theCacheObject the object being notified that it was added to the cache
+     * Returns the segment that contains the given cached object.<p>
+     * 
+     * @param theCacheObject the cached object
+     * 
+     * @return the segment that contains the object
      */
-    private void increaseCache(I_CmsLruCacheObject theCacheObject) {
+    private CmsLruSegment getSegment(I_CmsLruCacheObject theCacheObject) {
 
-        // notify the object that it was now added to the cache
-        //theCacheObject.notify();
-        theCacheObject.addToLruCache();
+        if ((m_nodes != null) && m_nodes.get(theCacheObject).m_protected) {
+            return m_protected;
+        }
+        return m_probation;
+    }
+
+    /**
+     * Checks if the adaptive policy admits a new object to the cache.<p>
+     * 
+     * As long as adding the object does not exceed the max. costs of the cache it is always admitted. 
+     * Otherwise the object is only admitted if it has been requested more often than each of the 
+     * objects that would be removed from the cache to make room for it.<p>
+     * 
+     * @param theCacheObject the new object
+     * @param theKey the key of the new object
+     * 
+     * @return true if the object is admitted to the cache
+     */
+    private boolean isAdmitted(I_CmsLruCacheObject theCacheObject, Object theKey) {
 
-        // update the cache stats.
-        m_objectCosts += theCacheObject.getLruCacheCosts();
-        m_objectCount++;
+        long costs = getObjectCosts() + theCacheObject.getLruCacheCosts();
+        if (costs <= m_maxCacheCosts) {
+            return true;
+        }
+
+        // the garbage collection would remove objects until the costs are below the avg. costs
+        long costsToFree = (costs - m_avgCacheCosts) + 1;
+        int frequency = m_sketch.frequency(theKey);
+        long freed = 0;
+        I_CmsLruCacheObject victim = m_probation.m_tail;
+        boolean inProbation = true;
+        while (freed < costsToFree) {
+            if (victim == null) {
+                if (!inProbation) {
+                    break;
+                }
+                victim = m_protected.m_tail;
+                inProbation = false;
+                continue;
+            }
+            int victimFrequency = m_sketch.frequency(m_nodes.get(victim).m_key);
+            if (victimFrequency >= frequency) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug(Messages.get().getBundle().key(
+                        Messages.LOG_CACHE_NOT_ADMITTED_3,
+                        new Integer(theCacheObject.getLruCacheCosts()),
+                        new Integer(frequency),
+                        new Integer(victimFrequency)));
+                }
+                return false;
+            }
+            freed += victim.getLruCacheCosts();
+            victim = victim.getNextLruObject();
+        }
+        return true;
     }
 
     /**
@@ -412,55 +680,43 @@ public class CmsLruCache extends java.lang.Object {
      */
     private boolean isCached(I_CmsLruCacheObject theCacheObject) {
 
-        if ((theCacheObject == null) || (m_objectCount == 0)) {
-            // the cache is empty or the object is null (which is never cached)
+        if (theCacheObject == null) {
+            // null is never cached
             return false;
         }
-
-        I_CmsLruCacheObject nextObj = theCacheObject.getNextLruObject();
-        I_CmsLruCacheObject prevObj = theCacheObject.getPreviousLruObject();
-
-        if ((nextObj != null) || (prevObj != null)) {
-            // the object has either a predecessor or successor in the linked 
-            // list of all cached objects, so it is inside the cache
-            return true;
+        if (m_nodes != null) {
+            return m_nodes.containsKey(theCacheObject);
         }
+        return m_probation.contains(theCacheObject);
+    }
 
-        // both nextObj and preObj are null
-        if ((m_objectCount == 1)
-            && (m_listHead != null)
-            && (m_listTail != null)
-            && m_listHead.equals(theCacheObject)
-            && m_listTail.equals(theCacheObject)) {
-            // the object is the one and only object in the cache
-            return true;
-        }
+    /**
+     * Removes an object from a segment, updates the cache statistics 
+     * and notifies the object that it was removed from this cache.<p>
+     * 
+     * @param segment the segment that contains the object
+     * @param theCacheObject the object to remove
+     */
+    private void removeFromSegment(CmsLruSegment segment, I_CmsLruCacheObject theCacheObject) {
 
-        return false;
+        segment.remove(theCacheObject);
+        if (m_nodes != null) {
+            m_nodes.remove(theCacheObject);
+        }
+        // notify the object that it was now removed from the cache
+        theCacheObject.removeFromLruCache();
     }
 
     /**
-     * Removes the tailing object from the list of all cached objects.<p>
+     * Removes the tailing object from the given segment.<p>
+     * 
+     * @param segment the segment to remove the tailing object from
      */
-    private synchronized void removeTail() {
+    private void removeTail(CmsLruSegment segment) {
 
-        I_CmsLruCacheObject oldTail = m_listTail;
+        I_CmsLruCacheObject oldTail = segment.m_tail;
         if (oldTail != null) {
-            I_CmsLruCacheObject newTail = oldTail.getNextLruObject();
-
-            // set the list pointers correct
-            if (newTail != null) {
-                // there are still objects remaining in the list
-                newTail.setPreviousLruObject(null);
-                m_listTail = newTail;
-            } else {
-                // we removed the last object from the list
-                m_listTail = null;
-                m_listHead = null;
-            }
-
-            // update cache stats. and notify the cached object
-            decreaseCache(oldTail);
+            removeFromSegment(segment, oldTail);
         }
     }
-}
\ No newline at end of file
+}
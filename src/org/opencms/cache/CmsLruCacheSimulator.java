@@ -0,0 +1,359 @@
+/*
+ * This library is part of OpenCms -
+ * the Open Source Content Management System
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software GmbH, please see the
+ * company website: http://www.alkacon.com
+ *
+ * For further information about OpenCms, please see the
+ * project website: http://www.opencms.org
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.opencms.cache;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Replays a recorded trace of cache accesses against a {@link CmsLruCache} to compare 
+ * the hit ratios of the available eviction policies offline.<p>
+ * 
+ * A trace contains one access per line, with the key and the cache costs of the accessed object 
+ * as the last two tab separated fields. This is the format written to the log channel 
+ * {@link CmsLruCache#TRACE_CHANNEL}, so a trace can be recorded by setting this channel 
+ * to debug level in the log configuration.<p>
+ * 
+ * The simulator can be started from the command line with the trace file, the max. cache costs,
+ * the avg. cache costs and the max. costs per object as arguments, for example with the values 
+ * of the FlexCache configuration.<p>
+ * 
+ * @since 9.0.0
+ */
+public class CmsLruCacheSimulator {
+
+    /**
+     * The result of a simulation run.<p>
+     */
+    public static class CmsSimulationResult {
+
+        /** The number of cache hits. */
+        private long m_hits;
+
+        /** The simulated policy. */
+        private CmsLruCache.Policy m_policy;
+
+        /** The number of objects that were not admitted. */
+        private long m_rejected;
+
+        /** The number of cache requests. */
+        private long m_requests;
+
+        /**
+         * Creates a new simulation result.<p>
+         * 
+         * @param policy the simulated policy
+         * @param requests the number of cache requests
+         * @param hits the number of cache hits
+         * @param rejected the number of objects that were not admitted
+         */
+        public CmsSimulationResult(CmsLruCache.Policy policy, long requests, long hits, long rejected) {
+
+            m_policy = policy;
+            m_requests = requests;
+            m_hits = hits;
+            m_rejected = rejected;
+        }
+
+        /**
+         * Returns the number of cache hits.<p>
+         * 
+         * @return the number of cache hits
+         */
+        public long getHits() {
+
+            return m_hits;
+        }
+
+        /**
+         * Returns the hit ratio, between 0 and 1.<p>
+         * 
+         * @return the hit ratio
+         */
+        public double getHitRatio() {
+
+            return m_requests == 0 ? 0 : (double)m_hits / (double)m_requests;
+        }
+
+        /**
+         * Returns the simulated policy.<p>
+         * 
+         * @return the simulated policy
+         */
+        public CmsLruCache.Policy getPolicy() {
+
+            return m_policy;
+        }
+
+        /**
+         * Returns the number of objects that were not admitted to the cache.<p>
+         * 
+         * @return the number of objects that were not admitted
+         */
+        public long getRejected() {
+
+            return m_rejected;
+        }
+
+        /**
+         * Returns the number of cache requests.<p>
+         * 
+         * @return the number of cache requests
+         */
+        public long getRequests() {
+
+            return m_requests;
+        }
+
+        /**
+         * @see java.lang.Object#toString()
+         */
+        @Override
+        public String toString() {
+
+            StringBuffer buf = new StringBuffer();
+            buf.append("policy: " + m_policy).append(", ");
+            buf.append("requests: " + m_requests).append(", ");
+            buf.append("hits: " + m_hits).append(", ");
+            buf.append("hit ratio: " + Math.round(getHitRatio() * 10000) / 100.0 + "%").append(", ");
+            buf.append("rejected: " + m_rejected);
+            return buf.toString();
+        }
+    }
+
+    /**
+     * A cached object of the simulation, which only has a key and cache costs.<p>
+     */
+    private static class CmsSimulatedObject implements I_CmsLruCacheObject {
+
+        /** The map of the cached objects of the simulation. */
+        private Map<String, CmsSimulatedObject> m_cached;
+
+        /** The cache costs. */
+        private int m_costs;
+
+        /** The key. */
+        private String m_key;
+
+        /** The next object in the LRU list. */
+        private I_CmsLruCacheObject m_next;
+
+        /** The previous object in the LRU list. */
+        private I_CmsLruCacheObject m_previous;
+
+        /**
+         * Creates a new simulated object.<p>
+         * 
+         * @param key the key
+         * @param costs the cache costs
+         * @param cached the map of the cached objects of the simulation
+         */
+        protected CmsSimulatedObject(String key, int costs, Map<String, CmsSimulatedObject> cached) {
+
+            m_key = key;
+            m_costs = costs;
+            m_cached = cached;
+        }
+
+        /**
+         * @see org.opencms.cache.I_CmsLruCacheObject#addToLruCache()
+         */
+        public void addToLruCache() {
+
+            // noop
+        }
+
+        /**
+         * @see org.opencms.cache.I_CmsLruCacheObject#getLruCacheCosts()
+         */
+        public int getLruCacheCosts() {
+
+            return m_costs;
+        }
+
+        /**
+         * @see org.opencms.cache.I_CmsLruCacheObject#getNextLruObject()
+         */
+        public I_CmsLruCacheObject getNextLruObject() {
+
+            return m_next;
+        }
+
+        /**
+         * @see org.opencms.cache.I_CmsLruCacheObject#getPreviousLruObject()
+         */
+        public I_CmsLruCacheObject getPreviousLruObject() {
+
+            return m_previous;
+        }
+
+        /**
+         * @see org.opencms.cache.I_CmsLruCacheObject#getValue()
+         */
+        public Object getValue() {
+
+            return m_key;
+        }
+
+        /**
+         * @see org.opencms.cache.I_CmsLruCacheObject#removeFromLruCache()
+         */
+        public void removeFromLruCache() {
+
+            if (m_cached.get(m_key) == this) {
+                m_cached.remove(m_key);
+            }
+        }
+
+        /**
+         * @see org.opencms.cache.I_CmsLruCacheObject#setNextLruObject(org.opencms.cache.I_CmsLruCacheObject)
+         */
+        public void setNextLruObject(I_CmsLruCacheObject theNextObject) {
+
+            m_next = theNextObject;
+        }
+
+        /**
+         * @see org.opencms.cache.I_CmsLruCacheObject#setPreviousLruObject(org.opencms.cache.I_CmsLruCacheObject)
+         */
+        public void setPreviousLruObject(I_CmsLruCacheObject thePreviousObject) {
+
+            m_previous = thePreviousObject;
+        }
+    }
+
+    /** The average costs of the simulated cache. */
+    private long m_avgCacheCosts;
+
+    /** The maximum costs of the simulated cache. */
+    private long m_maxCacheCosts;
+
+    /** The maximum costs per object of the simulated cache. */
+    private int m_maxObjectCosts;
+
+    /**
+     * Creates a new simulator for a cache with the given size.<p>
+     * 
+     * @param maxCacheCosts the maximum cache costs of all cached objects
+     * @param avgCacheCosts the average cache costs of all cached objects
+     * @param maxObjectCosts the maximum allowed cache costs per object, or -1 for no limit
+     */
+    public CmsLruCacheSimulator(long maxCacheCosts, long avgCacheCosts, int maxObjectCosts) {
+
+        m_maxCacheCosts = maxCacheCosts;
+        m_avgCacheCosts = avgCacheCosts;
+        m_maxObjectCosts = maxObjectCosts;
+    }
+
+    /**
+     * Replays a trace file with all available policies and prints the results.<p>
+     * 
+     * @param args the trace file, the max. cache costs, the avg. cache costs and optionally the max. costs per object
+     * 
+     * @throws IOException if reading the trace file fails
+     */
+    public static void main(String[] args) throws IOException {
+
+        if (args.length < 3) {
+            System.out.println("Usage: CmsLruCacheSimulator <trace file> <max. costs> <avg. costs> [<max. costs/object>]");
+            return;
+        }
+        long maxCacheCosts = Long.parseLong(args[1]);
+        long avgCacheCosts = Long.parseLong(args[2]);
+        int maxObjectCosts = (args.length > 3) ? Integer.parseInt(args[3]) : -1;
+        CmsLruCacheSimulator simulator = new CmsLruCacheSimulator(maxCacheCosts, avgCacheCosts, maxObjectCosts);
+        for (CmsLruCache.Policy policy : CmsLruCache.Policy.values()) {
+            Reader reader = new InputStreamReader(new FileInputStream(args[0]), "UTF-8");
+            try {
+                System.out.println(simulator.replay(reader, policy));
+            } finally {
+                reader.close();
+            }
+        }
+    }
+
+    /**
+     * Replays a trace with the given policy.<p>
+     * 
+     * Each access is looked up in the simulated cache, and the object is added to the cache
+     * if it is not found, as the FlexCache does after processing a request.
+     * Lines that can not be parsed are ignored.<p>
+     * 
+     * @param trace the trace to replay
+     * @param policy the policy to simulate
+     * 
+     * @return the result of the simulation
+     * 
+     * @throws IOException if reading the trace fails
+     */
+    public CmsSimulationResult replay(Reader trace, CmsLruCache.Policy policy) throws IOException {
+
+        CmsLruCache cache = new CmsLruCache(
+            m_maxCacheCosts,
+            m_avgCacheCosts,
+            m_maxObjectCosts,
+            policy,
+            CmsLruCache.DEFAULT_SKETCH_SIZE);
+        Map<String, CmsSimulatedObject> cached = new HashMap<String, CmsSimulatedObject>();
+        long requests = 0;
+        long hits = 0;
+        BufferedReader reader = new BufferedReader(trace);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String[] fields = line.split("\t");
+            if (fields.length < 2) {
+                continue;
+            }
+            String key = fields[fields.length - 2];
+            int costs;
+            try {
+                costs = Integer.parseInt(fields[fields.length - 1].trim());
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            requests++;
+            CmsSimulatedObject object = cached.get(key);
+            if (object != null) {
+                hits++;
+                cache.recordHit(object);
+            } else {
+                object = new CmsSimulatedObject(key, costs, cached);
+                cached.put(key, object);
+                if (!cache.add(object, key)) {
+                    cached.remove(key);
+                }
+            }
+        }
+        return new CmsSimulationResult(policy, requests, hits, cache.getRejectedCount());
+    }
+}
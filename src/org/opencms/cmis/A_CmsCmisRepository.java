@@ -35,9 +35,9 @@ import org.opencms.security.CmsPrincipal;
 import org.opencms.security.CmsRole;
 import org.opencms.util.CmsUUID;
 
+import java.io.ByteArrayInputStream;
 import java.math.BigInteger;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -172,7 +172,7 @@ public abstract class A_CmsCmisRepository implements I_CmsCmisRepository {
     /**
      * @see org.opencms.cmis.I_CmsCmisRepository#getAllVersions(org.opencms.cmis.CmsCmisCallContext, java.lang.String, java.lang.String, java.lang.String, boolean)
      */
-    public synchronized List<ObjectData> getAllVersions(
+    public List<ObjectData> getAllVersions(
         CmsCmisCallContext context,
         String objectId,
         String versionSeriesId,
@@ -185,7 +185,7 @@ public abstract class A_CmsCmisRepository implements I_CmsCmisRepository {
     /**
      * @see org.opencms.cmis.I_CmsCmisRepository#getAppliedPolicies(org.opencms.cmis.CmsCmisCallContext, java.lang.String, java.lang.String)
      */
-    public synchronized List<ObjectData> getAppliedPolicies(CmsCmisCallContext context, String objectId, String filter) {
+    public List<ObjectData> getAppliedPolicies(CmsCmisCallContext context, String objectId, String filter) {
 
         throw notSupported();
     }
@@ -193,7 +193,7 @@ public abstract class A_CmsCmisRepository implements I_CmsCmisRepository {
     /**
      * @see org.opencms.cmis.I_CmsCmisRepository#getContentChanges(org.opencms.cmis.CmsCmisCallContext, org.apache.chemistry.opencmis.commons.spi.Holder, boolean, java.lang.String, boolean, boolean, java.math.BigInteger)
      */
-    public synchronized ObjectList getContentChanges(
+    public ObjectList getContentChanges(
         CmsCmisCallContext context,
         Holder<String> changeLogToken,
         boolean includeProperties,
@@ -208,7 +208,7 @@ public abstract class A_CmsCmisRepository implements I_CmsCmisRepository {
     /**
      * @see org.opencms.cmis.I_CmsCmisRepository#getObjectOfLatestVersion(org.opencms.cmis.CmsCmisCallContext, java.lang.String, java.lang.String, boolean, java.lang.String, boolean, org.apache.chemistry.opencmis.commons.enums.IncludeRelationships, java.lang.String, boolean, boolean)
      */
-    public synchronized ObjectData getObjectOfLatestVersion(
+    public ObjectData getObjectOfLatestVersion(
         CmsCmisCallContext context,
         String objectId,
         String versionSeriesId,
@@ -226,7 +226,7 @@ public abstract class A_CmsCmisRepository implements I_CmsCmisRepository {
     /**
      * @see org.opencms.cmis.I_CmsCmisRepository#getPropertiesOfLatestVersion(org.opencms.cmis.CmsCmisCallContext, java.lang.String, java.lang.String, boolean, java.lang.String)
      */
-    public synchronized Properties getPropertiesOfLatestVersion(
+    public Properties getPropertiesOfLatestVersion(
         CmsCmisCallContext context,
         String objectId,
         String versionSeriesId,
@@ -239,7 +239,7 @@ public abstract class A_CmsCmisRepository implements I_CmsCmisRepository {
     /**
      * @see org.opencms.cmis.I_CmsCmisRepository#query(org.opencms.cmis.CmsCmisCallContext, java.lang.String, boolean, boolean, org.apache.chemistry.opencmis.commons.enums.IncludeRelationships, java.lang.String, java.math.BigInteger, java.math.BigInteger)
      */
-    public synchronized ObjectList query(
+    public ObjectList query(
         CmsCmisCallContext context,
         String statement,
         boolean searchAllVersions,
@@ -270,31 +270,6 @@ public abstract class A_CmsCmisRepository implements I_CmsCmisRepository {
 
     }
 
-    /**
-     * Copies a range of bytes from an array into a new array.<p>
-     * 
-     * @param content the content array 
-     * @param offset the start offset in the array 
-     * @param length the length of the range 
-     *  
-     * @return the bytes from the given range of the content 
-     */
-    protected byte[] extractRange(byte[] content, BigInteger offset, BigInteger length) {
-
-        if ((offset == null) && (length == null)) {
-            return content;
-        }
-        if (offset == null) {
-            offset = BigInteger.ZERO;
-        }
-        long offsetLong = offset.longValue();
-        if (length == null) {
-            length = BigInteger.valueOf(content.length - offsetLong);
-        }
-        long lengthLong = length.longValue();
-        return Arrays.copyOfRange(content, (int)offsetLong, (int)(offsetLong + lengthLong));
-    }
-
     /**
      * Gets a user-readable name for a principal id read from an ACE.<p>
      * 
@@ -345,6 +320,25 @@ public abstract class A_CmsCmisRepository implements I_CmsCmisRepository {
         return cmsProperties;
     }
 
+    /**
+     * Creates a stream for a range of bytes from an array without copying the range.<p>
+     * 
+     * @param content the content array 
+     * @param offset the start offset in the array, may be null 
+     * @param length the length of the range, may be null 
+     *  
+     * @return the stream for the bytes from the given range of the content 
+     */
+    protected ByteArrayInputStream getRangeStream(byte[] content, BigInteger offset, BigInteger length) {
+
+        int offsetInt = (offset == null) ? 0 : (int)Math.min(Math.max(offset.longValue(), 0), content.length);
+        int lengthInt = content.length - offsetInt;
+        if (length != null) {
+            lengthInt = (int)Math.min(Math.max(length.longValue(), 0), lengthInt);
+        }
+        return new ByteArrayInputStream(content, offsetInt, lengthInt);
+    }
+
     /**
      * Helper method to create exceptions for unsupported features.<p>
      * 
@@ -106,20 +106,23 @@ public class CmsCmisTypeManager {
     /** The admin CMS context. */
     private CmsObject m_adminCms;
 
+    /** The OpenCms property definitions used while the types are being built. */
+    private List<CmsPropertyDefinition> m_buildPropertyDefinitions;
+
+    /** The map of type definitions used while the types are being built. */
+    private Map<String, TypeDefinitionContainerImpl> m_buildTypes;
+
     /** The list of OpenCms property definitions. */
-    private List<CmsPropertyDefinition> m_cmsPropertyDefinitions;
+    private volatile List<CmsPropertyDefinition> m_cmsPropertyDefinitions;
 
     /** The last update time. */
-    private long m_lastUpdate;
+    private volatile long m_lastUpdate;
 
     /** List of dynamic property providers. */
     private List<I_CmsPropertyProvider> m_propertyProviders = new ArrayList<I_CmsPropertyProvider>();
 
-    /** The internal list of type definitions. */
-    private List<TypeDefinitionContainer> m_typeList;
-
-    /** The internal map of type definitions. */
-    private Map<String, TypeDefinitionContainerImpl> m_types;
+    /** The internal map of type definitions, replaced as a whole on every update. */
+    private volatile Map<String, TypeDefinitionContainerImpl> m_types;
 
     /**
      * Creates a new type manager instance.<p>
@@ -600,8 +603,7 @@ public class CmsCmisTypeManager {
      */
     public TypeDefinition getType(String typeId) {
 
-        refresh();
-        TypeDefinitionContainer tc = m_types.get(typeId);
+        TypeDefinitionContainer tc = refresh().get(typeId);
         if (tc == null) {
             return null;
         }
@@ -623,7 +625,7 @@ public class CmsCmisTypeManager {
 
     String typeId, boolean includePropertyDefinitions, BigInteger maxItems, BigInteger skipCount) {
 
-        refresh();
+        Map<String, TypeDefinitionContainerImpl> types = refresh();
         TypeDefinitionListImpl result = new TypeDefinitionListImpl(new ArrayList<TypeDefinition>());
 
         int skip = (skipCount == null ? 0 : skipCount.intValue());
@@ -638,18 +640,18 @@ public class CmsCmisTypeManager {
 
         if (typeId == null) {
             if (skip < 1) {
-                result.getList().add(copyTypeDefintion(m_types.get(FOLDER_TYPE_ID).getTypeDefinition()));
+                result.getList().add(copyTypeDefintion(types.get(FOLDER_TYPE_ID).getTypeDefinition()));
                 max--;
             }
             if ((skip < 2) && (max > 0)) {
-                result.getList().add(copyTypeDefintion(m_types.get(DOCUMENT_TYPE_ID).getTypeDefinition()));
+                result.getList().add(copyTypeDefintion(types.get(DOCUMENT_TYPE_ID).getTypeDefinition()));
                 max--;
             }
 
             result.setHasMoreItems(Boolean.valueOf((result.getList().size() + skip) < 2));
             result.setNumItems(BigInteger.valueOf(2));
         } else {
-            TypeDefinitionContainer tc = m_types.get(typeId);
+            TypeDefinitionContainer tc = types.get(typeId);
             if ((tc == null) || (tc.getChildren() == null)) {
                 return result;
             }
@@ -690,8 +692,7 @@ public class CmsCmisTypeManager {
      */
     public TypeDefinition getTypeDefinition(String typeId) {
 
-        refresh();
-        TypeDefinitionContainer tc = m_types.get(typeId);
+        TypeDefinitionContainer tc = refresh().get(typeId);
         if (tc == null) {
             throw new CmisObjectNotFoundException("Type '" + typeId + "' is unknown!");
         }
@@ -712,7 +713,7 @@ public class CmsCmisTypeManager {
 
     String typeId, BigInteger depth, boolean includePropertyDefinitions) {
 
-        refresh();
+        Map<String, TypeDefinitionContainerImpl> types = refresh();
         List<TypeDefinitionContainer> result = new ArrayList<TypeDefinitionContainer>();
 
         // check depth
@@ -722,11 +723,11 @@ public class CmsCmisTypeManager {
         }
 
         if (typeId == null) {
-            result.add(getTypeDescendants(d, m_types.get(FOLDER_TYPE_ID), includePropertyDefinitions));
-            result.add(getTypeDescendants(d, m_types.get(DOCUMENT_TYPE_ID), includePropertyDefinitions));
-            result.add(getTypeDescendants(d, m_types.get(RELATIONSHIP_TYPE_ID), includePropertyDefinitions));
+            result.add(getTypeDescendants(d, types.get(FOLDER_TYPE_ID), includePropertyDefinitions));
+            result.add(getTypeDescendants(d, types.get(DOCUMENT_TYPE_ID), includePropertyDefinitions));
+            result.add(getTypeDescendants(d, types.get(RELATIONSHIP_TYPE_ID), includePropertyDefinitions));
         } else {
-            TypeDefinitionContainer tc = m_types.get(typeId);
+            TypeDefinitionContainer tc = types.get(typeId);
             if (tc != null) {
                 result.add(getTypeDescendants(d, tc, includePropertyDefinitions));
             }
@@ -760,11 +761,12 @@ public class CmsCmisTypeManager {
      * 
      * @throws CmsException if something goes wrong 
      */
-    void setup() throws CmsException {
+    synchronized void setup() throws CmsException {
 
-        m_types = new HashMap<String, TypeDefinitionContainerImpl>();
-        m_typeList = new ArrayList<TypeDefinitionContainer>();
-        m_cmsPropertyDefinitions = m_adminCms.readAllPropertyDefinitions();
+        // the new type definitions are built in separate collections and published at the end,
+        // so that readers which do not synchronize never see a partially built type map 
+        m_buildTypes = new HashMap<String, TypeDefinitionContainerImpl>();
+        m_buildPropertyDefinitions = m_adminCms.readAllPropertyDefinitions();
 
         // folder type
         FolderTypeDefinitionImpl folderType = new FolderTypeDefinitionImpl();
@@ -844,6 +846,11 @@ public class CmsCmisTypeManager {
         for (CmsRelationType relType : CmsRelationType.getAll()) {
             createRelationshipType(relType);
         }
+
+        m_cmsPropertyDefinitions = m_buildPropertyDefinitions;
+        m_types = m_buildTypes;
+        m_buildPropertyDefinitions = null;
+        m_buildTypes = null;
         m_lastUpdate = System.currentTimeMillis();
     }
 
@@ -854,7 +861,7 @@ public class CmsCmisTypeManager {
      */
     private void addCmsPropertyDefinitions(AbstractTypeDefinition type) {
 
-        for (CmsPropertyDefinition propDef : m_cmsPropertyDefinitions) {
+        for (CmsPropertyDefinition propDef : m_buildPropertyDefinitions) {
             type.addPropertyDefinition(createOpenCmsPropertyDefinition(propDef));
             type.addPropertyDefinition(createPropDef(
                 INHERITED_PREFIX + propDef.getName(),
@@ -918,13 +925,13 @@ public class CmsCmisTypeManager {
         // find base type
         TypeDefinition baseType = null;
         if (type.getBaseTypeId() == BaseTypeId.CMIS_DOCUMENT) {
-            baseType = copyTypeDefintion(m_types.get(DOCUMENT_TYPE_ID).getTypeDefinition());
+            baseType = copyTypeDefintion(m_buildTypes.get(DOCUMENT_TYPE_ID).getTypeDefinition());
         } else if (type.getBaseTypeId() == BaseTypeId.CMIS_FOLDER) {
-            baseType = copyTypeDefintion(m_types.get(FOLDER_TYPE_ID).getTypeDefinition());
+            baseType = copyTypeDefintion(m_buildTypes.get(FOLDER_TYPE_ID).getTypeDefinition());
         } else if (type.getBaseTypeId() == BaseTypeId.CMIS_RELATIONSHIP) {
-            baseType = copyTypeDefintion(m_types.get(RELATIONSHIP_TYPE_ID).getTypeDefinition());
+            baseType = copyTypeDefintion(m_buildTypes.get(RELATIONSHIP_TYPE_ID).getTypeDefinition());
         } else if (type.getBaseTypeId() == BaseTypeId.CMIS_POLICY) {
-            baseType = copyTypeDefintion(m_types.get(POLICY_TYPE_ID).getTypeDefinition());
+            baseType = copyTypeDefintion(m_buildTypes.get(POLICY_TYPE_ID).getTypeDefinition());
         } else {
             return false;
         }
@@ -953,7 +960,7 @@ public class CmsCmisTypeManager {
             return;
         }
 
-        if (m_types.containsKey(type.getId())) {
+        if (m_buildTypes.containsKey(type.getId())) {
             // can't overwrite a type
             return;
         }
@@ -963,7 +970,7 @@ public class CmsCmisTypeManager {
 
         // add to parent
         if (type.getParentTypeId() != null) {
-            TypeDefinitionContainerImpl tdc = m_types.get(type.getParentTypeId());
+            TypeDefinitionContainerImpl tdc = m_buildTypes.get(type.getParentTypeId());
             if (tdc != null) {
                 if (tdc.getChildren() == null) {
                     tdc.setChildren(new ArrayList<TypeDefinitionContainer>());
@@ -972,8 +979,7 @@ public class CmsCmisTypeManager {
             }
         }
 
-        m_types.put(type.getId(), tc);
-        m_typeList.add(tc);
+        m_buildTypes.put(type.getId(), tc);
     }
 
     /**
@@ -1046,17 +1052,24 @@ public class CmsCmisTypeManager {
 
     /** 
      * Refreshes the internal data if the last update was longer ago than the udpate interval.<p>
+     * 
+     * @return the current map of type definitions 
      */
-    private synchronized void refresh() {
-
-        try {
-            long now = System.currentTimeMillis();
-            if ((now - m_lastUpdate) > UPDATE_INTERVAL) {
-                setup();
+    private Map<String, TypeDefinitionContainerImpl> refresh() {
+
+        if ((System.currentTimeMillis() - m_lastUpdate) > UPDATE_INTERVAL) {
+            synchronized (this) {
+                try {
+                    // check again, another thread may have updated the types in the meantime
+                    if ((System.currentTimeMillis() - m_lastUpdate) > UPDATE_INTERVAL) {
+                        setup();
+                    }
+                } catch (CmsException e) {
+                    LOG.error(e.getLocalizedMessage(), e);
+                }
             }
-        } catch (CmsException e) {
-            LOG.error(e.getLocalizedMessage(), e);
         }
+        return m_types;
     }
 
 }
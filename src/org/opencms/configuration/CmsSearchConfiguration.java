@@ -95,6 +95,12 @@ public class CmsSearchConfiguration extends A_CmsXmlConfiguration {
     /** Node name constant. */
     public static final String N_ANALYZERS = "analyzers";
 
+    /** Node name constant. */
+    public static final String N_BATCH_MAX_BYTES = "batchMaxBytes";
+
+    /** Node name constant. */
+    public static final String N_BATCH_SIZE = "batchSize";
+
     /** Node name constant. */
     public static final String N_CLASS = "class";
 
@@ -275,6 +281,8 @@ public class CmsSearchConfiguration extends A_CmsXmlConfiguration {
         digester.addCallMethod(xPath + "/" + N_HOME, "setHomeFolderPath", 0);
         digester.addCallMethod(xPath + "/" + N_CONFIG_FILE, "setSolrFileName", 0);
         digester.addCallMethod(xPath + "/" + N_COMMIT_MS, "setSolrCommitMs", 0);
+        digester.addCallMethod(xPath + "/" + N_BATCH_SIZE, "setBatchSize", 0);
+        digester.addCallMethod(xPath + "/" + N_BATCH_MAX_BYTES, "setBatchMaxBytes", 0);
         digester.addSetNext(xPath, "setSolrServerConfiguration");
 
         // document type rule
@@ -394,6 +402,8 @@ public class CmsSearchConfiguration extends A_CmsXmlConfiguration {
                 solr.addElement(N_CONFIG_FILE).addText(conf.getSolrFileName());
             }
             solr.addElement(N_COMMIT_MS).addText(String.valueOf(conf.getSolrCommitMs()));
+            solr.addElement(N_BATCH_SIZE).addText(String.valueOf(conf.getBatchSize()));
+            solr.addElement(N_BATCH_MAX_BYTES).addText(String.valueOf(conf.getBatchMaxBytes()));
         }
 
         // add <directory> element
@@ -40,6 +40,7 @@ import org.opencms.mail.CmsMailSettings;
 import org.opencms.main.CmsContextInfo;
 import org.opencms.main.CmsDefaultSessionStorageProvider;
 import org.opencms.main.CmsEventManager;
+import org.opencms.main.CmsExecutorRegistry;
 import org.opencms.main.CmsHttpAuthenticationSettings;
 import org.opencms.main.CmsLog;
 import org.opencms.main.CmsServletContainerSettings;
@@ -175,6 +176,9 @@ public class CmsSystemConfiguration extends A_CmsXmlConfiguration {
     /** The node name for the cache-offline node. */
     public static final String N_CACHE_OFFLINE = "cache-offline";
 
+    /** The node name for the cache-policy node. */
+    public static final String N_CACHE_POLICY = "cache-policy";
+
     /** The node name for a job class. */
     public static final String N_CLASS = "class";
 
@@ -523,9 +527,24 @@ public class CmsSystemConfiguration extends A_CmsXmlConfiguration {
     /** The log object for this class. */
     private static final Log LOG = CmsLog.getLog(CmsSystemConfiguration.class);
 
+    /** Attribute name for the queue size of a thread pool. */
+    private static final String A_QUEUE_SIZE = "queue-size";
+
+    /** Attribute name for the size of a thread pool. */
+    private static final String A_SIZE = "size";
+
+    /** Attribute name for enabling virtual threads. */
+    private static final String A_VIRTUAL_THREADS = "virtual-threads";
+
     /** Node name for the credentials resolver setting. */
     private static final String N_CREDENTIALS_RESOLVER = "credentials-resolver";
 
+    /** Node name for the thread pool settings. */
+    private static final String N_EXECUTORS = "executors";
+
+    /** Node name for a single thread pool. */
+    private static final String N_POOL = "pool";
+
     /** Node name for the user session mode. */
     private static final String N_USER_SESSION_MODE = "user-session-mode";
 
@@ -568,6 +587,9 @@ public class CmsSystemConfiguration extends A_CmsXmlConfiguration {
     /** The configured OpenCms event manager. */
     private CmsEventManager m_eventManager;
 
+    /** The registry for the thread pools. */
+    private CmsExecutorRegistry m_executorRegistry;
+
     /** Indicates if the version history is enabled. */
     private boolean m_historyEnabled;
 
@@ -1048,6 +1070,8 @@ public class CmsSystemConfiguration extends A_CmsXmlConfiguration {
         digester.addCallParam("*/" + N_SYSTEM + "/" + N_FLEXCACHE + "/" + N_AVGCACHEBYTES, 3);
         digester.addCallParam("*/" + N_SYSTEM + "/" + N_FLEXCACHE + "/" + N_MAXENTRYBYTES, 4);
         digester.addCallParam("*/" + N_SYSTEM + "/" + N_FLEXCACHE + "/" + N_MAXKEYS, 5);
+        // add flexcache eviction policy
+        digester.addCallMethod("*/" + N_SYSTEM + "/" + N_FLEXCACHE + "/" + N_CACHE_POLICY, "setCachePolicy", 0);
         // add flexcache device selector
         digester.addCallMethod(
             "*/" + N_SYSTEM + "/" + N_FLEXCACHE + "/" + N_DEVICESELECTOR,
@@ -1220,6 +1244,16 @@ public class CmsSystemConfiguration extends A_CmsXmlConfiguration {
 
         String credentialsResolverPath = "*/" + N_SYSTEM + "/" + N_CREDENTIALS_RESOLVER;
         digester.addCallMethod(credentialsResolverPath, "setCredentialsResolver", 0);
+
+        String executorsPath = "*/" + N_SYSTEM + "/" + N_EXECUTORS;
+        digester.addObjectCreate(executorsPath, CmsExecutorRegistry.class);
+        digester.addCallMethod(executorsPath, "setVirtualThreads", 1);
+        digester.addCallParam(executorsPath, 0, A_VIRTUAL_THREADS);
+        digester.addCallMethod(executorsPath + "/" + N_POOL, "addPoolConfiguration", 3);
+        digester.addCallParam(executorsPath + "/" + N_POOL, 0, A_NAME);
+        digester.addCallParam(executorsPath + "/" + N_POOL, 1, A_SIZE);
+        digester.addCallParam(executorsPath + "/" + N_POOL, 2, A_QUEUE_SIZE);
+        digester.addSetNext(executorsPath, "setExecutorRegistry");
     }
 
     /**
@@ -1504,6 +1538,10 @@ public class CmsSystemConfiguration extends A_CmsXmlConfiguration {
         flexcacheElement.addElement(N_MAXENTRYBYTES).addText(
             String.valueOf(m_cmsFlexCacheConfiguration.getMaxEntryBytes()));
         flexcacheElement.addElement(N_MAXKEYS).addText(String.valueOf(m_cmsFlexCacheConfiguration.getMaxKeys()));
+        if (m_cmsFlexCacheConfiguration.getCachePolicy() != null) {
+            flexcacheElement.addElement(N_CACHE_POLICY).addText(
+                m_cmsFlexCacheConfiguration.getCachePolicy().name().toLowerCase());
+        }
         if (m_cmsFlexCacheConfiguration.getDeviceSelectorConfiguration() != null) {
             Element flexcacheDeviceSelectorElement = flexcacheElement.addElement(N_DEVICESELECTOR);
             flexcacheDeviceSelectorElement.addAttribute(
@@ -1666,6 +1704,17 @@ public class CmsSystemConfiguration extends A_CmsXmlConfiguration {
         if (m_credentialsResolverClass != null) {
             systemElement.addElement(N_CREDENTIALS_RESOLVER).setText(m_credentialsResolverClass);
         }
+
+        if (m_executorRegistry != null) {
+            Element executorsElem = systemElement.addElement(N_EXECUTORS);
+            executorsElem.addAttribute(A_VIRTUAL_THREADS, String.valueOf(m_executorRegistry.isVirtualThreads()));
+            for (Map.Entry<String, int[]> entry : m_executorRegistry.getConfiguration().entrySet()) {
+                Element poolElem = executorsElem.addElement(N_POOL);
+                poolElem.addAttribute(A_NAME, entry.getKey());
+                poolElem.addAttribute(A_SIZE, String.valueOf(entry.getValue()[0]));
+                poolElem.addAttribute(A_QUEUE_SIZE, String.valueOf(entry.getValue()[1]));
+            }
+        }
         // return the system node
         return systemElement;
     }
@@ -1821,6 +1870,21 @@ public class CmsSystemConfiguration extends A_CmsXmlConfiguration {
         return m_eventManager;
     }
 
+    /**
+     * Returns the registry for the thread pools.<p>
+     * 
+     * If no thread pools are configured, a registry with the default settings is returned.<p>
+     * 
+     * @return the registry for the thread pools 
+     */
+    public CmsExecutorRegistry getExecutorRegistry() {
+
+        if (m_executorRegistry == null) {
+            return new CmsExecutorRegistry();
+        }
+        return m_executorRegistry;
+    }
+
     /**
      * Returns the maximum number of versions that are kept per resource in the VFS version history.<p>
      * 
@@ -2303,6 +2367,16 @@ public class CmsSystemConfiguration extends A_CmsXmlConfiguration {
         m_defaultContentEncoding = defaultContentEncoding;
     }
 
+    /**
+     * Sets the registry for the thread pools.<p>
+     * 
+     * @param executorRegistry the registry for the thread pools 
+     */
+    public void setExecutorRegistry(CmsExecutorRegistry executorRegistry) {
+
+        m_executorRegistry = executorRegistry;
+    }
+
     /**
      * VFS version history settings are set here.<p>
      * 
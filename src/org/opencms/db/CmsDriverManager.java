@@ -3285,6 +3285,7 @@ public final class CmsDriverManager implements I_CmsEventListener {
      */
     public void fillPublishList(CmsDbContext dbc, CmsPublishList publishList) throws CmsException {
 
+        long startTime = System.currentTimeMillis();
         if (!publishList.isDirectPublish()) {
             // when publishing a project
             // all modified resources with the last change done in the current project are candidates if unlocked
@@ -3378,6 +3379,8 @@ public final class CmsDriverManager implements I_CmsEventListener {
             }
         }
 
+        long resourcesTime = System.currentTimeMillis();
+
         // Step 2: if desired, extend the list of files to publish with related siblings
         if (publishList.isPublishSiblings()) {
             List<CmsResource> publishFiles = publishList.getFileList();
@@ -3385,15 +3388,28 @@ public final class CmsDriverManager implements I_CmsEventListener {
 
             // Improved: first calculate closure of all siblings, then filter and add them
             Set<CmsResource> siblingsClosure = new HashSet<CmsResource>(publishFiles);
+            // all siblings share the resource id, so they only have to be read once per resource id
+            Set<CmsUUID> readResourceIds = new HashSet<CmsUUID>();
             for (int i = 0; i < size; i++) {
                 CmsResource currentFile = publishFiles.get(i);
-                if (currentFile.getSiblingCount() > 1) {
+                if ((currentFile.getSiblingCount() > 1) && readResourceIds.add(currentFile.getResourceId())) {
                     siblingsClosure.addAll(readSiblings(dbc, currentFile, CmsResourceFilter.ALL_MODIFIED));
                 }
             }
             publishList.addAll(filterSiblings(dbc, publishList, siblingsClosure), true);
         }
         publishList.initialize();
+
+        if (LOG.isDebugEnabled()) {
+            long endTime = System.currentTimeMillis();
+            LOG.debug(Messages.get().getBundle().key(
+                Messages.LOG_PUBLISH_LIST_FILLED_4,
+                new Object[] {
+                    new Integer(publishList.size()),
+                    new Long(endTime - startTime),
+                    new Long(resourcesTime - startTime),
+                    new Long(endTime - resourcesTime)}));
+        }
     }
 
     /**
@@ -4362,6 +4378,7 @@ public final class CmsDriverManager implements I_CmsEventListener {
         CmsPublishList publishList,
         CmsRelationFilter filter) throws CmsException {
 
+        long startTime = System.currentTimeMillis();
         Map<String, CmsResource> relations = new HashMap<String, CmsResource>();
 
         // check if progress should be set in the thread
@@ -4372,6 +4389,10 @@ public final class CmsDriverManager implements I_CmsEventListener {
 
         // get all resources to publish
         List<CmsResource> publishResources = publishList.getAllResources();
+        // hash index for the checks below, the publish list may contain many thousand resources
+        Set<CmsResource> publishResourceSet = new HashSet<CmsResource>(publishResources);
+        // the already checked parent folders, many targets share the same parent folders
+        Set<CmsUUID> checkedParentIds = new HashSet<CmsUUID>();
         Iterator<CmsResource> itCheckList = publishResources.iterator();
         // iterate over them
         int count = 0;
@@ -4415,7 +4436,7 @@ public final class CmsDriverManager implements I_CmsEventListener {
                     }
                     CmsLock lock = getLock(dbc, target);
                     // just add resources that may come in question
-                    if (!publishResources.contains(target) // is not in the original list
+                    if (!publishResourceSet.contains(target) // is not in the original list
                         && !relations.containsKey(target.getRootPath()) // has not been already added by another relation
                         && !target.getState().isUnchanged() // has been changed
                         && lock.isLockableBy(dbc.currentUser())) { // is lockable by current user
@@ -4427,8 +4448,12 @@ public final class CmsDriverManager implements I_CmsEventListener {
                             dbc.currentProject().getUuid(),
                             target.getStructureId());
                         while ((parent != null) && parent.getState().isNew()) {
+                            if (!checkedParentIds.add(parent.getStructureId())) {
+                                // this parent and all its new parent folders have already been checked
+                                break;
+                            }
                             // just add resources that may come in question
-                            if (!publishResources.contains(parent) // is not in the original list
+                            if (!publishResourceSet.contains(parent) // is not in the original list
                                 && !relations.containsKey(parent.getRootPath())) { // has not been already added by another relation
 
                                 relations.put(parent.getRootPath(), parent);
@@ -4451,6 +4476,14 @@ public final class CmsDriverManager implements I_CmsEventListener {
         CmsPublishList ret = new CmsPublishList(publishList.getDirectPublishResources(), false, false);
         ret.addAll(relations.values(), false);
         ret.initialize();
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug(Messages.get().getBundle().key(
+                Messages.LOG_PUBLISH_LIST_RELATED_3,
+                new Integer(relations.size()),
+                new Integer(publishResources.size()),
+                new Long(System.currentTimeMillis() - startTime)));
+        }
         return ret;
     }
 
@@ -4474,6 +4507,56 @@ public final class CmsDriverManager implements I_CmsEventListener {
         return getVfsDriver(dbc).readRelations(dbc, projectId, resource, filter);
     }
 
+    /**
+     * Returns the relations for all the given resources matching the given filter,
+     * grouped by the structure id of the resource they belong to.<p>
+     *
+     * The relations are read with as few queries as possible, which is much faster 
+     * than calling {@link #getRelationsForResource(CmsDbContext, CmsResource, CmsRelationFilter)} 
+     * for each resource when validating or publishing many resources.<p>
+     *
+     * The filter must either be a sources or a targets filter, and must not include sub-resources.<p>
+     *
+     * @param dbc the current database context
+     * @param resources the resources to retrieve the relations for
+     * @param filter the filter to match the relation
+     *
+     * @return a map from structure id to the list of {@link CmsRelation} objects of that resource, 
+     *         resources without relations are mapped to an empty list
+     *
+     * @throws CmsException if something goes wrong
+     */
+    public Map<CmsUUID, List<CmsRelation>> getRelationsForResources(
+        CmsDbContext dbc,
+        Collection<CmsResource> resources,
+        CmsRelationFilter filter) throws CmsException {
+
+        if (filter.isSource() == filter.isTarget()) {
+            throw new IllegalArgumentException(filter.toString());
+        }
+        Map<CmsUUID, List<CmsRelation>> result = new HashMap<CmsUUID, List<CmsRelation>>(resources.size());
+        for (CmsResource resource : resources) {
+            result.put(resource.getStructureId(), new ArrayList<CmsRelation>());
+        }
+        if (result.isEmpty()) {
+            return result;
+        }
+        CmsUUID projectId = getProjectIdForContext(dbc);
+        List<CmsRelation> relations = getVfsDriver(dbc).readRelationsForStructureIds(
+            dbc,
+            projectId,
+            result.keySet(),
+            filter);
+        for (CmsRelation relation : relations) {
+            CmsUUID id = filter.isTarget() ? relation.getSourceId() : relation.getTargetId();
+            List<CmsRelation> resourceRelations = result.get(id);
+            if (resourceRelations != null) {
+                resourceRelations.add(relation);
+            }
+        }
+        return result;
+    }
+
     /**
      * Returns the list of organizational units the given resource belongs to.<p>
      *
@@ -7503,6 +7586,54 @@ public final class CmsDriverManager implements I_CmsEventListener {
         return resource;
     }
 
+    /**
+     * Reads the resources with the given structure ids, using the specified resource filter.<p>
+     *
+     * The resources are read with one query per {@link I_CmsVfsDriver#MAX_RESOURCE_IDS_PER_QUERY} 
+     * structure ids. Resources which do not exist, which do not match the filter or which the current user 
+     * is not allowed to read are left out. The result contains each resource only once, in the order of 
+     * the given structure ids.<p>
+     *
+     * @param dbc the current database context
+     * @param structureIds the structure ids of the resources to read
+     * @param filter the resource filter to use while reading
+     *
+     * @return the resources that were read, in the order of the given structure ids
+     *
+     * @throws CmsException if something goes wrong
+     *
+     * @see CmsObject#readResources(Collection, CmsResourceFilter)
+     */
+    public List<CmsResource> readResources(
+        CmsDbContext dbc,
+        Collection<CmsUUID> structureIds,
+        CmsResourceFilter filter) throws CmsException {
+
+        if (structureIds.isEmpty()) {
+            return new ArrayList<CmsResource>();
+        }
+        List<CmsResource> resources = getVfsDriver(dbc).readResourcesForStructureIds(
+            dbc,
+            getProjectIdForContext(dbc),
+            structureIds,
+            filter.includeDeleted());
+
+        // restore the order of the given structure ids
+        Map<CmsUUID, CmsResource> resourcesById = new HashMap<CmsUUID, CmsResource>(resources.size());
+        for (CmsResource resource : resources) {
+            resourcesById.put(resource.getStructureId(), resource);
+        }
+        List<CmsResource> result = new ArrayList<CmsResource>(resourcesById.size());
+        for (CmsUUID structureId : structureIds) {
+            CmsResource resource = resourcesById.remove(structureId);
+            if (resource != null) {
+                result.add(resource);
+            }
+        }
+        // apply the permission filter, and then the result filter and update the context dates
+        return updateContextDates(dbc, filterPermissions(dbc, result, filter), filter);
+    }
+
     /**
      * Reads all resources below the given path matching the filter criteria,
      * including the full tree below the path only in case the <code>readTree</code>
@@ -10260,12 +10391,12 @@ public final class CmsDriverManager implements I_CmsEventListener {
      * Checks the parent of a resource during publishing.<p>
      *
      * @param dbc the current database context
-     * @param deletedFolders a list of deleted folders
+     * @param deletedFolders the set of deleted folders
      * @param res a resource to check the parent for
      *
      * @return <code>true</code> if the parent resource will be deleted during publishing
      */
-    private boolean checkDeletedParentFolder(CmsDbContext dbc, List<CmsResource> deletedFolders, CmsResource res) {
+    private boolean checkDeletedParentFolder(CmsDbContext dbc, Set<CmsResource> deletedFolders, CmsResource res) {
 
         String parentPath = CmsResource.getParentFolder(res.getRootPath());
 
@@ -10287,11 +10418,9 @@ public final class CmsDriverManager implements I_CmsEventListener {
             return false;
         }
 
-        for (int j = 0; j < deletedFolders.size(); j++) {
-            if ((deletedFolders.get(j)).getStructureId().equals(parent.getStructureId())) {
-                // parent is deleted, and it will get published
-                return true;
-            }
+        if (deletedFolders.contains(parent)) {
+            // parent is deleted, and it will get published
+            return true;
         }
 
         // parent is new, but it will not get published
@@ -10344,12 +10473,12 @@ public final class CmsDriverManager implements I_CmsEventListener {
      * Checks the parent of a resource during publishing.<p>
      *
      * @param dbc the current database context
-     * @param folderList a list of folders
+     * @param folders the set of folders which will be published
      * @param res a resource to check the parent for
      *
      * @return true if the resource should be published
      */
-    private boolean checkParentResource(CmsDbContext dbc, List<CmsResource> folderList, CmsResource res) {
+    private boolean checkParentResource(CmsDbContext dbc, Set<CmsResource> folders, CmsResource res) {
 
         String parentPath = CmsResource.getParentFolder(res.getRootPath());
 
@@ -10371,11 +10500,9 @@ public final class CmsDriverManager implements I_CmsEventListener {
             return true;
         }
 
-        for (int j = 0; j < folderList.size(); j++) {
-            if (folderList.get(j).getStructureId().equals(parent.getStructureId())) {
-                // parent is new, but it will get published
-                return true;
-            }
+        if (folders.contains(parent)) {
+            // parent is new, but it will get published
+            return true;
         }
 
         // parent is new, but it will not get published
@@ -10467,11 +10594,14 @@ public final class CmsDriverManager implements I_CmsEventListener {
 
         List<CmsResource> result = new ArrayList<CmsResource>();
 
-        // local folder list for adding new publishing subfolders
+        // local folder set for adding new publishing subfolders
         // this solves the {@link org.opencms.file.TestPublishIssues#testPublishScenarioD} problem.
-        List<CmsResource> newFolderList = new ArrayList<CmsResource>(publishList == null
+        Set<CmsResource> newFolders = new HashSet<CmsResource>(publishList == null
         ? resourceList
         : publishList.getFolderList());
+        Set<CmsResource> deletedFolders = (publishList == null)
+        ? Collections.<CmsResource> emptySet()
+        : new HashSet<CmsResource>(publishList.getDeletedFolderList());
 
         for (int i = 0; i < resourceList.size(); i++) {
             CmsResource res = resourceList.get(i);
@@ -10486,7 +10616,7 @@ public final class CmsDriverManager implements I_CmsEventListener {
                     // this solves the {@link org.opencms.file.TestPublishIssues#testPublishScenarioE} problem.
                     if (lock.isShared() && (publishList != null)) {
                         if (!res.getState().isDeleted()
-                            || !checkDeletedParentFolder(dbc, publishList.getDeletedFolderList(), res)) {
+                            || !checkDeletedParentFolder(dbc, deletedFolders, res)) {
                             continue;
                         }
                     } else {
@@ -10494,7 +10624,7 @@ public final class CmsDriverManager implements I_CmsEventListener {
                         continue;
                     }
                 }
-                if (!"/".equals(res.getRootPath()) && !checkParentResource(dbc, newFolderList, res)) {
+                if (!"/".equals(res.getRootPath()) && !checkParentResource(dbc, newFolders, res)) {
                     continue;
                 }
                 // check permissions
@@ -10510,7 +10640,7 @@ public final class CmsDriverManager implements I_CmsEventListener {
                     continue;
                 }
                 if (res.isFolder()) {
-                    newFolderList.add(res);
+                    newFolders.add(res);
                 }
                 result.add(res);
             } catch (Exception e) {
@@ -10541,6 +10671,8 @@ public final class CmsDriverManager implements I_CmsEventListener {
         List<CmsResource> result = new ArrayList<CmsResource>();
 
         // removed internal extendible folder list, since iterated (sibling) resources are files in any case, never folders
+        Set<CmsResource> folders = new HashSet<CmsResource>(publishList.getFolderList());
+        Set<CmsResource> deletedFolders = new HashSet<CmsResource>(publishList.getDeletedFolderList());
 
         for (CmsResource res : resourceList) {
             try {
@@ -10554,7 +10686,7 @@ public final class CmsDriverManager implements I_CmsEventListener {
                     // this solves the {@link org.opencms.file.TestPublishIssues#testPublishScenarioE} problem.
                     if (lock.isShared() && (publishList != null)) {
                         if (!res.getState().isDeleted()
-                            || !checkDeletedParentFolder(dbc, publishList.getDeletedFolderList(), res)) {
+                            || !checkDeletedParentFolder(dbc, deletedFolders, res)) {
                             continue;
                         }
                     } else {
@@ -10562,7 +10694,7 @@ public final class CmsDriverManager implements I_CmsEventListener {
                         continue;
                     }
                 }
-                if (!"/".equals(res.getRootPath()) && !checkParentResource(dbc, publishList.getFolderList(), res)) {
+                if (!"/".equals(res.getRootPath()) && !checkParentResource(dbc, folders, res)) {
                     // don't add resources that have no parent in the online project
                     continue;
                 }
@@ -88,6 +88,9 @@ public class CmsPublishList implements Externalizable {
     /** The list of deleted folder resources to be published.<p> */
     private List<CmsResource> m_deletedFolderList;
 
+    /** The set of deleted folder resources, for fast lookups in the list.<p> */
+    private Set<CmsResource> m_deletedFolderSet;
+
     /** The list of deleted folder UUIDs to be published for later retrieval.<p> */
     private List<CmsUUID> m_deletedFolderUUIDs;
 
@@ -100,12 +103,18 @@ public class CmsPublishList implements Externalizable {
     /** The list of new/changed/deleted file resources to be published.<p> */
     private List<CmsResource> m_fileList;
 
+    /** The set of new/changed/deleted file resources, for fast lookups in the list.<p> */
+    private Set<CmsResource> m_fileSet;
+
     /** The list of new/changed/deleted file resource UUIDs to be published for later retrieval.<p> */
     private List<CmsUUID> m_fileUUIDs;
 
     /** The list of new/changed folder resources to be published.<p> */
     private List<CmsResource> m_folderList;
 
+    /** The set of new/changed folder resources, for fast lookups in the list.<p> */
+    private Set<CmsResource> m_folderSet;
+
     /** The list of new/changed folder resource UUIDs to be published for later retrieval.<p> */
     private List<CmsUUID> m_folderUUIDs;
 
@@ -210,6 +219,7 @@ public class CmsPublishList implements Externalizable {
         m_fileList = new ArrayList<CmsResource>();
         m_folderList = new ArrayList<CmsResource>();
         m_deletedFolderList = new ArrayList<CmsResource>();
+        initializeSets();
         m_publishHistoryId = new CmsUUID();
         m_publishSiblings = publishSiblings;
         m_publishSubResources = publishSubResources;
@@ -421,6 +431,7 @@ public class CmsPublishList implements Externalizable {
             if (m_deletedFolderUUIDs != null) {
                 m_deletedFolderList = internalReadResourceList(cms, m_deletedFolderUUIDs);
             }
+            initializeSets();
             m_needsRevive = false;
         }
     }
@@ -541,18 +552,18 @@ public class CmsPublishList implements Externalizable {
         }
         if (resource.isFolder()) {
             if (resource.getState().isDeleted()) {
-                if (!m_deletedFolderList.contains(resource)) {
+                if (m_deletedFolderSet.add(resource)) {
                     // only add files not already contained in the list
                     m_deletedFolderList.add(resource);
                 }
             } else {
-                if (!m_folderList.contains(resource)) {
+                if (m_folderSet.add(resource)) {
                     // only add files not already contained in the list
                     m_folderList.add(resource);
                 }
             }
         } else {
-            if (!m_fileList.contains(resource)) {
+            if (m_fileSet.add(resource)) {
                 // only add files not already contained in the list
                 // this is required to make sure no siblings are duplicated
                 m_fileList.add(resource);
@@ -606,7 +617,7 @@ public class CmsPublishList implements Externalizable {
      */
     protected boolean containsResource(CmsResource res) {
 
-        return m_deletedFolderList.contains(res) || m_folderList.contains(res) || m_fileList.contains(res);
+        return m_deletedFolderSet.contains(res) || m_folderSet.contains(res) || m_fileSet.contains(res);
     }
 
     /**
@@ -750,12 +761,38 @@ public class CmsPublishList implements Externalizable {
     protected boolean remove(CmsResource resource) {
 
         // it is essential that this method is only visible within the db package!
-        boolean ret = m_fileList.remove(resource);
-        ret |= m_folderList.remove(resource);
-        ret |= m_deletedFolderList.remove(resource);
+        boolean ret = false;
+        if (m_fileSet.remove(resource)) {
+            ret |= m_fileList.remove(resource);
+        }
+        if (m_folderSet.remove(resource)) {
+            ret |= m_folderList.remove(resource);
+        }
+        if (m_deletedFolderSet.remove(resource)) {
+            ret |= m_deletedFolderList.remove(resource);
+        }
         return ret;
     }
 
+    /**
+     * Initializes the sets used for fast lookups from the current resource lists.<p>
+     */
+    private void initializeSets() {
+
+        m_fileSet = new HashSet<CmsResource>();
+        if (m_fileList != null) {
+            m_fileSet.addAll(m_fileList);
+        }
+        m_folderSet = new HashSet<CmsResource>();
+        if (m_folderList != null) {
+            m_folderSet.addAll(m_folderList);
+        }
+        m_deletedFolderSet = new HashSet<CmsResource>();
+        if (m_deletedFolderList != null) {
+            m_deletedFolderSet.addAll(m_deletedFolderList);
+        }
+    }
+
     /**
      * Builds a list of <code>CmsResource</code> instances from a list of resource structure IDs.<p>
      * 
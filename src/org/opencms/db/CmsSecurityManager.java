@@ -84,6 +84,7 @@ import org.opencms.security.CmsPermissionSetCustom;
 import org.opencms.security.CmsPermissionViolationException;
 import org.opencms.security.CmsPrincipal;
 import org.opencms.security.CmsRole;
+import org.opencms.security.CmsRoleScope;
 import org.opencms.security.CmsRoleViolationException;
 import org.opencms.security.CmsSecurityException;
 import org.opencms.security.I_CmsPermissionHandler;
@@ -2983,76 +2984,52 @@ public final class CmsSecurityManager {
             return false;
         }
 
-        // try to read from cache
-        String key = user.getId().toString() + role.getGroupName() + resource.getRootPath();
-        Boolean result = OpenCms.getMemoryMonitor().getCachedRole(key);
-        if (result != null) {
-            return result.booleanValue();
-        }
-
-        // read all roles of the current user
-        List<CmsGroup> roles;
-        try {
-            roles = new ArrayList<CmsGroup>(m_driverManager.getGroupsOfUser(
-                dbc,
-                user.getName(),
-                "",
-                true,
-                true,
-                true,
-                dbc.getRequestContext().getRemoteAddress()));
-        } catch (CmsException e) {
-            if (LOG.isErrorEnabled()) {
-                LOG.error(e.getLocalizedMessage(), e);
-            }
+        // the role scope contains the roles of the user, and the resource paths of the checked roles
+        CmsRoleScope scope = getRoleScope(dbc, user);
+        if (scope == null) {
             // any exception: return false
             return false;
         }
-
-        // first check the user has the role at all
-        if (!hasRole(role.forOrgUnit(null), roles)) {
-            result = Boolean.FALSE;
-        }
-
-        // then check if one applies to the given resource
-        Iterator<CmsGroup> it = roles.iterator();
-        while ((result == null) && it.hasNext()) {
-            CmsGroup group = it.next();
-            CmsRole givenRole = CmsRole.valueOf(group);
-            if (hasRole(role.forOrgUnit(null), Collections.singletonList(group))) {
-                // we have the same role, now check the resource if needed
-                if (CmsStringUtil.isNotEmptyOrWhitespaceOnly(givenRole.getOuFqn())) {
-                    try {
-                        CmsOrganizationalUnit orgUnit = m_driverManager.readOrganizationalUnit(
-                            dbc,
-                            givenRole.getOuFqn());
-                        Iterator<CmsResource> itResources = m_driverManager.getResourcesForOrganizationalUnit(
-                            dbc,
-                            orgUnit).iterator();
-                        while (itResources.hasNext()) {
-                            CmsResource givenResource = itResources.next();
-                            if (resource.getRootPath().startsWith(givenResource.getRootPath())) {
-                                result = Boolean.TRUE;
-                                break;
+        if (!scope.hasRole(role)) {
+            List<CmsGroup> roles = scope.getRoleGroups();
+            boolean unrestricted = false;
+            List<String> rootPaths = new ArrayList<String>();
+
+            // first check the user has the role at all
+            if (hasRole(role.forOrgUnit(null), roles)) {
+                // then collect the resources of the organizational units the role applies to
+                Iterator<CmsGroup> it = roles.iterator();
+                while (!unrestricted && it.hasNext()) {
+                    CmsGroup group = it.next();
+                    CmsRole givenRole = CmsRole.valueOf(group);
+                    if (hasRole(role.forOrgUnit(null), Collections.singletonList(group))) {
+                        // we have the same role, now check the resources if needed
+                        if (CmsStringUtil.isNotEmptyOrWhitespaceOnly(givenRole.getOuFqn())) {
+                            try {
+                                CmsOrganizationalUnit orgUnit = m_driverManager.readOrganizationalUnit(
+                                    dbc,
+                                    givenRole.getOuFqn());
+                                Iterator<CmsResource> itResources = m_driverManager.getResourcesForOrganizationalUnit(
+                                    dbc,
+                                    orgUnit).iterator();
+                                while (itResources.hasNext()) {
+                                    rootPaths.add(itResources.next().getRootPath());
+                                }
+                            } catch (CmsException e) {
+                                if (LOG.isErrorEnabled()) {
+                                    LOG.error(e.getLocalizedMessage(), e);
+                                }
+                                // ignore
                             }
+                        } else {
+                            unrestricted = true;
                         }
-                    } catch (CmsException e) {
-                        if (LOG.isErrorEnabled()) {
-                            LOG.error(e.getLocalizedMessage(), e);
-                        }
-                        // ignore
                     }
-                } else {
-                    result = Boolean.TRUE;
                 }
             }
+            scope.addRole(role, unrestricted, rootPaths);
         }
-
-        if (result == null) {
-            result = Boolean.FALSE;
-        }
-        OpenCms.getMemoryMonitor().cacheRole(key, result.booleanValue());
-        return result.booleanValue();
+        return scope.hasRoleForPath(role, resource.getRootPath());
     }
 
     /**
@@ -4907,6 +4884,42 @@ public final class CmsSecurityManager {
         return result;
     }
 
+    /**
+     * Reads the resources with the given structure ids, using the specified resource filter.<p>
+     *
+     * Resources which do not exist, which do not match the filter or which the current user 
+     * is not allowed to read are left out.<p>
+     *
+     * @param context the current request context
+     * @param structureIds the structure ids of the resources to read
+     * @param filter the resource filter to use while reading
+     *
+     * @return the resources that were read, in the order of the given structure ids
+     *
+     * @throws CmsException if something goes wrong
+     *
+     * @see CmsObject#readResources(Collection, CmsResourceFilter)
+     */
+    public List<CmsResource> readResources(
+        CmsRequestContext context,
+        Collection<CmsUUID> structureIds,
+        CmsResourceFilter filter) throws CmsException {
+
+        List<CmsResource> result = null;
+        CmsDbContext dbc = m_dbContextFactory.getDbContext(context);
+        try {
+            result = m_driverManager.readResources(dbc, structureIds, filter);
+        } catch (Exception e) {
+            dbc.report(
+                null,
+                Messages.get().container(Messages.ERR_READ_RESOURCES_FOR_IDS_1, new Integer(structureIds.size())),
+                e);
+        } finally {
+            dbc.clear();
+        }
+        return result;
+    }
+
     /**
      * Reads all resources below the given path matching the filter criteria,
      * including the full tree below the path only in case the <code>readTree</code>
@@ -7013,6 +7026,44 @@ public final class CmsSecurityManager {
         return ouFqn;
     }
 
+    /**
+     * Returns the role scope of the given user.<p>
+     * 
+     * The role scope is created from the role groups of the user the first time it is needed,
+     * and then cached until the roles are changed.<p>
+     *
+     * @param dbc the current OpenCms users database context
+     * @param user the user to get the role scope for
+     *
+     * @return the role scope of the user, or <code>null</code> if the roles of the user could not be read
+     */
+    protected CmsRoleScope getRoleScope(CmsDbContext dbc, CmsUser user) {
+
+        String remoteAddress = dbc.getRequestContext().getRemoteAddress();
+        String key = user.getId().toString() + "_" + remoteAddress;
+        CmsRoleScope scope = OpenCms.getMemoryMonitor().getCachedRoleScope(key);
+        if (scope == null) {
+            // read all roles of the user
+            try {
+                scope = new CmsRoleScope(new ArrayList<CmsGroup>(m_driverManager.getGroupsOfUser(
+                    dbc,
+                    user.getName(),
+                    "",
+                    true,
+                    true,
+                    true,
+                    remoteAddress)));
+            } catch (CmsException e) {
+                if (LOG.isErrorEnabled()) {
+                    LOG.error(e.getLocalizedMessage(), e);
+                }
+                return null;
+            }
+            OpenCms.getMemoryMonitor().cacheRoleScope(key, scope);
+        }
+        return scope;
+    }
+
     /**
      * Performs a non-blocking permission check on a resource.<p>
      *
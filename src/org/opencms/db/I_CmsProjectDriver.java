@@ -44,6 +44,7 @@ import org.opencms.publish.CmsPublishJobInfoBean;
 import org.opencms.report.I_CmsReport;
 import org.opencms.util.CmsUUID;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -652,6 +653,21 @@ public interface I_CmsProjectDriver {
      */
     void writeLocks(CmsDbContext dbc, List<CmsLock> locks) throws CmsDataAccessException;
 
+    /**
+     * Writes the locks of the given resources to the database, replacing the locks 
+     * previously stored for these resources.<p>
+     * 
+     * The locks of all other resources stored in the database are not touched.<p>
+     * 
+     * @param dbc the current database context
+     * @param resourcePaths the root paths of the resources to write the locks for
+     * @param locks the current locks of these resources, resources without lock are not contained
+     * 
+     * @throws CmsDataAccessException if something goes wrong
+     */
+    void writeLocks(CmsDbContext dbc, Collection<String> resourcePaths, List<CmsLock> locks)
+    throws CmsDataAccessException;
+
     /**
      * Writes an already existing project.<p>
      *
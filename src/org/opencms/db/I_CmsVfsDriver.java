@@ -57,6 +57,12 @@ public interface I_CmsVfsDriver {
     /** The type ID to identify user driver implementations. */
     int DRIVER_TYPE_ID = 3;
 
+    /** The maximum number of structure ids used in a single query when reading relations for many resources. */
+    int MAX_RELATION_IDS_PER_QUERY = 500;
+
+    /** The maximum number of structure ids used in a single query when reading many resources by id. */
+    int MAX_RESOURCE_IDS_PER_QUERY = 500;
+
     /** The internal request attribute to indicate that the permissions have to be checked. */
     String REQ_ATTR_CHECK_PERMISSIONS = "CHECK_PERMISSIONS";
 
@@ -585,6 +591,29 @@ public interface I_CmsVfsDriver {
     List<CmsRelation> readRelations(CmsDbContext dbc, CmsUUID projectId, CmsResource resource, CmsRelationFilter filter)
     throws CmsDataAccessException;
 
+    /**
+     * Reads all relations with the given filter for the resources with the given structure ids.<p>
+     *
+     * This returns the same relations as calling {@link #readRelations(CmsDbContext, CmsUUID, CmsResource, CmsRelationFilter)}
+     * for each of the resources, but uses only one query per {@link #MAX_RELATION_IDS_PER_QUERY} structure ids.
+     * The relations are matched by structure id, so the "include sub-resources" flag of the filter 
+     * is not supported.<p>
+     *
+     * @param dbc the current database context
+     * @param projectId the id of the project to execute the query in
+     * @param structureIds the structure ids of the resources to read the relations for
+     * @param filter the filter to restrict the relations to retrieve
+     *
+     * @return the read relations
+     *
+     * @throws CmsDataAccessException if something goes wrong
+     */
+    List<CmsRelation> readRelationsForStructureIds(
+        CmsDbContext dbc,
+        CmsUUID projectId,
+        Collection<CmsUUID> structureIds,
+        CmsRelationFilter filter) throws CmsDataAccessException;
+
     /**
      * Reads a resource specified by it's structure ID.<p>
      *
@@ -660,6 +689,28 @@ public interface I_CmsVfsDriver {
     List<CmsResource> readResourcesForPrincipalAttr(CmsDbContext dbc, CmsProject project, CmsUUID principalId)
     throws CmsDataAccessException;
 
+    /**
+     * Reads the resources with the given structure ids.<p>
+     *
+     * This returns the same resources as calling {@link #readResource(CmsDbContext, CmsUUID, CmsUUID, boolean)}
+     * for each of the structure ids, but uses only one query per {@link #MAX_RESOURCE_IDS_PER_QUERY} structure ids.
+     * Structure ids for which no resource exists are ignored, the resources are returned in no particular order.<p>
+     *
+     * @param dbc the current database context
+     * @param projectId the id of the project
+     * @param structureIds the structure ids of the resources to read
+     * @param includeDeleted true if already deleted files are included
+     *
+     * @return the resources that were read
+     *
+     * @throws CmsDataAccessException if something goes wrong
+     */
+    List<CmsResource> readResourcesForStructureIds(
+        CmsDbContext dbc,
+        CmsUUID projectId,
+        Collection<CmsUUID> structureIds,
+        boolean includeDeleted) throws CmsDataAccessException;
+
     /**
      * Reads all resources that have a value (containing the specified value)
      * set for the specified property (definition), in the given path.<p>
@@ -2605,6 +2605,49 @@ public class CmsProjectDriver implements I_CmsDriver, I_CmsProjectDriver {
         }
     }
 
+    /**
+     * @see org.opencms.db.I_CmsProjectDriver#writeLocks(org.opencms.db.CmsDbContext, java.util.Collection, java.util.List)
+     */
+    public void writeLocks(CmsDbContext dbc, Collection<String> resourcePaths, List<CmsLock> locks)
+    throws CmsDataAccessException {
+
+        if (resourcePaths.isEmpty()) {
+            return;
+        }
+        Connection conn = null;
+        PreparedStatement stmt = null;
+        try {
+            conn = m_sqlManager.getConnection(dbc);
+            stmt = m_sqlManager.getPreparedStatement(conn, "C_RESOURCE_LOCKS_DELETE_1");
+            Iterator<String> itPaths = resourcePaths.iterator();
+            while (itPaths.hasNext()) {
+                stmt.setString(1, itPaths.next());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            m_sqlManager.closeAll(dbc, null, stmt, null);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug(Messages.get().getBundle().key(
+                    Messages.LOG_DBG_CLEAR_LOCKS_1,
+                    new Integer(resourcePaths.size())));
+            }
+            stmt = m_sqlManager.getPreparedStatement(conn, "C_RESOURCE_LOCK_WRITE");
+            int count = addLocksToBatch(stmt, locks);
+            if (count > 0) {
+                stmt.executeBatch();
+            }
+            if (LOG.isDebugEnabled()) {
+                LOG.debug(Messages.get().getBundle().key(Messages.LOG_DBG_WRITE_LOCKS_1, new Integer(count)));
+            }
+        } catch (SQLException e) {
+            throw new CmsDbSqlException(Messages.get().container(
+                Messages.ERR_GENERIC_SQL_1,
+                CmsDbSqlException.getErrorQuery(stmt)), e);
+        } finally {
+            m_sqlManager.closeAll(dbc, conn, stmt, null);
+        }
+    }
+
     /**
      * @see org.opencms.db.I_CmsProjectDriver#writeLocks(org.opencms.db.CmsDbContext, java.util.List)
      */
@@ -2619,35 +2662,14 @@ public class CmsProjectDriver implements I_CmsDriver, I_CmsProjectDriver {
             if (LOG.isDebugEnabled()) {
                 LOG.debug(Messages.get().getBundle().key(Messages.LOG_DBG_CLEAR_LOCKS_1, new Integer(deleted)));
             }
+            m_sqlManager.closeAll(dbc, null, stmt, null);
             stmt = m_sqlManager.getPreparedStatement(conn, "C_RESOURCE_LOCK_WRITE");
             if (LOG.isDebugEnabled()) {
                 LOG.debug("SQL :" + m_sqlManager.readQuery("C_RESOURCE_LOCK_WRITE"));
             }
-            Iterator<CmsLock> i = locks.iterator();
-            int count = 0;
-            while (i.hasNext()) {
-                CmsLock lock = i.next();
-                // only persist locks that should be written to the DB
-                CmsLock sysLock = lock.getSystemLock();
-                if (sysLock.isPersistent()) {
-                    // persist system lock
-                    stmt.setString(1, sysLock.getResourceName());
-                    stmt.setString(2, sysLock.getUserId().toString());
-                    stmt.setString(3, sysLock.getProjectId().toString());
-                    stmt.setInt(4, sysLock.getType().hashCode());
-                    stmt.executeUpdate();
-                    count++;
-                }
-                CmsLock editLock = lock.getEditionLock();
-                if (editLock.isPersistent()) {
-                    // persist edition lock
-                    stmt.setString(1, editLock.getResourceName());
-                    stmt.setString(2, editLock.getUserId().toString());
-                    stmt.setString(3, editLock.getProjectId().toString());
-                    stmt.setInt(4, editLock.getType().hashCode());
-                    stmt.executeUpdate();
-                    count++;
-                }
+            int count = addLocksToBatch(stmt, locks);
+            if (count > 0) {
+                stmt.executeBatch();
             }
             if (LOG.isDebugEnabled()) {
                 LOG.debug(Messages.get().getBundle().key(Messages.LOG_DBG_WRITE_LOCKS_1, new Integer(count)));
@@ -2872,6 +2894,48 @@ public class CmsProjectDriver implements I_CmsDriver, I_CmsProjectDriver {
 
     }
 
+    /**
+     * Adds the persistent system and edition locks of the given locks to the batch of the given 
+     * prepared statement for inserting lock rows.<p>
+     * 
+     * @param stmt the prepared statement for the query <code>C_RESOURCE_LOCK_WRITE</code>
+     * @param locks the locks to add
+     * 
+     * @return the number of lock rows added to the batch
+     * 
+     * @throws SQLException if something goes wrong
+     */
+    protected int addLocksToBatch(PreparedStatement stmt, List<CmsLock> locks) throws SQLException {
+
+        int count = 0;
+        Iterator<CmsLock> i = locks.iterator();
+        while (i.hasNext()) {
+            CmsLock lock = i.next();
+            // only persist locks that should be written to the DB
+            CmsLock sysLock = lock.getSystemLock();
+            if (sysLock.isPersistent()) {
+                // persist system lock
+                stmt.setString(1, sysLock.getResourceName());
+                stmt.setString(2, sysLock.getUserId().toString());
+                stmt.setString(3, sysLock.getProjectId().toString());
+                stmt.setInt(4, sysLock.getType().hashCode());
+                stmt.addBatch();
+                count++;
+            }
+            CmsLock editLock = lock.getEditionLock();
+            if (editLock.isPersistent()) {
+                // persist edition lock
+                stmt.setString(1, editLock.getResourceName());
+                stmt.setString(2, editLock.getUserId().toString());
+                stmt.setString(3, editLock.getProjectId().toString());
+                stmt.setInt(4, editLock.getType().hashCode());
+                stmt.addBatch();
+                count++;
+            }
+        }
+        return count;
+    }
+
     /**
      * Creates a <code>CmsPublishJobInfoBean</code> from a result set.<p>
      *
@@ -85,11 +85,13 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -462,9 +464,18 @@ public class CmsVfsDriver implements I_CmsDriver, I_CmsVfsDriver {
         Connection conn = null;
         PreparedStatement stmt = null;
 
+        boolean dbcHasProjectId = (dbc.getProjectId() != null) && !dbc.getProjectId().isNullUUID();
+        if (needToUpdateContent
+            && !dbcHasProjectId
+            && OpenCms.getSystemInfo().isHistoryEnabled()
+            && isOnlineContentUnchanged(dbc, resourceId, contents)) {
+            // the content is identical to the current online content, so instead of storing 
+            // another copy of it in the history, just extend the publish tag range of the current content
+            needToUpdateContent = false;
+        }
+
         try {
             conn = m_sqlManager.getConnection(dbc);
-            boolean dbcHasProjectId = (dbc.getProjectId() != null) && !dbc.getProjectId().isNullUUID();
 
             if (needToUpdateContent || dbcHasProjectId) {
                 if (dbcHasProjectId || !OpenCms.getSystemInfo().isHistoryEnabled()) {
@@ -2239,6 +2250,68 @@ public class CmsVfsDriver implements I_CmsDriver, I_CmsVfsDriver {
         return result;
     }
 
+    /**
+     * @see org.opencms.db.I_CmsVfsDriver#readRelationsForStructureIds(org.opencms.db.CmsDbContext, org.opencms.util.CmsUUID, java.util.Collection, org.opencms.relations.CmsRelationFilter)
+     */
+    public List<CmsRelation> readRelationsForStructureIds(
+        CmsDbContext dbc,
+        CmsUUID projectId,
+        Collection<CmsUUID> structureIds,
+        CmsRelationFilter filter) throws CmsDataAccessException {
+
+        Set<CmsRelation> relations = new HashSet<CmsRelation>();
+        List<CmsUUID> ids = new ArrayList<CmsUUID>(new HashSet<CmsUUID>(structureIds));
+
+        Connection conn = null;
+        PreparedStatement stmt = null;
+        ResultSet res = null;
+
+        try {
+            conn = m_sqlManager.getConnection(dbc);
+            for (int start = 0; start < ids.size(); start += MAX_RELATION_IDS_PER_QUERY) {
+                List<CmsUUID> chunk = ids.subList(start, Math.min(start + MAX_RELATION_IDS_PER_QUERY, ids.size()));
+                for (int i = 0; i < 2; i++) {
+                    boolean checkSource = (i == 0);
+                    if ((checkSource && !filter.isSource()) || (!checkSource && !filter.isTarget())) {
+                        continue;
+                    }
+                    List<Object> params = new ArrayList<Object>(chunk.size() + 7);
+
+                    StringBuffer queryBuf = new StringBuffer(256);
+                    queryBuf.append(m_sqlManager.readQuery(projectId, "C_READ_RELATIONS"));
+                    queryBuf.append(prepareRelationConditionsForIds(projectId, filter, chunk, params, checkSource));
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug(queryBuf.toString());
+                    }
+
+                    stmt = m_sqlManager.getPreparedStatementForSql(conn, queryBuf.toString());
+                    for (int j = 0; j < params.size(); j++) {
+                        if (params.get(j) instanceof Integer) {
+                            stmt.setInt(j + 1, ((Integer)params.get(j)).intValue());
+                        } else {
+                            stmt.setString(j + 1, (String)params.get(j));
+                        }
+                    }
+                    res = stmt.executeQuery();
+                    while (res.next()) {
+                        relations.add(internalReadRelation(res));
+                    }
+                    m_sqlManager.closeAll(dbc, null, stmt, res);
+                }
+            }
+        } catch (SQLException e) {
+            throw new CmsDbSqlException(Messages.get().container(
+                Messages.ERR_GENERIC_SQL_1,
+                CmsDbSqlException.getErrorQuery(stmt)), e);
+        } finally {
+            m_sqlManager.closeAll(dbc, conn, stmt, res);
+        }
+
+        List<CmsRelation> result = new ArrayList<CmsRelation>(relations);
+        Collections.sort(result, CmsRelation.COMPARATOR);
+        return result;
+    }
+
     /**
      * @see org.opencms.db.I_CmsVfsDriver#readResource(org.opencms.db.CmsDbContext, CmsUUID, org.opencms.util.CmsUUID, boolean)
      */
@@ -2467,6 +2540,61 @@ public class CmsVfsDriver implements I_CmsDriver, I_CmsVfsDriver {
         return resources;
     }
 
+    /**
+     * @see org.opencms.db.I_CmsVfsDriver#readResourcesForStructureIds(org.opencms.db.CmsDbContext, org.opencms.util.CmsUUID, java.util.Collection, boolean)
+     */
+    public List<CmsResource> readResourcesForStructureIds(
+        CmsDbContext dbc,
+        CmsUUID projectId,
+        Collection<CmsUUID> structureIds,
+        boolean includeDeleted) throws CmsDataAccessException {
+
+        List<CmsResource> resources = new ArrayList<CmsResource>(structureIds.size());
+        List<CmsUUID> ids = new ArrayList<CmsUUID>(new LinkedHashSet<CmsUUID>(structureIds));
+
+        Connection conn = null;
+        PreparedStatement stmt = null;
+        ResultSet res = null;
+
+        try {
+            conn = m_sqlManager.getConnection(dbc);
+            for (int start = 0; start < ids.size(); start += MAX_RESOURCE_IDS_PER_QUERY) {
+                List<CmsUUID> chunk = ids.subList(start, Math.min(start + MAX_RESOURCE_IDS_PER_QUERY, ids.size()));
+                StringBuffer queryBuf = new StringBuffer(256 + (chunk.size() * 3));
+                queryBuf.append(m_sqlManager.readQuery(projectId, "C_RESOURCES_READBYIDS"));
+                queryBuf.append(BEGIN_CONDITION);
+                for (int i = 0; i < chunk.size(); i++) {
+                    queryBuf.append(i == 0 ? "?" : ", ?");
+                }
+                queryBuf.append(END_CONDITION);
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug(queryBuf.toString());
+                }
+
+                stmt = m_sqlManager.getPreparedStatementForSql(conn, queryBuf.toString());
+                for (int i = 0; i < chunk.size(); i++) {
+                    stmt.setString(i + 1, chunk.get(i).toString());
+                }
+                res = stmt.executeQuery();
+                while (res.next()) {
+                    CmsResource resource = createResource(res, projectId);
+                    // check if this resource is marked as deleted and if we are allowed to return a deleted resource
+                    if (includeDeleted || !resource.getState().isDeleted()) {
+                        resources.add(resource);
+                    }
+                }
+                m_sqlManager.closeAll(dbc, null, stmt, res);
+            }
+        } catch (SQLException e) {
+            throw new CmsDbSqlException(Messages.get().container(
+                Messages.ERR_GENERIC_SQL_1,
+                CmsDbSqlException.getErrorQuery(stmt)), e);
+        } finally {
+            m_sqlManager.closeAll(dbc, conn, stmt, res);
+        }
+        return resources;
+    }
+
     /**
      * @see org.opencms.db.I_CmsVfsDriver#readResourcesWithProperty(org.opencms.db.CmsDbContext, CmsUUID, org.opencms.util.CmsUUID, String, String)
      */
@@ -4021,6 +4149,75 @@ public class CmsVfsDriver implements I_CmsDriver, I_CmsVfsDriver {
             resource.getRootPath()));
     }
 
+    /**
+     * Checks if the given content is identical to the current online content of a resource.<p>
+     * 
+     * This is used during publishing to avoid storing identical copies of a file content 
+     * in the history, e.g. if a file was re-uploaded or saved without any actual change.
+     * Since the historical contents are addressed by publish tag ranges, an identical content 
+     * only requires the publish tag range of the current online content to be extended.<p>
+     * 
+     * The length of the online content is compared first, so the online content is only read 
+     * if it has the same length as the given content.<p>
+     * 
+     * @param dbc the current database context
+     * @param resourceId the resource id of the resource to check
+     * @param contents the new content of the resource
+     * 
+     * @return <code>true</code> if the current online content exists and is identical to the given content
+     * 
+     * @throws CmsDataAccessException if something goes wrong
+     */
+    protected boolean isOnlineContentUnchanged(CmsDbContext dbc, CmsUUID resourceId, byte[] contents)
+    throws CmsDataAccessException {
+
+        if (contents == null) {
+            return false;
+        }
+        Connection conn = null;
+        PreparedStatement stmt = null;
+        ResultSet res = null;
+        boolean result = false;
+        try {
+            conn = m_sqlManager.getConnection(dbc);
+            stmt = m_sqlManager.getPreparedStatement(conn, "C_ONLINE_CONTENTS_READ_SIZE");
+            stmt.setString(1, resourceId.toString());
+            res = stmt.executeQuery();
+            long onlineSize = -1;
+            if (res.next()) {
+                onlineSize = res.getLong(1);
+                while (res.next()) {
+                    // do nothing only move through all rows because of mssql odbc driver
+                }
+            }
+            m_sqlManager.closeAll(dbc, null, stmt, res);
+            res = null;
+            stmt = null;
+            if (onlineSize != contents.length) {
+                // no need to read the online content
+                return false;
+            }
+
+            stmt = m_sqlManager.getPreparedStatement(conn, "C_ONLINE_CONTENTS_READ");
+            stmt.setString(1, resourceId.toString());
+            res = stmt.executeQuery();
+            if (res.next()) {
+                byte[] onlineContents = m_sqlManager.getBytes(res, m_sqlManager.readQuery("C_RESOURCES_FILE_CONTENT"));
+                result = Arrays.equals(contents, onlineContents);
+                while (res.next()) {
+                    // do nothing only move through all rows because of mssql odbc driver
+                }
+            }
+        } catch (SQLException e) {
+            throw new CmsDbSqlException(Messages.get().container(
+                Messages.ERR_GENERIC_SQL_1,
+                CmsDbSqlException.getErrorQuery(stmt)), e);
+        } finally {
+            m_sqlManager.closeAll(dbc, conn, stmt, res);
+        }
+        return result;
+    }
+
     /**
      * Moves all relations of a resource to the new path.<p>
      *
@@ -4266,6 +4463,56 @@ public class CmsVfsDriver implements I_CmsDriver, I_CmsVfsDriver {
         return conditions.toString();
     }
 
+    /**
+     * Build the whole WHERE sql statement part for the given relation filter and a list of structure ids.<p>
+     *
+     * @param projectId the current project id
+     * @param filter the filter
+     * @param structureIds the structure ids of the resources to read the relations for
+     * @param params the parameter values (return parameter)
+     * @param checkSource if the query is for the source relations
+     *
+     * @return the WHERE sql statement part string
+     */
+    protected String prepareRelationConditionsForIds(
+        CmsUUID projectId,
+        CmsRelationFilter filter,
+        Collection<CmsUUID> structureIds,
+        List<Object> params,
+        boolean checkSource) {
+
+        StringBuffer conditions = new StringBuffer(128 + (structureIds.size() * 3));
+        params.clear(); // be sure the parameters list is clear
+
+        conditions.append(BEGIN_CONDITION);
+        if (checkSource) {
+            conditions.append(m_sqlManager.readQuery(projectId, "C_RELATION_FILTER_TARGET_IDS"));
+        } else {
+            conditions.append(m_sqlManager.readQuery(projectId, "C_RELATION_FILTER_SOURCE_IDS"));
+        }
+        conditions.append(BEGIN_CONDITION);
+        Iterator<CmsUUID> it = structureIds.iterator();
+        while (it.hasNext()) {
+            conditions.append("?");
+            params.add(it.next().toString());
+            if (it.hasNext()) {
+                conditions.append(", ");
+            }
+        }
+        conditions.append(END_CONDITION);
+        conditions.append(END_CONDITION);
+
+        // the remaining conditions of the filter
+        List<Object> filterParams = new ArrayList<Object>();
+        String filterConditions = prepareRelationConditions(projectId, filter, null, filterParams, checkSource);
+        if (filterConditions.length() > 0) {
+            conditions.append(" AND");
+            conditions.append(filterConditions);
+            params.addAll(filterParams);
+        }
+        return conditions.toString();
+    }
+
     /**
      * Appends the appropriate selection criteria related with the released date.<p>
      *
@@ -201,6 +201,9 @@ public class CmsProjectDriver implements I_CmsDriver, I_CmsProjectDriver {
     /** Query key. */
     private static final String C_PUBLISHJOB_READ_REPORT = "C_PUBLISHJOB_READ_REPORT";
 
+    /** Query key. */
+    private static final String C_RESOURCE_LOCKS_DELETE_1 = "C_RESOURCE_LOCKS_DELETE_1";
+
     /** Query key. */
     private static final String C_RESOURCE_LOCKS_DELETEALL = "C_RESOURCE_LOCKS_DELETEALL";
 
@@ -2352,13 +2355,42 @@ public class CmsProjectDriver implements I_CmsDriver, I_CmsProjectDriver {
         }
     }
 
+    /**
+     * @see org.opencms.db.I_CmsProjectDriver#writeLocks(org.opencms.db.CmsDbContext, java.util.Collection, java.util.List)
+     */
+    public void writeLocks(CmsDbContext dbc, Collection<String> resourcePaths, List<CmsLock> locks)
+    throws CmsDataAccessException {
+
+        try {
+            int deleted = 0;
+            Iterator<String> itPaths = resourcePaths.iterator();
+            while (itPaths.hasNext()) {
+                Query q = m_sqlManager.createQuery(dbc, C_RESOURCE_LOCKS_DELETE_1);
+                q.setParameter(1, itPaths.next());
+                @SuppressWarnings("unchecked")
+                List<CmsDAOResourceLocks> res = q.getResultList();
+                for (CmsDAOResourceLocks r : res) {
+                    m_sqlManager.remove(dbc, r);
+                    deleted++;
+                }
+            }
+            if (LOG.isDebugEnabled()) {
+                LOG.debug(Messages.get().getBundle().key(Messages.LOG_DBG_CLEAR_LOCKS_1, new Integer(deleted)));
+            }
+            int count = persistLocks(dbc, locks);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug(Messages.get().getBundle().key(Messages.LOG_DBG_WRITE_LOCKS_1, new Integer(count)));
+            }
+        } catch (PersistenceException e) {
+            throw new CmsDataAccessException(Messages.get().container(Messages.ERR_JPA_PERSITENCE_1, e), e);
+        }
+    }
+
     /**
      * @see org.opencms.db.I_CmsProjectDriver#writeLocks(org.opencms.db.CmsDbContext, java.util.List)
      */
     public void writeLocks(CmsDbContext dbc, List<CmsLock> locks) throws CmsDataAccessException {
 
-        CmsDAOResourceLocks rl;
-
         try {
             Query q = m_sqlManager.createQuery(dbc, C_RESOURCE_LOCKS_DELETEALL);
             @SuppressWarnings("unchecked")
@@ -2374,39 +2406,7 @@ public class CmsProjectDriver implements I_CmsDriver, I_CmsProjectDriver {
             if (LOG.isDebugEnabled()) {
                 LOG.debug("SQL :" + "Inserting rows in the CMS_RESOURCE_LOCKS table.");
             }
-            Iterator<CmsLock> i = locks.iterator();
-            int count = 0;
-            while (i.hasNext()) {
-                CmsLock lock = i.next();
-                // only persist locks that should be written to the DB
-                CmsLock sysLock = lock.getSystemLock();
-                if (sysLock.isPersistent()) {
-                    // persist system lock
-
-                    rl = new CmsDAOResourceLocks();
-
-                    rl.setResourcePath(sysLock.getResourceName());
-                    rl.setUserId(sysLock.getUserId().toString());
-                    rl.setProjectId(sysLock.getProjectId().toString());
-                    rl.setLockType(sysLock.getType().hashCode());
-
-                    m_sqlManager.persist(dbc, rl);
-                    count++;
-                }
-                CmsLock editLock = lock.getEditionLock();
-                if (editLock.isPersistent()) {
-                    // persist edition lock
-                    rl = new CmsDAOResourceLocks();
-
-                    rl.setResourcePath(editLock.getResourceName());
-                    rl.setUserId(editLock.getUserId().toString());
-                    rl.setProjectId(editLock.getProjectId().toString());
-                    rl.setLockType(editLock.getType().hashCode());
-
-                    m_sqlManager.persist(dbc, rl);
-                    count++;
-                }
-            }
+            int count = persistLocks(dbc, locks);
             if (LOG.isDebugEnabled()) {
                 LOG.debug(Messages.get().getBundle().key(Messages.LOG_DBG_WRITE_LOCKS_1, new Integer(count)));
             }
@@ -2942,6 +2942,47 @@ public class CmsProjectDriver implements I_CmsDriver, I_CmsProjectDriver {
         return CmsPair.create(conditions.toString(), params);
     }
 
+    /**
+     * Persists the system and edition locks of the given locks that should be written to the database.<p>
+     * 
+     * @param dbc the current database context
+     * @param locks the locks to persist
+     * 
+     * @return the number of persisted lock entries
+     */
+    protected int persistLocks(CmsDbContext dbc, List<CmsLock> locks) {
+
+        int count = 0;
+        Iterator<CmsLock> i = locks.iterator();
+        while (i.hasNext()) {
+            CmsLock lock = i.next();
+            // only persist locks that should be written to the DB
+            CmsLock sysLock = lock.getSystemLock();
+            if (sysLock.isPersistent()) {
+                // persist system lock
+                CmsDAOResourceLocks rl = new CmsDAOResourceLocks();
+                rl.setResourcePath(sysLock.getResourceName());
+                rl.setUserId(sysLock.getUserId().toString());
+                rl.setProjectId(sysLock.getProjectId().toString());
+                rl.setLockType(sysLock.getType().hashCode());
+                m_sqlManager.persist(dbc, rl);
+                count++;
+            }
+            CmsLock editLock = lock.getEditionLock();
+            if (editLock.isPersistent()) {
+                // persist edition lock
+                CmsDAOResourceLocks rl = new CmsDAOResourceLocks();
+                rl.setResourcePath(editLock.getResourceName());
+                rl.setUserId(editLock.getUserId().toString());
+                rl.setProjectId(editLock.getProjectId().toString());
+                rl.setLockType(editLock.getType().hashCode());
+                m_sqlManager.persist(dbc, rl);
+                count++;
+            }
+        }
+        return count;
+    }
+
     /**
      * Publishes a changed file.<p>
      * 
@@ -110,6 +110,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -208,12 +209,18 @@ public class CmsVfsDriver implements I_CmsDriver, I_CmsVfsDriver {
     /** Query key. */
     private static final String C_RELATION_FILTER_SOURCE_ID = "C_RELATION_FILTER_SOURCE_ID";
 
+    /** Query key. */
+    private static final String C_RELATION_FILTER_SOURCE_IDS = "C_RELATION_FILTER_SOURCE_IDS";
+
     /** Query key. */
     private static final String C_RELATION_FILTER_SOURCE_PATH = "C_RELATION_FILTER_SOURCE_PATH";
 
     /** Query key. */
     private static final String C_RELATION_FILTER_TARGET_ID = "C_RELATION_FILTER_TARGET_ID";
 
+    /** Query key. */
+    private static final String C_RELATION_FILTER_TARGET_IDS = "C_RELATION_FILTER_TARGET_IDS";
+
     /** Query key. */
     private static final String C_RELATION_FILTER_TARGET_PATH = "C_RELATION_FILTER_TARGET_PATH";
 
@@ -292,6 +299,9 @@ public class CmsVfsDriver implements I_CmsDriver, I_CmsVfsDriver {
     /** Query key. */
     private static final String C_RESOURCES_READBYID = "C_RESOURCES_READBYID";
 
+    /** Query key. */
+    private static final String C_RESOURCES_READBYIDS = "C_RESOURCES_READBYIDS";
+
     /** Query key. */
     private static final String C_RESOURCES_SELECT_BY_DATE_LASTMODIFIED_AFTER = "C_RESOURCES_SELECT_BY_DATE_LASTMODIFIED_AFTER";
 
@@ -708,6 +718,9 @@ public class CmsVfsDriver implements I_CmsDriver, I_CmsVfsDriver {
         try {
             boolean dbcHasProjectId = (dbc.getProjectId() != null) && !dbc.getProjectId().isNullUUID();
 
+            // unlike the generic driver, identical contents are not detected here: JPQL can not read 
+            // the length of the content without loading it, so the check would read every online 
+            // content into the persistence context
             if (needToUpdateContent || dbcHasProjectId) {
                 if (dbcHasProjectId || !OpenCms.getSystemInfo().isHistoryEnabled()) {
                     // remove the online content for this resource id
@@ -2298,6 +2311,55 @@ public class CmsVfsDriver implements I_CmsDriver, I_CmsVfsDriver {
         return result;
     }
 
+    /**
+     * @see org.opencms.db.I_CmsVfsDriver#readRelationsForStructureIds(org.opencms.db.CmsDbContext, org.opencms.util.CmsUUID, java.util.Collection, org.opencms.relations.CmsRelationFilter)
+     */
+    public List<CmsRelation> readRelationsForStructureIds(
+        CmsDbContext dbc,
+        CmsUUID projectId,
+        Collection<CmsUUID> structureIds,
+        CmsRelationFilter filter) throws CmsDataAccessException {
+
+        Set<CmsRelation> relations = new HashSet<CmsRelation>();
+        List<CmsUUID> ids = new ArrayList<CmsUUID>(new HashSet<CmsUUID>(structureIds));
+
+        try {
+            for (int start = 0; start < ids.size(); start += MAX_RELATION_IDS_PER_QUERY) {
+                List<CmsUUID> chunk = ids.subList(start, Math.min(start + MAX_RELATION_IDS_PER_QUERY, ids.size()));
+                for (int i = 0; i < 2; i++) {
+                    boolean checkSource = (i == 0);
+                    if ((checkSource && !filter.isSource()) || (!checkSource && !filter.isTarget())) {
+                        continue;
+                    }
+                    List<Object> params = new ArrayList<Object>(chunk.size() + 7);
+
+                    StringBuffer queryBuf = new StringBuffer(256);
+                    queryBuf.append(m_sqlManager.readQuery(projectId, C_READ_RELATIONS));
+                    queryBuf.append(prepareRelationConditionsForIds(projectId, filter, chunk, params, checkSource));
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug(queryBuf.toString());
+                    }
+
+                    Query q = m_sqlManager.createQueryFromJPQL(dbc, queryBuf.toString());
+                    for (int j = 0; j < params.size(); j++) {
+                        q.setParameter(j + 1, params.get(j));
+                    }
+                    @SuppressWarnings("unchecked")
+                    List<I_CmsDAOResourceRelations> res = q.getResultList();
+                    for (I_CmsDAOResourceRelations rr : res) {
+                        relations.add(internalReadRelation(rr));
+                    }
+                }
+            }
+        } catch (PersistenceException e) {
+            throw new CmsDataAccessException(Messages.get().container(Messages.ERR_JPA_PERSITENCE_1, e), e);
+        }
+
+        List<CmsRelation> result = new ArrayList<CmsRelation>(relations);
+        Collections.sort(result, CmsRelation.COMPARATOR);
+        return result;
+    }
+
     /**
      * @see org.opencms.db.I_CmsVfsDriver#readResource(org.opencms.db.CmsDbContext, CmsUUID, org.opencms.util.CmsUUID, boolean)
      */
@@ -2479,6 +2541,52 @@ public class CmsVfsDriver implements I_CmsDriver, I_CmsVfsDriver {
         return resources;
     }
 
+    /**
+     * @see org.opencms.db.I_CmsVfsDriver#readResourcesForStructureIds(org.opencms.db.CmsDbContext, org.opencms.util.CmsUUID, java.util.Collection, boolean)
+     */
+    public List<CmsResource> readResourcesForStructureIds(
+        CmsDbContext dbc,
+        CmsUUID projectId,
+        Collection<CmsUUID> structureIds,
+        boolean includeDeleted) throws CmsDataAccessException {
+
+        List<CmsResource> resources = new ArrayList<CmsResource>(structureIds.size());
+        List<CmsUUID> ids = new ArrayList<CmsUUID>(new LinkedHashSet<CmsUUID>(structureIds));
+
+        try {
+            for (int start = 0; start < ids.size(); start += MAX_RESOURCE_IDS_PER_QUERY) {
+                List<CmsUUID> chunk = ids.subList(start, Math.min(start + MAX_RESOURCE_IDS_PER_QUERY, ids.size()));
+                StringBuffer queryBuf = new StringBuffer(256 + (chunk.size() * 3));
+                queryBuf.append(m_sqlManager.readQuery(projectId, C_RESOURCES_READBYIDS));
+                queryBuf.append(BEGIN_CONDITION);
+                for (int i = 0; i < chunk.size(); i++) {
+                    queryBuf.append(i == 0 ? "?" : ", ?");
+                }
+                queryBuf.append(END_CONDITION);
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug(queryBuf.toString());
+                }
+
+                Query q = m_sqlManager.createQueryFromJPQL(dbc, queryBuf.toString());
+                for (int i = 0; i < chunk.size(); i++) {
+                    q.setParameter(i + 1, chunk.get(i).toString());
+                }
+                @SuppressWarnings("unchecked")
+                List<Object[]> res = q.getResultList();
+                for (Object[] o : res) {
+                    CmsResource resource = createResource(o, projectId);
+                    // check if this resource is marked as deleted and if we are allowed to return a deleted resource
+                    if (includeDeleted || !resource.getState().isDeleted()) {
+                        resources.add(resource);
+                    }
+                }
+            }
+        } catch (PersistenceException e) {
+            throw new CmsDataAccessException(Messages.get().container(Messages.ERR_JPA_PERSITENCE_1, e), e);
+        }
+        return resources;
+    }
+
     /**
      * @see org.opencms.db.I_CmsVfsDriver#readResourcesWithProperty(org.opencms.db.CmsDbContext, CmsUUID, org.opencms.util.CmsUUID, String, String)
      */
@@ -4073,6 +4181,56 @@ public class CmsVfsDriver implements I_CmsDriver, I_CmsVfsDriver {
         return conditions.toString();
     }
 
+    /**
+     * Build the whole WHERE sql statement part for the given relation filter and a list of structure ids.<p>
+     *
+     * @param projectId the current project id
+     * @param filter the filter
+     * @param structureIds the structure ids of the resources to read the relations for
+     * @param params the parameter values (return parameter)
+     * @param checkSource if the query is for the source relations
+     *
+     * @return the WHERE sql statement part string
+     */
+    protected String prepareRelationConditionsForIds(
+        CmsUUID projectId,
+        CmsRelationFilter filter,
+        Collection<CmsUUID> structureIds,
+        List<Object> params,
+        boolean checkSource) {
+
+        StringBuffer conditions = new StringBuffer(128 + (structureIds.size() * 3));
+        params.clear(); // be sure the parameters list is clear
+
+        conditions.append(BEGIN_CONDITION);
+        if (checkSource) {
+            conditions.append(m_sqlManager.readQuery(projectId, C_RELATION_FILTER_TARGET_IDS));
+        } else {
+            conditions.append(m_sqlManager.readQuery(projectId, C_RELATION_FILTER_SOURCE_IDS));
+        }
+        conditions.append(BEGIN_CONDITION);
+        Iterator<CmsUUID> it = structureIds.iterator();
+        while (it.hasNext()) {
+            conditions.append("?");
+            params.add(it.next().toString());
+            if (it.hasNext()) {
+                conditions.append(", ");
+            }
+        }
+        conditions.append(END_CONDITION);
+        conditions.append(END_CONDITION);
+
+        // the remaining conditions of the filter
+        List<Object> filterParams = new ArrayList<Object>();
+        String filterConditions = prepareRelationConditions(projectId, filter, null, filterParams, checkSource);
+        if (filterConditions.length() > 0) {
+            conditions.append(" AND");
+            conditions.append(filterConditions);
+            params.addAll(filterParams);
+        }
+        return conditions.toString();
+    }
+
     /**
      * Appends the appropriate selection criteria related with the released date.<p>
      *
@@ -100,9 +100,18 @@ public class CmsVfsDriver extends org.opencms.db.generic.CmsVfsDriver {
         Connection conn = null;
         PreparedStatement stmt = null;
 
+        boolean dbcHasProjectId = (dbc.getProjectId() != null) && !dbc.getProjectId().isNullUUID();
+        if (needToUpdateContent
+            && !dbcHasProjectId
+            && OpenCms.getSystemInfo().isHistoryEnabled()
+            && isOnlineContentUnchanged(dbc, resourceId, contents)) {
+            // the content is identical to the current online content, so instead of storing 
+            // another copy of it in the history, just extend the publish tag range of the current content
+            needToUpdateContent = false;
+        }
+
         try {
             conn = m_sqlManager.getConnection(dbc);
-            boolean dbcHasProjectId = (dbc.getProjectId() != null) && !dbc.getProjectId().isNullUUID();
             if (needToUpdateContent || dbcHasProjectId) {
                 if (dbcHasProjectId || !OpenCms.getSystemInfo().isHistoryEnabled()) {
                     // remove the online content for this resource id
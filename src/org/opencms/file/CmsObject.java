@@ -64,6 +64,7 @@ import org.opencms.workplace.CmsWorkplace;
 import org.opencms.xml.content.CmsNumberSuffixNameSequence;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -2315,7 +2316,16 @@ public final class CmsObject {
             }
         }
 
-        return m_securityManager.readFile(m_context, resource);
+        CmsRequestReadCache readCache = m_context.getReadCache();
+        if (readCache == null) {
+            return m_securityManager.readFile(m_context, resource);
+        }
+        CmsFile file = readCache.getFile(resource);
+        if (file == null) {
+            file = m_securityManager.readFile(m_context, resource);
+            readCache.putFile(file);
+        }
+        return file;
     }
 
     /**
@@ -2690,7 +2700,16 @@ public final class CmsObject {
      */
     public CmsProperty readPropertyObject(CmsResource resource, String property, boolean search) throws CmsException {
 
-        return m_securityManager.readPropertyObject(m_context, resource, property, search);
+        CmsRequestReadCache readCache = m_context.getReadCache();
+        if (readCache == null) {
+            return m_securityManager.readPropertyObject(m_context, resource, property, search);
+        }
+        CmsProperty result = readCache.getProperty(resource, property, search);
+        if (result == null) {
+            result = m_securityManager.readPropertyObject(m_context, resource, property, search);
+            readCache.putProperty(resource, property, search, result);
+        }
+        return result;
     }
 
     /**
@@ -2710,7 +2729,7 @@ public final class CmsObject {
     public CmsProperty readPropertyObject(String resourcePath, String property, boolean search) throws CmsException {
 
         CmsResource resource = readResource(resourcePath, CmsResourceFilter.ALL);
-        return m_securityManager.readPropertyObject(m_context, resource, property, search);
+        return readPropertyObject(resource, property, search);
     }
 
     /**
@@ -2858,7 +2877,16 @@ public final class CmsObject {
      */
     public CmsResource readResource(CmsUUID structureID, CmsResourceFilter filter) throws CmsException {
 
-        return m_securityManager.readResource(m_context, structureID, filter);
+        CmsRequestReadCache readCache = m_context.getReadCache();
+        if (readCache == null) {
+            return m_securityManager.readResource(m_context, structureID, filter);
+        }
+        CmsResource resource = readCache.getResource(m_context, structureID, filter);
+        if (resource == null) {
+            resource = m_securityManager.readResource(m_context, structureID, filter);
+            readCache.putResource(filter, resource);
+        }
+        return resource;
     }
 
     /**
@@ -2952,7 +2980,39 @@ public final class CmsObject {
      */
     public CmsResource readResource(String resourcename, CmsResourceFilter filter) throws CmsException {
 
-        return m_securityManager.readResource(m_context, addSiteRoot(resourcename), filter);
+        CmsRequestReadCache readCache = m_context.getReadCache();
+        if (readCache == null) {
+            return m_securityManager.readResource(m_context, addSiteRoot(resourcename), filter);
+        }
+        String rootPath = addSiteRoot(resourcename);
+        CmsResource resource = readCache.getResource(m_context, rootPath, filter);
+        if (resource == null) {
+            resource = m_securityManager.readResource(m_context, rootPath, filter);
+            readCache.putResource(filter, resource);
+        }
+        return resource;
+    }
+
+    /**
+     * Reads the resources with the given structure ids, using the specified resource filter.<p>
+     * 
+     * This returns the same resources as calling {@link #readResource(CmsUUID, CmsResourceFilter)} for 
+     * each of the structure ids, but reads the resources with as few database queries as possible.
+     * Resources which do not exist, which do not match the filter or which the current user is not 
+     * allowed to read are left out instead of causing an exception. The result contains each resource 
+     * only once, in the order of the given structure ids.<p>
+     * 
+     * @param structureIds the structure ids of the resources to read
+     * @param filter the resource filter to use while reading
+     * 
+     * @return the resources that were read, in the order of the given structure ids
+     * 
+     * @throws CmsException if something goes wrong
+     */
+    public List<CmsResource> readResources(Collection<CmsUUID> structureIds, CmsResourceFilter filter)
+    throws CmsException {
+
+        return m_securityManager.readResources(m_context, structureIds, filter);
     }
 
     /**
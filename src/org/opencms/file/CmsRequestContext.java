@@ -79,6 +79,9 @@ public final class CmsRequestContext {
     /** The fully qualified name of the organizational unit for this request. */
     private String m_ouFqn;
 
+    /** The request read cache, or <code>null</code> if reads are not cached. */
+    private CmsRequestReadCache m_readCache;
+
     /** The remote ip address. */
     private String m_remoteAddr;
 
@@ -345,6 +348,16 @@ public final class CmsRequestContext {
         return m_ouFqn;
     }
 
+    /**
+     * Returns the request read cache of this request context.<p>
+     * 
+     * @return the request read cache, or <code>null</code> if reads are not cached for this request
+     */
+    public CmsRequestReadCache getReadCache() {
+
+        return m_readCache;
+    }
+
     /**
      * Returns the remote ip address.<p>
      * 
@@ -504,6 +517,7 @@ public final class CmsRequestContext {
 
         if (project != null) {
             m_currentProject = project;
+            clearReadCache();
         }
         return m_currentProject;
     }
@@ -554,6 +568,16 @@ public final class CmsRequestContext {
         m_ouFqn = CmsOrganizationalUnit.removeLeadingSeparator(m_ouFqn);
     }
 
+    /**
+     * Sets the request read cache of this request context.<p>
+     * 
+     * @param readCache the request read cache, or <code>null</code> to stop caching reads for this request
+     */
+    public void setReadCache(CmsRequestReadCache readCache) {
+
+        m_readCache = readCache;
+    }
+
     /**
      * Sets the current request time.<p>
      * 
@@ -562,6 +586,7 @@ public final class CmsRequestContext {
     public void setRequestTime(long time) {
 
         m_requestTime = time;
+        clearReadCache();
     }
 
     /**
@@ -615,5 +640,16 @@ public final class CmsRequestContext {
         m_user = user;
         m_currentProject = project;
         setOuFqn(ouFqn);
+        clearReadCache();
+    }
+
+    /**
+     * Discards the results cached by the request read cache, if any.<p>
+     */
+    private void clearReadCache() {
+
+        if (m_readCache != null) {
+            m_readCache.clear();
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,414 @@
+/*
+ * This library is part of OpenCms -
+ * the Open Source Content Management System
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software GmbH, please see the
+ * company website: http://www.alkacon.com
+ *
+ * For further information about OpenCms, please see the
+ * project website: http://www.opencms.org
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.opencms.file;
+
+import org.opencms.file.history.I_CmsHistoryResource;
+import org.opencms.flex.CmsFlexRequestContextInfo;
+import org.opencms.main.CmsEvent;
+import org.opencms.main.CmsLog;
+import org.opencms.main.I_CmsEventListener;
+import org.opencms.main.OpenCms;
+import org.opencms.util.CmsRequestUtil;
+import org.opencms.util.CmsUUID;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+
+/**
+ * Memorizes the results of VFS read operations for the lifetime of a single request.<p>
+ * 
+ * If a read cache is attached to a {@link CmsRequestContext}, repeated calls of 
+ * {@link CmsObject#readResource(String, CmsResourceFilter)}, {@link CmsObject#readResource(CmsUUID, CmsResourceFilter)}, 
+ * {@link CmsObject#readFile(CmsResource)} and {@link CmsObject#readPropertyObject(CmsResource, String, boolean)} 
+ * with the same arguments are answered without going through the security manager again. 
+ * The cache is only used if the runtime property {@link #PARAM_ENABLED} is set to <code>true</code>.<p>
+ * 
+ * All cached results are discarded as soon as any OpenCms event has been fired, since this may indicate 
+ * a change of resources, properties or permissions, and if the project, user or request time 
+ * of the request context is changed. File contents are only cached up to {@link #MAX_FILE_SIZE} bytes 
+ * per file and {@link #MAX_CACHED_CONTENT_SIZE} bytes in total.<p>
+ * 
+ * Like the {@link CmsObject} it belongs to, a read cache is not thread safe.<p>
+ * 
+ * @since 9.0.0
+ */
+public final class CmsRequestReadCache {
+
+    /**
+     * Counts the events fired since the system was started.<p>
+     */
+    private static class CmsModificationListener implements I_CmsEventListener {
+
+        /**
+         * @see org.opencms.main.I_CmsEventListener#cmsEvent(org.opencms.main.CmsEvent)
+         */
+        public void cmsEvent(CmsEvent event) {
+
+            MODIFICATION_COUNT.incrementAndGet();
+        }
+    }
+
+    /** The maximum total size in bytes of the file contents cached by a single request read cache. */
+    public static final int MAX_CACHED_CONTENT_SIZE = 4 * 1024 * 1024;
+
+    /** The maximum size in bytes of a file content to cache. */
+    public static final int MAX_FILE_SIZE = 512 * 1024;
+
+    /** Name of the runtime property which enables the request read cache. */
+    public static final String PARAM_ENABLED = "request.readcache.enabled";
+
+    /** The log object for this class. */
+    private static final Log LOG = CmsLog.getLog(CmsRequestReadCache.class);
+
+    /** The number of events fired since the system was started. */
+    private static final AtomicLong MODIFICATION_COUNT = new AtomicLong();
+
+    /** The total size in bytes of the cached file contents. */
+    private long m_contentSize;
+
+    /** The cached results. */
+    private Map<String, Object> m_entries;
+
+    /** The number of reads answered from the cache. */
+    private int m_hits;
+
+    /** The number of reads which had to be passed on to the security manager. */
+    private int m_misses;
+
+    /** The event count the cached results are valid for. */
+    private long m_modificationCount;
+
+    /**
+     * Creates a new, empty request read cache.<p>
+     */
+    public CmsRequestReadCache() {
+
+        m_entries = new HashMap<String, Object>();
+        m_modificationCount = MODIFICATION_COUNT.get();
+    }
+
+    /**
+     * Registers the listener which counts the fired events with the event manager of the current OpenCms instance.<p>
+     * 
+     * Called during the OpenCms initialization, so the events are also counted after OpenCms has been 
+     * shut down and initialized again.<p>
+     */
+    public static void initialize() {
+
+        OpenCms.addCmsEventListener(new CmsModificationListener());
+    }
+
+    /**
+     * Checks if the request read cache has been enabled with the runtime property {@link #PARAM_ENABLED}.<p>
+     * 
+     * @return <code>true</code> if the request read cache is enabled
+     */
+    public static boolean isEnabled() {
+
+        return Boolean.valueOf(String.valueOf(OpenCms.getRuntimeProperty(PARAM_ENABLED))).booleanValue();
+    }
+
+    /**
+     * Discards all cached results.<p>
+     */
+    public void clear() {
+
+        m_entries.clear();
+        m_contentSize = 0;
+    }
+
+    /**
+     * Returns a copy of the cached file with the content of the given resource, 
+     * or <code>null</code> if the content has not been read yet.<p>
+     * 
+     * @param resource the resource to get the file for
+     * 
+     * @return the file, or <code>null</code>
+     */
+    public CmsFile getFile(CmsResource resource) {
+
+        if (!isCacheable(resource)) {
+            return null;
+        }
+        byte[] contents = (byte[])get(getFileKey(resource));
+        if (contents == null) {
+            return null;
+        }
+        CmsFile file = new CmsFile(resource);
+        file.setContents(contents.clone());
+        return file;
+    }
+
+    /**
+     * Returns the number of reads answered from the cache.<p>
+     * 
+     * @return the number of reads answered from the cache
+     */
+    public int getHits() {
+
+        return m_hits;
+    }
+
+    /**
+     * Returns the number of reads which had to be passed on to the security manager.<p>
+     * 
+     * @return the number of reads which were not answered from the cache
+     */
+    public int getMisses() {
+
+        return m_misses;
+    }
+
+    /**
+     * Returns a copy of the cached property, or <code>null</code> if the property has not been read yet.<p>
+     * 
+     * @param resource the resource the property was read for
+     * @param property the property name
+     * @param search if the property was searched on the parent folders
+     * 
+     * @return the property, or <code>null</code>
+     */
+    public CmsProperty getProperty(CmsResource resource, String property, boolean search) {
+
+        CmsProperty result = (CmsProperty)get(getPropertyKey(resource, property, search));
+        return result != null ? result.cloneAsProperty() : null;
+    }
+
+    /**
+     * Returns a copy of the cached resource with the given structure id, 
+     * or <code>null</code> if the resource has not been read yet with the given filter.<p>
+     * 
+     * @param context the current request context
+     * @param structureId the structure id of the resource
+     * @param filter the resource filter used for reading
+     * 
+     * @return the resource, or <code>null</code>
+     */
+    public CmsResource getResource(CmsRequestContext context, CmsUUID structureId, CmsResourceFilter filter) {
+
+        return getResource(context, getResourceKey(structureId.toString(), filter));
+    }
+
+    /**
+     * Returns a copy of the cached resource with the given root path, 
+     * or <code>null</code> if the resource has not been read yet with the given filter.<p>
+     * 
+     * @param context the current request context
+     * @param rootPath the root path of the resource
+     * @param filter the resource filter used for reading
+     * 
+     * @return the resource, or <code>null</code>
+     */
+    public CmsResource getResource(CmsRequestContext context, String rootPath, CmsResourceFilter filter) {
+
+        return getResource(context, getResourceKey(rootPath, filter));
+    }
+
+    /**
+     * Writes the number of reads answered from the cache to the log, if debug logging is enabled.<p>
+     * 
+     * @param uri the URI of the request this cache was used for
+     */
+    public void logStatistics(String uri) {
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug(Messages.get().getBundle().key(
+                Messages.LOG_REQUEST_READ_CACHE_STATISTICS_3,
+                uri,
+                new Integer(m_hits),
+                new Integer(m_hits + m_misses)));
+        }
+    }
+
+    /**
+     * Caches the content of the given file, unless it is larger than {@link #MAX_FILE_SIZE} 
+     * or the total size of the cached contents would exceed {@link #MAX_CACHED_CONTENT_SIZE}.<p>
+     * 
+     * @param file the file which has been read
+     */
+    public void putFile(CmsFile file) {
+
+        byte[] contents = file.getContents();
+        if (!isCacheable(file)
+            || (contents == null)
+            || (contents.length > MAX_FILE_SIZE)
+            || ((m_contentSize + contents.length) > MAX_CACHED_CONTENT_SIZE)) {
+            return;
+        }
+        String key = getFileKey(file);
+        byte[] replaced = (byte[])m_entries.get(key);
+        if (put(key, contents.clone())) {
+            m_contentSize += contents.length - ((replaced != null) ? replaced.length : 0);
+        }
+    }
+
+    /**
+     * Caches the given property.<p>
+     * 
+     * @param resource the resource the property was read for
+     * @param property the property name
+     * @param search if the property was searched on the parent folders
+     * @param value the property which has been read
+     */
+    public void putProperty(CmsResource resource, String property, boolean search, CmsProperty value) {
+
+        put(getPropertyKey(resource, property, search), value.cloneAsProperty());
+    }
+
+    /**
+     * Caches the given resource, both for reading it by structure id and by root path.<p>
+     * 
+     * @param filter the resource filter used for reading
+     * @param resource the resource which has been read
+     */
+    public void putResource(CmsResourceFilter filter, CmsResource resource) {
+
+        if (resource instanceof I_CmsHistoryResource) {
+            return;
+        }
+        CmsResource copy = (CmsResource)resource.clone();
+        put(getResourceKey(resource.getStructureId().toString(), filter), copy);
+        put(getResourceKey(resource.getRootPath(), filter), copy);
+    }
+
+    /**
+     * Returns the cached value for the given key, and counts the read as hit or miss.<p>
+     * 
+     * @param key the cache key
+     * 
+     * @return the cached value, or <code>null</code>
+     */
+    private Object get(String key) {
+
+        long modificationCount = MODIFICATION_COUNT.get();
+        if (modificationCount != m_modificationCount) {
+            clear();
+            m_modificationCount = modificationCount;
+        }
+        Object result = m_entries.get(key);
+        if (result != null) {
+            m_hits += 1;
+        } else {
+            m_misses += 1;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the cache key for the content of the given resource.<p>
+     * 
+     * @param resource the resource
+     * 
+     * @return the cache key
+     */
+    private String getFileKey(CmsResource resource) {
+
+        return "f|" + resource.getResourceId();
+    }
+
+    /**
+     * Returns the cache key for a property.<p>
+     * 
+     * @param resource the resource the property is read for
+     * @param property the property name
+     * @param search if the property is searched on the parent folders
+     * 
+     * @return the cache key
+     */
+    private String getPropertyKey(CmsResource resource, String property, boolean search) {
+
+        return "p|" + resource.getStructureId() + "|" + resource.getRootPath() + "|" + property + "|" + search;
+    }
+
+    /**
+     * Returns a copy of the cached resource for the given key, and updates the 
+     * flex request context dates as if the resource had been read again.<p>
+     * 
+     * @param context the current request context
+     * @param key the cache key
+     * 
+     * @return the resource, or <code>null</code>
+     */
+    private CmsResource getResource(CmsRequestContext context, String key) {
+
+        CmsResource resource = (CmsResource)get(key);
+        if (resource == null) {
+            return null;
+        }
+        Object info = context.getAttribute(CmsRequestUtil.HEADER_LAST_MODIFIED);
+        if (info instanceof CmsFlexRequestContextInfo) {
+            ((CmsFlexRequestContextInfo)info).updateFromResource(resource);
+        }
+        return (CmsResource)resource.clone();
+    }
+
+    /**
+     * Returns the cache key for a resource.<p>
+     * 
+     * @param pathOrId the root path or the structure id of the resource
+     * @param filter the resource filter used for reading
+     * 
+     * @return the cache key
+     */
+    private String getResourceKey(String pathOrId, CmsResourceFilter filter) {
+
+        return "r|" + pathOrId + "|" + filter.getCacheId();
+    }
+
+    /**
+     * Checks if the content of the given resource can be cached.<p>
+     * 
+     * @param resource the resource to check
+     * 
+     * @return <code>true</code> if the content of the given resource can be cached
+     */
+    private boolean isCacheable(CmsResource resource) {
+
+        return resource.isFile() && !(resource instanceof I_CmsHistoryResource);
+    }
+
+    /**
+     * Caches a value, unless an event has been fired since the last read.<p>
+     * 
+     * @param key the cache key
+     * @param value the value to cache
+     * 
+     * @return <code>true</code> if the value has been cached
+     */
+    private boolean put(String key, Object value) {
+
+        if (MODIFICATION_COUNT.get() == m_modificationCount) {
+            m_entries.put(key, value);
+            return true;
+        }
+        return false;
+    }
+}
@@ -112,6 +112,9 @@ public final class Messages extends A_CmsMessageBundle {
     /** Message constant for key in the resource bundle. */
     public static final String ERR_USER_ADDINFO_KEY_NULL_1 = "ERR_USER_ADDINFO_KEY_NULL_1";
 
+    /** Message constant for key in the resource bundle. */
+    public static final String LOG_REQUEST_READ_CACHE_STATISTICS_3 = "LOG_REQUEST_READ_CACHE_STATISTICS_3";
+
     /** Name of the used resource bundle. */
     private static final String BUNDLE_NAME = "org.opencms.file.messages";
 
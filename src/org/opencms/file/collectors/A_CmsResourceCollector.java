@@ -33,6 +33,7 @@ import org.opencms.file.CmsObject;
 import org.opencms.file.CmsRequestContext;
 import org.opencms.file.CmsResource;
 import org.opencms.file.CmsResourceFilter;
+import org.opencms.flex.CmsFlexRequestContextInfo;
 import org.opencms.main.CmsException;
 import org.opencms.main.CmsIllegalArgumentException;
 import org.opencms.main.OpenCms;
@@ -40,8 +41,12 @@ import org.opencms.util.CmsStringUtil;
 import org.opencms.xml.content.CmsXmlContent;
 import org.opencms.xml.content.CmsXmlContentFactory;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
+import java.util.PriorityQueue;
 
 /**
  * Provides some helpful base implementations for resource collector classes.<p>
@@ -279,6 +284,21 @@ public abstract class A_CmsResourceCollector implements I_CmsResourceCollector {
         m_order = order;
     }
 
+    /**
+     * Caches the result of a collector call.<p>
+     * 
+     * @param cacheKey the cache key as returned by {@link #getCacheKey(CmsObject, String, String, String...)}, 
+     *      if <code>null</code> nothing is cached
+     * @param result the result to cache
+     * @param dates the "last modified" and "expires" dates of all resources read for the result
+     * 
+     * @see #readCollectorResources(CmsObject, String, CmsResourceFilter, boolean, CmsFlexRequestContextInfo)
+     */
+    protected void cacheResults(String cacheKey, List<CmsResource> result, CmsFlexRequestContextInfo dates) {
+
+        CmsCollectorResultCache.getInstance().putResults(cacheKey, result, dates);
+    }
+
     /**
      * Checks if the required parameters have been set.<p>
      * 
@@ -295,6 +315,35 @@ public abstract class A_CmsResourceCollector implements I_CmsResourceCollector {
         }
     }
 
+    /**
+     * Returns the key used to cache the result of a collector call, 
+     * or <code>null</code> if the result must not be cached.<p>
+     * 
+     * @param cms the current OpenCms user context
+     * @param collectorName the collector name
+     * @param param the collector parameter
+     * @param additionalKeys additional values the result depends on, e.g. the requested URI
+     * 
+     * @return the cache key, or <code>null</code> if the result must not be cached
+     */
+    protected String getCacheKey(CmsObject cms, String collectorName, String param, String... additionalKeys) {
+
+        return CmsCollectorResultCache.getInstance().getCacheKey(cms, this, collectorName, param, additionalKeys);
+    }
+
+    /**
+     * Returns the cached result of a collector call, or <code>null</code> if no valid result is cached.<p>
+     * 
+     * @param cms the current OpenCms user context
+     * @param cacheKey the cache key as returned by {@link #getCacheKey(CmsObject, String, String, String...)}
+     * 
+     * @return the cached result, or <code>null</code>
+     */
+    protected List<CmsResource> getCachedResults(CmsObject cms, String cacheKey) {
+
+        return CmsCollectorResultCache.getInstance().getResults(cms, cacheKey);
+    }
+
     /**
      * Returns the link to create a new XML content item in the folder pointed to by the parameter.<p>
      * 
@@ -327,6 +376,100 @@ public abstract class A_CmsResourceCollector implements I_CmsResourceCollector {
         return getCreateInFolder(cms, new CmsCollectorData(param));
     }
 
+    /**
+     * Reads the resources in a folder (or subtree) matching the given filter.<p>
+     * 
+     * In contrast to {@link CmsObject#readResources(String, CmsResourceFilter, boolean)}, the release and 
+     * expiration dates are checked here after reading, so that the "last modified" and "expires" dates 
+     * of all resources read, including the ones not released yet, can be collected in the given dates object.
+     * This allows to decide how long a result calculated from the returned resources can be cached.<p>
+     * 
+     * @param cms the current OpenCms user context
+     * @param foldername the folder to read the resources from
+     * @param filter the resource filter to use
+     * @param tree if true, look in folder and all child folders, if false, look only in given folder
+     * @param dates the dates object to update with all resources read
+     * 
+     * @return the resources matching the given filter
+     * 
+     * @throws CmsException if something goes wrong
+     */
+    protected List<CmsResource> readCollectorResources(
+        CmsObject cms,
+        String foldername,
+        CmsResourceFilter filter,
+        boolean tree,
+        CmsFlexRequestContextInfo dates) throws CmsException {
+
+        CmsResourceFilter readFilter = filter.requireTimerange() ? filter.addExcludeTimerange() : filter;
+        List<CmsResource> resources = cms.readResources(foldername, readFilter, tree);
+        List<CmsResource> result = new ArrayList<CmsResource>(resources.size());
+        for (CmsResource resource : resources) {
+            dates.updateFromResource(resource);
+            if (filter.isValid(cms.getRequestContext(), resource)) {
+                result.add(resource);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the first resources of the given list in the order defined by the given comparator.<p>
+     * 
+     * If only a few resources of a large list are required, a bounded heap is used, so the list
+     * does not have to be sorted completely. Resources that are equal according to the comparator
+     * keep their relative order, just like with {@link Collections#sort(List, Comparator)}.<p>
+     * 
+     * @param resources the resources to select from
+     * @param comparator the comparator defining the order
+     * @param maxSize the maximum number of resources to return, if &lt;= 0 all resources are returned
+     * 
+     * @return the sorted first <code>maxSize</code> resources
+     */
+    protected List<CmsResource> selectTopResults(
+        final List<CmsResource> resources,
+        final Comparator<? super CmsResource> comparator,
+        int maxSize) {
+
+        if ((maxSize <= 0) || (resources.size() <= maxSize)) {
+            List<CmsResource> result = new ArrayList<CmsResource>(resources);
+            Collections.sort(result, comparator);
+            return result;
+        }
+        // compares resource positions by the resource order, ties are resolved by the position
+        Comparator<Integer> positionComparator = new Comparator<Integer>() {
+
+            /**
+             * @see java.util.Comparator#compare(java.lang.Object, java.lang.Object)
+             */
+            public int compare(Integer pos0, Integer pos1) {
+
+                int result = comparator.compare(resources.get(pos0.intValue()), resources.get(pos1.intValue()));
+                return (result != 0) ? result : pos0.compareTo(pos1);
+            }
+        };
+        // the heap keeps the last of the selected positions on top, so it can be replaced by a better one
+        PriorityQueue<Integer> heap = new PriorityQueue<Integer>(
+            maxSize,
+            Collections.reverseOrder(positionComparator));
+        for (int i = 0, n = resources.size(); i < n; i++) {
+            Integer pos = new Integer(i);
+            if (heap.size() < maxSize) {
+                heap.add(pos);
+            } else if (positionComparator.compare(pos, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(pos);
+            }
+        }
+        List<Integer> positions = new ArrayList<Integer>(heap);
+        Collections.sort(positions, positionComparator);
+        List<CmsResource> result = new ArrayList<CmsResource>(positions.size());
+        for (Integer pos : positions) {
+            result.add(resources.get(pos.intValue()));
+        }
+        return result;
+    }
+
     /**
      * Shrinks a List to fit a maximum size.<p>
      * 
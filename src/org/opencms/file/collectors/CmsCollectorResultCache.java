@@ -0,0 +1,297 @@
+/*
+ * This library is part of OpenCms -
+ * the Open Source Content Management System
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software GmbH, please see the
+ * company website: http://www.alkacon.com
+ *
+ * For further information about OpenCms, please see the
+ * project website: http://www.opencms.org
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.opencms.file.collectors;
+
+import org.opencms.file.CmsObject;
+import org.opencms.file.CmsRequestContext;
+import org.opencms.file.CmsResource;
+import org.opencms.flex.CmsFlexRequestContextInfo;
+import org.opencms.main.CmsEvent;
+import org.opencms.main.CmsLog;
+import org.opencms.main.I_CmsEventListener;
+import org.opencms.main.OpenCms;
+import org.opencms.util.CmsCollectionsGenericWrapper;
+import org.opencms.util.CmsRequestUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+
+/**
+ * A singleton cache for the sorted and limited results of resource collectors.<p>
+ * 
+ * Only results read in the online project are cached, since the online project can only be changed by publishing.
+ * The cache is keyed by collector, collector name, parameter, project, site and user, and it is flushed
+ * after a project has been published or the caches have been cleared.<p>
+ * 
+ * Every cached result also remembers the earliest release or expiration date of all resources that were 
+ * read for it. Once the request time reaches this date, the entry is no longer used, since the set of 
+ * resources visible for the request may have changed.<p>
+ * 
+ * @since 9.0.0
+ */
+public final class CmsCollectorResultCache implements I_CmsEventListener {
+
+    /**
+     * A cached collector result.<p>
+     */
+    private static class CmsCollectorResult {
+
+        /** The time when this result was created. */
+        private long m_dateCreated;
+
+        /** The "last modified" and "expires" dates of all resources read for the result. */
+        private CmsFlexRequestContextInfo m_dates;
+
+        /** The cached resources. */
+        private List<CmsResource> m_resources;
+
+        /**
+         * Creates a new cached collector result.<p>
+         * 
+         * @param resources the resources to cache
+         * @param dates the "last modified" and "expires" dates of all resources read for the result
+         */
+        protected CmsCollectorResult(List<CmsResource> resources, CmsFlexRequestContextInfo dates) {
+
+            m_resources = Collections.unmodifiableList(new ArrayList<CmsResource>(resources));
+            m_dates = dates;
+            m_dateCreated = System.currentTimeMillis();
+        }
+
+        /**
+         * Returns the "last modified" and "expires" dates of all resources read for the result.<p>
+         * 
+         * @return the "last modified" and "expires" dates
+         */
+        protected CmsFlexRequestContextInfo getDates() {
+
+            return m_dates;
+        }
+
+        /**
+         * Returns the cached resources.<p>
+         * 
+         * @return the cached resources
+         */
+        protected List<CmsResource> getResources() {
+
+            return m_resources;
+        }
+
+        /**
+         * Checks if this result is valid for the given request time.<p>
+         * 
+         * @param requestTime the request time to check
+         * 
+         * @return <code>true</code> if this result is valid for the given request time
+         */
+        protected boolean isValid(long requestTime) {
+
+            return (requestTime >= m_dateCreated) && (requestTime < m_dates.getDateExpires());
+        }
+    }
+
+    /** The maximum number of cached collector results. */
+    public static final int MAX_CACHED_RESULTS = 512;
+
+    /** The maximum number of resources in a cached collector result, larger results are not cached. */
+    public static final int MAX_RESULT_SIZE = 100;
+
+    /** The log object for this class. */
+    private static final Log LOG = CmsLog.getLog(CmsCollectorResultCache.class);
+
+    /** The singleton instance. */
+    private static CmsCollectorResultCache m_instance;
+
+    /** The cached results. */
+    private Map<String, CmsCollectorResult> m_results;
+
+    /**
+     * Hidden constructor, use {@link #getInstance()} to access the cache.<p>
+     */
+    private CmsCollectorResultCache() {
+
+        Map<String, CmsCollectorResult> results = CmsCollectionsGenericWrapper.createLRUMap(MAX_CACHED_RESULTS);
+        m_results = Collections.synchronizedMap(results);
+        if (OpenCms.getMemoryMonitor() != null) {
+            OpenCms.getMemoryMonitor().register(CmsCollectorResultCache.class.getName() + ".m_results", m_results);
+        }
+        OpenCms.addCmsEventListener(this, new int[] {
+            I_CmsEventListener.EVENT_PUBLISH_PROJECT,
+            I_CmsEventListener.EVENT_CLEAR_CACHES,
+            I_CmsEventListener.EVENT_CLEAR_ONLINE_CACHES,
+            I_CmsEventListener.EVENT_CLEAR_PRINCIPAL_CACHES,
+            I_CmsEventListener.EVENT_USER_MODIFIED});
+    }
+
+    /**
+     * Returns the singleton collector result cache instance.<p>
+     * 
+     * @return the singleton collector result cache instance
+     */
+    public static synchronized CmsCollectorResultCache getInstance() {
+
+        if (m_instance == null) {
+            m_instance = new CmsCollectorResultCache();
+        }
+        return m_instance;
+    }
+
+    /**
+     * @see org.opencms.main.I_CmsEventListener#cmsEvent(org.opencms.main.CmsEvent)
+     */
+    public void cmsEvent(CmsEvent event) {
+
+        switch (event.getType()) {
+            case I_CmsEventListener.EVENT_PUBLISH_PROJECT:
+            case I_CmsEventListener.EVENT_CLEAR_CACHES:
+            case I_CmsEventListener.EVENT_CLEAR_ONLINE_CACHES:
+            case I_CmsEventListener.EVENT_CLEAR_PRINCIPAL_CACHES:
+            case I_CmsEventListener.EVENT_USER_MODIFIED:
+                m_results.clear();
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug(Messages.get().getBundle().key(
+                        Messages.LOG_COLLECTOR_RESULT_CACHE_FLUSHED_1,
+                        new Integer(event.getType())));
+                }
+                break;
+            default:
+                // no operation
+        }
+    }
+
+    /**
+     * Returns the cache key for the given collector call, or <code>null</code> if the results 
+     * of the call must not be cached.<p>
+     * 
+     * @param cms the current OpenCms user context
+     * @param collector the collector
+     * @param collectorName the collector name
+     * @param param the collector parameter
+     * @param additionalKeys additional values the result depends on, e.g. the requested URI
+     * 
+     * @return the cache key, or <code>null</code> if the results must not be cached
+     */
+    public String getCacheKey(
+        CmsObject cms,
+        I_CmsResourceCollector collector,
+        String collectorName,
+        String param,
+        String... additionalKeys) {
+
+        CmsRequestContext context = cms.getRequestContext();
+        if (!context.getCurrentProject().isOnlineProject()) {
+            return null;
+        }
+        StringBuffer result = new StringBuffer(128);
+        result.append(collector.getClass().getName());
+        result.append('|').append(collectorName);
+        result.append('|').append(param);
+        result.append('|').append(context.getCurrentProject().getUuid());
+        result.append('|').append(context.getSiteRoot());
+        result.append('|').append(context.getCurrentUser().getName());
+        for (String key : additionalKeys) {
+            result.append('|').append(key);
+        }
+        return result.toString();
+    }
+
+    /**
+     * Returns a copy of the cached result for the given key, or <code>null</code> if no valid result is cached.<p>
+     * 
+     * On a cache hit, the flex request context dates of the current request are updated
+     * as if the resources of the result had been read again.<p>
+     * 
+     * @param cms the current OpenCms user context
+     * @param key the cache key, may be <code>null</code>
+     * 
+     * @return a copy of the cached result, or <code>null</code>
+     */
+    public List<CmsResource> getResults(CmsObject cms, String key) {
+
+        if (key == null) {
+            return null;
+        }
+        CmsCollectorResult result = m_results.get(key);
+        if ((result == null) || !result.isValid(cms.getRequestContext().getRequestTime())) {
+            return null;
+        }
+        CmsFlexRequestContextInfo info = getRequestContextInfo(cms);
+        if (info != null) {
+            info.merge(result.getDates());
+        }
+        return new ArrayList<CmsResource>(result.getResources());
+    }
+
+    /**
+     * Returns the number of cached results.<p>
+     * 
+     * @return the number of cached results
+     */
+    public int getSize() {
+
+        return m_results.size();
+    }
+
+    /**
+     * Caches the given collector result.<p>
+     * 
+     * Results with more than {@link #MAX_RESULT_SIZE} resources, e.g. the results of collectors 
+     * called without a count limit, are not cached, so the memory used by the cache stays bounded.<p>
+     * 
+     * @param key the cache key, if <code>null</code> nothing is cached
+     * @param resources the resources to cache
+     * @param dates the "last modified" and "expires" dates of all resources read for the result
+     */
+    public void putResults(String key, List<CmsResource> resources, CmsFlexRequestContextInfo dates) {
+
+        if ((key != null) && (resources.size() <= MAX_RESULT_SIZE)) {
+            m_results.put(key, new CmsCollectorResult(resources, dates));
+        }
+    }
+
+    /**
+     * Returns the flex request context info of the current request, if available.<p>
+     * 
+     * @param cms the current OpenCms user context
+     * 
+     * @return the flex request context info, or <code>null</code>
+     */
+    private CmsFlexRequestContextInfo getRequestContextInfo(CmsObject cms) {
+
+        Object info = cms.getRequestContext().getAttribute(CmsRequestUtil.HEADER_LAST_MODIFIED);
+        if (info instanceof CmsFlexRequestContextInfo) {
+            return (CmsFlexRequestContextInfo)info;
+        }
+        return null;
+    }
+}
@@ -32,6 +32,7 @@ import org.opencms.file.CmsObject;
 import org.opencms.file.CmsResource;
 import org.opencms.file.CmsResourceFilter;
 import org.opencms.file.I_CmsResource;
+import org.opencms.flex.CmsFlexRequestContextInfo;
 import org.opencms.jsp.CmsJspNavBuilder;
 import org.opencms.jsp.CmsJspNavElement;
 import org.opencms.main.CmsException;
@@ -218,16 +219,23 @@ public class CmsDefaultResourceCollector extends A_CmsResourceCollector {
     protected List<CmsResource> allInFolderDateReleasedDesc(CmsObject cms, String param, boolean tree)
     throws CmsException {
 
+        String cacheKey = getCacheKey(cms, "allInFolderDateReleasedDesc", param, String.valueOf(tree));
+        List<CmsResource> result = getCachedResults(cms, cacheKey);
+        if (result != null) {
+            return result;
+        }
+
         CmsCollectorData data = new CmsCollectorData(param);
         String foldername = CmsResource.getFolderPath(data.getFileName());
 
         CmsResourceFilter filter = CmsResourceFilter.DEFAULT_FILES.addRequireType(data.getType()).addExcludeFlags(
             CmsResource.FLAG_TEMPFILE);
-        List<CmsResource> result = cms.readResources(foldername, filter, tree);
-
-        Collections.sort(result, I_CmsResource.COMPARE_DATE_RELEASED);
+        CmsFlexRequestContextInfo dates = new CmsFlexRequestContextInfo();
+        List<CmsResource> resources = readCollectorResources(cms, foldername, filter, tree, dates);
 
-        return shrinkToFit(result, data.getCount());
+        result = selectTopResults(resources, I_CmsResource.COMPARE_DATE_RELEASED, data.getCount());
+        cacheResults(cacheKey, result, dates);
+        return result;
     }
 
     /**
@@ -242,12 +250,19 @@ public class CmsDefaultResourceCollector extends A_CmsResourceCollector {
      */
     protected List<CmsResource> allInFolderNavPos(CmsObject cms, String param, boolean readSubTree) throws CmsException {
 
+        String cacheKey = getCacheKey(cms, "allInFolderNavPos", param, String.valueOf(readSubTree));
+        List<CmsResource> cachedResult = getCachedResults(cms, cacheKey);
+        if (cachedResult != null) {
+            return cachedResult;
+        }
+
         CmsCollectorData data = new CmsCollectorData(param);
         String foldername = CmsResource.getFolderPath(data.getFileName());
 
         CmsResourceFilter filter = CmsResourceFilter.DEFAULT_FILES.addRequireType(data.getType()).addExcludeFlags(
             CmsResource.FLAG_TEMPFILE);
-        List<CmsResource> foundResources = cms.readResources(foldername, filter, readSubTree);
+        CmsFlexRequestContextInfo dates = new CmsFlexRequestContextInfo();
+        List<CmsResource> foundResources = readCollectorResources(cms, foldername, filter, readSubTree, dates);
 
         // the Cms resources are saved in a map keyed by their nav elements
         // to save time sorting the resources by the value of their NavPos property        
@@ -284,7 +299,9 @@ public class CmsDefaultResourceCollector extends A_CmsResourceCollector {
             result.add(navElementMap.get(navElement));
         }
 
-        return shrinkToFit(result, data.getCount());
+        result = shrinkToFit(result, data.getCount());
+        cacheResults(cacheKey, result, dates);
+        return result;
     }
 
     /**
@@ -303,17 +320,24 @@ public class CmsDefaultResourceCollector extends A_CmsResourceCollector {
     protected List<CmsResource> getAllInFolder(CmsObject cms, String param, boolean tree)
     throws CmsException, CmsIllegalArgumentException {
 
+        String cacheKey = getCacheKey(cms, "allInFolder", param, String.valueOf(tree));
+        List<CmsResource> result = getCachedResults(cms, cacheKey);
+        if (result != null) {
+            return result;
+        }
+
         CmsCollectorData data = new CmsCollectorData(param);
         String foldername = CmsResource.getFolderPath(data.getFileName());
 
         CmsResourceFilter filter = CmsResourceFilter.DEFAULT_FILES.addRequireType(data.getType()).addExcludeFlags(
             CmsResource.FLAG_TEMPFILE);
-        List<CmsResource> result = cms.readResources(foldername, filter, tree);
+        CmsFlexRequestContextInfo dates = new CmsFlexRequestContextInfo();
+        List<CmsResource> resources = readCollectorResources(cms, foldername, filter, tree, dates);
 
-        Collections.sort(result, I_CmsResource.COMPARE_ROOT_PATH);
-        Collections.reverse(result);
-
-        return shrinkToFit(result, data.getCount());
+        // root paths are unique, so inverting the comparator gives the same order as reversing the sorted list
+        result = selectTopResults(resources, new ComparatorInverter(I_CmsResource.COMPARE_ROOT_PATH), data.getCount());
+        cacheResults(cacheKey, result, dates);
+        return result;
     }
 
     /**
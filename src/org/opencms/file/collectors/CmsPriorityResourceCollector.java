@@ -33,6 +33,7 @@ import org.opencms.file.CmsProject;
 import org.opencms.file.CmsProperty;
 import org.opencms.file.CmsResource;
 import org.opencms.file.CmsResourceFilter;
+import org.opencms.flex.CmsFlexRequestContextInfo;
 import org.opencms.main.CmsException;
 
 import java.util.ArrayList;
@@ -217,18 +218,30 @@ public class CmsPriorityResourceCollector extends A_CmsResourceCollector {
     protected List<CmsResource> allInFolderPriorityDate(CmsObject cms, String param, boolean tree, boolean asc)
     throws CmsException {
 
+        String cacheKey = getCacheKey(
+            cms,
+            "allInFolderPriorityDate",
+            param,
+            String.valueOf(tree),
+            String.valueOf(asc));
+        List<CmsResource> result = getCachedResults(cms, cacheKey);
+        if (result != null) {
+            return result;
+        }
+
         CmsCollectorData data = new CmsCollectorData(param);
         String foldername = CmsResource.getFolderPath(data.getFileName());
 
         CmsResourceFilter filter = CmsResourceFilter.DEFAULT.addRequireType(data.getType()).addExcludeFlags(
             CmsResource.FLAG_TEMPFILE);
-        List<CmsResource> result = cms.readResources(foldername, filter, tree);
+        CmsFlexRequestContextInfo dates = new CmsFlexRequestContextInfo();
+        List<CmsResource> resources = readCollectorResources(cms, foldername, filter, tree, dates);
 
         // create priority comparator to use to sort the resources
         CmsPriorityDateResourceComparator comparator = new CmsPriorityDateResourceComparator(cms, asc);
-        Collections.sort(result, comparator);
-
-        return shrinkToFit(result, data.getCount());
+        result = selectTopResults(resources, comparator, data.getCount());
+        cacheResults(cacheKey, result, dates);
+        return result;
     }
 
     /**
@@ -244,18 +257,25 @@ public class CmsPriorityResourceCollector extends A_CmsResourceCollector {
      */
     protected List<CmsResource> allInFolderPriorityTitle(CmsObject cms, String param, boolean tree) throws CmsException {
 
+        String cacheKey = getCacheKey(cms, "allInFolderPriorityTitle", param, String.valueOf(tree));
+        List<CmsResource> result = getCachedResults(cms, cacheKey);
+        if (result != null) {
+            return result;
+        }
+
         CmsCollectorData data = new CmsCollectorData(param);
         String foldername = CmsResource.getFolderPath(data.getFileName());
 
         CmsResourceFilter filter = CmsResourceFilter.DEFAULT.addRequireType(data.getType()).addExcludeFlags(
             CmsResource.FLAG_TEMPFILE);
-        List<CmsResource> result = cms.readResources(foldername, filter, tree);
+        CmsFlexRequestContextInfo dates = new CmsFlexRequestContextInfo();
+        List<CmsResource> resources = readCollectorResources(cms, foldername, filter, tree, dates);
 
         // create priority comparator to use to sort the resources
         CmsPriorityTitleResourceComparator comparator = new CmsPriorityTitleResourceComparator(cms);
-        Collections.sort(result, comparator);
-
-        return shrinkToFit(result, data.getCount());
+        result = selectTopResults(resources, comparator, data.getCount());
+        cacheResults(cacheKey, result, dates);
+        return result;
     }
 
     /**
@@ -273,13 +293,21 @@ public class CmsPriorityResourceCollector extends A_CmsResourceCollector {
     protected List<CmsResource> allMappedToUriPriorityDate(CmsObject cms, String param, boolean asc)
     throws CmsException {
 
+        String uri = cms.getRequestContext().getSiteRoot() + cms.getRequestContext().getUri();
+        String cacheKey = getCacheKey(cms, "allMappedToUriPriorityDate", param, String.valueOf(asc), uri);
+        List<CmsResource> cachedResult = getCachedResults(cms, cacheKey);
+        if (cachedResult != null) {
+            return cachedResult;
+        }
+
         CmsCollectorData data = new CmsCollectorData(param);
         String foldername = CmsResource.getFolderPath(data.getFileName());
 
         CmsResourceFilter filter = CmsResourceFilter.DEFAULT.addRequireType(data.getType()).addExcludeFlags(
             CmsResource.FLAG_TEMPFILE);
 
-        List<CmsResource> result = cms.readResources(foldername, filter, true);
+        CmsFlexRequestContextInfo dates = new CmsFlexRequestContextInfo();
+        List<CmsResource> result = readCollectorResources(cms, foldername, filter, true, dates);
         List<CmsResource> mapped = new ArrayList<CmsResource>();
 
         // sort out the resources mapped to the current page
@@ -289,22 +317,18 @@ public class CmsPriorityResourceCollector extends A_CmsResourceCollector {
             // read all properties - reason: comparator will do this later anyway, so we just prefill the cache
             CmsProperty prop = cms.readPropertyObject(res, PROPERTY_CHANNEL, false);
             if (!prop.isNullProperty()) {
-                if (CmsProject.isInsideProject(prop.getValueList(), cms.getRequestContext().getSiteRoot()
-                    + cms.getRequestContext().getUri())) {
+                if (CmsProject.isInsideProject(prop.getValueList(), uri)) {
                     mapped.add(res);
                 }
             }
         }
 
-        if (mapped.isEmpty()) {
-            // nothing was mapped, no need for further processing
-            return mapped;
+        if (!mapped.isEmpty()) {
+            // create priority comparator to use to sort the resources
+            CmsPriorityDateResourceComparator comparator = new CmsPriorityDateResourceComparator(cms, asc);
+            mapped = selectTopResults(mapped, comparator, data.getCount());
         }
-
-        // create priority comparator to use to sort the resources
-        CmsPriorityDateResourceComparator comparator = new CmsPriorityDateResourceComparator(cms, asc);
-        Collections.sort(mapped, comparator);
-
-        return shrinkToFit(mapped, data.getCount());
+        cacheResults(cacheKey, mapped, dates);
+        return mapped;
     }
 }
\ No newline at end of file
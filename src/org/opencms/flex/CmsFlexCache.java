@@ -250,7 +250,12 @@ public class CmsFlexCache extends Object implements I_CmsEventListener {
         int maxEntryBytes = configuration.getMaxEntryBytes();
         int maxKeys = configuration.getMaxKeys();
 
-        m_variationCache = new CmsLruCache(maxCacheBytes, avgCacheBytes, maxEntryBytes);
+        m_variationCache = new CmsLruCache(
+            maxCacheBytes,
+            avgCacheBytes,
+            maxEntryBytes,
+            configuration.getCachePolicy(),
+            Math.max(maxKeys, CmsLruCache.DEFAULT_SKETCH_SIZE));
         OpenCms.getMemoryMonitor().register(getClass().getName() + ".m_entryLruCache", m_variationCache);
 
         if (m_enabled) {
@@ -508,6 +513,10 @@ public class CmsFlexCache extends Object implements I_CmsEventListener {
                 m_variationCache.remove(entry);
                 return null;
             }
+            m_variationCache.recordHit(entry);
+            if (CmsLruCache.isTraceEnabled()) {
+                CmsLruCache.trace(key.getResource() + variation, entry.getLruCacheCosts());
+            }
             // return the found cache entry
             return entry;
         } else {
@@ -863,12 +872,17 @@ public class CmsFlexCache extends Object implements I_CmsEventListener {
         if (key.getTimeout() > 0) {
             theCacheEntry.setDateExpiresToNextTimeout(key.getTimeout());
         }
+        // the key used by the LRU cache to count the requests of the entry
+        String lruKey = key.getResource() + key.getVariation();
+        if (CmsLruCache.isTraceEnabled()) {
+            CmsLruCache.trace(lruKey, theCacheEntry.getLruCacheCosts());
+        }
         if (o != null) {
             // We already have a variation map for this resource
             Map<String, I_CmsLruCacheObject> m = o.m_map;
             boolean wasAdded = true;
             if (!m.containsKey(key.getVariation())) {
-                wasAdded = m_variationCache.add(theCacheEntry);
+                wasAdded = m_variationCache.add(theCacheEntry, lruKey);
             } else {
                 wasAdded = m_variationCache.touch(theCacheEntry);
             }
@@ -881,7 +895,7 @@ public class CmsFlexCache extends Object implements I_CmsEventListener {
             // No variation map for this resource yet, so create one
             CmsFlexCacheVariation list = new CmsFlexCacheVariation(key);
 
-            boolean wasAdded = m_variationCache.add(theCacheEntry);
+            boolean wasAdded = m_variationCache.add(theCacheEntry, lruKey);
 
             if (wasAdded) {
                 theCacheEntry.setVariationData(key.getVariation(), list.m_map);
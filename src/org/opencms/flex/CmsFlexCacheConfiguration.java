@@ -27,6 +27,7 @@
 
 package org.opencms.flex;
 
+import org.opencms.cache.CmsLruCache;
 import org.opencms.jsp.util.CmsJspDeviceSelector;
 import org.opencms.jsp.util.I_CmsJspDeviceSelector;
 import org.opencms.main.CmsLog;
@@ -46,6 +47,9 @@ public class CmsFlexCacheConfiguration {
     /** The average cache bytes. */
     private long m_avgCacheBytes;
 
+    /** The eviction policy of the cache. */
+    private CmsLruCache.Policy m_cachePolicy;
+
     /** Indicates if the cache is enabled or not. */
     private boolean m_cacheEnabled;
 
@@ -92,6 +96,16 @@ public class CmsFlexCacheConfiguration {
         return m_avgCacheBytes;
     }
 
+    /**
+     * Returns the configured eviction policy of the cache.<p>
+     * 
+     * @return the eviction policy, or <code>null</code> if the default policy should be used
+     */
+    public CmsLruCache.Policy getCachePolicy() {
+
+        return m_cachePolicy;
+    }
+
     /**
      * Returns the deviceSelector.<p>
      *
@@ -201,6 +215,26 @@ public class CmsFlexCacheConfiguration {
         m_avgCacheBytes = avgCacheBytes;
     }
 
+    /**
+     * Sets the eviction policy of the cache.<p>
+     * 
+     * Valid values are the names of the {@link CmsLruCache.Policy} constants, ignoring case, 
+     * invalid values are logged and ignored.<p>
+     *
+     * @param cachePolicy the name of the eviction policy
+     */
+    public void setCachePolicy(String cachePolicy) {
+
+        try {
+            m_cachePolicy = CmsLruCache.Policy.valueOf(cachePolicy.trim().toUpperCase());
+            if (CmsLog.INIT.isInfoEnabled()) {
+                CmsLog.INIT.info(Messages.get().getBundle().key(Messages.INIT_FLEXCACHE_CACHE_POLICY_1, m_cachePolicy));
+            }
+        } catch (IllegalArgumentException e) {
+            LOG.error(Messages.get().getBundle().key(Messages.LOG_FLEXCACHE_INVALID_CACHE_POLICY_1, cachePolicy), e);
+        }
+    }
+
     /**
      * Sets the enabled.<p>
      *
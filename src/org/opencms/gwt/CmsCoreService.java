@@ -697,6 +697,15 @@ public class CmsCoreService extends CmsGwtService implements I_CmsCoreService {
         }
     }
 
+    /**
+     * @see org.opencms.gwt.CmsGwtService#isReusable()
+     */
+    @Override
+    public boolean isReusable() {
+
+        return true;
+    }
+
     /**
      * @see org.opencms.gwt.shared.rpc.I_CmsCoreService#lockIfExists(java.lang.String)
      */
@@ -995,6 +1004,16 @@ public class CmsCoreService extends CmsGwtService implements I_CmsCoreService {
         return null;
     }
 
+    /**
+     * @see org.opencms.gwt.CmsGwtService#clearThreadStorage()
+     */
+    @Override
+    protected void clearThreadStorage() {
+
+        super.clearThreadStorage();
+        m_sessionCache = null;
+    }
+
     /**
      * Collect GWT build ids from the different ADE modules.<p>
      * 
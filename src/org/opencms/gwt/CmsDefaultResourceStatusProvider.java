@@ -100,24 +100,39 @@ public class CmsDefaultResourceStatusProvider {
         CmsRelationTargetListBean result = new CmsRelationTargetListBean();
         CmsResource content = cms.readResource(source, CmsResourceFilter.IGNORE_EXPIRATION);
         boolean isContainerPage = CmsResourceTypeXmlContainerPage.isContainerPage(content);
-        for (CmsUUID structureId : additionalIds) {
-            try {
-                CmsResource res = cms.readResource(structureId, CmsResourceFilter.IGNORE_EXPIRATION);
+        try {
+            for (CmsResource res : cms.readResources(additionalIds, CmsResourceFilter.IGNORE_EXPIRATION)) {
                 result.add(res);
                 if (res.getState().isChanged() && cancelIfChanged) {
                     return result;
                 }
-            } catch (CmsException e) {
-                LOG.error(e.getLocalizedMessage(), e);
             }
+        } catch (CmsException e) {
+            LOG.error(e.getLocalizedMessage(), e);
         }
         List<CmsRelation> relations = cms.readRelations(CmsRelationFilter.relationsFromStructureId(source));
+        // read the relation targets by id in one go, targets which can not be found by id are read by path below
+        List<CmsUUID> targetIds = new ArrayList<CmsUUID>(relations.size());
+        for (CmsRelation relation : relations) {
+            targetIds.add(relation.getTargetId());
+        }
+        Map<CmsUUID, CmsResource> targetsById = new HashMap<CmsUUID, CmsResource>();
+        try {
+            for (CmsResource target : cms.readResources(targetIds, CmsResourceFilter.IGNORE_EXPIRATION)) {
+                targetsById.put(target.getStructureId(), target);
+            }
+        } catch (CmsException e) {
+            LOG.error(e.getLocalizedMessage(), e);
+        }
         for (CmsRelation relation : relations) {
             if (relation.getType() == CmsRelationType.XSD) {
                 continue;
             }
             try {
-                CmsResource target = relation.getTarget(cms, CmsResourceFilter.IGNORE_EXPIRATION);
+                CmsResource target = targetsById.get(relation.getTargetId());
+                if (target == null) {
+                    target = relation.getTarget(cms, CmsResourceFilter.IGNORE_EXPIRATION);
+                }
                 I_CmsResourceType type = OpenCms.getResourceManager().getResourceType(target);
                 if (isContainerPage && (type instanceof CmsResourceTypeJsp)) {
                     // ignore formatters for container pages, as the normal user probably doesn't want to deal with them  
@@ -46,25 +46,40 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import javax.servlet.ServletException;
 import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
 
 import org.apache.commons.logging.Log;
 
+import com.google.gwt.user.server.rpc.RPCRequest;
 import com.google.gwt.user.server.rpc.RemoteServiceServlet;
 import com.google.gwt.user.server.rpc.SerializationPolicy;
 
 /**
  * Wrapper for GWT services served through OpenCms.<p>
  * 
+ * The calls of a user session are processed one at a time, except for calls to methods 
+ * marked with {@link CmsParallelRpc}, which only exclude the other calls.<p>
+ * 
+ * Service instances are only used for one call at a time. If a service returns <code>true</code>
+ * for {@link #isReusable()}, its instances are kept in a pool and reused for later calls,
+ * so services which cache per-request state in members have to reset it in {@link #clearThreadStorage()}.<p>
+ * 
  * @since 8.0.0
  */
 public class CmsGwtService extends RemoteServiceServlet {
 
+    /** The name of the session attribute which holds the lock for the RPC calls of the session. */
+    public static final String SESSION_LOCK_ATTRIBUTE = "__org.opencms.gwt.CmsGwtService.sessionLock";
+
     /** The static log object for this class. */
     private static final Log LOG = CmsLog.getLog(CmsGwtService.class);
 
@@ -77,6 +92,9 @@ public class CmsGwtService extends RemoteServiceServlet {
     /** The current CMS context. */
     private ThreadLocal<CmsObject> m_perThreadCmsObject;
 
+    /** The session lock held by the current call. */
+    private ThreadLocal<Lock> m_perThreadLock = new ThreadLocal<Lock>();
+
     /**
      * Constructor.<p>
      */
@@ -148,6 +166,19 @@ public class CmsGwtService extends RemoteServiceServlet {
         return getThreadLocalResponse();
     }
 
+    /**
+     * Returns if instances of this service can be reused for later calls.<p>
+     * 
+     * Override and return <code>true</code> if the service does not keep any state 
+     * between calls, or resets it in {@link #clearThreadStorage()}.<p>
+     * 
+     * @return true if instances of this service can be reused
+     */
+    public boolean isReusable() {
+
+        return false;
+    }
+
     /**
      * @see javax.servlet.GenericServlet#log(java.lang.String)
      */
@@ -194,6 +225,11 @@ public class CmsGwtService extends RemoteServiceServlet {
             arg1.setCharacterEncoding(arg0.getCharacterEncoding());
             super.service(arg0, arg1);
         } finally {
+            Lock lock = m_perThreadLock.get();
+            if (lock != null) {
+                m_perThreadLock.remove();
+                lock.unlock();
+            }
             clearThreadStorage();
         }
     }
@@ -367,6 +403,33 @@ public class CmsGwtService extends RemoteServiceServlet {
         return result;
     }
 
+    /**
+     * Acquires the session lock for the call before it is processed.<p>
+     * 
+     * Calls to methods marked with {@link CmsParallelRpc} acquire the shared read lock of the session,
+     * all other calls the exclusive write lock. The lock is released after the response has been written.<p>
+     * 
+     * @see com.google.gwt.user.server.rpc.RemoteServiceServlet#onAfterRequestDeserialized(com.google.gwt.user.server.rpc.RPCRequest)
+     */
+    @Override
+    protected void onAfterRequestDeserialized(RPCRequest rpcRequest) {
+
+        super.onAfterRequestDeserialized(rpcRequest);
+        HttpServletRequest request = getRequest();
+        if ((request == null) || (m_perThreadLock.get() != null)) {
+            return;
+        }
+        boolean parallel = (m_context != null) && m_context.isParallel(getClass(), rpcRequest.getMethod());
+        ReadWriteLock sessionLock = getSessionLock(request);
+        Lock lock = parallel ? sessionLock.readLock() : sessionLock.writeLock();
+        long start = System.currentTimeMillis();
+        lock.lock();
+        m_perThreadLock.set(lock);
+        if (m_context != null) {
+            m_context.addLockWait(System.currentTimeMillis() - start, parallel);
+        }
+    }
+
     /**
      * Tries to unlock a resource.<p>
      * 
@@ -396,4 +459,32 @@ public class CmsGwtService extends RemoteServiceServlet {
             perThreadResponse.remove();
         }
     }
+
+    /**
+     * Returns the lock for the RPC calls of the session of the given request.<p>
+     * 
+     * @param request the current request
+     * 
+     * @return the lock for the RPC calls of the session 
+     */
+    private ReadWriteLock getSessionLock(HttpServletRequest request) {
+
+        HttpSession session = request.getSession();
+        try {
+            ReadWriteLock lock = (ReadWriteLock)session.getAttribute(SESSION_LOCK_ATTRIBUTE);
+            if (lock == null) {
+                synchronized (session) {
+                    lock = (ReadWriteLock)session.getAttribute(SESSION_LOCK_ATTRIBUTE);
+                    if (lock == null) {
+                        lock = new ReentrantReadWriteLock(true);
+                        session.setAttribute(SESSION_LOCK_ATTRIBUTE, lock);
+                    }
+                }
+            }
+            return lock;
+        } catch (IllegalStateException e) {
+            // the session has been invalidated, so there are no other calls to synchronize with
+            return new ReentrantReadWriteLock();
+        }
+    }
 }
@@ -42,10 +42,20 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.text.ParseException;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.servlet.ServletConfig;
 
 import org.apache.commons.logging.Log;
 
@@ -64,12 +74,42 @@ import com.google.gwt.user.server.rpc.SerializationPolicyLoader;
  */
 public class CmsGwtServiceContext implements I_CmsEventListener {
 
+    /** The maximum number of idle service instances kept for reuse. */
+    public static final int MAX_POOLED_SERVICES = 16;
+
     /** The static log object for this class. */
     private static final Log LOG = CmsLog.getLog(CmsGwtServiceContext.class);
 
+    /** The number of processed calls. */
+    private AtomicLong m_callCount = new AtomicLong();
+
+    /** The total processing time of all calls in milliseconds. */
+    private AtomicLong m_callTime = new AtomicLong();
+
+    /** The cached constructor of the service class. */
+    private Constructor<? extends CmsGwtService> m_constructor;
+
+    /** The total time calls have waited for the session lock in milliseconds. */
+    private AtomicLong m_lockWaitTime = new AtomicLong();
+
+    /** The maximum processing time of a call in milliseconds. */
+    private AtomicLong m_maxCallTime = new AtomicLong();
+
     /** The name, which is used for debugging. */
     private String m_name;
 
+    /** The number of calls that were processed as read-only calls. */
+    private AtomicLong m_parallelCallCount = new AtomicLong();
+
+    /** Caches if the service methods may be processed in parallel. */
+    private Map<Method, Boolean> m_parallelMethods = new ConcurrentHashMap<Method, Boolean>();
+
+    /** The idle service instances. */
+    private Queue<CmsGwtService> m_pool = new ConcurrentLinkedQueue<CmsGwtService>();
+
+    /** The number of idle service instances. */
+    private AtomicInteger m_poolSize = new AtomicInteger();
+
     /** The serialization policy path. */
     private String m_serializationPolicyPath;
 
@@ -102,6 +142,53 @@ public class CmsGwtServiceContext implements I_CmsEventListener {
 
     }
 
+    /**
+     * Creates a new service context object for the given service class.<p>
+     * 
+     * The constructor of the service class is cached, so that {@link #getServiceInstance(ServletConfig)}
+     * can create new instances without looking up the class again.<p>
+     * 
+     * @param name an identifier which is used for debugging
+     * @param serviceClass the service class 
+     * 
+     * @throws NoSuchMethodException if the service class has no public default constructor
+     */
+    public CmsGwtServiceContext(String name, Class<? extends CmsGwtService> serviceClass)
+    throws NoSuchMethodException {
+
+        this(name);
+        m_constructor = serviceClass.getConstructor();
+    }
+
+    /**
+     * Records a processed call to the service.<p>
+     * 
+     * @param time the processing time in milliseconds
+     */
+    public void addCall(long time) {
+
+        m_callCount.incrementAndGet();
+        m_callTime.addAndGet(time);
+        long max = m_maxCallTime.get();
+        while ((time > max) && !m_maxCallTime.compareAndSet(max, time)) {
+            max = m_maxCallTime.get();
+        }
+    }
+
+    /**
+     * Records the time a call waited for the session lock.<p>
+     * 
+     * @param time the wait time in milliseconds
+     * @param parallel true if the call was processed as a read-only call
+     */
+    public void addLockWait(long time, boolean parallel) {
+
+        m_lockWaitTime.addAndGet(time);
+        if (parallel) {
+            m_parallelCallCount.incrementAndGet();
+        }
+    }
+
     /**
      * @see org.opencms.main.I_CmsEventListener#cmsEvent(org.opencms.main.CmsEvent)
      */
@@ -158,6 +245,149 @@ public class CmsGwtServiceContext implements I_CmsEventListener {
         }
     }
 
+    /**
+     * Returns the average processing time of the calls to the service in milliseconds.<p>
+     * 
+     * @return the average processing time
+     */
+    public long getAverageCallTime() {
+
+        long count = m_callCount.get();
+        return count == 0 ? 0 : m_callTime.get() / count;
+    }
+
+    /**
+     * Returns the average time the calls to the service waited for the session lock in milliseconds.<p>
+     * 
+     * @return the average lock wait time
+     */
+    public long getAverageLockWaitTime() {
+
+        long count = m_callCount.get();
+        return count == 0 ? 0 : m_lockWaitTime.get() / count;
+    }
+
+    /**
+     * Returns the number of processed calls to the service.<p>
+     * 
+     * @return the number of processed calls
+     */
+    public long getCallCount() {
+
+        return m_callCount.get();
+    }
+
+    /**
+     * Returns the maximum processing time of a call to the service in milliseconds.<p>
+     * 
+     * @return the maximum processing time
+     */
+    public long getMaxCallTime() {
+
+        return m_maxCallTime.get();
+    }
+
+    /**
+     * Returns the name of the service.<p>
+     * 
+     * @return the name of the service
+     */
+    public String getName() {
+
+        return m_name;
+    }
+
+    /**
+     * Returns the number of calls that were processed in parallel as read-only calls.<p>
+     * 
+     * @return the number of read-only calls
+     * 
+     * @see CmsParallelRpc
+     */
+    public long getParallelCallCount() {
+
+        return m_parallelCallCount.get();
+    }
+
+    /**
+     * Returns a service instance for processing a call.<p>
+     * 
+     * An idle instance is reused if one is available, otherwise a new instance is created. 
+     * The instance has to be returned with {@link #releaseServiceInstance(CmsGwtService)} after the call.<p>
+     * 
+     * @param servletConfig the servlet configuration used to initialize new instances
+     * 
+     * @return the service instance
+     * 
+     * @throws Exception if a new instance can not be created
+     */
+    public CmsGwtService getServiceInstance(ServletConfig servletConfig) throws Exception {
+
+        CmsGwtService service = m_pool.poll();
+        if (service != null) {
+            m_poolSize.decrementAndGet();
+            return service;
+        }
+        if (m_constructor == null) {
+            m_constructor = Class.forName(m_name).asSubclass(CmsGwtService.class).getConstructor();
+        }
+        service = m_constructor.newInstance();
+        service.init(servletConfig);
+        service.setContext(this);
+        return service;
+    }
+
+    /**
+     * Checks if calls to the given method may be processed in parallel within a session.<p>
+     * 
+     * @param serviceClass the service class
+     * @param method the called method of the service interface
+     * 
+     * @return true if the method is marked as read-only
+     * 
+     * @see CmsParallelRpc
+     */
+    public boolean isParallel(Class<?> serviceClass, Method method) {
+
+        Boolean result = m_parallelMethods.get(method);
+        if (result == null) {
+            boolean parallel = method.isAnnotationPresent(CmsParallelRpc.class);
+            if (!parallel) {
+                try {
+                    parallel = serviceClass.getMethod(method.getName(), method.getParameterTypes()).isAnnotationPresent(
+                        CmsParallelRpc.class);
+                } catch (NoSuchMethodException e) {
+                    // should not happen, the service class implements the service interface
+                    LOG.debug(e.getLocalizedMessage(), e);
+                }
+            }
+            result = Boolean.valueOf(parallel);
+            m_parallelMethods.put(method, result);
+        }
+        return result.booleanValue();
+    }
+
+    /**
+     * Returns a service instance after a call has been processed.<p>
+     * 
+     * The instance is kept for reuse if the service allows it and the pool is not full.<p>
+     * 
+     * @param service the service instance
+     * 
+     * @see CmsGwtService#isReusable()
+     */
+    public void releaseServiceInstance(CmsGwtService service) {
+
+        if (!service.isReusable()) {
+            return;
+        }
+        if (m_poolSize.incrementAndGet() <= MAX_POOLED_SERVICES) {
+            m_pool.offer(service);
+        } else {
+            m_poolSize.decrementAndGet();
+        }
+    }
+
     /**
      * @see java.lang.Object#toString()
      */
@@ -49,6 +49,15 @@ public class CmsLogService extends CmsGwtService implements I_CmsLogService {
     /** The log object for this class. */
     private static final Log LOG = CmsLog.getLog(CmsLogService.class);
 
+    /**
+     * @see org.opencms.gwt.CmsGwtService#isReusable()
+     */
+    @Override
+    public boolean isReusable() {
+
+        return true;
+    }
+
     /**
      * @see org.opencms.gwt.shared.rpc.I_CmsLogService#log(java.lang.String, java.lang.String)
      */
@@ -459,6 +459,7 @@ public class CmsVfsService extends CmsGwtService implements I_CmsVfsService {
     /**
      * @see org.opencms.gwt.shared.rpc.I_CmsVfsService#getChildren(java.lang.String)
      */
+    @CmsParallelRpc
     public List<CmsVfsEntryBean> getChildren(String path) throws CmsRpcException {
 
         try {
@@ -629,6 +630,7 @@ public class CmsVfsService extends CmsGwtService implements I_CmsVfsService {
     /**
      * @see org.opencms.gwt.shared.rpc.I_CmsVfsService#getResourceStatus(org.opencms.util.CmsUUID, java.lang.String, boolean, java.util.List)
      */
+    @CmsParallelRpc
     public CmsResourceStatusBean getResourceStatus(
         CmsUUID structureId,
         String contentLocale,
@@ -780,6 +782,15 @@ public class CmsVfsService extends CmsGwtService implements I_CmsVfsService {
         }
     }
 
+    /**
+     * @see org.opencms.gwt.CmsGwtService#isReusable()
+     */
+    @Override
+    public boolean isReusable() {
+
+        return true;
+    }
+
     /**
      * @see org.opencms.gwt.shared.rpc.I_CmsVfsService#loadPropertyData(org.opencms.util.CmsUUID)
      */
@@ -964,6 +975,16 @@ public class CmsVfsService extends CmsGwtService implements I_CmsVfsService {
 
     }
 
+    /**
+     * @see org.opencms.gwt.CmsGwtService#clearThreadStorage()
+     */
+    @Override
+    protected void clearThreadStorage() {
+
+        super.clearThreadStorage();
+        m_aliasHelper.setCms(null);
+    }
+
     /**
      * Converts CmsProperty objects to CmsClientProperty objects.<p>
      * 
@@ -35,11 +35,16 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.security.AccessControlException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.MissingResourceException;
 import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Resource bundle loader for property based resource bundles from OpenCms that has a flushable cache.<p>
@@ -54,6 +59,11 @@ import java.util.ResourceBundle;
  * {@link java.util.ResourceBundle#getBundle(java.lang.String, java.util.Locale)} is used to look up 
  * the resource bundle with the Java default resource bundle loading mechanism.<p>
  * 
+ * Looking up a cached bundle does not require any lock. The bundle cache is a concurrent map keyed by
+ * base name and locale, and the permanent cache is replaced by a modified copy whenever it is changed.
+ * Flushing the cache increments a generation counter, so that bundles which have been loaded
+ * concurrently with a flush are not kept in the cache.<p>
+ * 
  * @see java.util.ResourceBundle
  * @see java.util.PropertyResourceBundle
  * @see org.opencms.i18n.CmsPropertyResourceBundle
@@ -62,109 +72,20 @@ import java.util.ResourceBundle;
  */
 public final class CmsResourceBundleLoader {
 
-    /** 
-     * Cache key for the ResourceBundle cache.<p>
-     * 
-     * Resource bundles are keyed by the combination of bundle name, locale, and class loader. 
-     */
-    private static class BundleKey {
-
-        /** The base bundle name. */
-        private String m_baseName;
-
-        /** The hash code. */
-        private int m_hashcode;
-
-        /** The locale. */
-        private Locale m_locale;
-
-        /**
-         * Create an ampty bundly key.<p>
-         */
-        BundleKey() {
-
-            // noop
-        }
-
-        /**
-         * Create an initialized bundle key.<p>
-         * 
-         * @param s the base name
-         * @param l the locale
-         */
-        BundleKey(String s, Locale l) {
-
-            set(s, l);
-        }
-
-        /**
-         * @see java.lang.Object#equals(java.lang.Object)
-         */
-        @Override
-        public boolean equals(Object o) {
-
-            if (!(o instanceof BundleKey)) {
-                return false;
-            }
-            BundleKey key = (BundleKey)o;
-            return (m_hashcode == key.m_hashcode) && m_baseName.equals(key.m_baseName) && m_locale.equals(key.m_locale);
-        }
-
-        /**
-         * @see java.lang.Object#hashCode()
-         */
-        @Override
-        public int hashCode() {
+    /** The resource bundle cache, keyed by base name and locale. */
+    private static volatile ConcurrentHashMap<String, Map<Locale, ResourceBundle>> m_bundleCache = new ConcurrentHashMap<String, Map<Locale, ResourceBundle>>();
 
-            return m_hashcode;
-        }
-
-        /**
-         * Checks if the given base name is identical to the base name of this bundle key.<p>
-         * 
-         * @param baseName the base name to compare
-         * 
-         * @return <code>true</code> if the given base name is identical to the base name of this bundle key
-         */
-        public boolean isSameBase(String baseName) {
-
-            return m_baseName.equals(baseName);
-        }
-
-        /**
-         * @see java.lang.Object#toString()
-         */
-        @Override
-        public String toString() {
-
-            return m_baseName + "_" + m_locale;
-        }
-
-        /**
-         * Initialize this bundle key.<p>
-         * 
-         * @param s the base name
-         * @param l the locale
-         */
-        void set(String s, Locale l) {
-
-            m_baseName = s;
-            m_locale = l;
-            m_hashcode = m_baseName.hashCode() ^ m_locale.hashCode();
-        }
-    }
-
-    /**  The resource bundle cache. */
-    private static Map<BundleKey, ResourceBundle> m_bundleCache;
+    /** The generation of the bundle cache, incremented every time the cache is flushed. */
+    private static final AtomicLong m_generation = new AtomicLong();
 
     /** The last default Locale we saw, if this ever changes then we have to reset our caches. */
-    private static Locale m_lastDefaultLocale;
+    private static volatile Locale m_lastDefaultLocale;
 
-    /** Cache lookup key to avoid having to a new one for every getBundle() call. */
-    private static BundleKey m_lookupKey = new BundleKey();
+    /** The precomputed bundle name suffixes for a locale, from the most to the least specialized one. */
+    private static final Map<Locale, List<String>> m_localeSuffixes = new ConcurrentHashMap<Locale, List<String>>();
 
-    /**  The permanent list resource bundle cache. */
-    private static Map<String, I_CmsResourceBundle> m_permanentCache;
+    /** The permanent list resource bundle cache, replaced by a modified copy on every change. */
+    private static volatile Map<String, I_CmsResourceBundle> m_permanentCache = new HashMap<String, I_CmsResourceBundle>();
 
     /** Singleton cache entry to represent previous failed lookups. */
     private static final ResourceBundle NULL_ENTRY = new CmsListResourceBundle();
@@ -190,7 +111,9 @@ public final class CmsResourceBundleLoader {
         if (locale != null) {
             key += "_" + locale;
         }
-        m_permanentCache.put(key, bundle);
+        Map<String, I_CmsResourceBundle> permanentCacheNew = new HashMap<String, I_CmsResourceBundle>(m_permanentCache);
+        permanentCacheNew.put(key, bundle);
+        m_permanentCache = permanentCacheNew;
     }
 
     /**
@@ -198,6 +121,7 @@ public final class CmsResourceBundleLoader {
      */
     public static synchronized void flushBundleCache() {
 
+        m_generation.incrementAndGet();
         m_bundleCache.clear();
 
         // We are not flushing the permanent cache on clear!
@@ -221,22 +145,12 @@ public final class CmsResourceBundleLoader {
     public static synchronized void flushBundleCache(String baseName, boolean flushPermanent) {
 
         if (baseName != null) {
-            // first check and clear the bundle cache
-            HashMap<BundleKey, ResourceBundle> bundleCacheNew = new HashMap<BundleKey, ResourceBundle>(
-                m_bundleCache.size());
-            for (Map.Entry<BundleKey, ResourceBundle> entry : m_bundleCache.entrySet()) {
-                if (!entry.getKey().isSameBase(baseName)) {
-                    // entry has a different base name, keep it
-                    bundleCacheNew.put(entry.getKey(), entry.getValue());
-                }
-            }
-            if (bundleCacheNew.size() < m_bundleCache.size()) {
-                // switch caches if only if at least one entry was removed
-                m_bundleCache = bundleCacheNew;
-            }
+            // first clear the bundle cache
+            m_generation.incrementAndGet();
+            m_bundleCache.remove(baseName);
             if (flushPermanent) {
                 // now check and clear the permanent cache
-                HashMap<String, I_CmsResourceBundle> permanentCacheNew = new HashMap<String, I_CmsResourceBundle>(
+                Map<String, I_CmsResourceBundle> permanentCacheNew = new HashMap<String, I_CmsResourceBundle>(
                     m_permanentCache.size());
                 for (Map.Entry<String, I_CmsResourceBundle> entry : m_permanentCache.entrySet()) {
                     String key = entry.getKey();
@@ -291,32 +205,33 @@ public final class CmsResourceBundleLoader {
      * @param locale A locale
      * @return the desired resource bundle
      */
-    // This method is synchronized so that the cache is properly
-    // handled.
-    public static synchronized ResourceBundle getBundle(String baseName, Locale locale) {
+    public static ResourceBundle getBundle(String baseName, Locale locale) {
 
         // If the default locale changed since the last time we were called,
         // all cache entries are invalidated.
         Locale defaultLocale = Locale.getDefault();
         if (defaultLocale != m_lastDefaultLocale) {
-            m_bundleCache = new HashMap<BundleKey, ResourceBundle>();
-            m_lastDefaultLocale = defaultLocale;
-            if (m_permanentCache == null) {
-                // the permanent cache is not cleared after the default locale changes
-                m_permanentCache = new HashMap<String, I_CmsResourceBundle>();
+            synchronized (CmsResourceBundleLoader.class) {
+                if (defaultLocale != m_lastDefaultLocale) {
+                    m_generation.incrementAndGet();
+                    m_bundleCache = new ConcurrentHashMap<String, Map<Locale, ResourceBundle>>();
+                    m_lastDefaultLocale = defaultLocale;
+                }
             }
         }
 
         // This will throw NullPointerException if any arguments are null.
-        m_lookupKey.set(baseName, locale);
+        ConcurrentHashMap<String, Map<Locale, ResourceBundle>> bundleCache = m_bundleCache;
+        Map<Locale, ResourceBundle> bundles = bundleCache.get(baseName);
+        ResourceBundle obj = (bundles != null) ? bundles.get(locale) : null;
 
-        Object obj = m_bundleCache.get(m_lookupKey);
-
-        if (obj instanceof ResourceBundle) {
-            return (ResourceBundle)obj;
-        } else if (obj == NULL_ENTRY) {
+        if (obj == NULL_ENTRY) {
             // Lookup has failed previously. Fall through.
+        } else if (obj != null) {
+            return obj;
         } else {
+            long generation = m_generation.get();
+
             // First, look for a bundle for the specified locale. We don't want
             // the base bundle this time.
             boolean wantBase = locale.equals(defaultLocale);
@@ -327,13 +242,21 @@ public final class CmsResourceBundleLoader {
                 bundle = tryBundle(baseName, defaultLocale, true);
             }
 
-            BundleKey key = new BundleKey(baseName, locale);
-            if (bundle == null) {
-                // Cache the fact that this lookup has previously failed.
-                m_bundleCache.put(key, NULL_ENTRY);
-            } else {
-                // Cache the result and return it.
-                m_bundleCache.put(key, bundle);
+            // Cache the result, or the fact that this lookup has failed.
+            ResourceBundle entry = (bundle == null) ? NULL_ENTRY : bundle;
+            if (bundles == null) {
+                bundles = new ConcurrentHashMap<Locale, ResourceBundle>();
+                Map<Locale, ResourceBundle> existing = bundleCache.putIfAbsent(baseName, bundles);
+                if (existing != null) {
+                    bundles = existing;
+                }
+            }
+            bundles.put(locale, entry);
+            if (generation != m_generation.get()) {
+                // the cache has been flushed while the bundle was loaded, the bundle may be outdated
+                bundles.remove(locale);
+            }
+            if (bundle != null) {
                 return bundle;
             }
         }
@@ -343,6 +266,40 @@ public final class CmsResourceBundleLoader {
         return ResourceBundle.getBundle(baseName, locale);
     }
 
+    /**
+     * Returns the bundle name suffixes for the given locale, from the most to the least specialized one.<p>
+     * 
+     * For the locale "de_DE" this is the list ["_de_DE", "_de"].<p>
+     * 
+     * @param locale the locale
+     * 
+     * @return the bundle name suffixes for the given locale
+     */
+    private static List<String> getLocaleSuffixes(Locale locale) {
+
+        List<String> result = m_localeSuffixes.get(locale);
+        if (result == null) {
+            String language = locale.getLanguage();
+            String country = locale.getCountry();
+            String variant = locale.getVariant();
+            result = new ArrayList<String>(3);
+            if (language.length() > 0) {
+                String suffix = "_" + language;
+                if (country.length() > 0) {
+                    String countrySuffix = suffix + "_" + country;
+                    if (variant.length() > 0) {
+                        result.add(countrySuffix + "_" + variant);
+                    }
+                    result.add(countrySuffix);
+                }
+                result.add(suffix);
+            }
+            result = Collections.unmodifiableList(result);
+            m_localeSuffixes.put(locale, result);
+        }
+        return result;
+    }
+
     /**
      * Tries to load a property file with the specified name.
      *
@@ -413,40 +370,23 @@ public final class CmsResourceBundleLoader {
      */
     private static ResourceBundle tryBundle(String baseName, Locale locale, boolean wantBase) {
 
-        String language = locale.getLanguage();
-        String country = locale.getCountry();
-        String variant = locale.getVariant();
-
-        int baseLen = baseName.length();
-
-        // Build up a StringBuffer containing the complete bundle name, fully
-        // qualified by locale.
-        StringBuffer sb = new StringBuffer(baseLen + variant.length() + 7);
-
-        sb.append(baseName);
-
-        if (language.length() > 0) {
-            sb.append('_');
-            sb.append(language);
-
-            if (country.length() > 0) {
-                sb.append('_');
-                sb.append(country);
-
-                if (variant.length() > 0) {
-                    sb.append('_');
-                    sb.append(variant);
-                }
-            }
-        }
-
         // Now try to load bundles, starting with the most specialized name.
         // Build up the parent chain as we go.
-        String bundleName = sb.toString();
+        List<String> suffixes = getLocaleSuffixes(locale);
         I_CmsResourceBundle first = null; // The most specialized bundle.
         I_CmsResourceBundle last = null; // The least specialized bundle.
 
-        while (true) {
+        for (int i = 0, n = suffixes.size(); i <= n; i++) {
+            String bundleName;
+            if (i < n) {
+                bundleName = baseName.concat(suffixes.get(i));
+            } else if ((n == 0) || (first != null) || wantBase) {
+                // Try the non-localized base name only if we already have a
+                // localized child bundle, or wantBase is true.
+                bundleName = baseName;
+            } else {
+                break;
+            }
             I_CmsResourceBundle foundBundle = tryBundle(bundleName);
             if (foundBundle != null) {
                 if (first == null) {
@@ -460,16 +400,8 @@ public final class CmsResourceBundleLoader {
 
                 last = foundBundle;
             }
-            int idx = bundleName.lastIndexOf('_');
-            // Try the non-localized base name only if we already have a
-            // localized child bundle, or wantBase is true.
-            if ((idx > baseLen) || ((idx == baseLen) && ((first != null) || wantBase))) {
-                bundleName = bundleName.substring(0, idx);
-            } else {
-                break;
-            }
         }
 
         return (ResourceBundle)first;
     }
-}
\ No newline at end of file
+}
@@ -33,6 +33,7 @@ import org.opencms.file.CmsResource;
 import org.opencms.file.CmsResourceFilter;
 import org.opencms.main.CmsEvent;
 import org.opencms.main.CmsException;
+import org.opencms.main.CmsExecutorRegistry;
 import org.opencms.main.CmsLog;
 import org.opencms.main.I_CmsEventListener;
 import org.opencms.main.OpenCms;
@@ -44,6 +45,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.commons.logging.Log;
 
@@ -57,6 +60,9 @@ public class CmsVfsBundleManager {
      */
     public class Listener implements I_CmsEventListener {
 
+        /** Signals that a reload has been scheduled, but not started yet. */
+        private AtomicBoolean m_reloadScheduled = new AtomicBoolean();
+
         /**
          * @see org.opencms.main.I_CmsEventListener#cmsEvent(org.opencms.main.CmsEvent)
          */
@@ -117,23 +123,33 @@ public class CmsVfsBundleManager {
 
         /**
          * Schedules a bundle reload.<p>
+         * 
+         * Requests for a reload which arrive while a reload is already scheduled, but not started yet, 
+         * are merged into the scheduled reload.<p>
          */
         private void scheduleReload() {
 
-            Thread thread = new Thread() {
+            if (!m_reloadScheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                OpenCms.getExecutorRegistry().getExecutor(CmsExecutorRegistry.POOL_BACKGROUND).execute(new Runnable() {
 
-                @Override
-                public void run() {
+                    @SuppressWarnings("synthetic-access")
+                    public void run() {
 
-                    try {
-                        Thread.sleep(1000);
-                    } catch (Exception e) {
-                        // ignore 
+                        // reset the flag first, so changes published during the reload trigger another one 
+                        m_reloadScheduled.set(false);
+                        reload(false);
                     }
-                    reload(false);
-                }
-            };
-            thread.start();
+                });
+            } catch (RejectedExecutionException e) {
+                m_reloadScheduled.set(false);
+                LOG.error(e.getLocalizedMessage(), e);
+            } catch (IllegalStateException e) {
+                // OpenCms is shutting down, no need to reload the bundles
+                m_reloadScheduled.set(false);
+            }
         }
 
     }
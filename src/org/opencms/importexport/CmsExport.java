@@ -43,6 +43,7 @@ import org.opencms.file.CmsVfsResourceNotFoundException;
 import org.opencms.i18n.CmsMessageContainer;
 import org.opencms.main.CmsEvent;
 import org.opencms.main.CmsException;
+import org.opencms.main.CmsExecutorRegistry;
 import org.opencms.main.CmsLog;
 import org.opencms.main.I_CmsEventListener;
 import org.opencms.main.OpenCms;
@@ -66,8 +67,14 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.logging.Log;
@@ -89,6 +96,9 @@ import org.xml.sax.SAXException;
  */
 public class CmsExport {
 
+    /** The maximum number of files read ahead of the export writer. */
+    public static final int CONTENT_READ_AHEAD = 16;
+
     /** The log object for this class. */
     private static final Log LOG = CmsLog.getLog(CmsExport.class);
 
@@ -242,7 +252,8 @@ public class CmsExport {
             // get all files in folder
             List<CmsResource> subFiles = getCms().getFilesInFolder(folderName, CmsResourceFilter.IGNORE_EXPIRATION);
 
-            // walk through all files and export them
+            // walk through all files and collect the ones to export
+            List<CmsResource> filesToExport = new ArrayList<CmsResource>(subFiles.size());
             for (int i = 0; i < subFiles.size(); i++) {
                 CmsResource file = subFiles.get(i);
                 CmsResourceState state = file.getState();
@@ -260,7 +271,7 @@ public class CmsExport {
                         String export = getCms().getSitePath(file);
                         if (checkExportResource(export)) {
                             if (isInExportableProject(file)) {
-                                exportFile(getCms().readFile(export, CmsResourceFilter.IGNORE_EXPIRATION));
+                                filesToExport.add(file);
                             }
                         }
                     }
@@ -268,8 +279,11 @@ public class CmsExport {
                 // release file header memory
                 subFiles.set(i, null);
             }
-            // all files are exported, release memory
             subFiles = null;
+            // now export the files, the contents are read in parallel
+            exportFiles(filesToExport);
+            // all files are exported, release memory
+            filesToExport = null;
 
             // walk through all subfolders and export them
             for (int i = 0; i < subFolders.size(); i++) {
@@ -845,6 +859,74 @@ public class CmsExport {
             I_CmsReport.FORMAT_OK);
     }
 
+    /**
+     * Exports the given files with all their data and contents.<p>
+     * 
+     * The file contents are read in parallel ahead of the export writer, 
+     * while the files are written to the export in the order of the given list.
+     * The content of a sibling is only read if the content of the resource 
+     * has not been exported already.<p>
+     * 
+     * @param files the files to be exported
+     * 
+     * @throws CmsImportExportException if something goes wrong
+     * @throws SAXException if something goes wrong processing the manifest.xml
+     * @throws IOException if the ZIP entry for a file could be appended to the ZIP archive
+     */
+    protected void exportFiles(List<CmsResource> files) throws CmsImportExportException, SAXException, IOException {
+
+        LinkedList<Future<CmsFile>> pending = new LinkedList<Future<CmsFile>>();
+        LinkedList<CmsResource> pendingResources = new LinkedList<CmsResource>();
+        Set<CmsUUID> scheduledContents = new HashSet<CmsUUID>();
+        Iterator<CmsResource> it = files.iterator();
+        try {
+            while (it.hasNext() || !pending.isEmpty()) {
+                // schedule the reading of the following files
+                while (it.hasNext() && (pending.size() < CONTENT_READ_AHEAD)) {
+                    CmsResource resource = it.next();
+                    boolean readContent = !m_exportedResources.contains(resource.getResourceId())
+                        && scheduledContents.add(resource.getResourceId());
+                    try {
+                        pending.add(readFile(resource, readContent));
+                    } catch (CmsException e) {
+                        CmsMessageContainer message = Messages.get().container(
+                            Messages.ERR_IMPORTEXPORT_ERROR_ADDING_FILE_1,
+                            getCms().getSitePath(resource));
+                        if (LOG.isDebugEnabled()) {
+                            LOG.debug(message.key(), e);
+                        }
+                        throw new CmsImportExportException(message, e);
+                    }
+                    pendingResources.add(resource);
+                }
+                CmsResource resource = pendingResources.removeFirst();
+                CmsFile file;
+                try {
+                    file = pending.removeFirst().get();
+                } catch (ExecutionException e) {
+                    CmsMessageContainer message = Messages.get().container(
+                        Messages.ERR_IMPORTEXPORT_ERROR_ADDING_FILE_1,
+                        getCms().getSitePath(resource));
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug(message.key(), e.getCause());
+                    }
+                    throw new CmsImportExportException(message, e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new CmsImportExportException(Messages.get().container(
+                        Messages.ERR_IMPORTEXPORT_ERROR_ADDING_FILE_1,
+                        getCms().getSitePath(resource)), e);
+                }
+                exportFile(file);
+            }
+        } finally {
+            // cancel the reading of files that will not be exported anymore
+            for (Future<CmsFile> future : pending) {
+                future.cancel(true);
+            }
+        }
+    }
+
     /**
      * Exports one single group with all it's data.<p>
      *
@@ -1439,4 +1521,49 @@ public class CmsExport {
         }
         return resourceName;
     }
+
+    /**
+     * Reads the given file, using the threads of the {@link CmsExecutorRegistry#POOL_EXPORT} pool if available.<p>
+     * 
+     * @param resource the file to read
+     * @param readContent if <code>false</code>, the content of the file is not read
+     * 
+     * @return the future result of reading the file
+     * 
+     * @throws CmsException if the context for reading the file could not be created
+     */
+    private Future<CmsFile> readFile(final CmsResource resource, boolean readContent) throws CmsException {
+
+        Callable<CmsFile> reader;
+        if (readContent) {
+            // each reader uses its own context, since a CmsObject must not be shared between threads
+            final CmsObject cms = OpenCms.initCmsObject(getCms());
+            reader = new Callable<CmsFile>() {
+
+                public CmsFile call() throws Exception {
+
+                    return cms.readFile(cms.getSitePath(resource), CmsResourceFilter.IGNORE_EXPIRATION);
+                }
+            };
+            try {
+                return OpenCms.getExecutorRegistry().getExecutor(CmsExecutorRegistry.POOL_EXPORT).submit(reader);
+            } catch (RejectedExecutionException e) {
+                // the pool is busy, read the file in the export thread
+            } catch (IllegalStateException e) {
+                // the pools have already been shut down, read the file in the export thread
+            }
+        } else {
+            reader = new Callable<CmsFile>() {
+
+                public CmsFile call() {
+
+                    // the content has already been exported with another sibling
+                    return new CmsFile(resource);
+                }
+            };
+        }
+        FutureTask<CmsFile> task = new FutureTask<CmsFile>(reader);
+        task.run();
+        return task;
+    }
 }
@@ -0,0 +1,309 @@
+/*
+ * This library is part of OpenCms -
+ * the Open Source Content Management System
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software GmbH, please see the
+ * company website: http://www.alkacon.com
+ *
+ * For further information about OpenCms, please see the
+ * project website: http://www.opencms.org
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.opencms.importexport;
+
+import org.opencms.main.CmsExecutorRegistry;
+import org.opencms.main.CmsLog;
+import org.opencms.main.OpenCms;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.apache.commons.logging.Log;
+
+/**
+ * Reads the contents of the files of an import ahead of time, using a thread of the 
+ * {@link CmsExecutorRegistry#POOL_EXPORT} pool.<p>
+ * 
+ * Since the resources of an import are imported in the order given by the manifest,
+ * the contents can be read (and uncompressed) from the import zip file while the 
+ * previous resources are still written to the VFS. The amount of prefetched content 
+ * kept in memory is limited by a maximum buffer size.<p>
+ * 
+ * If the content of a file is requested that has not been prefetched, e.g. because it 
+ * was not in the list of files to prefetch or could not be read in the background, 
+ * the content is read directly from the import helper.<p>
+ * 
+ * @since 9.0.0 
+ */
+public class CmsImportContentPrefetcher implements Runnable {
+
+    /** The default maximum size in bytes of the prefetched contents held in memory. */
+    public static final long DEFAULT_MAX_BUFFER_SIZE = 16L * 1024L * 1024L;
+
+    /** The log object for this class. */
+    private static final Log LOG = CmsLog.getLog(CmsImportContentPrefetcher.class);
+
+    /** The prefetched contents, in the order of the sources. */
+    private LinkedList<PrefetchedContent> m_buffer = new LinkedList<PrefetchedContent>();
+
+    /** The total size of the prefetched contents in the buffer. */
+    private long m_bufferSize;
+
+    /** The index of the next source that can be requested. */
+    private int m_consumedIndex;
+
+    /** Signals that all sources have been prefetched. */
+    private boolean m_finished;
+
+    /** The import helper to read the contents with. */
+    private CmsImportHelper m_helper;
+
+    /** The maximum size of the prefetched contents in the buffer. */
+    private long m_maxBufferSize;
+
+    /** The index of the next source to prefetch. */
+    private int m_prefetchIndex;
+
+    /** Signals that prefetching has been started in the background thread. */
+    private boolean m_running;
+
+    /** The source names of the files to prefetch, in the order they will be requested. */
+    private List<String> m_sources;
+
+    /** The first index of each source in the list of sources. */
+    private Map<String, Integer> m_sourceIndexes;
+
+    /** Signals that prefetching has been stopped. */
+    private boolean m_stopped;
+
+    /**
+     * Creates a new content prefetcher.<p>
+     * 
+     * @param helper the import helper to read the contents with
+     * @param sources the source names of the files to prefetch, in the order they will be requested
+     * @param maxBufferSize the maximum size in bytes of the prefetched contents held in memory
+     */
+    public CmsImportContentPrefetcher(CmsImportHelper helper, List<String> sources, long maxBufferSize) {
+
+        m_helper = helper;
+        m_sources = new ArrayList<String>(sources);
+        m_maxBufferSize = maxBufferSize;
+        m_sourceIndexes = new HashMap<String, Integer>();
+        for (int i = m_sources.size() - 1; i >= 0; i--) {
+            m_sourceIndexes.put(m_sources.get(i), Integer.valueOf(i));
+        }
+    }
+
+    /**
+     * Returns the content of the given file, using the prefetched content if available.<p>
+     * 
+     * Contents of files that have been prefetched but are skipped by this request 
+     * are discarded, since the files are expected to be requested in order.<p>
+     * 
+     * @param source the name of the file to read, relative to the folder or zip file
+     * 
+     * @return the content of the file
+     * 
+     * @throws CmsImportExportException if something goes wrong reading the file
+     */
+    public byte[] getFileBytes(String source) throws CmsImportExportException {
+
+        byte[] result = null;
+        synchronized (this) {
+            Integer index = m_sourceIndexes.get(source);
+            if ((index != null) && (index.intValue() >= m_consumedIndex)) {
+                int sourceIndex = index.intValue();
+                try {
+                    while (!m_stopped) {
+                        // discard contents that were skipped
+                        while (!m_buffer.isEmpty() && (m_buffer.getFirst().m_index < sourceIndex)) {
+                            m_bufferSize -= m_buffer.removeFirst().getSize();
+                            notifyAll();
+                        }
+                        if (!m_buffer.isEmpty() && (m_buffer.getFirst().m_index == sourceIndex)) {
+                            PrefetchedContent content = m_buffer.removeFirst();
+                            m_bufferSize -= content.getSize();
+                            result = content.m_content;
+                            notifyAll();
+                            break;
+                        }
+                        if (m_finished || (m_prefetchIndex > sourceIndex)) {
+                            // the content could not be prefetched
+                            break;
+                        }
+                        wait();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                m_consumedIndex = sourceIndex + 1;
+            }
+        }
+        if (result == null) {
+            result = m_helper.getFileBytes(source);
+        }
+        return result;
+    }
+
+    /**
+     * @see java.lang.Runnable#run()
+     */
+    public void run() {
+
+        synchronized (this) {
+            if (m_stopped) {
+                m_finished = true;
+                notifyAll();
+                return;
+            }
+            m_running = true;
+        }
+        for (int i = 0; i < m_sources.size(); i++) {
+            synchronized (this) {
+                try {
+                    // wait until there is room in the buffer
+                    while (!m_stopped && !m_buffer.isEmpty() && (m_bufferSize >= m_maxBufferSize)) {
+                        wait();
+                    }
+                } catch (InterruptedException e) {
+                    m_stopped = true;
+                }
+                if (m_stopped) {
+                    break;
+                }
+                if (i < m_consumedIndex) {
+                    // already requested, no need to read it anymore
+                    m_prefetchIndex = i + 1;
+                    continue;
+                }
+            }
+            byte[] content = null;
+            try {
+                content = m_helper.getFileBytes(m_sources.get(i));
+            } catch (Throwable t) {
+                // the content will be read again when it is requested, so that the error is reported there
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug(t.getLocalizedMessage(), t);
+                }
+            }
+            synchronized (this) {
+                if (m_stopped) {
+                    break;
+                }
+                if ((content != null) && (i >= m_consumedIndex)) {
+                    PrefetchedContent prefetched = new PrefetchedContent(i, content);
+                    m_buffer.addLast(prefetched);
+                    m_bufferSize += prefetched.getSize();
+                }
+                m_prefetchIndex = i + 1;
+                notifyAll();
+            }
+        }
+        synchronized (this) {
+            m_finished = true;
+            notifyAll();
+        }
+    }
+
+    /**
+     * Starts prefetching the contents in the background.<p>
+     * 
+     * If no thread is available, nothing is prefetched and all contents are read when requested.<p>
+     */
+    public void start() {
+
+        try {
+            OpenCms.getExecutorRegistry().getExecutor(CmsExecutorRegistry.POOL_EXPORT).execute(this);
+        } catch (RejectedExecutionException e) {
+            // the pool is busy, read the contents when they are requested
+            finish();
+        } catch (IllegalStateException e) {
+            // the pools have already been shut down, read the contents when they are requested
+            finish();
+        }
+    }
+
+    /**
+     * Stops prefetching and discards all prefetched contents.<p>
+     * 
+     * If prefetching is running, this method waits until the background thread has finished
+     * reading the current file, so the import helper can be closed afterwards.<p>
+     */
+    public synchronized void stop() {
+
+        m_stopped = true;
+        m_buffer.clear();
+        m_bufferSize = 0;
+        notifyAll();
+        try {
+            while (m_running && !m_finished) {
+                wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Marks prefetching as finished without reading any contents.<p>
+     */
+    private synchronized void finish() {
+
+        m_finished = true;
+        notifyAll();
+    }
+
+    /**
+     * A prefetched file content.<p>
+     */
+    private static class PrefetchedContent {
+
+        /** The content of the file. */
+        protected byte[] m_content;
+
+        /** The index of the source of the file. */
+        protected int m_index;
+
+        /**
+         * Creates a new prefetched content.<p>
+         * 
+         * @param index the index of the source of the file
+         * @param content the content of the file
+         */
+        protected PrefetchedContent(int index, byte[] content) {
+
+            m_index = index;
+            m_content = content;
+        }
+
+        /**
+         * Returns the size of the content.<p>
+         * 
+         * @return the size of the content
+         */
+        protected long getSize() {
+
+            return m_content.length;
+        }
+    }
+}
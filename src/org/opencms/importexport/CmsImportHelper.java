@@ -122,6 +122,29 @@ public class CmsImportHelper {
         }
     }
 
+    /**
+     * Checks if the given file exists in the folder or zip file, without reading its content.<p>
+     * 
+     * @param filename the name of the file to check, relative to the folder or zip file
+     * 
+     * @return <code>true</code> if the file exists
+     */
+    public boolean existsFile(String filename) {
+
+        // is this a zip-file?
+        if (getZipFile() != null) {
+            // yes
+            ZipEntry entry = getZipFile().getEntry(filename);
+            // path to file might be relative, too
+            if ((entry == null) && filename.startsWith("/")) {
+                entry = getZipFile().getEntry(filename.substring(1));
+            }
+            return entry != null;
+        }
+        // no - use directory
+        return new File(getFolder(), filename).isFile();
+    }
+
     /**
      * Returns a byte array containing the content of the file.<p>
      *
@@ -291,6 +291,9 @@ public class CmsImportVersion7 implements I_CmsImport {
     /** The cms object. */
     private CmsObject m_cms;
 
+    /** The source names of files which actually are contained in the zip file, in manifest order. */
+    private List<String> m_contentSources = new ArrayList<String>();
+
     /** The set of resource ids of files which actually are contained in the zip file. */
     private Set<CmsUUID> m_contentFiles = new HashSet<CmsUUID>();
 
@@ -366,6 +369,9 @@ public class CmsImportVersion7 implements I_CmsImport {
     /** The list of resource to be parsed, this is a global list, which will be handled at the end of the import. */
     private List<String> m_parseables;
 
+    /** The prefetcher for the contents of the files to import. */
+    private CmsImportContentPrefetcher m_prefetcher;
+
     /** The project description. */
     private String m_projectDescription;
 
@@ -408,6 +414,9 @@ public class CmsImportVersion7 implements I_CmsImport {
     /** The current imported resource. */
     private CmsResource m_resource;
 
+    /** The total time spent importing resources, in milliseconds. */
+    private long m_resourceImportTime;
+
     /** The resource id value. */
     private CmsUUID m_resourceId;
 
@@ -524,10 +533,11 @@ public class CmsImportVersion7 implements I_CmsImport {
     public void addContentFile(String source, String resourceId) {
 
         if ((source != null) && (resourceId != null)) {
-            try {
-                m_helper.getFileBytes(source);
+            // only check the existence, the content is read later during the import
+            if (m_helper.existsFile(source)) {
                 m_contentFiles.add(new CmsUUID(resourceId));
-            } catch (CmsImportExportException e) {
+                m_contentSources.add(source);
+            } else {
                 LOG.info("File not found in import: " + source);
             }
         }
@@ -1338,10 +1348,20 @@ public class CmsImportVersion7 implements I_CmsImport {
         try {
             m_helper.openFile();
             m_helper.cacheDtdSystemId(DTD_LOCATION, DTD_FILENAME, CmsConfigurationManager.DEFAULT_DTD_PREFIX);
+            long start = System.currentTimeMillis();
             findContentFiles();
+            logImportPhase(Messages.LOG_IMPORT_PHASE_MANIFEST_0, m_contentSources.size(), System.currentTimeMillis() - start);
+            // read the file contents in the background while the resources are imported
+            m_prefetcher = new CmsImportContentPrefetcher(
+                m_helper,
+                m_contentSources,
+                CmsImportContentPrefetcher.DEFAULT_MAX_BUFFER_SIZE);
+            m_prefetcher.start();
+            m_resourceImportTime = 0;
             // start the parsing process
             stream = m_helper.getFileStream(CmsImportExportManager.EXPORT_MANIFEST);
             digester.parse(stream);
+            logImportPhase(Messages.LOG_IMPORT_PHASE_RESOURCES_0, m_fileCounter, m_resourceImportTime);
         } catch (Exception ioe) {
             if (LOG.isErrorEnabled()) {
                 LOG.error(
@@ -1359,6 +1379,11 @@ public class CmsImportVersion7 implements I_CmsImport {
             } catch (Exception e) {
                 // noop
             }
+            if (m_prefetcher != null) {
+                // waits until the prefetcher does not use the import helper anymore
+                m_prefetcher.stop();
+                m_prefetcher = null;
+            }
             m_helper.closeFile();
         }
     }
@@ -1669,6 +1694,7 @@ public class CmsImportVersion7 implements I_CmsImport {
             return;
         }
 
+        long start = System.currentTimeMillis();
         getReport().println(
             Messages.get().container(Messages.RPT_START_IMPORT_RELATIONS_0),
             I_CmsReport.FORMAT_HEADLINE);
@@ -1732,6 +1758,7 @@ public class CmsImportVersion7 implements I_CmsImport {
         }
 
         getReport().println(Messages.get().container(Messages.RPT_END_IMPORT_RELATIONS_0), I_CmsReport.FORMAT_HEADLINE);
+        logImportPhase(Messages.LOG_IMPORT_PHASE_RELATIONS_0, i, System.currentTimeMillis() - start);
 
         m_relations = null;
     }
@@ -1745,6 +1772,7 @@ public class CmsImportVersion7 implements I_CmsImport {
     public void importResource() {
 
         boolean resourceIdWasNull = false;
+        long start = System.currentTimeMillis();
 
         try {
             if (m_throwable != null) {
@@ -1784,7 +1812,9 @@ public class CmsImportVersion7 implements I_CmsImport {
                 byte[] content = null;
                 // get the file content
                 if (m_source != null) {
-                    content = m_helper.getFileBytes(m_source);
+                    content = (m_prefetcher != null)
+                    ? m_prefetcher.getFileBytes(m_source)
+                    : m_helper.getFileBytes(m_source);
                 }
                 int size = 0;
                 if (content != null) {
@@ -1923,6 +1953,7 @@ public class CmsImportVersion7 implements I_CmsImport {
             m_throwable = null;
             m_aces = null;
             m_properties = null;
+            m_resourceImportTime += System.currentTimeMillis() - start;
         }
     }
 
@@ -2228,6 +2259,7 @@ public class CmsImportVersion7 implements I_CmsImport {
             return;
         }
 
+        long start = System.currentTimeMillis();
         I_CmsReport report = getReport();
         CmsObject cms = getCms();
         cms.getRequestContext().setAttribute(CmsLogEntry.ATTR_LOG_ENTRY, Boolean.FALSE);
@@ -2284,6 +2316,7 @@ public class CmsImportVersion7 implements I_CmsImport {
         cms.getRequestContext().removeAttribute(CmsLogEntry.ATTR_LOG_ENTRY);
 
         report.println(Messages.get().container(Messages.RPT_END_PARSE_LINKS_0), I_CmsReport.FORMAT_HEADLINE);
+        logImportPhase(Messages.LOG_IMPORT_PHASE_LINKS_0, i, System.currentTimeMillis() - start);
         m_parseables = null;
     }
 
@@ -3258,6 +3291,7 @@ public class CmsImportVersion7 implements I_CmsImport {
         digester.addCallParam("export/files/file/source", 0);
         digester.addCallParam("export/files/file/uuidresource", 1);
         m_contentFiles.clear();
+        m_contentSources.clear();
         digester.push(this);
         InputStream stream = null;
         try {
@@ -3342,4 +3376,22 @@ public class CmsImportVersion7 implements I_CmsImport {
         return false;
 
     }
+
+    /**
+     * Writes the number of processed items and the time spent for a phase of the import to the log.<p>
+     * 
+     * @param phaseKey the message key for the name of the import phase
+     * @param count the number of items processed in the phase
+     * @param time the time spent in the phase, in milliseconds
+     */
+    private void logImportPhase(String phaseKey, int count, long time) {
+
+        if (LOG.isInfoEnabled()) {
+            LOG.info(Messages.get().getBundle().key(
+                Messages.LOG_IMPORT_PHASE_FINISHED_3,
+                Messages.get().getBundle().key(phaseKey),
+                String.valueOf(count),
+                String.valueOf(time)));
+        }
+    }
 }
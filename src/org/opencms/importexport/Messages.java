@@ -253,6 +253,21 @@ public final class Messages extends A_CmsMessageBundle {
     /** Message constant for key in the resource bundle. */
     public static final String LOG_IMPORTEXPORT_WARN_DELETED_RELATIONS_2 = "LOG_IMPORTEXPORT_WARN_DELETED_RELATIONS_2";
 
+    /** Message constant for key in the resource bundle. */
+    public static final String LOG_IMPORT_PHASE_FINISHED_3 = "LOG_IMPORT_PHASE_FINISHED_3";
+
+    /** Message constant for key in the resource bundle. */
+    public static final String LOG_IMPORT_PHASE_LINKS_0 = "LOG_IMPORT_PHASE_LINKS_0";
+
+    /** Message constant for key in the resource bundle. */
+    public static final String LOG_IMPORT_PHASE_MANIFEST_0 = "LOG_IMPORT_PHASE_MANIFEST_0";
+
+    /** Message constant for key in the resource bundle. */
+    public static final String LOG_IMPORT_PHASE_RELATIONS_0 = "LOG_IMPORT_PHASE_RELATIONS_0";
+
+    /** Message constant for key in the resource bundle. */
+    public static final String LOG_IMPORT_PHASE_RESOURCES_0 = "LOG_IMPORT_PHASE_RESOURCES_0";
+
     /** Message constant for key in the resource bundle. */
     public static final String LOG_IMPORTING_4 = "LOG_IMPORTING_4";
 
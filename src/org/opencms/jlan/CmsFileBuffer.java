@@ -27,28 +27,96 @@
 
 package org.opencms.jlan;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.alfresco.jlan.server.filesys.DiskFullException;
+
 /**
- * Buffer class which holds file contents for JLAN file access in memory before they are written to the VFS.<p>
+ * Buffer class which holds file contents for JLAN file access before they are written to the VFS.<p>
+ * 
+ * The contents are kept in fixed size memory chunks from a {@link CmsFileBufferPool}. If the file becomes larger than 
+ * the spill threshold of the pool, or if the pool has no more memory left, the contents are moved to a temporary file.<p>
  * 
- * This is implemented as a CmsByteBuffer instance together with a 'position' index which marks the next write position
+ * Since the VFS stores the contents of a file in a single byte array, a buffer can not grow larger than the 
+ * maximum file size of the pool. Writing beyond that size fails with a {@link DiskFullException}.<p>
+ * 
+ * Together with the contents, the buffer keeps a 'position' index which marks the next write position.<p>
  */
 public class CmsFileBuffer {
 
-    /** The buffer used to store the file contents. */
-    CmsByteBuffer m_buffer = new CmsByteBuffer(8192);
+    /** The size of the blocks used to fill the gaps in temporary files. */
+    private static final int ZERO_BLOCK_SIZE = 8192;
+
+    /** The memory chunks containing the file contents. */
+    private List<byte[]> m_chunks = new ArrayList<byte[]>();
+
+    /** The pool from which the memory chunks are taken. */
+    private CmsFileBufferPool m_pool;
 
     /** The current write position. */
-    long m_position;
+    private long m_position;
+
+    /** The current size of the file contents. */
+    private long m_size;
+
+    /** The random access file used to access the temporary file. */
+    private RandomAccessFile m_spillAccess;
+
+    /** The temporary file containing the file contents, if the buffer has been spilled to disk. */
+    private File m_spillFile;
+
+    /**
+     * Creates a new buffer which uses the given pool.<p>
+     * 
+     * @param pool the pool from which the memory chunks are taken 
+     */
+    public CmsFileBuffer(CmsFileBufferPool pool) {
+
+        m_pool = pool;
+    }
+
+    /**
+     * Releases the memory chunks and deletes the temporary file used by this buffer.<p>
+     * 
+     * The buffer is empty afterwards.<p>
+     */
+    public void close() {
+
+        m_pool.releaseChunks(m_chunks);
+        m_chunks.clear();
+        if (m_spillFile != null) {
+            try {
+                m_spillAccess.close();
+            } catch (IOException e) {
+                // ignore, the file is deleted anyway 
+            }
+            m_pool.releaseSpillFile(m_spillFile);
+            m_spillAccess = null;
+            m_spillFile = null;
+        }
+        m_size = 0;
+        m_position = 0;
+    }
 
     /**
      * Gets the contents of this buffer as a byte array.<p>
      * 
+     * The size of the buffer is limited by the maximum file size of the pool, which is never larger 
+     * than the maximum size of a byte array.<p>
+     * 
      * @return the file content 
+     * 
+     * @throws IOException if reading the temporary file fails  
      */
-    public byte[] getContents() {
+    public byte[] getContents() throws IOException {
 
-        byte[] contents = new byte[m_buffer.size()];
-        m_buffer.readBytes(contents, 0, 0, m_buffer.size());
+        byte[] contents = new byte[(int)m_size];
+        readBytes(0, contents, 0, contents.length);
         return contents;
     }
 
@@ -60,7 +128,7 @@ public class CmsFileBuffer {
      */
     public long getLength() {
 
-        return m_buffer.size();
+        return m_size;
     }
 
     /** 
@@ -76,12 +144,28 @@ public class CmsFileBuffer {
     /** 
      * Initializes the file content data.<p>
      * 
+     * The data is copied to the memory chunks or the temporary file, so the caller 
+     * does not need to keep a reference to it.<p>
+     * 
      * @param data the file content data 
+     * 
+     * @throws IOException if writing the temporary file fails, or if the data is larger than the maximum file size 
      */
-    public void init(byte[] data) {
+    public void init(byte[] data) throws IOException {
 
+        close();
+        write(data);
         m_position = 0;
-        m_buffer.writeBytes(data, 0, 0, data.length);
+    }
+
+    /**
+     * Checks whether the contents of this buffer have been moved to a temporary file.<p>
+     * 
+     * @return true if the contents are in a temporary file 
+     */
+    public boolean isSpilled() {
+
+        return m_spillFile != null;
     }
 
     /**
@@ -94,17 +178,19 @@ public class CmsFileBuffer {
      * @param fileOffset the start index for this instance 
      * 
      * @return the number of bytes read, or -1 if we are at the end of the file 
+     * 
+     * @throws IOException if reading the temporary file fails  
      */
-    public int read(byte[] dest, int length, int bufferOffset, int fileOffset) {
+    public int read(byte[] dest, int length, int bufferOffset, long fileOffset) throws IOException {
 
-        if (fileOffset >= m_buffer.size()) {
+        if (fileOffset >= m_size) {
             return -1;
         }
-        int readEnd = fileOffset + length;
-        if (readEnd > m_buffer.size()) {
-            length = length - (readEnd - m_buffer.size());
+        long readEnd = fileOffset + length;
+        if (readEnd > m_size) {
+            length = (int)(length - (readEnd - m_size));
         }
-        m_buffer.readBytes(dest, fileOffset, bufferOffset, length);
+        readBytes(fileOffset, dest, bufferOffset, length);
         return length;
     }
 
@@ -121,21 +207,215 @@ public class CmsFileBuffer {
     /**
      * Changes the size of this buffer.<p>
      * 
+     * If the size is larger than the current size, the new space will be filled with 0s.<p>
+     * 
      * @param size the new size 
+     * 
+     * @throws IOException if writing the temporary file fails, or if the size is larger than the maximum file size 
      */
-    public void truncate(int size) {
+    public void truncate(long size) throws IOException {
 
-        m_buffer.truncate(size);
+        if (size < m_size) {
+            if (m_spillFile != null) {
+                m_spillAccess.setLength(size);
+            } else {
+                int usedChunks = (int)((size + CmsFileBufferPool.CHUNK_SIZE - 1) / CmsFileBufferPool.CHUNK_SIZE);
+                List<byte[]> unusedChunks = m_chunks.subList(usedChunks, m_chunks.size());
+                m_pool.releaseChunks(unusedChunks);
+                unusedChunks.clear();
+                int chunkOffset = (int)(size % CmsFileBufferPool.CHUNK_SIZE);
+                if (chunkOffset > 0) {
+                    // keep the unused part of the last chunk filled with 0s 
+                    Arrays.fill(m_chunks.get(usedChunks - 1), chunkOffset, CmsFileBufferPool.CHUNK_SIZE, (byte)0);
+                }
+            }
+            m_size = size;
+        } else if (size > m_size) {
+            ensureCapacity(size);
+            if (m_spillFile != null) {
+                writeZeros(m_size, size);
+            }
+            m_size = size;
+        }
         m_position = Math.min(size, m_position);
     }
 
     /**
-     * Writes the data to the internal buffer.<p>
+     * Writes the data to the internal buffer at the current write position.<p>
      * 
      * @param data the data to write 
+     * 
+     * @throws IOException if writing the temporary file fails, or if the buffer would exceed the maximum file size 
+     */
+    public void write(byte[] data) throws IOException {
+
+        write(data, 0, data.length);
+    }
+
+    /**
+     * Writes a part of a byte array to the internal buffer at the current write position.<p>
+     * 
+     * @param data the array containing the data to write
+     * @param offset the start index of the data in the array 
+     * @param length the number of bytes to write 
+     * 
+     * @throws IOException if writing the temporary file fails, or if the buffer would exceed the maximum file size 
      */
-    public void write(byte[] data) {
+    public void write(byte[] data, int offset, int length) throws IOException {
 
-        m_buffer.writeBytes(data, 0, (int)m_position, data.length);
+        long newEnd = m_position + length;
+        ensureCapacity(newEnd);
+        if (m_spillFile != null) {
+            if (m_position > m_size) {
+                writeZeros(m_size, m_position);
+            }
+            m_spillAccess.seek(m_position);
+            m_spillAccess.write(data, offset, length);
+        } else {
+            writeChunks(m_position, data, offset, length);
+        }
+        if (newEnd > m_size) {
+            m_size = newEnd;
+        }
+    }
+
+    /**
+     * Makes sure that the buffer can hold the given number of bytes, either by allocating
+     * new memory chunks or by moving the contents to a temporary file.<p>
+     * 
+     * @param capacity the number of bytes the buffer must be able to hold 
+     * 
+     * @throws IOException if writing the temporary file fails 
+     * @throws DiskFullException if the capacity is larger than the maximum file size of the pool 
+     */
+    private void ensureCapacity(long capacity) throws IOException, DiskFullException {
+
+        long maxFileSize = m_pool.getMaxFileSize();
+        if (capacity > maxFileSize) {
+            throw new DiskFullException("The file size of "
+                + capacity
+                + " bytes exceeds the maximum file size of "
+                + maxFileSize
+                + " bytes");
+        }
+        if (m_spillFile != null) {
+            return;
+        }
+        if (capacity > m_pool.getSpillThreshold()) {
+            spill();
+            return;
+        }
+        long neededChunks = (capacity + CmsFileBufferPool.CHUNK_SIZE - 1) / CmsFileBufferPool.CHUNK_SIZE;
+        while (m_chunks.size() < neededChunks) {
+            byte[] chunk = m_pool.allocateChunk();
+            if (chunk == null) {
+                // the memory limit for all buffers has been reached
+                spill();
+                return;
+            }
+            m_chunks.add(chunk);
+        }
+    }
+
+    /**
+     * Reads bytes from the buffer without any range checks.<p>
+     * 
+     * @param position the position in the buffer to start reading from 
+     * @param dest the target byte array 
+     * @param destStart the start index in the target array 
+     * @param length the number of bytes to read 
+     * 
+     * @throws IOException if reading the temporary file fails 
+     */
+    private void readBytes(long position, byte[] dest, int destStart, int length) throws IOException {
+
+        if (m_spillFile != null) {
+            m_spillAccess.seek(position);
+            m_spillAccess.readFully(dest, destStart, length);
+        } else {
+            int done = 0;
+            while (done < length) {
+                long current = position + done;
+                byte[] chunk = m_chunks.get((int)(current / CmsFileBufferPool.CHUNK_SIZE));
+                int chunkOffset = (int)(current % CmsFileBufferPool.CHUNK_SIZE);
+                int count = Math.min(length - done, CmsFileBufferPool.CHUNK_SIZE - chunkOffset);
+                System.arraycopy(chunk, chunkOffset, dest, destStart + done, count);
+                done += count;
+            }
+        }
+    }
+
+    /**
+     * Moves the contents of the memory chunks to a temporary file and releases the chunks.<p>
+     * 
+     * @throws IOException if writing the temporary file fails 
+     */
+    private void spill() throws IOException {
+
+        File file = m_pool.createSpillFile();
+        RandomAccessFile access = null;
+        try {
+            access = new RandomAccessFile(file, "rw");
+            long remaining = m_size;
+            for (byte[] chunk : m_chunks) {
+                if (remaining <= 0) {
+                    break;
+                }
+                int count = (int)Math.min(remaining, CmsFileBufferPool.CHUNK_SIZE);
+                access.write(chunk, 0, count);
+                remaining -= count;
+            }
+        } catch (IOException e) {
+            if (access != null) {
+                access.close();
+            }
+            m_pool.releaseSpillFile(file);
+            throw e;
+        }
+        m_pool.releaseChunks(m_chunks);
+        m_chunks.clear();
+        m_spillFile = file;
+        m_spillAccess = access;
+    }
+
+    /**
+     * Writes bytes to the memory chunks, which must already have been allocated.<p>
+     * 
+     * @param position the position in the buffer to start writing to 
+     * @param src the source array 
+     * @param srcStart the start index in the source array 
+     * @param length the number of bytes to write 
+     */
+    private void writeChunks(long position, byte[] src, int srcStart, int length) {
+
+        int done = 0;
+        while (done < length) {
+            long current = position + done;
+            byte[] chunk = m_chunks.get((int)(current / CmsFileBufferPool.CHUNK_SIZE));
+            int chunkOffset = (int)(current % CmsFileBufferPool.CHUNK_SIZE);
+            int count = Math.min(length - done, CmsFileBufferPool.CHUNK_SIZE - chunkOffset);
+            System.arraycopy(src, srcStart + done, chunk, chunkOffset, count);
+            done += count;
+        }
+    }
+
+    /**
+     * Fills a range of the temporary file with 0s.<p>
+     * 
+     * @param start the start of the range
+     * @param end the end of the range 
+     * 
+     * @throws IOException if writing the temporary file fails 
+     */
+    private void writeZeros(long start, long end) throws IOException {
+
+        byte[] zeros = new byte[(int)Math.min(ZERO_BLOCK_SIZE, end - start)];
+        m_spillAccess.seek(start);
+        long remaining = end - start;
+        while (remaining > 0) {
+            int count = (int)Math.min(remaining, zeros.length);
+            m_spillAccess.write(zeros, 0, count);
+            remaining -= count;
+        }
     }
 }
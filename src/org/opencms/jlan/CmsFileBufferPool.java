@@ -0,0 +1,341 @@
+/*
+ * This library is part of OpenCms -
+ * the Open Source Content Management System
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software GmbH, please see the
+ * company website: http://www.alkacon.com
+ *
+ * For further information about OpenCms, please see the
+ * project website: http://www.opencms.org
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.opencms.jlan;
+
+import org.opencms.main.CmsLog;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.logging.Log;
+
+/**
+ * Pool of fixed size memory chunks shared by all file buffers of the JLAN repositories.<p>
+ * 
+ * The pool enforces a global limit for the memory used by the buffers of all open files. If a buffer can not get 
+ * any more chunks because the limit is reached, or if a single file grows larger than the spill threshold, 
+ * the buffer writes its contents to a temporary file instead.<p>
+ * 
+ * The pool also limits the size of a single file. The VFS stores the contents of a file in a single byte array, 
+ * which is read into memory completely when the file is written, so even a spilled file can not be larger than 
+ * the maximum size of a byte array, and it has to fit into the heap.<p>
+ * 
+ * The pool also keeps some simple statistics about the buffer usage.<p>
+ * 
+ * @since 9.0.0
+ */
+public class CmsFileBufferPool {
+
+    /** The size of a single memory chunk. */
+    public static final int CHUNK_SIZE = 64 * 1024;
+
+    /** The default memory limit for all buffers (one eighth of the maximum heap size, but at most 256 MB). */
+    public static final long DEFAULT_MEMORY_LIMIT = Math.min(256L * 1024 * 1024, Runtime.getRuntime().maxMemory() / 8);
+
+    /** The default maximum size of a single file (one fourth of the maximum heap size, but at most {@link #MAX_FILE_SIZE}). */
+    public static final long DEFAULT_MAX_FILE_SIZE = Math.min(
+        CmsFileBufferPool.MAX_FILE_SIZE,
+        Runtime.getRuntime().maxMemory() / 4);
+
+    /** The default size above which the contents of a single file are kept in a temporary file. */
+    public static final long DEFAULT_SPILL_THRESHOLD = 8L * 1024 * 1024;
+
+    /** The largest possible maximum size of a single file, which is the maximum size of a byte array. */
+    public static final long MAX_FILE_SIZE = Integer.MAX_VALUE - 8;
+
+    /** The maximum number of unused chunks kept in the pool. */
+    public static final int MAX_POOLED_CHUNKS = 64;
+
+    /** The prefix for the temporary file names. */
+    private static final String TEMP_FILE_PREFIX = "ocms-jlan-";
+
+    /** The logger instance for this class. */
+    private static final Log LOG = CmsLog.getLog(CmsFileBufferPool.class);
+
+    /** The maximum size of a single file. */
+    private long m_maxFileSize = DEFAULT_MAX_FILE_SIZE;
+
+    /** The maximum number of bytes which may be used by the chunks of all buffers. */
+    private long m_memoryLimit;
+
+    /** The number of bytes currently used by the chunks of all buffers. */
+    private long m_memoryUsed;
+
+    /** The maximum number of bytes used by the chunks of all buffers so far. */
+    private long m_memoryUsedPeak;
+
+    /** The unused chunks. */
+    private List<byte[]> m_pooledChunks = new ArrayList<byte[]>();
+
+    /** The number of buffers which currently use a temporary file. */
+    private int m_spilledBuffers;
+
+    /** The total number of buffers which had to use a temporary file. */
+    private long m_spilledBuffersTotal;
+
+    /** The size above which the contents of a single file are kept in a temporary file. */
+    private long m_spillThreshold;
+
+    /**
+     * Creates a new pool with the default limits.<p>
+     */
+    public CmsFileBufferPool() {
+
+        this(DEFAULT_MEMORY_LIMIT, DEFAULT_SPILL_THRESHOLD);
+    }
+
+    /**
+     * Creates a new pool.<p>
+     * 
+     * @param memoryLimit the maximum number of bytes used by the chunks of all buffers 
+     * @param spillThreshold the size above which the contents of a single file are kept in a temporary file 
+     */
+    public CmsFileBufferPool(long memoryLimit, long spillThreshold) {
+
+        m_memoryLimit = memoryLimit;
+        m_spillThreshold = spillThreshold;
+    }
+
+    /**
+     * Creates a new, empty file buffer using this pool.<p>
+     * 
+     * @return the new file buffer 
+     */
+    public CmsFileBuffer createBuffer() {
+
+        return new CmsFileBuffer(this);
+    }
+
+    /**
+     * Gets the maximum size of a single file.<p>
+     * 
+     * @return the maximum file size 
+     */
+    public synchronized long getMaxFileSize() {
+
+        return m_maxFileSize;
+    }
+
+    /**
+     * Gets the maximum number of bytes which may be used by the chunks of all buffers.<p>
+     * 
+     * @return the memory limit 
+     */
+    public synchronized long getMemoryLimit() {
+
+        return m_memoryLimit;
+    }
+
+    /**
+     * Gets the number of bytes currently used by the chunks of all buffers.<p>
+     * 
+     * @return the number of bytes currently used 
+     */
+    public synchronized long getMemoryUsed() {
+
+        return m_memoryUsed;
+    }
+
+    /**
+     * Gets the maximum number of bytes used by the chunks of all buffers so far.<p>
+     * 
+     * @return the peak memory usage 
+     */
+    public synchronized long getMemoryUsedPeak() {
+
+        return m_memoryUsedPeak;
+    }
+
+    /**
+     * Gets the number of unused chunks currently kept in the pool.<p>
+     * 
+     * @return the number of pooled chunks 
+     */
+    public synchronized int getPooledChunks() {
+
+        return m_pooledChunks.size();
+    }
+
+    /**
+     * Gets the number of buffers which currently use a temporary file.<p>
+     * 
+     * @return the number of spilled buffers 
+     */
+    public synchronized int getSpilledBuffers() {
+
+        return m_spilledBuffers;
+    }
+
+    /**
+     * Gets the total number of buffers which had to use a temporary file since the pool was created.<p>
+     * 
+     * @return the total number of spilled buffers 
+     */
+    public synchronized long getSpilledBuffersTotal() {
+
+        return m_spilledBuffersTotal;
+    }
+
+    /**
+     * Gets the size above which the contents of a single file are kept in a temporary file.<p>
+     * 
+     * @return the spill threshold 
+     */
+    public synchronized long getSpillThreshold() {
+
+        return m_spillThreshold;
+    }
+
+    /**
+     * Sets the maximum size of a single file.<p>
+     * 
+     * Values larger than {@link #MAX_FILE_SIZE} are reduced to that size.<p>
+     * 
+     * @param maxFileSize the new maximum file size 
+     */
+    public synchronized void setMaxFileSize(long maxFileSize) {
+
+        m_maxFileSize = Math.min(maxFileSize, MAX_FILE_SIZE);
+    }
+
+    /**
+     * Sets the maximum number of bytes which may be used by the chunks of all buffers.<p>
+     * 
+     * @param memoryLimit the new memory limit 
+     */
+    public synchronized void setMemoryLimit(long memoryLimit) {
+
+        m_memoryLimit = memoryLimit;
+    }
+
+    /**
+     * Sets the size above which the contents of a single file are kept in a temporary file.<p>
+     * 
+     * @param spillThreshold the new spill threshold 
+     */
+    public synchronized void setSpillThreshold(long spillThreshold) {
+
+        m_spillThreshold = spillThreshold;
+    }
+
+    /**
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public synchronized String toString() {
+
+        return "[memoryUsed="
+            + m_memoryUsed
+            + ", memoryUsedPeak="
+            + m_memoryUsedPeak
+            + ", memoryLimit="
+            + m_memoryLimit
+            + ", pooledChunks="
+            + m_pooledChunks.size()
+            + ", spilledBuffers="
+            + m_spilledBuffers
+            + ", spilledBuffersTotal="
+            + m_spilledBuffersTotal
+            + "]";
+    }
+
+    /**
+     * Gets a zero-filled chunk from the pool.<p>
+     * 
+     * @return the chunk, or null if the memory limit has been reached
+     */
+    synchronized byte[] allocateChunk() {
+
+        if ((m_memoryUsed + CHUNK_SIZE) > m_memoryLimit) {
+            return null;
+        }
+        byte[] chunk;
+        if (m_pooledChunks.isEmpty()) {
+            chunk = new byte[CHUNK_SIZE];
+        } else {
+            chunk = m_pooledChunks.remove(m_pooledChunks.size() - 1);
+            Arrays.fill(chunk, (byte)0);
+        }
+        m_memoryUsed += CHUNK_SIZE;
+        m_memoryUsedPeak = Math.max(m_memoryUsed, m_memoryUsedPeak);
+        return chunk;
+    }
+
+    /**
+     * Creates a temporary file for a buffer which has to spill its contents to disk.<p>
+     * 
+     * @return the temporary file 
+     * 
+     * @throws IOException if the file could not be created 
+     */
+    File createSpillFile() throws IOException {
+
+        File file = File.createTempFile(TEMP_FILE_PREFIX, ".tmp");
+        synchronized (this) {
+            m_spilledBuffers += 1;
+            m_spilledBuffersTotal += 1;
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Spilling JLAN file buffer to " + file.getAbsolutePath() + ", buffer usage: " + this);
+        }
+        return file;
+    }
+
+    /**
+     * Returns chunks which are no longer used by a buffer to the pool.<p>
+     * 
+     * @param chunks the chunks to release 
+     */
+    synchronized void releaseChunks(List<byte[]> chunks) {
+
+        for (byte[] chunk : chunks) {
+            m_memoryUsed -= CHUNK_SIZE;
+            if (m_pooledChunks.size() < MAX_POOLED_CHUNKS) {
+                m_pooledChunks.add(chunk);
+            }
+        }
+    }
+
+    /**
+     * Deletes the temporary file of a buffer.<p>
+     * 
+     * @param file the temporary file to delete 
+     */
+    void releaseSpillFile(File file) {
+
+        if (!file.delete()) {
+            LOG.warn("Could not delete temporary file " + file.getAbsolutePath());
+        }
+        synchronized (this) {
+            m_spilledBuffers -= 1;
+        }
+    }
+}
@@ -78,6 +78,9 @@ public class CmsJlanDiskInterface implements DiskInterface {
     /** The logger instance for this class. */
     private static final Log LOG = CmsLog.getLog(CmsJlanDiskInterface.class);
 
+    /** The pool for the file buffers of all open files. */
+    private static CmsFileBufferPool m_bufferPool = new CmsFileBufferPool();
+
     /** 
      * Tries to convert a CmsException to the matching exception type from JLAN.<p>
      * 
@@ -98,6 +101,16 @@ public class CmsJlanDiskInterface implements DiskInterface {
         }
     }
 
+    /**
+     * Gets the pool which provides the memory for the file buffers of all open files.<p>
+     * 
+     * @return the file buffer pool 
+     */
+    public static CmsFileBufferPool getBufferPool() {
+
+        return m_bufferPool;
+    }
+
     /**
      * Converts a CIFS path to an OpenCms path by converting backslashes to slashes and translating special characters in the file name.<p>
      * 
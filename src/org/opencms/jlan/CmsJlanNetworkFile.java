@@ -38,7 +38,6 @@ import org.opencms.util.CmsUUID;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.regex.Pattern;
 
@@ -60,8 +59,8 @@ public class CmsJlanNetworkFile extends NetworkFile {
     /** The logger instance for this class. */
     private static final Log LOG = CmsLog.getLog(CmsJlanNetworkFile.class);
 
-    /** The buffer used for reading/writing file contents. */
-    private CmsFileBuffer m_buffer = new CmsFileBuffer();
+    /** The buffer used for reading/writing file contents, created when the contents are loaded. */
+    private CmsFileBuffer m_buffer;
 
     /** Flag which indicates whether the buffer has been initialized. */
     private boolean m_bufferInitialized;
@@ -69,6 +68,9 @@ public class CmsJlanNetworkFile extends NetworkFile {
     /** The CMS context to use. */
     private CmsObjectWrapper m_cms;
 
+    /** Flag which indicates whether the contents of the wrapped file have been moved to the buffer. */
+    private boolean m_contentsMoved;
+
     /** The write count after which the file was last flushed. */
     private int m_lastFlush;
 
@@ -97,17 +99,21 @@ public class CmsJlanNetworkFile extends NetworkFile {
     @Override
     public void closeFile() throws IOException {
 
-        if (hasDeleteOnClose()) {
-            delete();
-        } else {
-            flushFile();
-            if (getWriteCount() > 0) {
-                try {
-                    m_cms.unlockResource(m_cms.getSitePath(m_resource));
-                } catch (CmsException e) {
-                    LOG.error("Couldn't unlock file: " + m_resource.getRootPath());
+        try {
+            if (hasDeleteOnClose()) {
+                delete();
+            } else {
+                flushFile();
+                if (getWriteCount() > 0) {
+                    try {
+                        m_cms.unlockResource(m_cms.getSitePath(m_resource));
+                    } catch (CmsException e) {
+                        LOG.error("Couldn't unlock file: " + m_resource.getRootPath());
+                    }
                 }
             }
+        } finally {
+            releaseBuffer();
         }
     }
 
@@ -140,8 +146,9 @@ public class CmsJlanNetworkFile extends NetworkFile {
                     String rootPath = m_cms.getRequestContext().addSiteRoot(
                         CmsJlanDiskInterface.getCmsPath(getFullName()));
                     wr.setRootPath(rootPath);
-                    file = wr.getFile();
-                    file.setContents(m_buffer.getContents());
+                    // the contents are not copied again, since files can be large
+                    byte[] contents = m_buffer.getContents();
+                    file = createFile(wr.getFile(), contents.length, System.currentTimeMillis(), contents);
                     ensureLock();
                     m_cms.writeFile(file);
                 }
@@ -245,7 +252,7 @@ public class CmsJlanNetworkFile extends NetworkFile {
 
         try {
             load(true);
-            int result = m_buffer.read(buffer, length, bufferOffset, (int)fileOffset);
+            int result = m_buffer.read(buffer, length, bufferOffset, fileOffset);
             return result;
         } catch (CmsException e) {
             throw CmsJlanDiskInterface.convertCmsException(e);
@@ -349,7 +356,7 @@ public class CmsJlanNetworkFile extends NetworkFile {
 
         try {
             load(true);
-            m_buffer.truncate((int)size);
+            m_buffer.truncate(size);
             incrementWriteCount();
         } catch (CmsException e) {
             throw CmsJlanDiskInterface.convertCmsException(e);
@@ -368,8 +375,7 @@ public class CmsJlanNetworkFile extends NetworkFile {
             }
             load(true);
             m_buffer.seek(offset);
-            byte[] dataToWrite = Arrays.copyOfRange(data, pos, pos + len);
-            m_buffer.write(dataToWrite);
+            m_buffer.write(data, pos, len);
             incrementWriteCount();
         } catch (CmsException e) {
             throw CmsJlanDiskInterface.convertCmsException(e);
@@ -392,6 +398,8 @@ public class CmsJlanNetworkFile extends NetworkFile {
     /**
      * Gets the CmsFile instance for this file, or null if the file contents haven'T been loaded already.<p>
      * 
+     * Once loaded, the contents are only kept in the file buffer, not in the returned CmsFile instance.<p>
+     * 
      * @return the CmsFile instance 
      */
     protected CmsFile getFile() {
@@ -430,13 +438,24 @@ public class CmsJlanNetworkFile extends NetworkFile {
             if (m_resource.isFolder() && needContent) {
                 throw new AccessDeniedException("Operation not supported for directories!");
             }
-            if (m_resource.isFile() && needContent && (!(m_resource instanceof CmsFile))) {
+            if (m_resource.isFile()
+                && needContent
+                && !m_bufferInitialized
+                && (!(m_resource instanceof CmsFile) || m_contentsMoved)) {
                 m_resource = m_cms.readFile(m_cms.getSitePath(m_resource), CmsJlanDiskInterface.STANDARD_FILTER);
+                m_contentsMoved = false;
             }
-            if (!m_bufferInitialized && (getFile() != null)) {
+            if (!m_bufferInitialized && (getFile() != null) && !m_contentsMoved) {
                 // readResource may already have returned a CmsFile, this is why we need to initialize the buffer
                 // here and not in the if-block above 
-                m_buffer.init(getFile().getContents());
+                if (m_buffer == null) {
+                    m_buffer = CmsJlanDiskInterface.getBufferPool().createBuffer();
+                }
+                CmsFile file = getFile();
+                m_buffer.init(file.getContents());
+                // only the buffer keeps the contents, so the memory they use is limited by the buffer pool  
+                m_resource = createFile(file, file.getLength(), file.getDateContent(), null);
+                m_contentsMoved = true;
                 m_bufferInitialized = true;
             }
         } catch (CmsException e) {
@@ -475,6 +494,54 @@ public class CmsJlanNetworkFile extends NetworkFile {
         setAttributes(m_resource.isFile() ? FileAttribute.Normal : FileAttribute.Directory);
     }
 
+    /**
+     * Creates a file object with the attributes of the given resource and the given contents, without copying the contents.<p>
+     * 
+     * @param resource the resource
+     * @param length the content length 
+     * @param dateContent the date of the last content modification 
+     * @param contents the contents, or <code>null</code> for a file without contents 
+     * 
+     * @return the file object 
+     */
+    private CmsFile createFile(CmsResource resource, int length, long dateContent, byte[] contents) {
+
+        return new CmsFile(
+            resource.getStructureId(),
+            resource.getResourceId(),
+            resource.getRootPath(),
+            resource.getTypeId(),
+            resource.getFlags(),
+            resource.getProjectLastModified(),
+            resource.getState(),
+            resource.getDateCreated(),
+            resource.getUserCreated(),
+            resource.getDateLastModified(),
+            resource.getUserLastModified(),
+            resource.getDateReleased(),
+            resource.getDateExpired(),
+            resource.getSiblingCount(),
+            length,
+            dateContent,
+            resource.getVersion(),
+            contents);
+    }
+
+    /**
+     * Releases the memory or temporary file used by the file buffer.<p>
+     */
+    private void releaseBuffer() {
+
+        if (m_buffer != null) {
+            m_buffer.close();
+            m_buffer = null;
+            m_bufferInitialized = false;
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Released file buffer of " + getFullName() + ", buffer usage: " + CmsJlanDiskInterface.getBufferPool());
+            }
+        }
+    }
+
     /** 
      * Replace sequences of consecutive slashes/backslashes to a single backslash.<p>
      * 
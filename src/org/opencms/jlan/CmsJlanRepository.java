@@ -68,6 +68,15 @@ public class CmsJlanRepository implements I_CmsRepository {
     /** Parameter for controlling whether byte order marks should be added to plaintext files. */
     public static final String PARAM_ADD_BOM = "addBOM";
 
+    /** Parameter for the maximum size in bytes of a file written through the repository. */
+    public static final String PARAM_BUFFER_MAX_FILE_SIZE = "bufferMaxFileSize";
+
+    /** Parameter for the maximum memory in bytes used by the buffers of all open files. */
+    public static final String PARAM_BUFFER_MEMORY_LIMIT = "bufferMemoryLimit";
+
+    /** Parameter for the file size in bytes above which the contents of an open file are kept in a temporary file. */
+    public static final String PARAM_BUFFER_SPILL_THRESHOLD = "bufferSpillThreshold";
+
     /** The parameter for the project in which this repository should operate. */
     public static final String PARAM_PROJECT = "project";
 
@@ -304,6 +313,21 @@ public class CmsJlanRepository implements I_CmsRepository {
         m_projectName = getConfiguration().getString(PARAM_PROJECT, "Offline").trim();
         String addByteOrderMarkStr = getConfiguration().getString(PARAM_ADD_BOM, "" + true).trim();
         m_addByteOrderMark = Boolean.parseBoolean(addByteOrderMarkStr);
+
+        // the buffer pool is shared by all repositories 
+        CmsFileBufferPool bufferPool = CmsJlanDiskInterface.getBufferPool();
+        Long memoryLimit = getSizeParameter(PARAM_BUFFER_MEMORY_LIMIT);
+        if (memoryLimit != null) {
+            bufferPool.setMemoryLimit(memoryLimit.longValue());
+        }
+        Long spillThreshold = getSizeParameter(PARAM_BUFFER_SPILL_THRESHOLD);
+        if (spillThreshold != null) {
+            bufferPool.setSpillThreshold(spillThreshold.longValue());
+        }
+        Long maxFileSize = getSizeParameter(PARAM_BUFFER_MAX_FILE_SIZE);
+        if (maxFileSize != null) {
+            bufferPool.setMaxFileSize(maxFileSize.longValue());
+        }
     }
 
     /**
@@ -344,4 +368,34 @@ public class CmsJlanRepository implements I_CmsRepository {
         return m_device;
     }
 
+    /**
+     * Reads a size parameter from the configuration.<p>
+     * 
+     * @param name the parameter name
+     * 
+     * @return the size, or <code>null</code> if the parameter is not set or is not a valid size 
+     */
+    private Long getSizeParameter(String name) {
+
+        String value = getConfiguration().getString(name, null);
+        if (value == null) {
+            return null;
+        }
+        try {
+            long size = Long.parseLong(value.trim());
+            if (size >= 0) {
+                return new Long(size);
+            }
+        } catch (NumberFormatException e) {
+            // handled below
+        }
+        LOG.error("Invalid value \""
+            + value
+            + "\" for parameter "
+            + name
+            + " of repository "
+            + getName()
+            + ", using the default");
+        return null;
+    }
 }
@@ -33,6 +33,7 @@ import org.opencms.ade.containerpage.shared.CmsCntPageData;
 import org.opencms.ade.containerpage.shared.CmsContainerElement;
 import org.opencms.file.CmsObject;
 import org.opencms.file.CmsResource;
+import org.opencms.file.CmsResourceFilter;
 import org.opencms.file.history.CmsHistoryResourceHandler;
 import org.opencms.flex.CmsFlexController;
 import org.opencms.gwt.shared.CmsTemplateContextInfo;
@@ -50,6 +51,7 @@ import org.opencms.main.CmsLog;
 import org.opencms.main.OpenCms;
 import org.opencms.util.CmsRequestUtil;
 import org.opencms.util.CmsStringUtil;
+import org.opencms.util.CmsUUID;
 import org.opencms.xml.containerpage.CmsADESessionCache;
 import org.opencms.xml.containerpage.CmsContainerBean;
 import org.opencms.xml.containerpage.CmsContainerElementBean;
@@ -66,9 +68,12 @@ import org.opencms.xml.containerpage.CmsXmlInheritGroupContainerHandler;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
@@ -103,6 +108,9 @@ public class CmsJspTagContainer extends TagSupport {
         width;
     }
 
+    /** Request attribute containing the total time in milliseconds spent resolving the container elements of the current page. */
+    public static final String ATTR_ELEMENT_RESOLUTION_TIME = "org.opencms.jsp.CmsJspTagContainer.elementResolutionTime";
+
     /** Default number of max elements in the container in case no value has been set. */
     public static final String DEFAULT_MAX_ELEMENTS = "100";
 
@@ -391,15 +399,19 @@ public class CmsJspTagContainer extends TagSupport {
                             throw new JspException(e);
                         }
                     }
+                    // resolve all element resources before any formatter is executed
+                    Map<CmsUUID, CmsResource> resources = new HashMap<CmsUUID, CmsResource>();
+                    List<CmsContainerElementBean> resolvedElements = resolveElements(cms, allElements, resources);
                     // iterate over elements to render
                     int numRenderedElements = 0;
-                    for (CmsContainerElementBean elementBean : allElements) {
+                    for (CmsContainerElementBean elementBean : resolvedElements) {
                         try {
                             boolean rendered = renderContainerElement(
                                 (HttpServletRequest)req,
                                 cms,
                                 standardContext,
                                 elementBean,
+                                resources,
                                 locale,
                                 numRenderedElements >= maxElements);
                             if (rendered) {
@@ -868,7 +880,8 @@ public class CmsJspTagContainer extends TagSupport {
      * @param request the current request 
      * @param cms the CMS context 
      * @param standardContext the current standard contxt bean
-     * @param element the container element to render
+     * @param element the container element to render, already initialized by {@link #resolveElements(CmsObject, List, Map)}
+     * @param resources the resources read while resolving the container elements, by structure id
      * @param locale the requested locale
      * @param alreadyFull if true, only render invisible elements (they don't count towards the "max elements") 
      * 
@@ -881,6 +894,7 @@ public class CmsJspTagContainer extends TagSupport {
         CmsObject cms,
         CmsJspStandardContextBean standardContext,
         CmsContainerElementBean element,
+        Map<CmsUUID, CmsResource> resources,
         Locale locale,
         boolean alreadyFull) throws Exception {
 
@@ -897,7 +911,6 @@ public class CmsJspTagContainer extends TagSupport {
         ServletResponse res = pageContext.getResponse();
         String containerType = getType();
         int containerWidth = getContainerWidth();
-        element.initResource(cms);
         // writing elements to the session cache to improve performance of the container-page editor in offline project
         if (!isOnline) {
             getSessionCache(cms).setCacheContainerElement(element.editorHash(), element);
@@ -918,12 +931,12 @@ public class CmsJspTagContainer extends TagSupport {
                 // inherited container case
                 subElements = getInheritedContainerElements(cms, element);
             }
+            subElements = resolveElements(cms, subElements, new HashMap<CmsUUID, CmsResource>());
             // wrapping the elements with DIV containing initial element data. To be removed by the container-page editor
             printElementWrapperTagStart(isOnline, cms, element, true);
             for (CmsContainerElementBean subelement : subElements) {
 
                 try {
-                    subelement.initResource(cms);
                     boolean shouldShowSubElementInContext = shouldShowInContext(subelement, context);
                     if (isOnline && !shouldShowSubElementInContext) {
                         continue;
@@ -1006,7 +1019,12 @@ public class CmsJspTagContainer extends TagSupport {
             } else {
                 String formatter = null;
                 try {
-                    formatter = cms.getSitePath(cms.readResource(element.getFormatterId()));
+                    CmsResource formatterResource = resources.get(element.getFormatterId());
+                    if ((formatterResource == null)
+                        || !formatterResource.isReleasedAndNotExpired(cms.getRequestContext().getRequestTime())) {
+                        formatterResource = cms.readResource(element.getFormatterId());
+                    }
+                    formatter = cms.getSitePath(formatterResource);
                 } catch (CmsException e) {
                     // the formatter resource can not be found, try reading it form the configuration
                     CmsFormatterConfiguration elementFormatters = adeConfig.getFormatters(cms, element.getResource());
@@ -1065,6 +1083,75 @@ public class CmsJspTagContainer extends TagSupport {
         }
     }
 
+    /**
+     * Initializes the resources of the given container elements before any of them is rendered.<p>
+     * 
+     * The resources of all elements and of their formatters are read with a single bulk read, 
+     * elements which can not be initialized are logged and left out of the result.
+     * The time spent is added to the {@link #ATTR_ELEMENT_RESOLUTION_TIME} request attribute.<p>
+     * 
+     * @param cms the CMS context 
+     * @param elements the container elements to resolve
+     * @param resources the map to which the read element and formatter resources are added, by structure id
+     * 
+     * @return the successfully initialized elements, in their original order
+     */
+    private List<CmsContainerElementBean> resolveElements(
+        CmsObject cms,
+        List<CmsContainerElementBean> elements,
+        Map<CmsUUID, CmsResource> resources) {
+
+        long start = System.currentTimeMillis();
+        boolean isOnline = cms.getRequestContext().getCurrentProject().isOnlineProject();
+        Set<CmsUUID> ids = new HashSet<CmsUUID>();
+        for (CmsContainerElementBean element : elements) {
+            if (element.getId() != null) {
+                ids.add(element.getId());
+            }
+            if (element.getFormatterId() != null) {
+                ids.add(element.getFormatterId());
+            }
+        }
+        if (!ids.isEmpty()) {
+            try {
+                for (CmsResource resource : cms.readResources(ids, isOnline
+                ? CmsResourceFilter.DEFAULT
+                : CmsResourceFilter.IGNORE_EXPIRATION)) {
+                    resources.put(resource.getStructureId(), resource);
+                }
+            } catch (CmsException e) {
+                // the elements will read their resources one by one
+                LOG.warn(e.getLocalizedMessage(), e);
+            }
+        }
+        List<CmsContainerElementBean> result = new ArrayList<CmsContainerElementBean>(elements.size());
+        for (CmsContainerElementBean element : elements) {
+            try {
+                element.initResource(cms, resources.get(element.getId()));
+                result.add(element);
+            } catch (CmsException e) {
+                if (LOG.isErrorEnabled()) {
+                    LOG.error(e.getLocalizedMessage(), e);
+                }
+            }
+        }
+        long time = System.currentTimeMillis() - start;
+        ServletRequest req = pageContext.getRequest();
+        Long totalTime = (Long)req.getAttribute(ATTR_ELEMENT_RESOLUTION_TIME);
+        req.setAttribute(ATTR_ELEMENT_RESOLUTION_TIME, new Long(
+            (totalTime != null ? totalTime.longValue() : 0) + time));
+        if (LOG.isDebugEnabled()) {
+            LOG.debug(Messages.get().getBundle().key(
+                Messages.LOG_CONTAINER_ELEMENTS_RESOLVED_4,
+                new Object[] {
+                    new Integer(result.size()),
+                    getName(),
+                    cms.getRequestContext().getUri(),
+                    new Long(time)}));
+        }
+        return result;
+    }
+
     /**
      * Helper method to determine whether an element should be shown in a context.<p>
      * 
@@ -172,6 +172,9 @@ public final class Messages extends A_CmsMessageBundle {
     /** Message constant for key in the resource bundle. */
     public static final String GUI_TAG_USER_ADDITIONALINFO_0 = "GUI_TAG_USER_ADDITIONALINFO_0";
 
+    /** Message constant for key in the resource bundle. */
+    public static final String LOG_CONTAINER_ELEMENTS_RESOLVED_4 = "LOG_CONTAINER_ELEMENTS_RESOLVED_4";
+
     /** Message constant for key in the resource bundle. */
     public static final String LOG_CONTAINER_NOT_FOUND_3 = "LOG_CONTAINER_NOT_FOUND_3";
 
@@ -39,7 +39,13 @@ import org.opencms.util.CmsRequestUtil;
 import org.opencms.util.CmsStringUtil;
 import org.opencms.workplace.CmsWorkplaceManager;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.Iterator;
 import java.util.Locale;
 
@@ -236,6 +242,109 @@ public class CmsDumpLoader implements I_CmsResourceLoader {
         res.setStatus(HttpServletResponse.SC_OK);
         // set content length header
         res.setContentLength(file.getContents().length);
+        // set last modified and caching headers
+        setCacheHeaders(file, req, res);
+
+        service(cms, file, req, res);
+    }
+
+    /**
+     * @see org.opencms.loader.I_CmsResourceLoader#service(org.opencms.file.CmsObject, org.opencms.file.CmsResource, javax.servlet.ServletRequest, javax.servlet.ServletResponse)
+     */
+    public void service(CmsObject cms, CmsResource resource, ServletRequest req, ServletResponse res)
+    throws CmsException, IOException {
+
+        res.getOutputStream().write(cms.readFile(resource).getContents());
+    }
+
+    /**
+     * Delivers the content of the given RFS file as the content of the given VFS resource.<p>
+     * 
+     * The content is transferred directly from the file to the response output 
+     * using a {@link FileChannel}, without reading it into memory first. 
+     * A single HTTP byte range (<code>Range: bytes=x-y</code>) is supported, 
+     * optionally guarded by an <code>If-Range</code> date. 
+     * Multiple ranges are not supported, in this case the complete content is delivered.<p>
+     * 
+     * It is up to the caller to make sure the RFS file is actually an up to date 
+     * representation of the VFS resource, e.g. by using a name based disk cache.<p>
+     * 
+     * @param resource the VFS resource that is delivered
+     * @param rfsFile the RFS file that contains the content to deliver
+     * @param req the current request
+     * @param res the current response
+     * 
+     * @throws FileNotFoundException if the RFS file does not exist, in this case nothing has been written to the response
+     * @throws IOException in case of errors reading the file or writing the response
+     */
+    protected void loadRfsFile(CmsResource resource, File rfsFile, HttpServletRequest req, HttpServletResponse res)
+    throws FileNotFoundException, IOException {
+
+        FileInputStream in = new FileInputStream(rfsFile);
+        try {
+            FileChannel channel = in.getChannel();
+            long fileLength = channel.size();
+            long[] range = getRequestedRange(resource, req, fileLength);
+            if ((range != null) && (range.length == 0)) {
+                // the requested range can not be satisfied
+                res.setHeader(CmsRequestUtil.HEADER_CONTENT_RANGE, CmsRequestUtil.HEADER_VALUE_BYTES
+                    + " */"
+                    + fileLength);
+                res.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            long start = 0;
+            long length = fileLength;
+            if (range != null) {
+                start = range[0];
+                length = (range[1] - range[0]) + 1;
+                // set response status to "206 - partial content"
+                res.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                res.setHeader(CmsRequestUtil.HEADER_CONTENT_RANGE, CmsRequestUtil.HEADER_VALUE_BYTES
+                    + " "
+                    + range[0]
+                    + "-"
+                    + range[1]
+                    + "/"
+                    + fileLength);
+            } else {
+                // set response status to "200 - OK" (required for static export "on-demand")
+                res.setStatus(HttpServletResponse.SC_OK);
+            }
+            res.setHeader(CmsRequestUtil.HEADER_ACCEPT_RANGES, CmsRequestUtil.HEADER_VALUE_BYTES);
+            // set content length header
+            if (length <= Integer.MAX_VALUE) {
+                res.setContentLength((int)length);
+            }
+            // set last modified and caching headers
+            setCacheHeaders(resource, req, res);
+
+            // transfer the content, the channel may transfer less bytes than requested in one call
+            WritableByteChannel out = Channels.newChannel(res.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long count = channel.transferTo(position, remaining, out);
+                if (count <= 0) {
+                    break;
+                }
+                position += count;
+                remaining -= count;
+            }
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Sets the "Last-Modified" and "Expires" headers for the given resource in the response,
+     * or the "no cache" headers in case the request was issued by a Workplace user.<p>
+     * 
+     * @param resource the resource that is delivered
+     * @param req the current request
+     * @param res the current response
+     */
+    protected void setCacheHeaders(CmsResource resource, HttpServletRequest req, HttpServletResponse res) {
 
         if (CmsWorkplaceManager.isWorkplaceUser(req)) {
             // prevent caching for Workplace users
@@ -243,7 +352,7 @@ public class CmsDumpLoader implements I_CmsResourceLoader {
             CmsRequestUtil.setNoCacheHeaders(res);
         } else {
             // set date last modified header
-            res.setDateHeader(CmsRequestUtil.HEADER_LAST_MODIFIED, file.getDateLastModified());
+            res.setDateHeader(CmsRequestUtil.HEADER_LAST_MODIFIED, resource.getDateLastModified());
 
             // set "Expires" only if cache control is not already set
             if (!res.containsHeader(CmsRequestUtil.HEADER_CACHE_CONTROL)) {
@@ -256,17 +365,6 @@ public class CmsDumpLoader implements I_CmsResourceLoader {
                 CmsFlexController.setDateExpiresHeader(res, expireTime, m_clientCacheMaxAge);
             }
         }
-
-        service(cms, file, req, res);
-    }
-
-    /**
-     * @see org.opencms.loader.I_CmsResourceLoader#service(org.opencms.file.CmsObject, org.opencms.file.CmsResource, javax.servlet.ServletRequest, javax.servlet.ServletResponse)
-     */
-    public void service(CmsObject cms, CmsResource resource, ServletRequest req, ServletResponse res)
-    throws CmsException, IOException {
-
-        res.getOutputStream().write(cms.readFile(resource).getContents());
     }
 
     /**
@@ -301,4 +399,78 @@ public class CmsDumpLoader implements I_CmsResourceLoader {
         }
         return false;
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the byte range requested with the "Range" header of the given request.<p>
+     * 
+     * The result is <code>null</code> if the complete content has to be delivered, 
+     * this is also the case if multiple ranges are requested or the "If-Range" date 
+     * does not match the date of last modification of the resource. 
+     * An empty array is returned if the requested range can not be satisfied. 
+     * Otherwise the result contains the first and the last byte position of the range (inclusive).<p>
+     * 
+     * @param resource the resource that is delivered
+     * @param req the current request
+     * @param contentLength the length of the content to deliver
+     * 
+     * @return the requested byte range, or <code>null</code> if the complete content is to be delivered
+     */
+    private long[] getRequestedRange(CmsResource resource, HttpServletRequest req, long contentLength) {
+
+        String rangeHeader = req.getHeader(CmsRequestUtil.HEADER_RANGE);
+        if (CmsStringUtil.isEmptyOrWhitespaceOnly(rangeHeader)) {
+            return null;
+        }
+        String ifRange = req.getHeader(CmsRequestUtil.HEADER_IF_RANGE);
+        if (ifRange != null) {
+            // only date validators are supported, since no ETags are generated
+            try {
+                long ifRangeDate = req.getDateHeader(CmsRequestUtil.HEADER_IF_RANGE);
+                if (((resource.getDateLastModified() / 1000) * 1000) != ifRangeDate) {
+                    return null;
+                }
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+        rangeHeader = rangeHeader.trim();
+        String prefix = CmsRequestUtil.HEADER_VALUE_BYTES + "=";
+        if (!rangeHeader.startsWith(prefix) || (rangeHeader.indexOf(',') > -1)) {
+            // unknown unit or multiple ranges, deliver the complete content
+            return null;
+        }
+        String range = rangeHeader.substring(prefix.length()).trim();
+        int dash = range.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        long start;
+        long end;
+        try {
+            String startValue = range.substring(0, dash).trim();
+            String endValue = range.substring(dash + 1).trim();
+            if (startValue.length() == 0) {
+                // suffix range, e.g. "bytes=-500" for the last 500 bytes
+                long suffix = Long.parseLong(endValue);
+                if (suffix <= 0) {
+                    return new long[0];
+                }
+                start = Math.max(0, contentLength - suffix);
+                end = contentLength - 1;
+            } else {
+                start = Long.parseLong(startValue);
+                end = (endValue.length() == 0) ? contentLength - 1 : Long.parseLong(endValue);
+            }
+        } catch (NumberFormatException e) {
+            // invalid range syntax is ignored
+            return null;
+        }
+        if (end < start) {
+            return null;
+        }
+        if (start >= contentLength) {
+            return new long[0];
+        }
+        return new long[] {start, Math.min(end, contentLength - 1)};
+    }
+}
@@ -40,6 +40,8 @@ import org.opencms.main.OpenCms;
 import org.opencms.scheduler.jobs.CmsImageCacheCleanupJob;
 import org.opencms.util.CmsStringUtil;
 
+import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.Map;
 
@@ -309,6 +311,20 @@ public class CmsImageLoader extends CmsDumpLoader implements I_CmsEventListener
             }
             // get the scale information from the request
             CmsImageScaler scaler = new CmsImageScaler(req, m_maxScaleSize, m_maxBlurSize);
+            if (!(resource instanceof CmsFile)) {
+                // the content of the file is not required (which it would be e.g. for static export), 
+                // so a cached version can be streamed directly from the disk 
+                File cacheFile = m_vfsDiskCache.getCacheFile(getCacheName(resource, scaler));
+                if (cacheFile != null) {
+                    try {
+                        loadRfsFile(resource, cacheFile, req, res);
+                        return;
+                    } catch (FileNotFoundException e) {
+                        // the cached file has been removed after the lookup, e.g. by the image cache cleanup job
+                        LOG.debug(e.getLocalizedMessage(), e);
+                    }
+                }
+            }
             // load the file from the cache
             CmsFile file = getScaledImage(cms, resource, scaler);
             // now perform standard load operation inherited from dump loader
@@ -319,6 +335,20 @@ public class CmsImageLoader extends CmsDumpLoader implements I_CmsEventListener
         }
     }
 
+    /**
+     * Returns the RFS name of the disk cache file for the given image resource and scaler.<p>
+     * 
+     * @param resource the base VFS resource for the image
+     * @param scaler the configured image scaler
+     * 
+     * @return the RFS name of the disk cache file
+     */
+    protected String getCacheName(CmsResource resource, CmsImageScaler scaler) {
+
+        String cacheParam = scaler.isValid() ? scaler.toString() : null;
+        return m_vfsDiskCache.getCacheName(resource, cacheParam);
+    }
+
     /**
      * Returns a scaled version of the given OpenCms VFS image resource.<p>
      * 
@@ -338,8 +368,7 @@ public class CmsImageLoader extends CmsDumpLoader implements I_CmsEventListener
     protected CmsFile getScaledImage(CmsObject cms, CmsResource resource, CmsImageScaler scaler)
     throws IOException, CmsException {
 
-        String cacheParam = scaler.isValid() ? scaler.toString() : null;
-        String cacheName = m_vfsDiskCache.getCacheName(resource, cacheParam);
+        String cacheName = getCacheName(resource, scaler);
         byte[] content = m_vfsDiskCache.getCacheContent(cacheName);
 
         CmsFile file;
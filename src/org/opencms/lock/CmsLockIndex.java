@@ -0,0 +1,269 @@
+/*
+ * This library is part of OpenCms -
+ * the Open Source Content Management System
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software GmbH, please see the
+ * company website: http://www.alkacon.com
+ *
+ * For further information about OpenCms, please see the
+ * project website: http://www.opencms.org
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.opencms.lock;
+
+import org.opencms.util.CmsUUID;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * In-memory index of all locks, used by the memory monitor as lock cache.<p>
+ * 
+ * Besides the lookup of a lock by the root path of the locked resource, the index keeps
+ * the locked paths sorted, so that all locks in a sub-tree can be found without iterating 
+ * over all locks in the system. Additionally the paths of system locks and the number of 
+ * locks per project are maintained.<p>
+ * 
+ * Since the locks are modified in-place by the lock manager when a related lock is set or removed,
+ * a modified lock has to be put into the index again to keep the secondary indexes up to date.<p>
+ * 
+ * All methods are synchronized.<p>
+ * 
+ * @since 9.0.0
+ */
+public final class CmsLockIndex {
+
+    /** The locks by root path. */
+    private Map<String, CmsLock> m_locks;
+
+    /** The unmodifiable view on the locks by root path. */
+    private Map<String, CmsLock> m_locksView;
+
+    /** The sorted root paths of all locks. */
+    private TreeSet<String> m_paths;
+
+    /** The number of locks by the id of the project of the edition lock. */
+    private Map<CmsUUID, Integer> m_projectCounts;
+
+    /** The project ids the locks have been counted for, by root path. */
+    private Map<String, CmsUUID> m_projectIds;
+
+    /** The sorted root paths of all system locks. */
+    private TreeSet<String> m_systemLockPaths;
+
+    /**
+     * Creates a new, empty lock index.<p>
+     */
+    public CmsLockIndex() {
+
+        m_locks = new HashMap<String, CmsLock>();
+        m_locksView = Collections.unmodifiableMap(m_locks);
+        m_paths = new TreeSet<String>();
+        m_projectCounts = new HashMap<CmsUUID, Integer>();
+        m_projectIds = new HashMap<String, CmsUUID>();
+        m_systemLockPaths = new TreeSet<String>();
+    }
+
+    /**
+     * Removes all locks from the index.<p>
+     */
+    public synchronized void clear() {
+
+        m_locks.clear();
+        m_paths.clear();
+        m_projectCounts.clear();
+        m_projectIds.clear();
+        m_systemLockPaths.clear();
+    }
+
+    /**
+     * Returns the number of locks with an edition lock in the given project.<p>
+     * 
+     * @param projectId the project id
+     * 
+     * @return the number of locks with an edition lock in the given project
+     */
+    public synchronized int countLocksInProject(CmsUUID projectId) {
+
+        Integer count = m_projectCounts.get(projectId);
+        return count == null ? 0 : count.intValue();
+    }
+
+    /**
+     * Returns the lock of the resource with the given root path.<p>
+     * 
+     * @param rootPath the root path of the resource
+     * 
+     * @return the lock, or <code>null</code> if the resource is not locked
+     */
+    public synchronized CmsLock get(String rootPath) {
+
+        return m_locks.get(rootPath);
+    }
+
+    /**
+     * Returns an unmodifiable view on the locks by root path, used for monitoring.<p>
+     * 
+     * @return an unmodifiable view on the locks by root path
+     */
+    public Map<String, CmsLock> getLockMap() {
+
+        return m_locksView;
+    }
+
+    /**
+     * Returns a copy of all locks.<p>
+     * 
+     * @return a list of all locks
+     */
+    public synchronized List<CmsLock> getLocks() {
+
+        return new ArrayList<CmsLock>(m_locks.values());
+    }
+
+    /**
+     * Returns all locks with a root path starting with the given path.<p>
+     * 
+     * For a folder, this returns the lock of the folder itself and all locks of resources in the sub-tree.<p>
+     * 
+     * @param rootPath the root path to get the locks for
+     * 
+     * @return a list of locks
+     */
+    public synchronized List<CmsLock> getLocks(String rootPath) {
+
+        List<CmsLock> result = new ArrayList<CmsLock>();
+        Iterator<String> itPaths = m_paths.tailSet(rootPath).iterator();
+        while (itPaths.hasNext()) {
+            String path = itPaths.next();
+            if (!path.startsWith(rootPath)) {
+                break;
+            }
+            result.add(m_locks.get(path));
+        }
+        return result;
+    }
+
+    /**
+     * Returns a copy of the root paths of all locks.<p>
+     * 
+     * @return a list of root paths
+     */
+    public synchronized List<String> getPaths() {
+
+        return new ArrayList<String>(m_locks.keySet());
+    }
+
+    /**
+     * Checks if there is a system lock on a resource with a root path starting with the given path.<p>
+     * 
+     * @param rootPath the root path to check
+     * 
+     * @return <code>true</code> if there is a system lock on the given path or in the sub-tree
+     */
+    public synchronized boolean hasSystemLocks(String rootPath) {
+
+        String path = m_systemLockPaths.ceiling(rootPath);
+        return (path != null) && path.startsWith(rootPath);
+    }
+
+    /**
+     * Adds the given lock to the index, replacing a previous lock of the same resource.<p>
+     * 
+     * @param lock the lock to add
+     */
+    public synchronized void put(CmsLock lock) {
+
+        String path = lock.getResourceName();
+        removeFromIndexes(path);
+        m_locks.put(path, lock);
+        m_paths.add(path);
+        if (!lock.getSystemLock().isUnlocked()) {
+            m_systemLockPaths.add(path);
+        }
+        CmsUUID projectId = lock.getEditionLock().getProjectId();
+        if (projectId != null) {
+            m_projectIds.put(path, projectId);
+            Integer count = m_projectCounts.get(projectId);
+            m_projectCounts.put(projectId, new Integer(count == null ? 1 : count.intValue() + 1));
+        }
+    }
+
+    /**
+     * Removes the lock of the resource with the given root path.<p>
+     * 
+     * @param rootPath the root path of the resource
+     * 
+     * @return the removed lock, or <code>null</code> if the resource was not locked
+     */
+    public synchronized CmsLock remove(String rootPath) {
+
+        removeFromIndexes(rootPath);
+        return m_locks.remove(rootPath);
+    }
+
+    /**
+     * Replaces all locks in the index with the given locks.<p>
+     * 
+     * @param locks the new locks by root path
+     */
+    public synchronized void replace(Map<String, CmsLock> locks) {
+
+        clear();
+        Iterator<CmsLock> itLocks = locks.values().iterator();
+        while (itLocks.hasNext()) {
+            put(itLocks.next());
+        }
+    }
+
+    /**
+     * Returns the number of locks.<p>
+     * 
+     * @return the number of locks
+     */
+    public synchronized int size() {
+
+        return m_locks.size();
+    }
+
+    /**
+     * Removes the given root path from the secondary indexes.<p>
+     * 
+     * @param rootPath the root path
+     */
+    private void removeFromIndexes(String rootPath) {
+
+        m_paths.remove(rootPath);
+        m_systemLockPaths.remove(rootPath);
+        CmsUUID projectId = m_projectIds.remove(rootPath);
+        if (projectId != null) {
+            Integer count = m_projectCounts.get(projectId);
+            if ((count == null) || (count.intValue() <= 1)) {
+                m_projectCounts.remove(projectId);
+            } else {
+                m_projectCounts.put(projectId, new Integer(count.intValue() - 1));
+            }
+        }
+    }
+}
@@ -43,9 +43,11 @@ import org.opencms.util.CmsUUID;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * The CmsLockManager is used by the Cms application to detect 
@@ -62,11 +64,17 @@ import java.util.Map;
  */
 public final class CmsLockManager {
 
+    /** The maximal number of changed resources for which the locks are written incrementally. */
+    private static final int MAX_INCREMENTAL_LOCK_WRITES = 5000;
+
+    /** The root paths of the resources with changed locks since the locks have been written to the db. */
+    private Set<String> m_changedPaths;
+
     /** The driver manager instance. */
     private CmsDriverManager m_driverManager;
 
-    /** The flag to indicate if the locks should be written to the db. */
-    private boolean m_isDirty;
+    /** The flag to indicate if all locks have to be written to the db, not only the changed ones. */
+    private boolean m_isFullWriteRequired;
 
     /** The flag to indicate if the lock manager has been started in run level 4. */
     private boolean m_runningInServlet;
@@ -79,6 +87,7 @@ public final class CmsLockManager {
     public CmsLockManager(CmsDriverManager driverManager) {
 
         m_driverManager = driverManager;
+        m_changedPaths = new HashSet<String>();
     }
 
     /**
@@ -126,7 +135,7 @@ public final class CmsLockManager {
         // handle collisions with exclusive locked sub-resources in case of a folder
         if (resource.isFolder() && newLock.getSystemLock().isUnlocked()) {
             String resourceName = resource.getRootPath();
-            Iterator<CmsLock> itLocks = OpenCms.getMemoryMonitor().getAllCachedLocks().iterator();
+            Iterator<CmsLock> itLocks = OpenCms.getMemoryMonitor().getCachedLocks(resourceName).iterator();
             while (itLocks.hasNext()) {
                 CmsLock lock = itLocks.next();
                 String lockedPath = lock.getResourceName();
@@ -146,15 +155,7 @@ public final class CmsLockManager {
      */
     public int countExclusiveLocksInProject(CmsProject project) {
 
-        int count = 0;
-        Iterator<CmsLock> itLocks = OpenCms.getMemoryMonitor().getAllCachedLocks().iterator();
-        while (itLocks.hasNext()) {
-            CmsLock lock = itLocks.next();
-            if (lock.getEditionLock().isInProject(project)) {
-                count++;
-            }
-        }
-        return count;
+        return OpenCms.getMemoryMonitor().getCachedLockCount(project.getUuid());
     }
 
     /**
@@ -231,7 +232,7 @@ public final class CmsLockManager {
     throws CmsException {
 
         List<CmsResource> lockedResources = new ArrayList<CmsResource>();
-        Iterator<CmsLock> itLocks = OpenCms.getMemoryMonitor().getAllCachedLocks().iterator();
+        Iterator<CmsLock> itLocks = getCandidateLocks(resource.getRootPath(), filter).iterator();
         while (itLocks.hasNext()) {
             CmsLock lock = itLocks.next();
             CmsResource lockedResource;
@@ -243,7 +244,7 @@ public final class CmsLockManager {
             try {
                 lockedResource = m_driverManager.readResource(dbc, lock.getResourceName(), CmsResourceFilter.ALL);
             } catch (CmsVfsResourceNotFoundException e) {
-                OpenCms.getMemoryMonitor().uncacheLock(lock.getResourceName());
+                uncacheLock(lock.getResourceName());
                 continue;
             }
             if (filter.isSharedExclusive() && (lockedResource.getSiblingCount() > 1)) {
@@ -283,7 +284,7 @@ public final class CmsLockManager {
         Map<String, CmsResource> cache) throws CmsException {
 
         List<CmsResource> lockedResources = new ArrayList<CmsResource>();
-        Iterator<CmsLock> itLocks = OpenCms.getMemoryMonitor().getAllCachedLocks().iterator();
+        Iterator<CmsLock> itLocks = getCandidateLocks(resource.getRootPath(), filter).iterator();
         while (itLocks.hasNext()) {
             CmsLock lock = itLocks.next();
             CmsResource lockedResource;
@@ -298,7 +299,7 @@ public final class CmsLockManager {
                     lockedResource = m_driverManager.readResource(dbc, lock.getResourceName(), CmsResourceFilter.ALL);
                     cache.put(lock.getResourceName(), lockedResource);
                 } catch (CmsVfsResourceNotFoundException e) {
-                    OpenCms.getMemoryMonitor().uncacheLock(lock.getResourceName());
+                    uncacheLock(lock.getResourceName());
                     // we put a dummy resource object in the map so we won't need to read the nonexistent resource again 
                     CmsResource dummy = new CmsResource(
                         null,
@@ -358,7 +359,7 @@ public final class CmsLockManager {
     public List<CmsLock> getLocks(CmsDbContext dbc, String resourceName, CmsLockFilter filter) throws CmsException {
 
         List<CmsLock> locks = new ArrayList<CmsLock>();
-        Iterator<CmsLock> itLocks = OpenCms.getMemoryMonitor().getAllCachedLocks().iterator();
+        Iterator<CmsLock> itLocks = getCandidateLocks(resourceName, filter).iterator();
         while (itLocks.hasNext()) {
             CmsLock lock = itLocks.next();
             if (filter.isSharedExclusive()) {
@@ -366,7 +367,7 @@ public final class CmsLockManager {
                 try {
                     resource = m_driverManager.readResource(dbc, lock.getResourceName(), CmsResourceFilter.ALL);
                 } catch (CmsVfsResourceNotFoundException e) {
-                    OpenCms.getMemoryMonitor().uncacheLock(lock.getResourceName());
+                    uncacheLock(lock.getResourceName());
                     continue;
                 }
                 if (resource.getSiblingCount() > 1) {
@@ -404,43 +405,7 @@ public final class CmsLockManager {
         if (resource == null) {
             return false;
         }
-        Iterator<CmsLock> itLocks = OpenCms.getMemoryMonitor().getAllCachedLocks().iterator();
-        while (itLocks.hasNext()) {
-            CmsLock lock = itLocks.next();
-            if (lock.getSystemLock().isUnlocked()) {
-                // only system locks matter here
-                continue;
-            }
-            if (lock.getResourceName().startsWith(resource.getRootPath())) {
-                if (lock.getResourceName().startsWith(resource.getRootPath())) {
-                    return true;
-                }
-                try {
-                    resource = m_driverManager.readResource(dbc, lock.getResourceName(), CmsResourceFilter.ALL);
-                } catch (CmsVfsResourceNotFoundException e) {
-                    OpenCms.getMemoryMonitor().uncacheLock(lock.getResourceName());
-                    continue;
-                }
-                CmsResource lockedResource;
-                try {
-                    lockedResource = m_driverManager.readResource(dbc, lock.getResourceName(), CmsResourceFilter.ALL);
-                } catch (CmsVfsResourceNotFoundException e) {
-                    OpenCms.getMemoryMonitor().uncacheLock(lock.getResourceName());
-                    continue;
-                }
-                if (lockedResource.getSiblingCount() > 1) {
-                    Iterator<CmsResource> itSiblings = internalReadSiblings(dbc, lockedResource).iterator();
-                    while (itSiblings.hasNext()) {
-                        CmsResource sibling = itSiblings.next();
-                        CmsLock siblingLock = internalSiblingLock(lock, sibling.getRootPath());
-                        if (siblingLock.getResourceName().startsWith(resource.getRootPath())) {
-                            return true;
-                        }
-                    }
-                }
-            }
-        }
-        return false;
+        return OpenCms.getMemoryMonitor().hasCachedSystemLocks(resource.getRootPath());
     }
 
     /**
@@ -453,14 +418,14 @@ public final class CmsLockManager {
 
         CmsLock lock = OpenCms.getMemoryMonitor().getCachedLock(source);
         if (lock != null) {
-            OpenCms.getMemoryMonitor().uncacheLock(lock.getResourceName());
+            uncacheLock(lock.getResourceName());
             CmsLock newLock = new CmsLock(destination, lock.getUserId(), lock.getProject(), lock.getType());
             lock = lock.getRelatedLock();
             if ((lock != null) && !lock.isNullLock()) {
                 CmsLock relatedLock = new CmsLock(destination, lock.getUserId(), lock.getProject(), lock.getType());
                 newLock.setRelatedLock(relatedLock);
             }
-            OpenCms.getMemoryMonitor().cacheLock(newLock);
+            cacheLock(newLock);
         }
     }
 
@@ -484,6 +449,11 @@ public final class CmsLockManager {
                 internalLockResource(lock, lockCache);
             }
             OpenCms.getMemoryMonitor().flushLocks(lockCache);
+            synchronized (m_changedPaths) {
+                // the locks read may contain locks that have been dropped, so rewrite all locks once 
+                m_changedPaths.clear();
+                m_isFullWriteRequired = true;
+            }
             m_runningInServlet = true;
         }
     }
@@ -577,7 +547,7 @@ public final class CmsLockManager {
             if (resource.isFolder()) {
                 // in case of a folder, remove any exclusive locks on sub-resources that probably have
                 // been upgraded from an inherited lock when the user edited a resource                
-                Iterator<CmsLock> itLocks = OpenCms.getMemoryMonitor().getAllCachedLocks().iterator();
+                Iterator<CmsLock> itLocks = OpenCms.getMemoryMonitor().getCachedLocks(resourcename).iterator();
                 while (itLocks.hasNext()) {
                     String lockedPath = (itLocks.next()).getResourceName();
                     if (lockedPath.startsWith(resourcename) && !lockedPath.equals(resourcename)) {
@@ -682,7 +652,10 @@ public final class CmsLockManager {
      * Writes the locks that are currently stored in-memory to the database to allow restoring them in 
      * later startups.<p> 
      * 
-     * This overwrites the locks previously stored in the underlying database table.<p>
+     * Only the locks of the resources that have been locked or unlocked since the last call are written, 
+     * replacing the previously stored locks of these resources. If there are too many changes, or 
+     * after the locks have been read at startup, all locks previously stored in the underlying database 
+     * table are overwritten.<p>
      * 
      *  @param dbc the current database context
      *  
@@ -690,16 +663,58 @@ public final class CmsLockManager {
      */
     public void writeLocks(CmsDbContext dbc) throws CmsException {
 
-        if (m_isDirty // only if something changed
-            && m_runningInServlet // only if started in run level 4 
-            && OpenCms.getMemoryMonitor().requiresPersistency()) { // only if persistency is required
-
-            List<CmsLock> locks = OpenCms.getMemoryMonitor().getAllCachedLocks();
-            m_driverManager.getProjectDriver(dbc).writeLocks(dbc, locks);
-            m_isDirty = false;
+        if (!m_runningInServlet // only if started in run level 4 
+            || !OpenCms.getMemoryMonitor().requiresPersistency()) { // only if persistency is required
+            return;
+        }
+        Set<String> changedPaths;
+        boolean fullWrite;
+        synchronized (m_changedPaths) {
+            if (m_changedPaths.isEmpty() && !m_isFullWriteRequired) {
+                // nothing changed
+                return;
+            }
+            changedPaths = new HashSet<String>(m_changedPaths);
+            fullWrite = m_isFullWriteRequired || (changedPaths.size() > MAX_INCREMENTAL_LOCK_WRITES);
+            m_changedPaths.clear();
+            m_isFullWriteRequired = false;
+        }
+        try {
+            if (fullWrite) {
+                List<CmsLock> locks = OpenCms.getMemoryMonitor().getAllCachedLocks();
+                m_driverManager.getProjectDriver(dbc).writeLocks(dbc, locks);
+            } else {
+                List<CmsLock> locks = new ArrayList<CmsLock>(changedPaths.size());
+                Iterator<String> itPaths = changedPaths.iterator();
+                while (itPaths.hasNext()) {
+                    CmsLock lock = getDirectLock(itPaths.next());
+                    if (lock != null) {
+                        locks.add(lock);
+                    }
+                }
+                m_driverManager.getProjectDriver(dbc).writeLocks(dbc, changedPaths, locks);
+            }
+        } catch (CmsException e) {
+            // keep the changes, so that they are written with the next call
+            synchronized (m_changedPaths) {
+                m_changedPaths.addAll(changedPaths);
+                m_isFullWriteRequired |= fullWrite;
+            }
+            throw e;
         }
     }
 
+    /**
+     * Caches the given lock and records the change for writing the locks to the db.<p>
+     * 
+     * @param lock the lock to cache
+     */
+    private void cacheLock(CmsLock lock) {
+
+        recordChange(lock.getResourceName());
+        OpenCms.getMemoryMonitor().cacheLock(lock);
+    }
+
     /**
      * Checks if the given resource is lockable by the given user/project/lock type.<p> 
      * 
@@ -746,6 +761,42 @@ public final class CmsLockManager {
         }
     }
 
+    /**
+     * Returns the locks that may match the given filter for the given root path.<p>
+     * 
+     * Unless the filter includes shared locks, which requires to look at the siblings of all 
+     * locked resources, only the locks of the sub-tree and of the parent folders are returned 
+     * as requested by the filter, avoiding to iterate over all locks in the system.<p>
+     * 
+     * @param rootPath the root path to get the locks for
+     * @param filter the lock filter
+     * 
+     * @return the locks that may match the given filter
+     */
+    private List<CmsLock> getCandidateLocks(String rootPath, CmsLockFilter filter) {
+
+        if (filter.isSharedExclusive()) {
+            return OpenCms.getMemoryMonitor().getAllCachedLocks();
+        }
+        List<CmsLock> locks;
+        if (filter.isIncludeChildren()) {
+            locks = OpenCms.getMemoryMonitor().getCachedLocks(rootPath);
+        } else {
+            locks = new ArrayList<CmsLock>();
+        }
+        if (filter.isIncludeParent()) {
+            String path = filter.isIncludeChildren() ? CmsResource.getParentFolder(rootPath) : rootPath;
+            while (path != null) {
+                CmsLock lock = getDirectLock(path);
+                if (lock != null) {
+                    locks.add(lock);
+                }
+                path = CmsResource.getParentFolder(path);
+            }
+        }
+        return locks;
+    }
+
     /**
      * Returns the direct lock of a resource.<p>
      * 
@@ -767,12 +818,11 @@ public final class CmsLockManager {
      */
     private CmsLock getParentFolderLock(String resourceName) {
 
-        Iterator<CmsLock> itLocks = OpenCms.getMemoryMonitor().getAllCachedLocks().iterator();
-        while (itLocks.hasNext()) {
-            CmsLock lock = itLocks.next();
-            if (lock.getResourceName().endsWith("/")
-                && resourceName.startsWith(lock.getResourceName())
-                && !resourceName.equals(lock.getResourceName())) {
+        // only the parent folders can be locked, so look them up directly instead of iterating all locks
+        String parentFolder = CmsResource.getParentFolder(resourceName);
+        while (parentFolder != null) {
+            CmsLock lock = getDirectLock(parentFolder);
+            if (lock != null) {
                 // system locks does not get inherited
                 lock = lock.getEditionLock();
                 // check the lock
@@ -780,6 +830,7 @@ public final class CmsLockManager {
                     return lock;
                 }
             }
+            parentFolder = CmsResource.getParentFolder(parentFolder);
         }
         return CmsLock.getNullLock();
     }
@@ -849,12 +900,16 @@ public final class CmsLockManager {
             if (!currentLock.getSystemLock().isUnlocked() && lock.getSystemLock().isUnlocked()) {
                 lock.setRelatedLock(currentLock);
                 if (locks == null) {
-                    OpenCms.getMemoryMonitor().cacheLock(lock);
+                    cacheLock(lock);
                 } else {
                     locks.put(lock.getResourceName(), lock);
                 }
             } else if (currentLock.getSystemLock().isUnlocked() && !lock.getSystemLock().isUnlocked()) {
                 currentLock.setRelatedLock(lock);
+                if (locks == null) {
+                    // cache the modified lock again to update the lock index
+                    cacheLock(currentLock);
+                }
             } else {
                 throw new CmsLockException(Messages.get().container(
                     Messages.ERR_LOCK_ILLEGAL_STATE_2,
@@ -863,7 +918,7 @@ public final class CmsLockManager {
             }
         } else {
             if (locks == null) {
-                OpenCms.getMemoryMonitor().cacheLock(lock);
+                cacheLock(lock);
             } else {
                 locks.put(lock.getResourceName(), lock);
             }
@@ -944,10 +999,40 @@ public final class CmsLockManager {
      */
     private void lockResource(CmsLock lock) throws CmsLockException {
 
-        m_isDirty = true;
         internalLockResource(lock, null);
     }
 
+    /**
+     * Records that the lock of the resource with the given root path has changed.<p>
+     * 
+     * @param rootPath the root path of the resource
+     */
+    private void recordChange(String rootPath) {
+
+        synchronized (m_changedPaths) {
+            if (!m_isFullWriteRequired) {
+                m_changedPaths.add(rootPath);
+                if (m_changedPaths.size() > MAX_INCREMENTAL_LOCK_WRITES) {
+                    // too many changes, write all locks next time
+                    m_changedPaths.clear();
+                    m_isFullWriteRequired = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the cached lock of the resource with the given root path and records the change 
+     * for writing the locks to the db.<p>
+     * 
+     * @param rootPath the root path of the resource
+     */
+    private void uncacheLock(String rootPath) {
+
+        recordChange(rootPath);
+        OpenCms.getMemoryMonitor().uncacheLock(rootPath);
+    }
+
     /**
      * Unlocks the the resource with the given name.<p>
      * 
@@ -959,8 +1044,6 @@ public final class CmsLockManager {
      */
     private CmsLock unlockResource(String resourceName, boolean systemLocks) {
 
-        m_isDirty = true;
-
         // get the current lock
         CmsLock lock = OpenCms.getMemoryMonitor().getCachedLock(resourceName);
         if (lock == null) {
@@ -972,7 +1055,7 @@ public final class CmsLockManager {
             if (!lock.getSystemLock().isUnlocked()) {
                 // if a system lock has to be removed
                 // user locks are removed too
-                OpenCms.getMemoryMonitor().uncacheLock(resourceName);
+                uncacheLock(resourceName);
                 return lock;
             } else {
                 // if it is a edition lock, do nothing
@@ -981,7 +1064,7 @@ public final class CmsLockManager {
         } else {
             if (lock.getSystemLock().isUnlocked()) {
                 // if it is just an edition lock just remove it
-                OpenCms.getMemoryMonitor().uncacheLock(resourceName);
+                uncacheLock(resourceName);
                 return lock;
             } else {
                 // if it is a system lock check the edition lock
@@ -990,10 +1073,8 @@ public final class CmsLockManager {
                     CmsLock tmp = lock.getEditionLock();
                     CmsLock sysLock = lock.getSystemLock();
                     sysLock.setRelatedLock(null);
-                    if (!sysLock.equals(lock)) {
-                        // replace the lock entry if needed
-                        OpenCms.getMemoryMonitor().cacheLock(sysLock);
-                    }
+                    // replace the lock entry, this is also required to update the lock index
+                    cacheLock(sysLock);
                     return tmp;
                 } else {
                     // if there is no edition lock, only a system lock, do nothing
@@ -0,0 +1,262 @@
+/*
+ * This library is part of OpenCms -
+ * the Open Source Content Management System
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software GmbH, please see the
+ * company website: http://www.alkacon.com
+ *
+ * For further information about OpenCms, please see the
+ * project website: http://www.opencms.org
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.opencms.main;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+
+/**
+ * Central registry for the thread pools used by the OpenCms subsystems for background work.<p>
+ * 
+ * Each pool has a name, a fixed maximum number of threads and a bounded queue. The sizes can be configured 
+ * in <code>opencms-system.xml</code>; pools which are not configured use the default sizes. 
+ * Pools are created when they are first requested.<p>
+ * 
+ * If virtual threads are enabled and the JVM supports them, the pools use virtual threads instead of platform 
+ * threads. The number of concurrently running tasks is still limited by the pool size.<p>
+ * 
+ * The statistics of all pools are written by the memory monitor.<p>
+ * 
+ * @since 9.0.0
+ */
+public class CmsExecutorRegistry {
+
+    /** The default pool size. */
+    public static final int DEFAULT_POOL_SIZE = 4;
+
+    /** The default queue size. */
+    public static final int DEFAULT_QUEUE_SIZE = 1000;
+
+    /** The name of the pool for miscellaneous background tasks. */
+    public static final String POOL_BACKGROUND = "background";
+
+    /** The name of the pool used for reading file contents ahead of the writer during a database export or import. */
+    public static final String POOL_EXPORT = "export";
+
+    /** The name of the pool used for executing scheduled jobs directly. */
+    public static final String POOL_SCHEDULER = "scheduler";
+
+    /** The name of the pool used for sending batched updates to the Solr server. */
+    public static final String POOL_SOLR = "solr";
+
+    /** The name of the pool used for initializing subsystems in parallel during startup. */
+    public static final String POOL_STARTUP = "startup";
+
+    /** The log object for this class. */
+    private static final Log LOG = CmsLog.getLog(CmsExecutorRegistry.class);
+
+    /** The configured pool sizes, as an array of pool size and queue size, by pool name. */
+    private Map<String, int[]> m_configuration = new LinkedHashMap<String, int[]>();
+
+    /** The pools created so far, by name. */
+    private Map<String, CmsInstrumentedExecutor> m_executors = new LinkedHashMap<String, CmsInstrumentedExecutor>();
+
+    /** Flag which indicates whether the registry has been shut down. */
+    private boolean m_shutDown;
+
+    /** Flag which indicates whether virtual threads should be used. */
+    private boolean m_virtualThreads;
+
+    /**
+     * Adds the configuration for a pool.<p>
+     * 
+     * @param name the name of the pool 
+     * @param poolSize the maximum number of threads, if empty the default is used
+     * @param queueSize the capacity of the queue, if empty the default is used  
+     */
+    public void addPoolConfiguration(String name, String poolSize, String queueSize) {
+
+        try {
+            int size = poolSize == null ? DEFAULT_POOL_SIZE : Integer.parseInt(poolSize.trim());
+            int queue = queueSize == null ? DEFAULT_QUEUE_SIZE : Integer.parseInt(queueSize.trim());
+            if ((size < 1) || (queue < 1)) {
+                throw new NumberFormatException();
+            }
+            synchronized (this) {
+                m_configuration.put(name, new int[] {size, queue});
+            }
+        } catch (NumberFormatException e) {
+            LOG.error(Messages.get().getBundle().key(Messages.LOG_EXECUTOR_INVALID_CONFIG_3, name, poolSize, queueSize));
+        }
+    }
+
+    /**
+     * Returns the configured pool sizes, as an array of pool size and queue size, by pool name.<p>
+     * 
+     * @return the configured pool sizes 
+     */
+    public synchronized Map<String, int[]> getConfiguration() {
+
+        return Collections.unmodifiableMap(new LinkedHashMap<String, int[]>(m_configuration));
+    }
+
+    /**
+     * Returns the pool with the given name, creating it if necessary.<p>
+     * 
+     * @param name the name of the pool 
+     * 
+     * @return the pool with the given name 
+     */
+    public synchronized CmsInstrumentedExecutor getExecutor(String name) {
+
+        CmsInstrumentedExecutor executor = m_executors.get(name);
+        if (executor == null) {
+            if (m_shutDown) {
+                throw new IllegalStateException(name);
+            }
+            int[] sizes = m_configuration.get(name);
+            if (sizes == null) {
+                sizes = new int[] {DEFAULT_POOL_SIZE, DEFAULT_QUEUE_SIZE};
+            }
+            ThreadFactory threadFactory = m_virtualThreads ? createVirtualThreadFactory(name) : null;
+            boolean virtual = threadFactory != null;
+            if (!virtual) {
+                threadFactory = createThreadFactory(name);
+            }
+            executor = new CmsInstrumentedExecutor(name, sizes[0], sizes[1], threadFactory);
+            m_executors.put(name, executor);
+            if (LOG.isInfoEnabled()) {
+                LOG.info(Messages.get().getBundle().key(
+                    Messages.LOG_EXECUTOR_CREATED_4,
+                    new Object[] {name, new Integer(sizes[0]), new Integer(sizes[1]), Boolean.valueOf(virtual)}));
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Returns all pools created so far.<p>
+     * 
+     * @return the pools created so far 
+     */
+    public synchronized List<CmsInstrumentedExecutor> getExecutors() {
+
+        return new ArrayList<CmsInstrumentedExecutor>(m_executors.values());
+    }
+
+    /**
+     * Returns true if virtual threads should be used for the pools, if the JVM supports them.<p>
+     * 
+     * @return true if virtual threads should be used
+     */
+    public boolean isVirtualThreads() {
+
+        return m_virtualThreads;
+    }
+
+    /**
+     * Enables or disables the use of virtual threads for pools created afterwards.<p>
+     * 
+     * @param virtualThreads "true" if virtual threads should be used 
+     */
+    public void setVirtualThreads(String virtualThreads) {
+
+        m_virtualThreads = Boolean.valueOf(virtualThreads).booleanValue();
+    }
+
+    /**
+     * Shuts down all pools, waiting a short time for running tasks to finish.<p>
+     */
+    public void shutDown() {
+
+        List<CmsInstrumentedExecutor> executors;
+        synchronized (this) {
+            m_shutDown = true;
+            executors = getExecutors();
+        }
+        for (CmsInstrumentedExecutor executor : executors) {
+            executor.shutdown();
+        }
+        for (CmsInstrumentedExecutor executor : executors) {
+            try {
+                if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+            }
+            if (CmsLog.INIT.isInfoEnabled()) {
+                CmsLog.INIT.info(Messages.get().getBundle().key(Messages.INIT_EXECUTOR_SHUTDOWN_1, executor));
+            }
+        }
+    }
+
+    /**
+     * Creates the factory for the platform threads of a pool.<p>
+     * 
+     * @param name the name of the pool 
+     * 
+     * @return the thread factory
+     */
+    protected ThreadFactory createThreadFactory(final String name) {
+
+        return new ThreadFactory() {
+
+            private AtomicInteger m_count = new AtomicInteger();
+
+            public Thread newThread(Runnable r) {
+
+                Thread thread = new Thread(r, "OpenCms: " + name + "-" + m_count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
+    }
+
+    /**
+     * Creates the factory for the virtual threads of a pool.<p>
+     * 
+     * Since OpenCms is compiled for older Java versions, the virtual thread API is accessed by reflection.<p>
+     * 
+     * @param name the name of the pool 
+     * 
+     * @return the thread factory, or null if the JVM does not support virtual threads 
+     */
+    protected ThreadFactory createVirtualThreadFactory(String name) {
+
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Method nameMethod = builderClass.getMethod("name", String.class, long.class);
+            builder = nameMethod.invoke(builder, "OpenCms: " + name + "-", Long.valueOf(1));
+            return (ThreadFactory)builderClass.getMethod("factory").invoke(builder);
+        } catch (Exception e) {
+            LOG.warn(Messages.get().getBundle().key(Messages.LOG_EXECUTOR_VIRTUAL_THREADS_UNAVAILABLE_1, name));
+            return null;
+        }
+    }
+}
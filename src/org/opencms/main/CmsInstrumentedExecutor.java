@@ -0,0 +1,241 @@
+/*
+ * This library is part of OpenCms -
+ * the Open Source Content Management System
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software GmbH, please see the
+ * company website: http://www.alkacon.com
+ *
+ * For further information about OpenCms, please see the
+ * project website: http://www.opencms.org
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.opencms.main;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded thread pool which keeps statistics about the tasks it executes.<p>
+ * 
+ * The pool uses a fixed number of threads and a queue with a fixed capacity. Tasks submitted while the queue is 
+ * full are rejected with a {@link RejectedExecutionException}.<p>
+ * 
+ * Instances are created by the {@link CmsExecutorRegistry}.<p>
+ * 
+ * @since 9.0.0
+ */
+public class CmsInstrumentedExecutor extends ThreadPoolExecutor {
+
+    /** The number of executed tasks. */
+    private AtomicLong m_executedTasks = new AtomicLong();
+
+    /** The maximum time in nanoseconds a task has waited in the queue. */
+    private AtomicLong m_maxWaitTime = new AtomicLong();
+
+    /** The name of the pool. */
+    private String m_name;
+
+    /** The capacity of the queue. */
+    private int m_queueSize;
+
+    /** The number of rejected tasks. */
+    private AtomicLong m_rejectedTasks = new AtomicLong();
+
+    /** The total run time of the executed tasks in nanoseconds. */
+    private AtomicLong m_totalRunTime = new AtomicLong();
+
+    /** The total time in nanoseconds the executed tasks have waited in the queue. */
+    private AtomicLong m_totalWaitTime = new AtomicLong();
+
+    /**
+     * Creates a new executor.<p>
+     * 
+     * @param name the name of the pool 
+     * @param poolSize the number of threads 
+     * @param queueSize the capacity of the queue 
+     * @param threadFactory the factory used to create the threads 
+     */
+    public CmsInstrumentedExecutor(String name, int poolSize, int queueSize, ThreadFactory threadFactory) {
+
+        super(
+            poolSize,
+            poolSize,
+            60,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<Runnable>(queueSize),
+            threadFactory,
+            new ThreadPoolExecutor.AbortPolicy());
+        // idle threads are released, since most pools are only used occasionally
+        allowCoreThreadTimeOut(true);
+        m_name = name;
+        m_queueSize = queueSize;
+    }
+
+    /**
+     * @see java.util.concurrent.ThreadPoolExecutor#execute(java.lang.Runnable)
+     */
+    @Override
+    public void execute(final Runnable command) {
+
+        final long queued = System.nanoTime();
+        Runnable task = new Runnable() {
+
+            @SuppressWarnings("synthetic-access")
+            public void run() {
+
+                long start = System.nanoTime();
+                long waitTime = start - queued;
+                m_totalWaitTime.addAndGet(waitTime);
+                long maxWaitTime = m_maxWaitTime.get();
+                while ((waitTime > maxWaitTime) && !m_maxWaitTime.compareAndSet(maxWaitTime, waitTime)) {
+                    maxWaitTime = m_maxWaitTime.get();
+                }
+                try {
+                    command.run();
+                } finally {
+                    m_totalRunTime.addAndGet(System.nanoTime() - start);
+                    m_executedTasks.incrementAndGet();
+                }
+            }
+        };
+        try {
+            super.execute(task);
+        } catch (RejectedExecutionException e) {
+            m_rejectedTasks.incrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the average run time of the executed tasks in milliseconds.<p>
+     * 
+     * @return the average run time 
+     */
+    public long getAverageRunTime() {
+
+        long executed = m_executedTasks.get();
+        return executed == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(m_totalRunTime.get() / executed);
+    }
+
+    /**
+     * Returns the average time in milliseconds the executed tasks have waited in the queue.<p>
+     * 
+     * @return the average wait time 
+     */
+    public long getAverageWaitTime() {
+
+        long executed = m_executedTasks.get();
+        return executed == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(m_totalWaitTime.get() / executed);
+    }
+
+    /**
+     * Returns the number of executed tasks.<p>
+     * 
+     * @return the number of executed tasks 
+     */
+    public long getExecutedTaskCount() {
+
+        return m_executedTasks.get();
+    }
+
+    /**
+     * Returns the maximum time in milliseconds a task has waited in the queue.<p>
+     * 
+     * @return the maximum wait time
+     */
+    public long getMaxWaitTime() {
+
+        return TimeUnit.NANOSECONDS.toMillis(m_maxWaitTime.get());
+    }
+
+    /**
+     * Returns the name of the pool.<p>
+     * 
+     * @return the name of the pool 
+     */
+    public String getName() {
+
+        return m_name;
+    }
+
+    /**
+     * Returns the number of tasks currently waiting in the queue.<p>
+     * 
+     * @return the queue depth 
+     */
+    public int getQueueDepth() {
+
+        return getQueue().size();
+    }
+
+    /**
+     * Returns the capacity of the queue.<p>
+     * 
+     * @return the queue capacity 
+     */
+    public int getQueueSize() {
+
+        return m_queueSize;
+    }
+
+    /**
+     * Returns the number of rejected tasks.<p>
+     * 
+     * @return the number of rejected tasks 
+     */
+    public long getRejectedTaskCount() {
+
+        return m_rejectedTasks.get();
+    }
+
+    /**
+     * @see java.util.concurrent.ThreadPoolExecutor#toString()
+     */
+    @Override
+    public String toString() {
+
+        return "["
+            + m_name
+            + ": threads="
+            + getPoolSize()
+            + "/"
+            + getMaximumPoolSize()
+            + ", active="
+            + getActiveCount()
+            + ", queued="
+            + getQueueDepth()
+            + "/"
+            + m_queueSize
+            + ", executed="
+            + getExecutedTaskCount()
+            + ", rejected="
+            + getRejectedTaskCount()
+            + ", avgWait="
+            + getAverageWaitTime()
+            + "ms, maxWait="
+            + getMaxWaitTime()
+            + "ms, avgRun="
+            + getAverageRunTime()
+            + "ms]";
+    }
+}
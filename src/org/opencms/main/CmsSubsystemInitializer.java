@@ -0,0 +1,173 @@
+/*
+ * This library is part of OpenCms -
+ * the Open Source Content Management System
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software GmbH, please see the
+ * company website: http://www.alkacon.com
+ *
+ * For further information about OpenCms, please see the
+ * project website: http://www.opencms.org
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.opencms.main;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Initializes the OpenCms subsystems during startup and reports the time spent for each of them.<p>
+ * 
+ * Subsystems are either initialized directly in the calling thread, which reports the time spent 
+ * with {@link #logInitialized(String, long)}, or as background tasks in the 
+ * {@link CmsExecutorRegistry#POOL_STARTUP} thread pool. A background task may depend on other, 
+ * previously submitted background tasks, in which case it waits for these to complete before it starts. 
+ * All background tasks must be completed with {@link #waitForCompletion()} before the 
+ * initialized subsystems are used.<p>
+ * 
+ * @since 9.0.0
+ */
+public class CmsSubsystemInitializer {
+
+    /** The executor registry used to obtain the thread pool for the background tasks. */
+    private CmsExecutorRegistry m_executorRegistry;
+
+    /** The time the initializer was created. */
+    private long m_startTime;
+
+    /** The background tasks by subsystem name, in the order they were submitted. */
+    private Map<String, Future<?>> m_tasks = new LinkedHashMap<String, Future<?>>();
+
+    /**
+     * Creates a new subsystem initializer.<p>
+     * 
+     * @param executorRegistry the executor registry used to obtain the thread pool for the background tasks
+     */
+    public CmsSubsystemInitializer(CmsExecutorRegistry executorRegistry) {
+
+        m_executorRegistry = executorRegistry;
+        m_startTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Initializes a subsystem in a background thread.<p>
+     * 
+     * If the background thread pool is not available, the subsystem is initialized in the calling thread.<p>
+     * 
+     * @param name the name of the subsystem, used for logging 
+     * @param task the task that initializes the subsystem
+     * @param dependencies the names of the subsystems that have to be initialized before this subsystem, 
+     *      these must have been submitted before 
+     */
+    public synchronized void executeInBackground(final String name, final Callable<?> task, String... dependencies) {
+
+        final List<Future<?>> required = new ArrayList<Future<?>>();
+        for (String dependency : dependencies) {
+            Future<?> future = m_tasks.get(dependency);
+            if (future == null) {
+                throw new IllegalArgumentException(dependency);
+            }
+            required.add(future);
+        }
+        FutureTask<Object> future = new FutureTask<Object>(new Callable<Object>() {
+
+            public Object call() throws Exception {
+
+                for (Future<?> dependency : required) {
+                    dependency.get();
+                }
+                long start = System.currentTimeMillis();
+                Object result = task.call();
+                logInitialized(name, start);
+                return result;
+            }
+        });
+        m_tasks.put(name, future);
+        if (CmsLog.INIT.isInfoEnabled()) {
+            CmsLog.INIT.info(Messages.get().getBundle().key(Messages.INIT_SUBSYSTEM_BACKGROUND_1, name));
+        }
+        try {
+            m_executorRegistry.getExecutor(CmsExecutorRegistry.POOL_STARTUP).execute(future);
+        } catch (RejectedExecutionException e) {
+            future.run();
+        } catch (IllegalStateException e) {
+            // the executor registry has already been shut down
+            future.run();
+        }
+    }
+
+    /**
+     * Logs the time spent for initializing a subsystem.<p>
+     * 
+     * @param name the name of the subsystem 
+     * @param start the time the initialization started, as returned by {@link System#currentTimeMillis()}
+     */
+    public void logInitialized(String name, long start) {
+
+        if (CmsLog.INIT.isInfoEnabled()) {
+            CmsLog.INIT.info(Messages.get().getBundle().key(
+                Messages.INIT_SUBSYSTEM_INITIALIZED_3,
+                name,
+                new Long(System.currentTimeMillis() - start),
+                Thread.currentThread().getName()));
+        }
+    }
+
+    /**
+     * Waits until all background tasks are completed.<p>
+     * 
+     * @throws CmsInitException if one of the background tasks failed or waiting was interrupted 
+     */
+    public void waitForCompletion() throws CmsInitException {
+
+        List<Map.Entry<String, Future<?>>> tasks;
+        synchronized (this) {
+            tasks = new ArrayList<Map.Entry<String, Future<?>>>(m_tasks.entrySet());
+        }
+        for (Map.Entry<String, Future<?>> entry : tasks) {
+            try {
+                entry.getValue().get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof CmsInitException) {
+                    throw (CmsInitException)cause;
+                }
+                throw new CmsInitException(
+                    Messages.get().container(Messages.ERR_CRITICAL_INIT_SUBSYSTEM_1, entry.getKey()),
+                    cause);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CmsInitException(
+                    Messages.get().container(Messages.ERR_CRITICAL_INIT_SUBSYSTEM_1, entry.getKey()),
+                    e);
+            }
+        }
+        if (CmsLog.INIT.isInfoEnabled()) {
+            CmsLog.INIT.info(Messages.get().getBundle().key(
+                Messages.INIT_SUBSYSTEMS_FINISHED_1,
+                new Long(System.currentTimeMillis() - m_startTime)));
+        }
+    }
+}
@@ -87,6 +87,9 @@ public final class Messages extends A_CmsMessageBundle {
     /** Message constant for key in the resource bundle. */
     public static final String ERR_CRITICAL_INIT_SERVLET_0 = "ERR_CRITICAL_INIT_SERVLET_0";
 
+    /** Message constant for key in the resource bundle. */
+    public static final String ERR_CRITICAL_INIT_SUBSYSTEM_1 = "ERR_CRITICAL_INIT_SUBSYSTEM_1";
+
     /** Message constant for key in the resource bundle. */
     public static final String ERR_CRITICAL_INIT_WIZARD_0 = "ERR_CRITICAL_INIT_WIZARD_0";
 
@@ -273,6 +276,9 @@ public final class Messages extends A_CmsMessageBundle {
     /** Message constant for key in the resource bundle. */
     public static final String INIT_ETHERNET_ADDRESS_1 = "INIT_ETHERNET_ADDRESS_1";
 
+    /** Message constant for key in the resource bundle. */
+    public static final String INIT_EXECUTOR_SHUTDOWN_1 = "INIT_EXECUTOR_SHUTDOWN_1";
+
     /** Message constant for key in the resource bundle. */
     public static final String INIT_FILE_ENCODING_1 = "INIT_FILE_ENCODING_1";
 
@@ -333,6 +339,15 @@ public final class Messages extends A_CmsMessageBundle {
     /** Message constant for key in the resource bundle. */
     public static final String INIT_STARTUP_TIME_1 = "INIT_STARTUP_TIME_1";
 
+    /** Message constant for key in the resource bundle. */
+    public static final String INIT_SUBSYSTEMS_FINISHED_1 = "INIT_SUBSYSTEMS_FINISHED_1";
+
+    /** Message constant for key in the resource bundle. */
+    public static final String INIT_SUBSYSTEM_BACKGROUND_1 = "INIT_SUBSYSTEM_BACKGROUND_1";
+
+    /** Message constant for key in the resource bundle. */
+    public static final String INIT_SUBSYSTEM_INITIALIZED_3 = "INIT_SUBSYSTEM_INITIALIZED_3";
+
     /** Message constant for key in the resource bundle. */
     public static final String INIT_SYSTEM_RUNNING_1 = "INIT_SYSTEM_RUNNING_1";
 
@@ -378,6 +393,9 @@ public final class Messages extends A_CmsMessageBundle {
     /** Message constant for key in the resource bundle. */
     public static final String LOG_ERROR_DERIGISTERING_JDBC_DRIVER_1 = "LOG_ERROR_DERIGISTERING_JDBC_DRIVER_1";
 
+    /** Message constant for key in the resource bundle. */
+    public static final String LOG_ERROR_EXECUTOR_SHUTDOWN_1 = "LOG_ERROR_EXECUTOR_SHUTDOWN_1";
+
     /** Message constant for key in the resource bundle. */
     public static final String LOG_ERROR_EXPORT_1 = "LOG_ERROR_EXPORT_1";
 
@@ -426,6 +444,15 @@ public final class Messages extends A_CmsMessageBundle {
     /** Message constant for key in the resource bundle. */
     public static final String LOG_ERROR_WRITING_CONFIG_1 = "LOG_ERROR_WRITING_CONFIG_1";
 
+    /** Message constant for key in the resource bundle. */
+    public static final String LOG_EXECUTOR_CREATED_4 = "LOG_EXECUTOR_CREATED_4";
+
+    /** Message constant for key in the resource bundle. */
+    public static final String LOG_EXECUTOR_INVALID_CONFIG_3 = "LOG_EXECUTOR_INVALID_CONFIG_3";
+
+    /** Message constant for key in the resource bundle. */
+    public static final String LOG_EXECUTOR_VIRTUAL_THREADS_UNAVAILABLE_1 = "LOG_EXECUTOR_VIRTUAL_THREADS_UNAVAILABLE_1";
+
     /** Message constant for key in the resource bundle. */
     public static final String LOG_INIT_CMSOBJECT_IN_HANDLER_2 = "LOG_INIT_CMSOBJECT_IN_HANDLER_2";
 
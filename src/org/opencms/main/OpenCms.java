@@ -36,6 +36,7 @@ import org.opencms.db.CmsSqlManager;
 import org.opencms.db.CmsSubscriptionManager;
 import org.opencms.file.CmsObject;
 import org.opencms.file.CmsResource;
+import org.opencms.gwt.CmsGwtServiceContext;
 import org.opencms.i18n.CmsLocaleManager;
 import org.opencms.importexport.CmsImportExportManager;
 import org.opencms.loader.CmsResourceManager;
@@ -240,6 +241,16 @@ public final class OpenCms {
         return OpenCmsCore.getInstance().getEventManager();
     }
 
+    /**
+     * Returns the registry for the thread pools used for background work.<p>
+     * 
+     * @return the executor registry 
+     */
+    public static CmsExecutorRegistry getExecutorRegistry() {
+
+        return OpenCmsCore.getInstance().getExecutorRegistry();
+    }
+
     /**
      * Returns the configured export points,
      * the returned set being an unmodifiable set.<p>
@@ -251,6 +262,17 @@ public final class OpenCms {
         return OpenCmsCore.getInstance().getExportPoints();
     }
 
+    /**
+     * Returns the contexts of the GWT RPC services that have been called so far, 
+     * which provide the call statistics of the services.<p>
+     * 
+     * @return the GWT RPC service contexts
+     */
+    public static List<CmsGwtServiceContext> getGwtServiceContexts() {
+
+        return OpenCmsCore.getInstance().getGwtServiceContexts();
+    }
+
     /**
      * Returns the initialized import/export manager, 
      * which contains information about how to handle imported resources.<p> 
@@ -51,6 +51,7 @@ import org.opencms.file.CmsProject;
 import org.opencms.file.CmsProperty;
 import org.opencms.file.CmsPropertyDefinition;
 import org.opencms.file.CmsRequestContext;
+import org.opencms.file.CmsRequestReadCache;
 import org.opencms.file.CmsResource;
 import org.opencms.file.CmsUser;
 import org.opencms.file.CmsVfsResourceNotFoundException;
@@ -116,6 +117,8 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.servlet.ServletConfig;
 import javax.servlet.ServletContext;
@@ -189,6 +192,9 @@ public final class OpenCmsCore {
     /** The event manager for the event handling. */
     private CmsEventManager m_eventManager;
 
+    /** The registry for the thread pools. */
+    private CmsExecutorRegistry m_executorRegistry;
+
     /** The set of configured export points. */
     private Set<CmsExportPoint> m_exportPoints;
 
@@ -465,6 +471,16 @@ public final class OpenCmsCore {
         return m_eventManager;
     }
 
+    /**
+     * Returns the registry for the thread pools used for background work.<p>
+     * 
+     * @return the executor registry
+     */
+    protected CmsExecutorRegistry getExecutorRegistry() {
+
+        return m_executorRegistry;
+    }
+
     /**
      * Returns the configured export points,
      * the returned set being an unmodifiable set.<p>
@@ -476,6 +492,16 @@ public final class OpenCmsCore {
         return m_exportPoints;
     }
 
+    /**
+     * Returns the contexts of the GWT RPC services that have been called so far.<p>
+     * 
+     * @return the GWT RPC service contexts
+     */
+    protected List<CmsGwtServiceContext> getGwtServiceContexts() {
+
+        return new ArrayList<CmsGwtServiceContext>(m_gwtServiceContexts.values());
+    }
+
     /**
      * Returns the initialized import/export manager,
      * which contains information about the Cms import/export.<p>
@@ -1086,11 +1112,18 @@ public final class OpenCmsCore {
         }
         m_memoryMonitor.initialize(systemConfiguration);
 
+        // use the configured thread pool settings 
+        m_executorRegistry.shutDown();
+        m_executorRegistry = systemConfiguration.getExecutorRegistry();
+
         // get the event manager from the configuration and initialize it with the events already registered
         CmsEventManager configuredEventManager = systemConfiguration.getEventManager();
         configuredEventManager.initialize(m_eventManager);
         m_eventManager = configuredEventManager;
 
+        // count the events which invalidate the request read caches
+        CmsRequestReadCache.initialize();
+
         // check if the encoding setting is valid
         String setEncoding = systemConfiguration.getDefaultContentEncoding();
         String defaultEncoding = CmsEncoder.lookupEncoding(setEncoding, null);
@@ -1220,11 +1253,14 @@ public final class OpenCmsCore {
         // Credentials resolver - needs to be set before the driver manager is initialized 
         m_credentialsResolver = systemConfiguration.getCredentialsResolver();
 
-        // init the OpenCms security manager
+        // init the OpenCms security manager, this also initializes the driver manager
+        CmsSubsystemInitializer initializer = new CmsSubsystemInitializer(m_executorRegistry);
+        long start = System.currentTimeMillis();
         m_securityManager = CmsSecurityManager.newInstance(
             m_configurationManager,
             systemConfiguration.getRuntimeInfoFactory(),
             m_publishEngine);
+        initializer.logInitialized("security", start);
 
         // get the publish manager
         m_publishManager = systemConfiguration.getPublishManager();
@@ -1262,53 +1298,97 @@ public final class OpenCmsCore {
 
         m_repositoryManager.initializeCms(adminCms);
         // now initialize the other managers
+        final CmsObject initCms = adminCms;
         try {
             // initialize the scheduler
+            start = System.currentTimeMillis();
             m_scheduleManager.initialize(initCmsObject(adminCms));
+            initializer.logInitialized("scheduler", start);
 
             // initialize the locale manager
+            start = System.currentTimeMillis();
             m_localeManager = systemConfiguration.getLocaleManager();
             m_localeManager.initialize(initCmsObject(adminCms));
+            initializer.logInitialized("locales", start);
 
             // initialize the site manager
+            start = System.currentTimeMillis();
             m_siteManager.initialize(initCmsObject(adminCms));
+            initializer.logInitialized("sites", start);
 
             // initialize the static export manager
+            start = System.currentTimeMillis();
             m_staticExportManager.initialize(initCmsObject(adminCms));
+            initializer.logInitialized("staticexport", start);
 
             // initialize the XML content type manager
+            start = System.currentTimeMillis();
             m_xmlContentTypeManager.initialize(initCmsObject(adminCms));
+            initializer.logInitialized("xmlcontent", start);
 
             // initialize the module manager
+            start = System.currentTimeMillis();
             m_moduleManager.initialize(initCmsObject(adminCms), m_configurationManager);
+            initializer.logInitialized("modules", start);
 
             // initialize the resource manager
+            start = System.currentTimeMillis();
             m_resourceManager.initialize(initCmsObject(adminCms));
+            initializer.logInitialized("resources", start);
 
             // initialize the publish manager
+            start = System.currentTimeMillis();
             m_publishManager.setPublishEngine(m_publishEngine);
             m_publishManager.setSecurityManager(m_securityManager);
             m_publishManager.initialize(initCmsObject(adminCms));
+            initializer.logInitialized("publish", start);
+
+            // the following managers only depend on the modules and resource types initialized above, 
+            // they are initialized in the background and completed before the run level is switched 
+            initializer.executeInBackground("search", new Callable<Void>() {
+
+                public Void call() throws Exception {
+
+                    // initialize the search manager, this also starts the Solr cores
+                    m_searchManager.initialize(initCmsObject(initCms));
+                    return null;
+                }
+            });
+            initializer.executeInBackground("vfsbundles", new Callable<Void>() {
 
-            // initialize the search manager
-            m_searchManager.initialize(initCmsObject(adminCms));
+                public Void call() throws Exception {
 
-            CmsVfsBundleManager vfsBundleManager = new CmsVfsBundleManager(adminCms);
-            vfsBundleManager.reload(true);
+                    CmsVfsBundleManager vfsBundleManager = new CmsVfsBundleManager(initCms);
+                    vfsBundleManager.reload(true);
+                    return null;
+                }
+            });
+            // the workplace messages may be read from VFS bundles
+            initializer.executeInBackground("workplace", new Callable<Void>() {
 
-            // initialize the workplace manager
-            m_workplaceManager.initialize(initCmsObject(adminCms));
+                public Void call() throws Exception {
+
+                    // initialize the workplace manager, this reads the explorer type settings
+                    m_workplaceManager.initialize(initCmsObject(initCms));
+                    return null;
+                }
+            }, "vfsbundles");
 
             // initialize the session manager
+            start = System.currentTimeMillis();
             m_sessionManager.initialize(sessionStorageProvider);
             m_sessionManager.setUserSessionMode(systemConfiguration.getUserSessionMode(true));
+            initializer.logInitialized("sessions", start);
 
             // initialize the subscription manager
+            start = System.currentTimeMillis();
             m_subscriptionManager.setSecurityManager(m_securityManager);
             m_subscriptionManager.initialize(adminCms);
+            initializer.logInitialized("subscriptions", start);
 
             // initialize ade manager
             // initialize the formatter configuration
+            start = System.currentTimeMillis();
             CmsFormatterConfiguration.initialize(adminCms);
             //m_adeManager = new CmsADEManager(initCmsObject(adminCms), m_memoryMonitor, systemConfiguration);
             m_adeManager = new CmsADEManager(adminCms, m_memoryMonitor, systemConfiguration);
@@ -1319,6 +1399,10 @@ public final class OpenCmsCore {
                 m_workflowManager.setParameters(new HashMap<String, String>());
             }
             m_workflowManager.initialize(adminCms);
+            initializer.logInitialized("ade", start);
+
+            // all managers must be available before the run level is switched
+            initializer.waitForCompletion();
         } catch (CmsException e) {
             throw new CmsInitException(Messages.get().container(Messages.ERR_CRITICAL_INIT_MANAGERS_0), e);
         }
@@ -1337,7 +1421,7 @@ public final class OpenCmsCore {
      */
     protected synchronized void initContext(ServletContext context) throws CmsInitException {
 
-        m_gwtServiceContexts = new HashMap<String, CmsGwtServiceContext>();
+        m_gwtServiceContexts = new ConcurrentHashMap<String, CmsGwtServiceContext>();
 
         // automatic servlet container recognition and specific behavior:
         CmsServletContainerSettings servletContainerSettings = new CmsServletContainerSettings(context);
@@ -1432,6 +1516,8 @@ public final class OpenCmsCore {
             m_runtimeProperties = new Hashtable<Object, Object>();
             // the default event manager must be available because the configuration already registers events 
             m_eventManager = new CmsEventManager();
+            // the default executor registry is used if OpenCms is not fully initialized, e.g. in test cases
+            m_executorRegistry = new CmsExecutorRegistry();
             // default link manager is required for test cases
             m_linkManager = new CmsLinkManager(new CmsDefaultLinkSubstitutionHandler());
         }
@@ -1617,18 +1703,20 @@ public final class OpenCmsCore {
         try {
             // instantiate CMS context
             cms = initCmsObject(req, res);
-            // instantiate GWT RPC service
-            CmsGwtService rpcService = getGwtService(serviceName, servletConfig);
-            // check permissions
-            rpcService.checkPermissions(cms);
-            // set runtime variables
-            rpcService.setCms(cms);
-            Object lock = req.getSession();
-            if (lock == null) {
-                lock = new Object();
-            }
-            synchronized (lock) {
+            // get a GWT RPC service instance
+            CmsGwtServiceContext context = getGwtServiceContext(serviceName);
+            CmsGwtService rpcService = context.getServiceInstance(servletConfig);
+            try {
+                // check permissions
+                rpcService.checkPermissions(cms);
+                // set runtime variables
+                rpcService.setCms(cms);
+                // the service synchronizes the calls of the session itself
+                long start = System.currentTimeMillis();
                 rpcService.service(req, res);
+                context.addCall(System.currentTimeMillis() - start);
+            } finally {
+                context.releaseServiceInstance(rpcService);
             }
             // update the session info
             m_sessionManager.updateSessionInfo(cms, req);
@@ -1683,6 +1771,9 @@ public final class OpenCmsCore {
         CmsObject cms = null;
         try {
             cms = initCmsObject(req, res);
+            if (CmsRequestReadCache.isEnabled()) {
+                cms.getRequestContext().setReadCache(new CmsRequestReadCache());
+            }
 
             if (cms.getRequestContext().getCurrentProject().isOnlineProject()) {
                 String uri = cms.getRequestContext().getUri();
@@ -1707,6 +1798,10 @@ public final class OpenCmsCore {
 
         } catch (Throwable t) {
             errorHandling(cms, req, res, t);
+        } finally {
+            if ((cms != null) && (cms.getRequestContext().getReadCache() != null)) {
+                cms.getRequestContext().getReadCache().logStatistics(cms.getRequestContext().getUri());
+            }
         }
     }
 
@@ -1835,6 +1930,15 @@ public final class OpenCmsCore {
                         Messages.get().getBundle().key(Messages.LOG_ERROR_SESSION_MANAGER_SHUTDOWN_1, e.getMessage()),
                         e);
                 }
+                try {
+                    if (m_executorRegistry != null) {
+                        m_executorRegistry.shutDown();
+                    }
+                } catch (Throwable e) {
+                    CmsLog.INIT.error(
+                        Messages.get().getBundle().key(Messages.LOG_ERROR_EXECUTOR_SHUTDOWN_1, e.getMessage()),
+                        e);
+                }
                 try {
                     if (m_memoryMonitor != null) {
                         m_memoryMonitor.shutdown();
@@ -2159,26 +2263,32 @@ public final class OpenCmsCore {
     }
 
     /**
+     * Returns the context for the given GWT RPC service, which also provides the service instances.<p>
      * 
+     * The context is created on the first call to the service, later calls only read it 
+     * without locking.<p>
      * 
      * @param serviceName the GWT PRC service class name 
-     * @param servletConfig the servlet configuration
      * 
-     * @return the GWT service instance
+     * @return the GWT service context
      * 
-     * @throws Throwable if something goes wrong
+     * @throws Exception if the service class can not be found, or is not a GWT RPC service
      */
-    private synchronized CmsGwtService getGwtService(String serviceName, ServletConfig servletConfig) throws Throwable {
+    private CmsGwtServiceContext getGwtServiceContext(String serviceName) throws Exception {
 
         CmsGwtServiceContext context = m_gwtServiceContexts.get(serviceName);
         if (context == null) {
-            context = new CmsGwtServiceContext(serviceName);
-            m_gwtServiceContexts.put(serviceName, context);
+            // check the service class before creating the context, so invalid names are not cached
+            Class<? extends CmsGwtService> serviceClass = Class.forName(serviceName).asSubclass(CmsGwtService.class);
+            synchronized (m_gwtServiceContexts) {
+                context = m_gwtServiceContexts.get(serviceName);
+                if (context == null) {
+                    context = new CmsGwtServiceContext(serviceName, serviceClass);
+                    m_gwtServiceContexts.put(serviceName, context);
+                }
+            }
         }
-        CmsGwtService gwtService = (CmsGwtService)Class.forName(serviceName).newInstance();
-        gwtService.init(servletConfig);
-        gwtService.setContext(context);
-        return gwtService;
+        return context;
     }
 
     /**
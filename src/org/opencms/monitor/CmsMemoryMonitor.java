@@ -44,12 +44,15 @@ import org.opencms.file.CmsPropertyDefinition;
 import org.opencms.file.CmsResource;
 import org.opencms.file.CmsUser;
 import org.opencms.flex.CmsFlexCache.CmsFlexCacheVariation;
+import org.opencms.gwt.CmsGwtServiceContext;
 import org.opencms.i18n.CmsLocaleManager;
 import org.opencms.lock.CmsLock;
+import org.opencms.lock.CmsLockIndex;
 import org.opencms.lock.CmsLockManager;
 import org.opencms.mail.CmsMailTransport;
 import org.opencms.mail.CmsSimpleMail;
 import org.opencms.main.CmsEvent;
+import org.opencms.main.CmsInstrumentedExecutor;
 import org.opencms.main.CmsLog;
 import org.opencms.main.CmsSessionManager;
 import org.opencms.main.I_CmsEventListener;
@@ -62,6 +65,7 @@ import org.opencms.security.CmsAccessControlList;
 import org.opencms.security.CmsOrganizationalUnit;
 import org.opencms.security.CmsPermissionSet;
 import org.opencms.security.CmsRole;
+import org.opencms.security.CmsRoleScope;
 import org.opencms.security.I_CmsPermissionHandler;
 import org.opencms.util.CmsCollectionsGenericWrapper;
 import org.opencms.util.CmsDateUtil;
@@ -179,7 +183,7 @@ public class CmsMemoryMonitor implements I_CmsScheduledJob {
     private Map<String, Locale> m_cacheLocale;
 
     /** Cache for the resource locks. */
-    private Map<String, CmsLock> m_cacheLock;
+    private CmsLockIndex m_cacheLock;
 
     /** The memory object cache map. */
     private Map<String, Object> m_cacheMemObject;
@@ -214,6 +218,9 @@ public class CmsMemoryMonitor implements I_CmsScheduledJob {
     /** Cache for role lists. */
     private Map<String, List<CmsRole>> m_cacheRoleLists;
 
+    /** Cache for the role scopes of users. */
+    private Map<String, CmsRoleScope> m_cacheRoleScopes;
+
     /** Cache for user data. */
     private Map<String, CmsUser> m_cacheUser;
 
@@ -593,7 +600,7 @@ public class CmsMemoryMonitor implements I_CmsScheduledJob {
         if (m_disabled.get(CacheType.LOCK) != null) {
             return;
         }
-        m_cacheLock.put(lock.getResourceName(), lock);
+        m_cacheLock.put(lock);
     }
 
     /**
@@ -792,6 +799,22 @@ public class CmsMemoryMonitor implements I_CmsScheduledJob {
         m_cacheRoleLists.put(key, roles);
     }
 
+    /**
+     * Caches the given role scope under the given cache key.<p>
+     * 
+     * Role scopes are flushed together with the {@link CacheType#HAS_ROLE} cache.<p>
+     * 
+     * @param key the cache key
+     * @param scope the role scope of the user
+     */
+    public void cacheRoleScope(String key, CmsRoleScope scope) {
+
+        if (m_disabled.get(CacheType.HAS_ROLE) != null) {
+            return;
+        }
+        m_cacheRoleScopes.put(key, scope);
+    }
+
     /**
      * Caches the given user under its id AND the fully qualified name.<p>
      * 
@@ -1006,6 +1029,7 @@ public class CmsMemoryMonitor implements I_CmsScheduledJob {
                     break;
                 case HAS_ROLE:
                     m_cacheHasRoles.clear();
+                    m_cacheRoleScopes.clear();
                     break;
                 case LOCALE:
                     m_cacheLocale.clear();
@@ -1120,16 +1144,8 @@ public class CmsMemoryMonitor implements I_CmsScheduledJob {
             flushCache(CacheType.LOCK);
             return;
         }
-        // initialize new lock cache
-        Map<String, CmsLock> newLockCache = Collections.synchronizedMap(newLocks);
-        // register it
-        register(CmsLockManager.class.getName(), newLockCache);
-        // save the old cache
-        Map<String, CmsLock> oldCache = m_cacheLock;
-        // replace the old by the new cache
-        m_cacheLock = newLockCache;
-        // clean up the old cache
-        oldCache.clear();
+        // replace the content of the lock index
+        m_cacheLock.replace(newLocks);
     }
 
     /**
@@ -1349,7 +1365,7 @@ public class CmsMemoryMonitor implements I_CmsScheduledJob {
      */
     public List<String> getAllCachedLockPaths() {
 
-        return new ArrayList<String>(m_cacheLock.keySet());
+        return m_cacheLock.getPaths();
     }
 
     /**
@@ -1359,7 +1375,7 @@ public class CmsMemoryMonitor implements I_CmsScheduledJob {
      */
     public List<CmsLock> getAllCachedLocks() {
 
-        return new ArrayList<CmsLock>(m_cacheLock.values());
+        return m_cacheLock.getLocks();
     }
 
     /**
@@ -1448,6 +1464,32 @@ public class CmsMemoryMonitor implements I_CmsScheduledJob {
         return m_cacheLock.get(rootPath);
     }
 
+    /**
+     * Returns the number of cached locks with an edition lock in the given project.<p>
+     * 
+     * @param projectId the id of the project
+     * 
+     * @return the number of cached locks with an edition lock in the given project
+     */
+    public int getCachedLockCount(CmsUUID projectId) {
+
+        return m_cacheLock.countLocksInProject(projectId);
+    }
+
+    /**
+     * Returns all cached locks with a root path starting with the given root path.<p>
+     * 
+     * For a folder, these are the lock of the folder itself and the locks of all resources in the sub-tree.<p>
+     * 
+     * @param rootPath the root path to look for
+     * 
+     * @return a list of {@link CmsLock} objects
+     */
+    public List<CmsLock> getCachedLocks(String rootPath) {
+
+        return m_cacheLock.getLocks(rootPath);
+    }
+
     /**
      * Returns the memory object cached with the given cache key or <code>null</code> if not found.<p>
      * 
@@ -1633,6 +1675,18 @@ public class CmsMemoryMonitor implements I_CmsScheduledJob {
         return m_cacheRoleLists.get(key);
     }
 
+    /**
+     * Returns the role scope cached with the given cache key or <code>null</code> if not found.<p>
+     * 
+     * @param key the cache key to look for
+     * 
+     * @return the role scope of the user
+     */
+    public CmsRoleScope getCachedRoleScope(String key) {
+
+        return m_cacheRoleScopes.get(key);
+    }
+
     /**
      * Returns the user cached with the given cache key or <code>null</code> if not found.<p>
      * 
@@ -1752,6 +1806,18 @@ public class CmsMemoryMonitor implements I_CmsScheduledJob {
         return m_memoryCurrent;
     }
 
+    /**
+     * Checks if there is a cached system lock for the given root path or any resource below it.<p>
+     * 
+     * @param rootPath the root path to check
+     * 
+     * @return <code>true</code> if there is a cached system lock for the given root path or any resource below it
+     */
+    public boolean hasCachedSystemLocks(String rootPath) {
+
+        return m_cacheLock.hasSystemLocks(rootPath);
+    }
+
     /**
      * Initializes the monitor with the provided configuration.<p>
      * 
@@ -1838,9 +1904,8 @@ public class CmsMemoryMonitor implements I_CmsScheduledJob {
         register(CmsXmlEntityResolver.class.getName() + ".contentDefinitionsCache", m_cacheContentDefinitions);
 
         // lock cache
-        Map<String, CmsLock> lockCache = new HashMap<String, CmsLock>();
-        m_cacheLock = Collections.synchronizedMap(lockCache);
-        register(CmsLockManager.class.getName(), lockCache);
+        m_cacheLock = new CmsLockIndex();
+        register(CmsLockManager.class.getName(), m_cacheLock.getLockMap());
 
         // locale cache
         Map<String, Locale> map = new HashMap<String, Locale>();
@@ -1913,6 +1978,11 @@ public class CmsMemoryMonitor implements I_CmsScheduledJob {
         m_cacheRoleLists = Collections.synchronizedMap(lruRoleLists);
         register(CmsDriverManager.class.getName() + ".roleListsCache", lruRoleLists);
 
+        // role scopes cache
+        Map<String, CmsRoleScope> lruRoleScopes = CmsCollectionsGenericWrapper.createLRUMap(cacheSettings.getUserCacheSize());
+        m_cacheRoleScopes = Collections.synchronizedMap(lruRoleScopes);
+        register(CmsDriverManager.class.getName() + ".roleScopesCache", lruRoleScopes);
+
         // resource list cache
         Map<String, List<CmsResource>> lruResourceList = CmsCollectionsGenericWrapper.createLRUMap(cacheSettings.getResourcelistCacheSize());
         m_cacheResourceList = Collections.synchronizedMap(lruResourceList);
@@ -2562,6 +2632,15 @@ public class CmsMemoryMonitor implements I_CmsScheduledJob {
         }
         content += "\nTotal size of cache memory monitored: " + totalSize + " (" + (totalSize / 1048576) + ")\n\n";
 
+        List<CmsInstrumentedExecutor> executors = OpenCms.getExecutorRegistry().getExecutors();
+        if (!executors.isEmpty()) {
+            content += "Current status of the thread pools:\n\n";
+            for (CmsInstrumentedExecutor executor : executors) {
+                content += executor.toString() + "\n";
+            }
+            content += "\n";
+        }
+
         String from = m_configuration.getEmailSender();
         List<InternetAddress> receivers = new ArrayList<InternetAddress>();
         List<String> receiverEmails = m_configuration.getEmailReceiver();
@@ -2716,6 +2795,33 @@ public class CmsMemoryMonitor implements I_CmsScheduledJob {
                 }
             }
 
+            for (CmsInstrumentedExecutor executor : OpenCms.getExecutorRegistry().getExecutors()) {
+                LOG.info(Messages.get().getBundle().key(
+                    Messages.LOG_MM_EXECUTOR_9,
+                    new Object[] {
+                        executor.getName(),
+                        new Integer(executor.getPoolSize()),
+                        new Integer(executor.getActiveCount()),
+                        new Integer(executor.getQueueDepth()),
+                        new Integer(executor.getQueueSize()),
+                        new Long(executor.getExecutedTaskCount()),
+                        new Long(executor.getRejectedTaskCount()),
+                        new Long(executor.getAverageWaitTime()),
+                        new Long(executor.getAverageRunTime())}));
+            }
+
+            for (CmsGwtServiceContext service : OpenCms.getGwtServiceContexts()) {
+                LOG.info(Messages.get().getBundle().key(
+                    Messages.LOG_MM_GWT_SERVICE_6,
+                    new Object[] {
+                        service.getName(),
+                        new Long(service.getCallCount()),
+                        new Long(service.getParallelCallCount()),
+                        new Long(service.getAverageCallTime()),
+                        new Long(service.getMaxCallTime()),
+                        new Long(service.getAverageLockWaitTime())}));
+            }
+
             LOG.info(Messages.get().getBundle().key(
                 Messages.LOG_MM_STARTUP_TIME_2,
                 CmsDateUtil.getDateTimeShort(OpenCms.getSystemInfo().getStartupTime()),
@@ -58,6 +58,12 @@ public final class Messages extends A_CmsMessageBundle {
     /** Message constant for key in the resource bundle. */
     public static final String LOG_MM_EMAIL_SENDER_1 = "LOG_MM_EMAIL_SENDER_1";
 
+    /** Message constant for key in the resource bundle. */
+    public static final String LOG_MM_EXECUTOR_9 = "LOG_MM_EXECUTOR_9";
+
+    /** Message constant for key in the resource bundle. */
+    public static final String LOG_MM_GWT_SERVICE_6 = "LOG_MM_GWT_SERVICE_6";
+
     /** Message constant for key in the resource bundle. */
     public static final String LOG_MM_INTERVAL_EMAIL_1 = "LOG_MM_INTERVAL_EMAIL_1";
 
@@ -30,6 +30,7 @@ package org.opencms.relations;
 import org.opencms.db.CmsDbContext;
 import org.opencms.db.CmsDriverManager;
 import org.opencms.db.CmsPublishList;
+import org.opencms.db.I_CmsVfsDriver;
 import org.opencms.file.CmsProject;
 import org.opencms.file.CmsResource;
 import org.opencms.file.CmsResourceFilter;
@@ -41,6 +42,7 @@ import org.opencms.main.CmsLog;
 import org.opencms.main.OpenCms;
 import org.opencms.report.I_CmsReport;
 import org.opencms.util.CmsStringUtil;
+import org.opencms.util.CmsUUID;
 import org.opencms.workplace.commons.CmsProgressThread;
 
 import java.util.ArrayList;
@@ -68,6 +70,9 @@ import com.google.common.collect.HashMultimap;
  */
 public class CmsRelationSystemValidator {
 
+    /** The number of resources for which the relations are read together. */
+    protected static final int RELATION_BATCH_SIZE = I_CmsVfsDriver.MAX_RELATION_IDS_PER_QUERY;
+
     /** The log object for this class. */
     private static final Log LOG = CmsLog.getLog(CmsRelationSystemValidator.class);
 
@@ -192,9 +197,21 @@ public class CmsRelationSystemValidator {
             }
         }
 
+        // the online targets already resolved during this validation, shared by all resources 
+        Map<String, String> resolvedTargets = new HashMap<String, String>();
+        // the relations read in bulk for the current batch of resources
+        Map<CmsUUID, List<CmsRelation>> batchRelations = null;
+
         boolean foundBrokenLinks = false;
         for (int index = 0, size = resources.size(); index < size; index++) {
 
+            if ((index % RELATION_BATCH_SIZE) == 0) {
+                batchRelations = readRelations(
+                    dbc,
+                    resources.subList(index, Math.min(index + RELATION_BATCH_SIZE, size)),
+                    project);
+            }
+
             // set progress in thread (next 20 percent; leave rest for creating the list and the html)
             if (thread != null) {
 
@@ -221,7 +238,22 @@ public class CmsRelationSystemValidator {
                     dbc.removeSiteRoot(resourceName)));
                 report.print(org.opencms.report.Messages.get().container(org.opencms.report.Messages.RPT_DOTS_0));
             }
-            List<CmsRelation> brokenLinks = validateLinks(dbc, resource, offlineFilesLookup, project, report);
+            List<CmsRelation> relations = (batchRelations != null)
+            ? batchRelations.get(resource.getStructureId())
+            : null;
+            List<CmsRelation> brokenLinks;
+            if (relations != null) {
+                brokenLinks = validateLinks(
+                    dbc,
+                    resource,
+                    relations,
+                    offlineFilesLookup,
+                    project,
+                    resolvedTargets,
+                    report);
+            } else {
+                brokenLinks = validateLinks(dbc, resource, offlineFilesLookup, project, report);
+            }
             if (brokenLinks.size() > 0) {
                 // the resource contains broken links
                 invalidResources.put(resourceName, brokenLinks);
@@ -299,7 +331,57 @@ public class CmsRelationSystemValidator {
         CmsProject project,
         Map<String, CmsResource> fileLookup) {
 
+        return checkLinkForNewOrChangedLinkSource(
+            dbc,
+            resource,
+            relation,
+            link,
+            project,
+            fileLookup,
+            new HashMap<String, String>());
+    }
+
+    /**
+     * Checks a link from a resource which has changed, using a cache for the link targets 
+     * already looked up in the online project.<p>
+     * 
+     * @param dbc the current dbc
+     * @param resource the link source 
+     * @param relation the relation 
+     * @param link the link target 
+     * @param project the current project 
+     * @param fileLookup a lookup table which contains the files which are going to be published 
+     * @param resolvedTargets the cache of the resolved link targets, keyed by target id and path, 
+     *      with the root path of the online target as value, or <code>null</code> if the target was not found
+     *   
+     * @return true if the link will be valid after publishing 
+     */
+    protected boolean checkLinkForNewOrChangedLinkSource(
+        CmsDbContext dbc,
+        CmsResource resource,
+        CmsRelation relation,
+        String link,
+        CmsProject project,
+        Map<String, CmsResource> fileLookup,
+        Map<String, String> resolvedTargets) {
+
+        String cacheKey = relation.getTargetId() + "|" + relation.getTargetPath();
+        if (resolvedTargets.containsKey(cacheKey)) {
+            String resolvedLink = resolvedTargets.get(cacheKey);
+            boolean isValidLink = true;
+            if (resolvedLink != null) {
+                link = resolvedLink;
+            } else if (!fileLookup.containsKey(link)) {
+                isValidLink = false;
+            }
+            if (fileLookup.containsKey(link) && fileLookup.get(link).getState().isDeleted()) {
+                isValidLink = false;
+            }
+            return isValidLink;
+        }
+
         boolean isValidLink = true;
+        String resolvedLink = null;
         // the link is valid...
         try {
             // ... if the linked resource exists in the online project
@@ -322,6 +404,7 @@ public class CmsRelationSystemValidator {
                 }
                 m_driverManager.getVfsDriver(dbc).readResource(dbc, project.getUuid(), relation.getTargetPath(), true);
             }
+            resolvedLink = link;
         } catch (CmsException e) {
             // ... or if the linked resource is a resource that gets actually published
             if (LOG.isDebugEnabled()) {
@@ -346,10 +429,63 @@ public class CmsRelationSystemValidator {
                     isValidLink = false;
                 }
             }
+            resolvedTargets.put(cacheKey, resolvedLink);
         }
         return isValidLink;
     }
 
+    /**
+     * Reads the relations needed to validate the given resources with as few queries as possible.<p>
+     * 
+     * For resources which are not deleted, the outgoing relations in the current project are read,
+     * for deleted resources the incoming relations in the given project.<p>
+     * 
+     * @param dbc the database context
+     * @param resources the resources to read the relations for
+     * @param project the project to read the relations of deleted resources from
+     * 
+     * @return the relations keyed by the structure id of the resources, 
+     *      or <code>null</code> if the relations could not be read in bulk
+     */
+    protected Map<CmsUUID, List<CmsRelation>> readRelations(
+        CmsDbContext dbc,
+        List<CmsResource> resources,
+        CmsProject project) {
+
+        List<CmsResource> changedResources = new ArrayList<CmsResource>(resources.size());
+        List<CmsResource> deletedResources = new ArrayList<CmsResource>();
+        for (CmsResource resource : resources) {
+            if (resource.getState().isDeleted()) {
+                deletedResources.add(resource);
+            } else {
+                changedResources.add(resource);
+            }
+        }
+        Map<CmsUUID, List<CmsRelation>> result = new HashMap<CmsUUID, List<CmsRelation>>(resources.size());
+        try {
+            // search the target of links in the current (offline) project
+            result.putAll(m_driverManager.getRelationsForResources(dbc, changedResources, CmsRelationFilter.TARGETS));
+            if (!deletedResources.isEmpty()) {
+                // search the source of links in the online project
+                CmsProject currentProject = dbc.currentProject();
+                dbc.getRequestContext().setCurrentProject(project);
+                try {
+                    result.putAll(m_driverManager.getRelationsForResources(
+                        dbc,
+                        deletedResources,
+                        CmsRelationFilter.SOURCES));
+                } finally {
+                    dbc.getRequestContext().setCurrentProject(currentProject);
+                }
+            }
+        } catch (CmsException e) {
+            // fall back to reading the relations for every single resource
+            LOG.warn(e.getLocalizedMessage(), e);
+            return null;
+        }
+        return result;
+    }
+
     /**
      * Validates the links for the specified resource.<p>
      * 
@@ -370,7 +506,6 @@ public class CmsRelationSystemValidator {
         I_CmsReport report) {
 
         List<CmsRelation> brokenRelations = new ArrayList<CmsRelation>();
-        Map<String, Boolean> validatedLinks = new HashMap<String, Boolean>();
 
         // get the relations
         List<CmsRelation> incomingRelationsOnline = new ArrayList<CmsRelation>();
@@ -408,6 +543,39 @@ public class CmsRelationSystemValidator {
         List<CmsRelation> relations = new ArrayList<CmsRelation>();
         relations.addAll(incomingRelationsOnline);
         relations.addAll(outgoingRelationsOffline);
+        return validateLinks(dbc, resource, relations, fileLookup, project, new HashMap<String, String>(), report);
+    }
+
+    /**
+     * Validates the already read links for the specified resource.<p>
+     * 
+     * @param dbc the database context
+     * @param resource the resource that will be validated
+     * @param relations the outgoing relations of the resource in the current project, 
+     *      or the incoming relations in the online project if the resource is deleted 
+     * @param fileLookup a map for faster lookup with all resources keyed by their rootpath
+     * @param project the project to validate
+     * @param resolvedTargets the cache of the link targets already looked up in the given project
+     * @param report the report to write to
+     * 
+     * @return a list with the broken links as {@link CmsRelation} objects for the specified resource, 
+     *          or an empty list if no broken links were found
+     */
+    protected List<CmsRelation> validateLinks(
+        CmsDbContext dbc,
+        CmsResource resource,
+        List<CmsRelation> relations,
+        Map<String, CmsResource> fileLookup,
+        CmsProject project,
+        Map<String, String> resolvedTargets,
+        I_CmsReport report) {
+
+        List<CmsRelation> brokenRelations = new ArrayList<CmsRelation>();
+        Map<String, Boolean> validatedLinks = new HashMap<String, Boolean>();
+        List<CmsRelation> outgoingRelationsOffline = resource.getState().isDeleted()
+        ? new ArrayList<CmsRelation>()
+        : relations;
+
         HashMultimap<String, String> outgoingRelationTargets = HashMultimap.create();
         for (CmsRelation outRelation : outgoingRelationsOffline) {
             String sourcePath = outRelation.getSourcePath();
@@ -443,7 +611,14 @@ public class CmsRelationSystemValidator {
             if (resource.getState().isDeleted()) {
                 result = checkLinkForDeletedLinkTarget(relation, link, fileLookup, outgoingRelationTargets);
             } else {
-                result = checkLinkForNewOrChangedLinkSource(dbc, resource, relation, link, project, fileLookup);
+                result = checkLinkForNewOrChangedLinkSource(
+                    dbc,
+                    resource,
+                    relation,
+                    link,
+                    project,
+                    fileLookup,
+                    resolvedTargets);
 
             }
             boolean isValidLink = result;
@@ -29,6 +29,7 @@ package org.opencms.scheduler;
 
 import org.opencms.file.CmsObject;
 import org.opencms.i18n.CmsMessageContainer;
+import org.opencms.main.CmsExecutorRegistry;
 import org.opencms.main.CmsIllegalArgumentException;
 import org.opencms.main.CmsLog;
 import org.opencms.main.OpenCms;
@@ -44,6 +45,7 @@ import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.apache.commons.logging.Log;
 
@@ -159,18 +161,20 @@ public class CmsScheduleManager implements Job {
             LOG.error(Messages.get().getBundle().key(Messages.LOG_INVALID_JOB_1, "null"));
             return;
         }
-        Thread thread = new Thread() {
+        try {
+            OpenCms.getExecutorRegistry().getExecutor(CmsExecutorRegistry.POOL_SCHEDULER).execute(new Runnable() {
 
-            /**
-             * @see java.lang.Thread#run()
-             */
-            @Override
-            public void run() {
+                /**
+                 * @see java.lang.Runnable#run()
+                 */
+                public void run() {
 
-                executeJob(jobInfo);
-            }
-        };
-        thread.start();
+                    executeJob(jobInfo);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            LOG.error(e.getLocalizedMessage(), e);
+        }
     }
 
     /**
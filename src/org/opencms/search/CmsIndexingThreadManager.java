@@ -103,6 +103,8 @@ public class CmsIndexingThreadManager {
             m_startedCounter,
             report);
         thread.setPriority(Thread.MIN_PRIORITY);
+        // an abandoned thread must not prevent the JVM from shutting down
+        thread.setDaemon(true);
         thread.start();
         try {
             thread.join(m_timeout);
@@ -32,6 +32,7 @@
 package org.opencms.search.solr;
 
 import org.opencms.configuration.CmsConfigurationException;
+import org.opencms.configuration.CmsSearchConfiguration;
 import org.opencms.main.CmsLog;
 import org.opencms.main.OpenCms;
 import org.opencms.util.CmsStringUtil;
@@ -59,6 +60,20 @@ public class CmsSolrConfiguration {
     /** The Solr configuration file name. */
     public static final String SOLR_CONFIG_FILE = "solr.xml";
 
+    /** 
+     * The default maximum estimated size in bytes of the updates sent to Solr in one request (4 MB by default).<p>
+     * 
+     * Can be configured in 'opencms-search.xml'.<p> 
+     */
+    public static final long SOLR_DEFAULT_BATCH_MAX_BYTES = 4 * 1024 * 1024;
+
+    /** 
+     * The default maximum number of documents sent to Solr in one request (100 by default).<p>
+     * 
+     * Can be configured in 'opencms-search.xml'.<p> 
+     */
+    public static final int SOLR_DEFAULT_BATCH_SIZE = 100;
+
     /** 
      * The default max time in ms before a commit will happen (10 seconds by default).<p>
      * 
@@ -78,6 +93,12 @@ public class CmsSolrConfiguration {
     /** The log object for this class. */
     private static final Log LOG = CmsLog.getLog(CmsSolrConfiguration.class);
 
+    /** The maximum estimated size in bytes of the updates sent to Solr in one request. */
+    private long m_batchMaxBytes = SOLR_DEFAULT_BATCH_MAX_BYTES;
+
+    /** The maximum number of documents sent to Solr in one request. */
+    private int m_batchSize = SOLR_DEFAULT_BATCH_SIZE;
+
     /** Max time (in ms) before a commit will happen. */
     private long m_commitMs = SOLR_DEFAULT_COMMIT_MS;
 
@@ -113,6 +134,26 @@ public class CmsSolrConfiguration {
         // needed for the digester
     }
 
+    /**
+     * Returns the maximum estimated size in bytes of the updates sent to Solr in one request.<p>
+     * 
+     * @return the maximum estimated size in bytes of the updates sent to Solr in one request
+     */
+    public long getBatchMaxBytes() {
+
+        return m_batchMaxBytes;
+    }
+
+    /**
+     * Returns the maximum number of documents sent to Solr in one request.<p>
+     * 
+     * @return the maximum number of documents sent to Solr in one request
+     */
+    public int getBatchSize() {
+
+        return m_batchSize;
+    }
+
     /**
      * Returns the home directory of Solr as String.<p>
      * 
@@ -267,6 +308,61 @@ public class CmsSolrConfiguration {
         return m_enabled;
     }
 
+    /**
+     * Sets the maximum estimated size in bytes of the updates sent to Solr in one request.<p>
+     * 
+     * If the value is not a positive number, the default {@link #SOLR_DEFAULT_BATCH_MAX_BYTES} is used.<p>
+     * 
+     * @param maxBytes the maximum size in bytes as long value
+     */
+    public void setBatchMaxBytes(String maxBytes) {
+
+        long value = 0;
+        try {
+            value = Long.parseLong(maxBytes.trim());
+        } catch (NumberFormatException e) {
+            // handled below
+        }
+        if (value > 0) {
+            m_batchMaxBytes = value;
+        } else {
+            LOG.error(Messages.get().getBundle().key(
+                Messages.LOG_SOLR_ERR_INVALID_BATCH_PARAM_3,
+                maxBytes,
+                CmsSearchConfiguration.N_BATCH_MAX_BYTES,
+                new Long(SOLR_DEFAULT_BATCH_MAX_BYTES)));
+            m_batchMaxBytes = SOLR_DEFAULT_BATCH_MAX_BYTES;
+        }
+    }
+
+    /**
+     * Sets the maximum number of documents sent to Solr in one request.<p>
+     * 
+     * A value of 1 sends every document in its own request. If the value is not a positive number, 
+     * the default {@link #SOLR_DEFAULT_BATCH_SIZE} is used.<p>
+     * 
+     * @param batchSize the maximum number of documents as int value
+     */
+    public void setBatchSize(String batchSize) {
+
+        int value = 0;
+        try {
+            value = Integer.parseInt(batchSize.trim());
+        } catch (NumberFormatException e) {
+            // handled below
+        }
+        if (value > 0) {
+            m_batchSize = value;
+        } else {
+            LOG.error(Messages.get().getBundle().key(
+                Messages.LOG_SOLR_ERR_INVALID_BATCH_PARAM_3,
+                batchSize,
+                CmsSearchConfiguration.N_BATCH_SIZE,
+                new Integer(SOLR_DEFAULT_BATCH_SIZE)));
+            m_batchSize = SOLR_DEFAULT_BATCH_SIZE;
+        }
+    }
+
     /**
      * Sets the enabled flag.<p>
      * 
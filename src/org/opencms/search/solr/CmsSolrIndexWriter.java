@@ -32,38 +32,146 @@
 package org.opencms.search.solr;
 
 import org.opencms.db.CmsPublishedResource;
+import org.opencms.main.CmsExecutorRegistry;
 import org.opencms.main.CmsLog;
 import org.opencms.main.OpenCms;
 import org.opencms.search.I_CmsIndexWriter;
 import org.opencms.search.I_CmsSearchDocument;
+import org.opencms.search.fields.CmsSearchField;
+import org.opencms.util.CmsStringUtil;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.commons.logging.Log;
 import org.apache.solr.client.solrj.SolrServer;
 import org.apache.solr.client.solrj.SolrServerException;
-import org.apache.solr.common.SolrException;
+import org.apache.solr.client.solrj.request.UpdateRequest;
 import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.SolrInputField;
 
 /**
  * Implements the index writer for the Solr server used by OpenCms.<p>
  * 
+ * Updated and deleted documents are not sent to the Solr server one by one. They are collected in a batch
+ * until the configured number of documents or the configured estimated size is reached, and the batch
+ * is then sent to the server in a single request on the {@link CmsExecutorRegistry#POOL_SOLR} thread pool.
+ * The batches of a writer are sent one after another in the order they were created. A sending task returns 
+ * its thread to the pool after {@link #MAX_BATCHES_PER_TASK} batches and is submitted again, so the writers 
+ * of other indexes are not starved during a rebuild. If too many batches are waiting to be sent, the 
+ * indexing threads are blocked until the server has caught up. They do not hold the lock of the writer
+ * while they wait, so other threads can still collect updates.<p>
+ * 
+ * A call to {@link #commit()}, {@link #close()} or {@link #deleteAllDocuments()} sends all collected 
+ * updates and waits until they have been processed. Errors that occurred while sending a batch
+ * are thrown by these methods, together with the root paths of all resources whose changes could not be sent.<p>
+ * 
  * @since 8.5.0
  */
 public class CmsSolrIndexWriter implements I_CmsIndexWriter {
 
+    /**
+     * A batch of updated and deleted documents sent to the Solr server in one request.<p>
+     */
+    private static class CmsSolrBatch {
+
+        /** The ids of the documents to delete. */
+        protected List<String> m_deletes;
+
+        /** The root paths of the resources in the batch. */
+        protected List<String> m_rootPaths;
+
+        /** The estimated size of the batch in bytes. */
+        protected long m_size;
+
+        /** The documents to add or update. */
+        protected List<SolrInputDocument> m_updates;
+
+        /**
+         * Creates a new batch.<p>
+         * 
+         * @param updates the documents to add or update
+         * @param deletes the ids of the documents to delete
+         * @param rootPaths the root paths of the resources in the batch
+         * @param size the estimated size of the batch in bytes
+         */
+        protected CmsSolrBatch(
+            List<SolrInputDocument> updates,
+            List<String> deletes,
+            List<String> rootPaths,
+            long size) {
+
+            m_updates = updates;
+            m_deletes = deletes;
+            m_rootPaths = rootPaths;
+            m_size = size;
+        }
+    }
+
+    /** The maximum number of batches sent by one task before the thread is returned to the pool. */
+    public static final int MAX_BATCHES_PER_TASK = 8;
+
+    /** The maximum number of batches waiting to be sent before the indexing threads are blocked. */
+    public static final int MAX_PENDING_BATCHES = 4;
+
     /** The log object for this class. */
     protected static final Log LOG = CmsLog.getLog(CmsSolrIndexWriter.class);
 
+    /** The maximum estimated size in bytes of a batch. */
+    private long m_batchMaxBytes = OpenCms.getSearchManager().getSolrServerConfiguration().getBatchMaxBytes();
+
+    /** The batches waiting to be sent. */
+    private Queue<CmsSolrBatch> m_batches = new ConcurrentLinkedQueue<CmsSolrBatch>();
+
+    /** The maximum number of documents in a batch. */
+    private int m_batchSize = OpenCms.getSearchManager().getSolrServerConfiguration().getBatchSize();
+
     /** The time to wait before a commit is sent to the Solr index.  */
     private int m_commitMs = new Long(OpenCms.getSearchManager().getSolrServerConfiguration().getSolrCommitMs()).intValue();
 
+    /** The ids of the documents to delete with the next batch. */
+    private Set<String> m_deletes = new LinkedHashSet<String>();
+
+    /** The root paths of the resources whose changes could not be sent, since the last error was thrown. */
+    private List<String> m_failedRootPaths = new ArrayList<String>();
+
     /** The Solr index. */
     private CmsSolrIndex m_index;
 
+    /** The number of batches created but not yet sent. */
+    private int m_pendingBatches;
+
+    /** The monitor used to wait for the pending batches. */
+    private Object m_pendingLock = new Object();
+
+    /** The root paths of the resources changed with the next batch, by document id. */
+    private Map<String, String> m_rootPaths = new LinkedHashMap<String, String>();
+
+    /** The first error that occurred while sending a batch. */
+    private Exception m_sendError;
+
+    /** Signals if a task for sending the pending batches is active. */
+    private AtomicBoolean m_sending = new AtomicBoolean();
+
     /** The Solr server. */
     private SolrServer m_server;
 
+    /** The estimated size in bytes of the documents to add or update with the next batch. */
+    private long m_size;
+
+    /** The documents to add or update with the next batch, by id. */
+    private Map<String, SolrInputDocument> m_updates = new LinkedHashMap<String, SolrInputDocument>();
+
     /**
      * Constructor to create a Solr index writer.<p>
      * 
@@ -97,11 +205,33 @@ public class CmsSolrIndexWriter implements I_CmsIndexWriter {
     }
 
     /**
+     * Returns the estimated size of a Solr document in bytes.<p>
+     * 
+     * @param doc the document
+     * 
+     * @return the estimated size in bytes
+     */
+    private static long estimateSize(SolrInputDocument doc) {
+
+        long size = 0;
+        for (SolrInputField field : doc) {
+            size += field.getName().length();
+            for (Object value : field) {
+                size += (value instanceof CharSequence) ? ((CharSequence)value).length() : 8;
+            }
+        }
+        // characters are stored with 2 bytes
+        return 2 * size;
+    }
+
+    /**
+     * Sends all collected updates to the Solr server and waits until they have been processed.<p>
+     * 
      * @see org.opencms.search.I_CmsIndexWriter#close()
      */
-    public void close() {
+    public void close() throws IOException {
 
-        // nothing to do here
+        flush();
     }
 
     /**
@@ -110,6 +240,7 @@ public class CmsSolrIndexWriter implements I_CmsIndexWriter {
     public void commit() throws IOException {
 
         if ((m_server != null) && (m_index != null)) {
+            flush();
             try {
                 LOG.info(Messages.get().getBundle().key(
                     Messages.LOG_SOLR_WRITER_COMMIT_2,
@@ -130,6 +261,7 @@ public class CmsSolrIndexWriter implements I_CmsIndexWriter {
     public void deleteAllDocuments() throws IOException {
 
         if ((m_server != null) && (m_index != null)) {
+            flush();
             try {
                 LOG.info(Messages.get().getBundle().key(
                     Messages.LOG_SOLR_WRITER_DELETE_ALL_2,
@@ -148,17 +280,56 @@ public class CmsSolrIndexWriter implements I_CmsIndexWriter {
     public void deleteDocument(CmsPublishedResource resource) throws IOException {
 
         if ((m_server != null) && (m_index != null)) {
-            try {
-                LOG.info(Messages.get().getBundle().key(
-                    Messages.LOG_SOLR_WRITER_DOC_DELETE_3,
-                    resource.getRootPath(),
-                    m_index.getName(),
-                    m_index.getPath()));
-                m_server.deleteById(resource.getStructureId().toString(), m_commitMs);
-            } catch (SolrServerException e) {
-                throw new IOException(e.getLocalizedMessage(), e);
-            } catch (SolrException e) {
-                throw new IOException(e.getLocalizedMessage(), e);
+            LOG.info(Messages.get().getBundle().key(
+                Messages.LOG_SOLR_WRITER_DOC_DELETE_3,
+                resource.getRootPath(),
+                m_index.getName(),
+                m_index.getPath()));
+            String id = resource.getStructureId().toString();
+            boolean queued = false;
+            synchronized (this) {
+                // a delete overrides a previous update of the same document in the current batch
+                SolrInputDocument removed = m_updates.remove(id);
+                if (removed != null) {
+                    m_size -= estimateSize(removed);
+                }
+                m_deletes.add(id);
+                m_rootPaths.put(id, resource.getRootPath());
+                m_size += 2 * id.length();
+                if (isBatchFull()) {
+                    queued = sendBatch();
+                }
+            }
+            if (queued) {
+                waitForPendingBatches(MAX_PENDING_BATCHES);
+            }
+        }
+    }
+
+    /**
+     * Sends all collected updates to the Solr server and waits until they have been processed.<p>
+     * 
+     * @throws IOException if sending the updates failed, the message contains the root paths of all 
+     *      resources whose changes could not be sent
+     */
+    public void flush() throws IOException {
+
+        if ((m_server != null) && (m_index != null)) {
+            synchronized (this) {
+                sendBatch();
+            }
+            waitForPendingBatches(0);
+            synchronized (m_pendingLock) {
+                if (m_sendError != null) {
+                    IOException error = new IOException(Messages.get().getBundle().key(
+                        Messages.ERR_SOLR_WRITER_SEND_FAILED_3,
+                        m_index.getName(),
+                        m_index.getPath(),
+                        CmsStringUtil.collectionAsString(m_failedRootPaths, ", ")), m_sendError);
+                    m_sendError = null;
+                    m_failedRootPaths.clear();
+                    throw error;
+                }
             }
         }
     }
@@ -179,15 +350,199 @@ public class CmsSolrIndexWriter implements I_CmsIndexWriter {
 
         if ((m_server != null) && (m_index != null)) {
             if (document.getDocument() != null) {
-                try {
-                    LOG.info(Messages.get().getBundle().key(
-                        Messages.LOG_SOLR_WRITER_DOC_UPDATE_3,
-                        rootPath,
+                LOG.info(Messages.get().getBundle().key(
+                    Messages.LOG_SOLR_WRITER_DOC_UPDATE_3,
+                    rootPath,
+                    m_index.getName(),
+                    m_index.getPath()));
+                SolrInputDocument doc = (SolrInputDocument)document.getDocument();
+                Object id = doc.getFieldValue(CmsSearchField.FIELD_ID);
+                String key = (id != null) ? id.toString() : rootPath;
+                long size = estimateSize(doc);
+                boolean queued = false;
+                synchronized (this) {
+                    // an update replaces a previous delete or update of the same document in the current batch
+                    m_deletes.remove(key);
+                    SolrInputDocument replaced = m_updates.put(key, doc);
+                    m_rootPaths.put(key, rootPath);
+                    if (replaced != null) {
+                        m_size -= estimateSize(replaced);
+                    }
+                    m_size += size;
+                    if (isBatchFull()) {
+                        queued = sendBatch();
+                    }
+                }
+                if (queued) {
+                    waitForPendingBatches(MAX_PENDING_BATCHES);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks if the current batch has reached the configured number of documents or size.<p>
+     * 
+     * @return <code>true</code> if the current batch is full
+     */
+    private boolean isBatchFull() {
+
+        return ((m_updates.size() + m_deletes.size()) >= m_batchSize) || (m_size >= m_batchMaxBytes);
+    }
+
+    /**
+     * Sends the batches waiting in the queue to the Solr server, one after another.<p>
+     * 
+     * After {@link #MAX_BATCHES_PER_TASK} batches, a new task is submitted for the remaining batches, 
+     * so the thread is returned to the pool.<p>
+     */
+    private void sendBatches() {
+
+        int sent = 0;
+        while (true) {
+            if ((sent >= MAX_BATCHES_PER_TASK) && !m_batches.isEmpty()) {
+                if (submitSendTask()) {
+                    return;
+                }
+                // the task could not be submitted, continue sending in the current thread
+                sent = 0;
+            }
+            CmsSolrBatch batch = m_batches.poll();
+            if (batch == null) {
+                m_sending.set(false);
+                // a batch may have been added after the queue was found empty, but before the flag was reset
+                if (m_batches.isEmpty() || !m_sending.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+            try {
+                UpdateRequest request = new UpdateRequest();
+                if (!batch.m_updates.isEmpty()) {
+                    request.add(batch.m_updates);
+                }
+                if (!batch.m_deletes.isEmpty()) {
+                    request.deleteById(batch.m_deletes);
+                }
+                request.setCommitWithin(m_commitMs);
+                request.process(m_server);
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug(Messages.get().getBundle().key(
+                        Messages.LOG_SOLR_WRITER_BATCH_SENT_5,
+                        new Object[] {
+                            new Integer(batch.m_updates.size()),
+                            new Integer(batch.m_deletes.size()),
+                            new Long(batch.m_size),
+                            m_index.getName(),
+                            m_index.getPath()}));
+                }
+            } catch (Exception e) {
+                // catches SolrServerException, SolrException, IOException and errors of the server implementation
+                LOG.error(Messages.get().getBundle().key(
+                    Messages.LOG_SOLR_ERR_BATCH_FAILED_5,
+                    new Object[] {
+                        new Integer(batch.m_updates.size()),
+                        new Integer(batch.m_deletes.size()),
                         m_index.getName(),
-                        m_index.getPath()));
-                    m_server.add((SolrInputDocument)document.getDocument(), m_commitMs);
-                } catch (SolrServerException e) {
-                    throw new IOException(e.getLocalizedMessage(), e);
+                        m_index.getPath(),
+                        CmsStringUtil.collectionAsString(batch.m_rootPaths, ", ")}), e);
+                synchronized (m_pendingLock) {
+                    if (m_sendError == null) {
+                        m_sendError = e;
+                    }
+                    m_failedRootPaths.addAll(batch.m_rootPaths);
+                }
+            } finally {
+                synchronized (m_pendingLock) {
+                    m_pendingBatches--;
+                    m_pendingLock.notifyAll();
+                }
+            }
+            sent++;
+        }
+    }
+
+    /**
+     * Moves the collected updates to a new batch and queues it for sending.<p>
+     * 
+     * Must be called while holding the lock of this writer, so the batches are queued in the 
+     * order they were created. Does not block, callers should use {@link #waitForPendingBatches(int)}
+     * after releasing the lock to limit the number of waiting batches.<p>
+     * 
+     * @return <code>true</code> if a batch was queued
+     */
+    private boolean sendBatch() {
+
+        if (m_updates.isEmpty() && m_deletes.isEmpty()) {
+            return false;
+        }
+        CmsSolrBatch batch = new CmsSolrBatch(
+            new ArrayList<SolrInputDocument>(m_updates.values()),
+            new ArrayList<String>(m_deletes),
+            new ArrayList<String>(m_rootPaths.values()),
+            m_size);
+        m_updates.clear();
+        m_deletes.clear();
+        m_rootPaths.clear();
+        m_size = 0;
+        synchronized (m_pendingLock) {
+            m_pendingBatches++;
+        }
+        m_batches.add(batch);
+        if (m_sending.compareAndSet(false, true) && !submitSendTask()) {
+            // the pool is saturated or has been shut down, send the batches in the current thread
+            sendBatches();
+        }
+        return true;
+    }
+
+    /**
+     * Submits a task for sending the queued batches to the {@link CmsExecutorRegistry#POOL_SOLR} pool.<p>
+     * 
+     * @return <code>true</code> if the task was submitted, <code>false</code> if it was rejected
+     */
+    private boolean submitSendTask() {
+
+        Runnable task = new Runnable() {
+
+            /**
+             * @see java.lang.Runnable#run()
+             */
+            @SuppressWarnings("synthetic-access")
+            public void run() {
+
+                sendBatches();
+            }
+        };
+        try {
+            OpenCms.getExecutorRegistry().getExecutor(CmsExecutorRegistry.POOL_SOLR).execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            // the pool is saturated
+        } catch (IllegalStateException e) {
+            // the pools have been shut down
+        }
+        return false;
+    }
+
+    /**
+     * Waits until no more than the given number of batches are waiting to be sent.<p>
+     * 
+     * Must not be called while holding the lock of this writer.<p>
+     * 
+     * @param maxPending the maximum number of pending batches
+     * 
+     * @throws IOException if the current thread is interrupted while waiting
+     */
+    private void waitForPendingBatches(int maxPending) throws IOException {
+
+        synchronized (m_pendingLock) {
+            while (m_pendingBatches > maxPending) {
+                try {
+                    m_pendingLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException(e.getLocalizedMessage());
                 }
             }
         }
@@ -37,15 +37,24 @@ import org.opencms.i18n.I_CmsMessageBundle;
  */
 public final class Messages extends A_CmsMessageBundle {
 
+    /** Message constant for key in the resource bundle. */
+    public static final String ERR_SOLR_WRITER_SEND_FAILED_3 = "ERR_SOLR_WRITER_SEND_FAILED_3";
+
     /** Message constant for key in the resource bundle. */
     public static final String LOG_LANGUAGE_DETECTION_FAILED_1 = "LOG_LANGUAGE_DETECTION_FAILED_1";
 
+    /** Message constant for key in the resource bundle. */
+    public static final String LOG_SOLR_ERR_BATCH_FAILED_5 = "LOG_SOLR_ERR_BATCH_FAILED_5";
+
     /** Message constant for key in the resource bundle. */
     public static final String LOG_SOLR_ERR_CONFIG_XML_NOT_FOUND_1 = "LOG_SOLR_ERR_CONFIG_XML_NOT_FOUND_1";
 
     /** Message constant for key in the resource bundle. */
     public static final String LOG_SOLR_ERR_CONFIG_XML_NOT_READABLE_1 = "LOG_SOLR_ERR_CONFIG_XML_NOT_READABLE_1";
 
+    /** Message constant for key in the resource bundle. */
+    public static final String LOG_SOLR_ERR_INVALID_BATCH_PARAM_3 = "LOG_SOLR_ERR_INVALID_BATCH_PARAM_3";
+
     /** Message constant for key in the resource bundle. */
     public static final String LOG_SOLR_ERR_POST_PROCESSOR_NOT_EXIST_1 = "LOG_SOLR_ERR_POST_PROCESSOR_NOT_EXIST_1";
 
@@ -67,6 +76,9 @@ public final class Messages extends A_CmsMessageBundle {
     /** Message constant for key in the resource bundle. */
     public static final String LOG_SOLR_SEARCH_EXECUTED_5 = "LOG_SOLR_SEARCH_EXECUTED_5";
 
+    /** Message constant for key in the resource bundle. */
+    public static final String LOG_SOLR_WRITER_BATCH_SENT_5 = "LOG_SOLR_WRITER_BATCH_SENT_5";
+
     /** Message constant for key in the resource bundle. */
     public static final String LOG_SOLR_WRITER_COMMIT_2 = "LOG_SOLR_WRITER_COMMIT_2";
 
@@ -0,0 +1,181 @@
+/*
+ * This library is part of OpenCms -
+ * the Open Source Content Management System
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software GmbH, please see the
+ * company website: http://www.alkacon.com
+ *
+ * For further information about OpenCms, please see the
+ * project website: http://www.opencms.org
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.opencms.security;
+
+import org.opencms.file.CmsGroup;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The role scope of a user, answers the question "does the user have role R for resource path P".<p>
+ * 
+ * A role scope is created once for a user, from the role groups of the user, and is cached until the 
+ * roles of any user are changed. For every role that is checked, the root paths of the organizational unit 
+ * resources for which the user has the role are stored in the scope. After that, checking a resource 
+ * path only requires one hash lookup per distinct length of the stored root paths.<p>
+ * 
+ * @since 9.0.0
+ * 
+ * @see org.opencms.db.CmsSecurityManager#hasRoleForResource(org.opencms.db.CmsDbContext, org.opencms.file.CmsUser, CmsRole, org.opencms.file.CmsResource)
+ */
+public class CmsRoleScope {
+
+    /**
+     * The resource paths for which a user has a role.<p>
+     */
+    private static class CmsRolePaths {
+
+        /** The root path prefixes, grouped by their length. */
+        private Map<Integer, Set<String>> m_prefixes;
+
+        /** Signals if the role applies to all resources. */
+        private boolean m_unrestricted;
+
+        /**
+         * Creates new role paths.<p>
+         * 
+         * @param unrestricted <code>true</code> if the role applies to all resources
+         * @param prefixes the root path prefixes of the resources the role applies to
+         */
+        protected CmsRolePaths(boolean unrestricted, Collection<String> prefixes) {
+
+            m_unrestricted = unrestricted;
+            m_prefixes = new HashMap<Integer, Set<String>>();
+            if (!unrestricted) {
+                for (String prefix : prefixes) {
+                    Integer length = new Integer(prefix.length());
+                    Set<String> sameLength = m_prefixes.get(length);
+                    if (sameLength == null) {
+                        sameLength = new HashSet<String>();
+                        m_prefixes.put(length, sameLength);
+                    }
+                    sameLength.add(prefix);
+                }
+            }
+        }
+
+        /**
+         * Checks if the role applies to the resource with the given root path.<p>
+         * 
+         * @param rootPath the root path to check
+         * 
+         * @return <code>true</code> if the role applies to the resource with the given root path
+         */
+        protected boolean matches(String rootPath) {
+
+            if (m_unrestricted) {
+                return true;
+            }
+            for (Map.Entry<Integer, Set<String>> entry : m_prefixes.entrySet()) {
+                int length = entry.getKey().intValue();
+                if ((length <= rootPath.length()) && entry.getValue().contains(rootPath.substring(0, length))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /** The role groups of the user. */
+    private List<CmsGroup> m_roleGroups;
+
+    /** The resource paths for the roles checked so far, by role group name. */
+    private Map<String, CmsRolePaths> m_rolePaths;
+
+    /**
+     * Creates a new role scope.<p>
+     * 
+     * @param roleGroups the role groups of the user
+     */
+    public CmsRoleScope(List<CmsGroup> roleGroups) {
+
+        m_roleGroups = Collections.unmodifiableList(roleGroups);
+        m_rolePaths = new ConcurrentHashMap<String, CmsRolePaths>();
+    }
+
+    /**
+     * Adds the resource paths for which the user has the given role.<p>
+     * 
+     * @param role the role 
+     * @param unrestricted <code>true</code> if the user has the role for all resources
+     * @param rootPaths the root paths of the resources (including their sub resources) the user has the role for
+     */
+    public void addRole(CmsRole role, boolean unrestricted, Collection<String> rootPaths) {
+
+        m_rolePaths.put(role.getGroupName(), new CmsRolePaths(unrestricted, rootPaths));
+    }
+
+    /**
+     * Returns the role groups of the user.<p>
+     * 
+     * @return the role groups of the user
+     */
+    public List<CmsGroup> getRoleGroups() {
+
+        return m_roleGroups;
+    }
+
+    /**
+     * Checks if the given role has already been added to this scope.<p>
+     * 
+     * @param role the role 
+     * 
+     * @return <code>true</code> if the given role has already been added to this scope
+     * 
+     * @see #addRole(CmsRole, boolean, Collection)
+     */
+    public boolean hasRole(CmsRole role) {
+
+        return m_rolePaths.containsKey(role.getGroupName());
+    }
+
+    /**
+     * Checks if the user has the given role for the resource with the given root path.<p>
+     * 
+     * The role must have been added to this scope before.<p>
+     * 
+     * @param role the role 
+     * @param rootPath the root path of the resource
+     * 
+     * @return <code>true</code> if the user has the given role for the resource with the given root path
+     * 
+     * @see #hasRole(CmsRole)
+     */
+    public boolean hasRoleForPath(CmsRole role, String rootPath) {
+
+        CmsRolePaths paths = m_rolePaths.get(role.getGroupName());
+        return (paths != null) && paths.matches(rootPath);
+    }
+}
@@ -27,11 +27,14 @@
 
 package org.opencms.staticexport;
 
+import org.opencms.main.CmsExecutorRegistry;
 import org.opencms.main.CmsLog;
 import org.opencms.main.OpenCms;
 import org.opencms.report.I_CmsReport;
 import org.opencms.util.CmsUUID;
 
+import java.util.concurrent.RejectedExecutionException;
+
 import org.apache.commons.logging.Log;
 
 /**
@@ -89,18 +92,22 @@ public abstract class A_CmsOnDemandStaticExportHandler extends A_CmsStaticExport
         if (OpenCms.getRunLevel() >= OpenCms.RUNLEVEL_1_CORE_OBJECT) {
             // only perform scrubbing if OpenCms is still running
             m_busy = true;
-            Thread t = new Thread(new Runnable() {
+            try {
+                OpenCms.getExecutorRegistry().getExecutor(CmsExecutorRegistry.POOL_BACKGROUND).execute(new Runnable() {
 
-                public void run() {
+                    public void run() {
 
-                    try {
-                        scrubExportFolders(id);
-                    } finally {
-                        m_busy = false;
+                        try {
+                            scrubExportFolders(id);
+                        } finally {
+                            m_busy = false;
+                        }
                     }
-                }
-            }, Messages.get().getBundle().key(Messages.GUI_THREAD_NAME_SCRUB_EXPORT_FOLDERS_1, String.valueOf(id)));
-            t.start();
+                });
+            } catch (RejectedExecutionException e) {
+                m_busy = false;
+                LOG.error(e.getLocalizedMessage(), e);
+            }
         }
     }
 }
\ No newline at end of file
@@ -67,9 +67,6 @@ public final class Messages extends A_CmsMessageBundle {
     /** Message constant for key in the resource bundle. */
     public static final String ERR_VALIDATE_EXPORTPATH_0 = "ERR_VALIDATE_EXPORTPATH_0";
 
-    /** Message constant for key in the resource bundle. */
-    public static final String GUI_THREAD_NAME_SCRUB_EXPORT_FOLDERS_1 = "GUI_THREAD_NAME_SCRUB_EXPORT_FOLDERS_1";
-
     /** Message constant for key in the resource bundle. */
     public static final String INIT_EXPORT_DEFAULT_1 = "INIT_EXPORT_DEFAULT_1";
 
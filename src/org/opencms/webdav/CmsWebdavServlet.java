@@ -98,6 +98,9 @@ import javax.servlet.UnavailableException;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.codec.net.URLCodec;
@@ -252,6 +255,12 @@ public class CmsWebdavServlet extends HttpServlet {
     /** The name of the init parameter in the web.xml to allow listing. */
     private static final String INIT_PARAM_LIST = "listings";
 
+    /** The name of the init parameter in the web.xml to allow PROPFIND requests with depth infinity. */
+    private static final String INIT_PARAM_PROPFIND_INFINITY = "propfindInfinity";
+
+    /** The name of the init parameter in the web.xml to limit the number of items returned by a PROPFIND request. */
+    private static final String INIT_PARAM_PROPFIND_LIMIT = "propfindLimit";
+
     /** The name of the init parameter in the web.xml to set read only. */
     private static final String INIT_PARAM_READONLY = "readonly";
 
@@ -297,6 +306,9 @@ public class CmsWebdavServlet extends HttpServlet {
     /** The name of the tag "displayname" in the WebDAV protocol. */
     private static final String TAG_DISPLAYNAME = "displayname";
 
+    /** The name of the tag "error" in the WebDAV protocol. */
+    private static final String TAG_ERROR = "error";
+
     /** The name of the tag "getetag" in the WebDAV protocol. */
     private static final String TAG_ETAG = "getetag";
 
@@ -324,12 +336,18 @@ public class CmsWebdavServlet extends HttpServlet {
     /** The name of the tag "multistatus" in the WebDAV protocol. */
     private static final String TAG_MULTISTATUS = "multistatus";
 
+    /** The name of the tag "number-of-matches-within-limits" in the WebDAV protocol. */
+    private static final String TAG_NUMBER_OF_MATCHES_WITHIN_LIMITS = "number-of-matches-within-limits";
+
     /** The name of the tag "owner" in the WebDAV protocol. */
     private static final String TAG_OWNER = "owner";
 
     /** The name of the tag "prop" in the WebDAV protocol. */
     private static final String TAG_PROP = "prop";
 
+    /** The name of the tag "propfind-finite-depth" in the WebDAV protocol. */
+    private static final String TAG_PROPFIND_FINITE_DEPTH = "propfind-finite-depth";
+
     /** The name of the tag "propstat" in the WebDAV protocol. */
     private static final String TAG_PROPSTAT = "propstat";
 
@@ -363,6 +381,12 @@ public class CmsWebdavServlet extends HttpServlet {
     /** Should we generate directory listings? */
     private boolean m_listings;
 
+    /** Should we answer PROPFIND requests with depth infinity? */
+    private boolean m_propfindInfinity = true;
+
+    /** The maximum number of items returned by a PROPFIND request, 0 means no limit. */
+    private int m_propfindLimit;
+
     /** Read only flag. By default, it's set to true. */
     private boolean m_readOnly = true;
 
@@ -443,6 +467,49 @@ public class CmsWebdavServlet extends HttpServlet {
                 Boolean.valueOf(m_listings)));
         }
 
+        // init parameter: propfind depth infinity
+        try {
+            value = getServletConfig().getInitParameter(INIT_PARAM_PROPFIND_INFINITY);
+            if (value != null) {
+                m_propfindInfinity = Boolean.valueOf(value).booleanValue();
+            }
+        } catch (Exception e) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error(Messages.get().getBundle().key(
+                    Messages.LOG_READ_INIT_PARAM_ERROR_2,
+                    INIT_PARAM_PROPFIND_INFINITY,
+                    value), e);
+            }
+        }
+
+        if (LOG.isInfoEnabled()) {
+            LOG.info(Messages.get().getBundle().key(
+                Messages.LOG_READ_INIT_PARAM_2,
+                INIT_PARAM_PROPFIND_INFINITY,
+                Boolean.valueOf(m_propfindInfinity)));
+        }
+
+        // init parameter: propfind limit
+        try {
+            value = getServletConfig().getInitParameter(INIT_PARAM_PROPFIND_LIMIT);
+            if (value != null) {
+                m_propfindLimit = Math.max(0, Integer.parseInt(value.trim()));
+            }
+        } catch (Exception e) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error(
+                    Messages.get().getBundle().key(Messages.LOG_READ_INIT_PARAM_ERROR_2, INIT_PARAM_PROPFIND_LIMIT, value),
+                    e);
+            }
+        }
+
+        if (LOG.isInfoEnabled()) {
+            LOG.info(Messages.get().getBundle().key(
+                Messages.LOG_READ_INIT_PARAM_2,
+                INIT_PARAM_PROPFIND_LIMIT,
+                new Integer(m_propfindLimit)));
+        }
+
         // init parameter: read only
         try {
             value = getServletConfig().getInitParameter(INIT_PARAM_READONLY);
@@ -1900,62 +1967,134 @@ public class CmsWebdavServlet extends HttpServlet {
             return;
         }
 
+        if ((depth == CmsRepositoryLockInfo.DEPTH_INFINITY_VALUE) && !m_propfindInfinity) {
+
+            // see RFC 4918, section 9.1: the server may refuse to answer depth infinity
+            if (LOG.isDebugEnabled()) {
+                LOG.debug(Messages.get().getBundle().key(Messages.LOG_PROPFIND_INFINITY_DISABLED_1, path));
+            }
+
+            resp.setStatus(CmsWebdavStatus.SC_FORBIDDEN);
+            resp.setContentType("text/xml; charset=UTF-8");
+
+            Document doc = DocumentHelper.createDocument();
+            Element errorElem = doc.addElement(new QName(TAG_ERROR, Namespace.get("D", DEFAULT_NAMESPACE)));
+            addElement(errorElem, TAG_PROPFIND_FINITE_DEPTH);
+
+            Writer writer = resp.getWriter();
+            doc.write(writer);
+            writer.close();
+            return;
+        }
+
         resp.setStatus(CmsWebdavStatus.SC_MULTI_STATUS);
         resp.setContentType("text/xml; charset=UTF-8");
 
-        // Create multistatus object
-        Document doc = DocumentHelper.createDocument();
-        Element multiStatusElem = doc.addElement(new QName(TAG_MULTISTATUS, Namespace.get("D", DEFAULT_NAMESPACE)));
-
-        if (depth == 0) {
-            parseProperties(req, multiStatusElem, item, type, properties);
-        } else {
-            // The stack always contains the object of the current level
-            Stack<I_CmsRepositoryItem> stack = new Stack<I_CmsRepositoryItem>();
-            stack.push(item);
+        // the response elements are created one by one below this element and streamed 
+        // to the client directly, so the multistatus document is never held in memory
+        Element multiStatusElem = DocumentHelper.createElement(new QName(
+            TAG_MULTISTATUS,
+            Namespace.get("D", DEFAULT_NAMESPACE)));
 
-            // Stack of the objects one level below
-            Stack<I_CmsRepositoryItem> stackBelow = new Stack<I_CmsRepositoryItem>();
+        Writer writer = resp.getWriter();
+        try {
+            XMLStreamWriter xmlWriter = XMLOutputFactory.newInstance().createXMLStreamWriter(writer);
+            xmlWriter.writeStartDocument("UTF-8", "1.0");
+            xmlWriter.writeStartElement("D", TAG_MULTISTATUS, DEFAULT_NAMESPACE);
+            xmlWriter.writeNamespace("D", DEFAULT_NAMESPACE);
+
+            if (depth == 0) {
+                parseProperties(req, multiStatusElem, item, type, properties);
+                writeResponses(xmlWriter, multiStatusElem);
+            } else {
+                // The stack always contains the object of the current level
+                Stack<I_CmsRepositoryItem> stack = new Stack<I_CmsRepositoryItem>();
+                stack.push(item);
 
-            while ((!stack.isEmpty()) && (depth >= 0)) {
+                // Stack of the objects one level below
+                Stack<I_CmsRepositoryItem> stackBelow = new Stack<I_CmsRepositoryItem>();
 
-                I_CmsRepositoryItem currentItem = stack.pop();
-                parseProperties(req, multiStatusElem, currentItem, type, properties);
+                int count = 0;
+                while ((!stack.isEmpty()) && (depth >= 0)) {
 
-                if ((currentItem.isCollection()) && (depth > 0)) {
+                    if ((m_propfindLimit > 0) && (count >= m_propfindLimit)) {
 
-                    try {
-                        List<I_CmsRepositoryItem> list = m_session.list(currentItem.getName());
-                        Iterator<I_CmsRepositoryItem> iter = list.iterator();
-                        while (iter.hasNext()) {
-                            I_CmsRepositoryItem element = iter.next();
-                            stackBelow.push(element);
+                        // the result is incomplete, the client has to continue with a smaller depth
+                        if (LOG.isWarnEnabled()) {
+                            LOG.warn(Messages.get().getBundle().key(
+                                Messages.LOG_PROPFIND_LIMIT_REACHED_2,
+                                path,
+                                new Integer(count)));
                         }
+                        addLimitReachedResponse(req, multiStatusElem, item);
+                        writeResponses(xmlWriter, multiStatusElem);
+                        break;
+                    }
+
+                    I_CmsRepositoryItem currentItem = stack.pop();
+                    parseProperties(req, multiStatusElem, currentItem, type, properties);
+                    writeResponses(xmlWriter, multiStatusElem);
+                    count++;
+
+                    if ((currentItem.isCollection()) && (depth > 0)) {
 
-                    } catch (CmsException e) {
+                        try {
+                            List<I_CmsRepositoryItem> list = m_session.list(currentItem.getName());
+                            Iterator<I_CmsRepositoryItem> iter = list.iterator();
+                            while (iter.hasNext()) {
+                                I_CmsRepositoryItem element = iter.next();
+                                stackBelow.push(element);
+                            }
+
+                        } catch (CmsException e) {
+
+                            if (LOG.isErrorEnabled()) {
+                                LOG.error(
+                                    Messages.get().getBundle().key(
+                                        Messages.LOG_LIST_ITEMS_ERROR_1,
+                                        currentItem.getName()),
+                                    e);
+                            }
 
-                        resp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                            if (!resp.isCommitted()) {
+                                // nothing has been sent yet, so discard the partial multistatus
+                                resp.reset();
+                                resp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                                return;
+                            }
 
-                        if (LOG.isErrorEnabled()) {
-                            LOG.error(
-                                Messages.get().getBundle().key(Messages.LOG_LIST_ITEMS_ERROR_1, currentItem.getName()),
-                                e);
+                            // too late to change the status, just end the document
+                            break;
                         }
+                    }
+
+                    if (stack.isEmpty()) {
+                        depth--;
+                        stack = stackBelow;
+                        stackBelow = new Stack<I_CmsRepositoryItem>();
 
-                        return;
+                        // send the finished level to the client
+                        xmlWriter.flush();
                     }
                 }
+            }
 
-                if (stack.isEmpty()) {
-                    depth--;
-                    stack = stackBelow;
-                    stackBelow = new Stack<I_CmsRepositoryItem>();
-                }
+            xmlWriter.writeEndElement();
+            xmlWriter.writeEndDocument();
+            xmlWriter.close();
+        } catch (XMLStreamException e) {
+
+            if (LOG.isErrorEnabled()) {
+                LOG.error(Messages.get().getBundle().key(Messages.LOG_PROPFIND_WRITE_ERROR_1, path), e);
+            }
+
+            if (!resp.isCommitted()) {
+                resp.reset();
+                resp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                return;
             }
         }
 
-        Writer writer = resp.getWriter();
-        doc.write(writer);
         writer.close();
     }
 
@@ -2894,6 +3033,35 @@ public class CmsWebdavServlet extends HttpServlet {
 
     }
 
+    /**
+     * Adds a response to the multistatus element which tells the client that the result of
+     * a PROPFIND request was truncated because of the configured limit.<p>
+     * 
+     * The response uses the status 507 together with the precondition 
+     * "number-of-matches-within-limits" for the requested item, so the client can 
+     * continue with requests of a smaller depth.<p>
+     * 
+     * @param req the servlet request
+     * @param elem the multistatus element to add the response to
+     * @param item the item the PROPFIND request was made for
+     */
+    private void addLimitReachedResponse(HttpServletRequest req, Element elem, I_CmsRepositoryItem item) {
+
+        Element responseElem = addElement(elem, TAG_RESPONSE);
+        try {
+            addElement(responseElem, TAG_HREF).addText(getItemHref(req, item.getName()));
+        } catch (UnsupportedEncodingException ex) {
+            responseElem.detach();
+            return;
+        }
+        addElement(responseElem, TAG_STATUS).addText(
+            "HTTP/1.1 "
+                + CmsWebdavStatus.SC_INSUFFICIENT_STORAGE
+                + " "
+                + CmsWebdavStatus.getStatusText(CmsWebdavStatus.SC_INSUFFICIENT_STORAGE));
+        addElement(addElement(responseElem, TAG_ERROR), TAG_NUMBER_OF_MATCHES_WITHIN_LIMITS);
+    }
+
     /**
      * Generate a dom element from the given information with all needed subelements to
      * add to the parent.<p>
@@ -3064,6 +3232,27 @@ public class CmsWebdavServlet extends HttpServlet {
         return MD5_ENCODER.encode(m_md5Helper.digest(lockTokenStr.getBytes()));
     }
 
+    /**
+     * Returns the encoded href for the item with the given path.<p>
+     * 
+     * @param req the servlet request
+     * @param path the path of the item
+     * 
+     * @return the encoded href of the item
+     * 
+     * @throws UnsupportedEncodingException if the path could not be encoded
+     */
+    private String getItemHref(HttpServletRequest req, String path) throws UnsupportedEncodingException {
+
+        String href = req.getContextPath() + req.getServletPath();
+        if ((href.endsWith("/")) && (path.startsWith("/"))) {
+            href += path.substring(1);
+        } else {
+            href += path;
+        }
+        return rewriteUrl(href);
+    }
+
     /**
      * Return the relative path associated with this servlet.<p>
      *
@@ -3373,15 +3562,8 @@ public class CmsWebdavServlet extends HttpServlet {
         // Generating href element
         Element hrefElem = addElement(responseElem, TAG_HREF);
 
-        String href = req.getContextPath() + req.getServletPath();
-        if ((href.endsWith("/")) && (path.startsWith("/"))) {
-            href += path.substring(1);
-        } else {
-            href += path;
-        }
-
         try {
-            hrefElem.addText(rewriteUrl(href));
+            hrefElem.addText(getItemHref(req, path));
         } catch (UnsupportedEncodingException ex) {
             return;
         }
@@ -3612,4 +3794,53 @@ public class CmsWebdavServlet extends HttpServlet {
         doc.write(writer);
         writer.close();
     }
-}
\ No newline at end of file
+
+    /**
+     * Writes the given element with all its subelements to the stream writer.<p>
+     * 
+     * @param writer the stream writer to write to
+     * @param elem the element to write
+     * 
+     * @throws XMLStreamException if something goes wrong
+     */
+    private void writeElement(XMLStreamWriter writer, Element elem) throws XMLStreamException {
+
+        writer.writeStartElement(elem.getNamespacePrefix(), elem.getName(), elem.getNamespaceURI());
+        for (int i = 0, size = elem.nodeCount(); i < size; i++) {
+            Node node = elem.node(i);
+            switch (node.getNodeType()) {
+                case Node.ELEMENT_NODE:
+                    writeElement(writer, (Element)node);
+                    break;
+                case Node.CDATA_SECTION_NODE:
+                    writer.writeCData(node.getText());
+                    break;
+                case Node.TEXT_NODE:
+                    writer.writeCharacters(node.getText());
+                    break;
+                default:
+                    break;
+            }
+        }
+        writer.writeEndElement();
+    }
+
+    /**
+     * Writes all response elements collected below the given multistatus element to 
+     * the stream writer and removes them afterwards.<p>
+     * 
+     * @param writer the stream writer to write to
+     * @param multiStatusElem the multistatus element containing the responses
+     * 
+     * @throws XMLStreamException if something goes wrong
+     */
+    private void writeResponses(XMLStreamWriter writer, Element multiStatusElem) throws XMLStreamException {
+
+        @SuppressWarnings("unchecked")
+        List<Element> responses = new ArrayList<Element>(multiStatusElem.elements());
+        for (Element responseElem : responses) {
+            writeElement(writer, responseElem);
+            multiStatusElem.remove(responseElem);
+        }
+    }
+}
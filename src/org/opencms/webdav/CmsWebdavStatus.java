@@ -112,6 +112,13 @@ public final class CmsWebdavStatus {
     // This one colides with HTTP 1.1
     // "419 Proxy Reauthentication Required"
 
+    /**
+     * Status code (507) indicating that the server is unable to store 
+     * the representation needed to complete the request, e.g. because 
+     * a result was truncated at a server side limit.
+     */
+    public static final int SC_INSUFFICIENT_STORAGE = 507;
+
     /**
      * Status code (500) indicating an error inside the HTTP service
      * which prevented it from fulfilling the request.
@@ -276,6 +283,7 @@ public final class CmsWebdavStatus {
         addStatusCodeMap(SC_MULTI_STATUS, "Multi-Status");
         addStatusCodeMap(SC_UNPROCESSABLE_ENTITY, "Unprocessable Entity");
         addStatusCodeMap(SC_INSUFFICIENT_SPACE_ON_RESOURCE, "Insufficient Space On Resource");
+        addStatusCodeMap(SC_INSUFFICIENT_STORAGE, "Insufficient Storage");
         addStatusCodeMap(SC_METHOD_FAILURE, "Method Failure");
         addStatusCodeMap(SC_LOCKED, "Locked");
     }
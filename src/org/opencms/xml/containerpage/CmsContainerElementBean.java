@@ -407,29 +407,39 @@ public class CmsContainerElementBean implements Cloneable {
      */
     public void initResource(CmsObject cms) throws CmsException {
 
-        if (m_resource == null) {
-            if (cms.getRequestContext().getCurrentProject().isOnlineProject()) {
-                m_resource = cms.readResource(getId());
-                m_releasedAndNotExpired = true;
-            } else {
-                m_resource = cms.readResource(getId(), CmsResourceFilter.IGNORE_EXPIRATION);
-                m_releasedAndNotExpired = m_resource.isReleasedAndNotExpired(cms.getRequestContext().getRequestTime());
-            }
-        } else if (!isInMemoryOnly()) {
-            CmsUUID id = m_resource.getStructureId();
-            if (id == null) {
-                id = getId();
-            }
-            // the resource object may have a wrong root path, e.g. if it was created before the resource was moved
-            if (cms.getRequestContext().getCurrentProject().isOnlineProject()) {
-                m_resource = cms.readResource(getId());
-                m_releasedAndNotExpired = true;
-            } else {
-                if (!isTemporaryContent()) {
-                    m_resource = cms.readResource(getId(), CmsResourceFilter.IGNORE_EXPIRATION);
-                }
-                m_releasedAndNotExpired = m_resource.isReleasedAndNotExpired(cms.getRequestContext().getRequestTime());
+        initResource(cms, null);
+    }
+
+    /**
+     * Initializes the resource and the site path of this element, using a resource which has already been read.<p>
+     * 
+     * This is used if the resources of many elements are read together. The given resource must have been read 
+     * by the structure id of this element with the filter which {@link #initResource(CmsObject)} would use, i.e. 
+     * {@link CmsResourceFilter#DEFAULT} in the online project and {@link CmsResourceFilter#IGNORE_EXPIRATION} 
+     * in an offline project.<p>
+     * 
+     * @param cms the CMS context 
+     * @param resource the already read element resource, if <code>null</code> the resource is read if required
+     * 
+     * @throws CmsException if something goes wrong reading the element resource
+     */
+    public void initResource(CmsObject cms, CmsResource resource) throws CmsException {
+
+        boolean isOnline = cms.getRequestContext().getCurrentProject().isOnlineProject();
+        boolean updateReleased = (m_resource == null) || !isInMemoryOnly();
+        // the resource object may have a wrong root path, e.g. if it was created before the resource was moved
+        boolean reread = (m_resource == null) || (!isInMemoryOnly() && (isOnline || !isTemporaryContent()));
+        if (reread) {
+            if (resource == null) {
+                resource = isOnline
+                ? cms.readResource(getId())
+                : cms.readResource(getId(), CmsResourceFilter.IGNORE_EXPIRATION);
             }
+            m_resource = resource;
+        }
+        if (updateReleased) {
+            m_releasedAndNotExpired = isOnline
+                || m_resource.isReleasedAndNotExpired(cms.getRequestContext().getRequestTime());
         }
         if (m_settings == null) {
             m_settings = CmsXmlContentPropertyHelper.mergeDefaults(cms, m_resource, m_individualSettings);
@@ -0,0 +1,165 @@
+/*
+ * This library is part of OpenCms -
+ * the Open Source Content Management System
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software GmbH, please see the
+ * company website: http://www.alkacon.com
+ *
+ * For further information about OpenCms, please see the
+ * project website: http://www.opencms.org
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.opencms.benchmark;
+
+import org.opencms.file.CmsObject;
+import org.opencms.file.CmsResource;
+import org.opencms.file.CmsResourceFilter;
+import org.opencms.file.types.CmsResourceTypeFolder;
+import org.opencms.main.OpenCms;
+import org.opencms.test.OpenCmsTestCase;
+import org.opencms.test.OpenCmsTestProperties;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmark state that boots a minimal OpenCms instance using the configured test database 
+ * (by default the in-process HSQLDB) and seeds it with a synthetic VFS tree.<p>
+ * 
+ * The OpenCms instance is set up once per benchmark fork, exactly like for the 
+ * JUnit tests, using the <code>simpletest</code> import.<p>
+ * 
+ * @since 9.0.0
+ */
+@State(Scope.Benchmark)
+public class CmsBenchmarkState {
+
+    /** The VFS folder the synthetic resources are generated in. */
+    public static final String BENCHMARK_FOLDER = "/benchmark/";
+
+    /** The fraction of binary files in the synthetic VFS. */
+    private static final double BINARY_FILE_DISTRIBUTION = 0.2;
+
+    /** The maximal depth of the synthetic VFS tree. */
+    private static final int MAX_DEPTH = 4;
+
+    /** The maximal number of files per folder of the synthetic VFS. */
+    private static final int MAX_FILES = 20;
+
+    /** The maximal number of properties per resource of the synthetic VFS. */
+    private static final int MAX_PROPERTIES = 10;
+
+    /** The maximal number of sub folders per folder of the synthetic VFS. */
+    private static final int MAX_WIDTH = 4;
+
+    /** The fraction of shared properties in the synthetic VFS. */
+    private static final double SHARED_PROPERTY_DISTRIBUTION = 0.5;
+
+    /** The "Admin" context in the "Offline" project. */
+    private CmsObject m_cms;
+
+    /** The generated files. */
+    private List<CmsResource> m_files;
+
+    /** The generated folders. */
+    private List<CmsResource> m_folders;
+
+    /**
+     * Returns a new "Admin" context in the "Offline" project.<p>
+     * 
+     * Every benchmark thread should use its own context, since a {@link CmsObject} 
+     * must not be shared between threads.<p>
+     * 
+     * @return a new "Admin" context
+     * 
+     * @throws Exception if something goes wrong
+     */
+    public CmsObject createCmsObject() throws Exception {
+
+        return OpenCms.initCmsObject(m_cms);
+    }
+
+    /**
+     * Returns the generated files.<p>
+     * 
+     * @return the generated files
+     */
+    public List<CmsResource> getFiles() {
+
+        return m_files;
+    }
+
+    /**
+     * Returns the generated folders.<p>
+     * 
+     * @return the generated folders
+     */
+    public List<CmsResource> getFolders() {
+
+        return m_folders;
+    }
+
+    /**
+     * Sets up OpenCms and generates the synthetic VFS.<p>
+     * 
+     * @throws Exception if something goes wrong
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+
+        OpenCmsTestProperties.initialize(org.opencms.test.AllTests.TEST_PROPERTIES_PATH);
+        m_cms = OpenCmsTestCase.setupOpenCms("simpletest", "/");
+
+        m_cms.createResource(BENCHMARK_FOLDER, CmsResourceTypeFolder.getStaticTypeId());
+        OpenCmsTestCase.generateContent(
+            m_cms,
+            BENCHMARK_FOLDER,
+            MAX_WIDTH,
+            MAX_DEPTH,
+            MAX_PROPERTIES,
+            SHARED_PROPERTY_DISTRIBUTION,
+            MAX_FILES,
+            BINARY_FILE_DISTRIBUTION);
+
+        m_files = Collections.unmodifiableList(new ArrayList<CmsResource>(m_cms.readResources(
+            BENCHMARK_FOLDER,
+            CmsResourceFilter.DEFAULT_FILES,
+            true)));
+        m_folders = Collections.unmodifiableList(new ArrayList<CmsResource>(m_cms.readResources(
+            BENCHMARK_FOLDER,
+            CmsResourceFilter.DEFAULT_FOLDERS,
+            true)));
+    }
+
+    /**
+     * Shuts down OpenCms.<p>
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+
+        OpenCmsTestCase.removeOpenCms();
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * This library is part of OpenCms -
+ * the Open Source Content Management System
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software GmbH, please see the
+ * company website: http://www.alkacon.com
+ *
+ * For further information about OpenCms, please see the
+ * project website: http://www.opencms.org
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.opencms.benchmark;
+
+import org.opencms.cache.CmsLruCache;
+import org.opencms.cache.I_CmsLruCacheObject;
+import org.opencms.flex.CmsFlexCacheEntry;
+import org.opencms.flex.CmsFlexCacheKey;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the Flex cache, i.e. parsing of cache directives and the LRU handling of 
+ * cache entries with a mix of hits and misses.<p>
+ * 
+ * The keys are requested with a skewed distribution, so that a small set of "hot" keys 
+ * is requested most of the time, while the cache is only large enough for a part of all keys.<p>
+ * 
+ * @since 9.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CmsFlexCacheBenchmark {
+
+    /** Cache directives as used in typical JSP templates. */
+    private static final String CACHE_DIRECTIVES = "uri;user;locale;params=(page,category,__locale);timeout=60";
+
+    /** The size of the content of a single cache entry. */
+    private static final int ENTRY_SIZE = 1024;
+
+    /** The number of different keys. */
+    private static final int KEY_COUNT = 10000;
+
+    /** The number of entries that fit into the cache. */
+    private static final int CACHED_ENTRIES = KEY_COUNT / 4;
+
+    /** The cache under test. */
+    private CmsLruCache m_cache;
+
+    /** The content of the cache entries. */
+    private byte[] m_content;
+
+    /** The entries currently in the cache. */
+    private Map<String, I_CmsLruCacheObject> m_entries;
+
+    /** The keys to request. */
+    private String[] m_keys;
+
+    /** The random number generator for the keys to request. */
+    private Random m_random;
+
+    /**
+     * Looks up a cache entry, and adds a new entry in case of a cache miss.<p>
+     * 
+     * @return the entry read or created
+     */
+    @Benchmark
+    public Object lookup() {
+
+        // square the random number to prefer the first keys
+        double r = m_random.nextDouble();
+        String key = m_keys[(int)(r * r * KEY_COUNT)];
+        I_CmsLruCacheObject entry = m_entries.get(key);
+        if (entry != null) {
+            m_cache.touch(entry);
+        } else {
+            CmsFlexCacheEntry newEntry = new CmsFlexCacheEntry();
+            newEntry.add(m_content);
+            newEntry.complete();
+            newEntry.setVariationData(key, m_entries);
+            m_entries.put(key, newEntry);
+            m_cache.add(newEntry);
+            entry = newEntry;
+        }
+        return entry;
+    }
+
+    /**
+     * Parses the cache directives of a resource.<p>
+     * 
+     * @return the parsed key
+     */
+    @Benchmark
+    public Object parseCacheKey() {
+
+        return new CmsFlexCacheKey("/system/modules/org.opencms.benchmark/elements/main.jsp", CACHE_DIRECTIVES, true);
+    }
+
+    /**
+     * Creates an empty cache and the keys to request.<p>
+     */
+    @Setup(Level.Iteration)
+    public void setUp() {
+
+        m_content = new byte[ENTRY_SIZE];
+        Random random = new Random(42);
+        random.nextBytes(m_content);
+        m_keys = new String[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            m_keys[i] = "/sites/default/page" + i + ".html_" + i % 7 + "_" + Integer.toHexString(i * 31);
+        }
+        m_entries = new HashMap<String, I_CmsLruCacheObject>();
+        m_cache = new CmsLruCache(CACHED_ENTRIES * ENTRY_SIZE, (CACHED_ENTRIES * ENTRY_SIZE) / 2, ENTRY_SIZE * 2);
+        m_random = new Random(42);
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * This library is part of OpenCms -
+ * the Open Source Content Management System
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software GmbH, please see the
+ * company website: http://www.alkacon.com
+ *
+ * For further information about OpenCms, please see the
+ * project website: http://www.opencms.org
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.opencms.benchmark;
+
+import org.opencms.file.CmsObject;
+import org.opencms.file.CmsResource;
+import org.opencms.i18n.CmsEncoder;
+import org.opencms.staticexport.CmsLinkProcessor;
+import org.opencms.staticexport.CmsLinkTable;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the link processing of HTML content, i.e. the conversion of links to macros
+ * when saving and the substitution of the macros when rendering.<p>
+ * 
+ * @since 9.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CmsLinkProcessorBenchmark {
+
+    /** The number of links in the generated HTML. */
+    private static final int LINK_COUNT = 50;
+
+    /** The context of the current benchmark thread. */
+    private CmsObject m_cms;
+
+    /** The generated HTML with links. */
+    private String m_html;
+
+    /** The link table matching the processed HTML. */
+    private CmsLinkTable m_linkTable;
+
+    /** The processed HTML with link macros. */
+    private String m_processedHtml;
+
+    /**
+     * Converts the links of the generated HTML to macros.<p>
+     * 
+     * @return the processed HTML
+     * 
+     * @throws Exception if something goes wrong
+     */
+    @Benchmark
+    public String processLinks() throws Exception {
+
+        CmsLinkProcessor processor = new CmsLinkProcessor(
+            m_cms,
+            new CmsLinkTable(),
+            CmsEncoder.ENCODING_UTF_8,
+            CmsBenchmarkState.BENCHMARK_FOLDER);
+        return processor.processLinks(m_html);
+    }
+
+    /**
+     * Substitutes the link macros of the processed HTML.<p>
+     * 
+     * @return the HTML with substituted links
+     * 
+     * @throws Exception if something goes wrong
+     */
+    @Benchmark
+    public String replaceLinks() throws Exception {
+
+        CmsLinkProcessor processor = new CmsLinkProcessor(
+            m_cms,
+            m_linkTable,
+            CmsEncoder.ENCODING_UTF_8,
+            CmsBenchmarkState.BENCHMARK_FOLDER);
+        return processor.replaceLinks(m_processedHtml);
+    }
+
+    /**
+     * Generates the HTML with links to the benchmark resources and processes it once.<p>
+     * 
+     * @param state the benchmark state with the running OpenCms instance
+     * 
+     * @throws Exception if something goes wrong
+     */
+    @Setup(Level.Trial)
+    public void setUp(CmsBenchmarkState state) throws Exception {
+
+        m_cms = state.createCmsObject();
+        List<CmsResource> files = state.getFiles();
+        StringBuffer html = new StringBuffer(LINK_COUNT * 128);
+        html.append("<html><body>\n");
+        for (int i = 0; i < LINK_COUNT; i++) {
+            CmsResource file = files.get((i * 7) % files.size());
+            html.append("<p>Paragraph ").append(i).append(" <a href=\"");
+            html.append(m_cms.getSitePath(file)).append("\">internal link</a>");
+            if ((i % 5) == 0) {
+                html.append(" <a href=\"http://www.opencms.org/page").append(i).append(".html\">external link</a>");
+            }
+            if ((i % 3) == 0) {
+                html.append(" <img src=\"").append(m_cms.getSitePath(file)).append("\" alt=\"\" />");
+            }
+            html.append("</p>\n");
+        }
+        html.append("</body></html>");
+        m_html = html.toString();
+
+        m_linkTable = new CmsLinkTable();
+        CmsLinkProcessor processor = new CmsLinkProcessor(
+            m_cms,
+            m_linkTable,
+            CmsEncoder.ENCODING_UTF_8,
+            CmsBenchmarkState.BENCHMARK_FOLDER);
+        m_processedHtml = processor.processLinks(m_html);
+    }
+}
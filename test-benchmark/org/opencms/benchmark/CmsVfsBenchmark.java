@@ -0,0 +1,164 @@
+/*
+ * This library is part of OpenCms -
+ * the Open Source Content Management System
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software GmbH, please see the
+ * company website: http://www.alkacon.com
+ *
+ * For further information about OpenCms, please see the
+ * project website: http://www.opencms.org
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.opencms.benchmark;
+
+import org.opencms.file.CmsObject;
+import org.opencms.file.CmsPropertyDefinition;
+import org.opencms.file.CmsResource;
+import org.opencms.file.CmsResourceFilter;
+import org.opencms.security.CmsPermissionSet;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for reading resources and properties from the VFS and for permission checks,
+ * covering the driver manager, the memory monitor caches and the security manager.<p>
+ * 
+ * @since 9.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CmsVfsBenchmark {
+
+    /** The context of the current benchmark thread. */
+    private CmsObject m_cms;
+
+    /** The files to cycle through. */
+    private List<CmsResource> m_files;
+
+    /** The index of the next file to use. */
+    private int m_index;
+
+    /**
+     * Checks the write permissions of the current user on a file.<p>
+     * 
+     * @return the permission check result
+     * 
+     * @throws Exception if something goes wrong
+     */
+    @Benchmark
+    public boolean checkWritePermissions() throws Exception {
+
+        return m_cms.hasPermissions(nextFile(), CmsPermissionSet.ACCESS_WRITE);
+    }
+
+    /**
+     * Reads a file with all its properties, searching the parent folders.<p>
+     * 
+     * @return the properties read
+     * 
+     * @throws Exception if something goes wrong
+     */
+    @Benchmark
+    public Object readInheritedProperties() throws Exception {
+
+        return m_cms.readPropertyObjects(m_cms.getSitePath(nextFile()), true);
+    }
+
+    /**
+     * Reads a single property of a file, searching the parent folders.<p>
+     * 
+     * @return the property read
+     * 
+     * @throws Exception if something goes wrong
+     */
+    @Benchmark
+    public Object readInheritedProperty() throws Exception {
+
+        return m_cms.readPropertyObject(nextFile(), CmsPropertyDefinition.PROPERTY_TITLE, true);
+    }
+
+    /**
+     * Reads a file by its structure id.<p>
+     * 
+     * @return the resource read
+     * 
+     * @throws Exception if something goes wrong
+     */
+    @Benchmark
+    public Object readResourceById() throws Exception {
+
+        return m_cms.readResource(nextFile().getStructureId(), CmsResourceFilter.DEFAULT);
+    }
+
+    /**
+     * Reads a file by its path.<p>
+     * 
+     * @return the resource read
+     * 
+     * @throws Exception if something goes wrong
+     */
+    @Benchmark
+    public Object readResourceByPath() throws Exception {
+
+        return m_cms.readResource(m_cms.getSitePath(nextFile()), CmsResourceFilter.DEFAULT);
+    }
+
+    /**
+     * Initializes the context of the benchmark thread.<p>
+     * 
+     * @param state the benchmark state with the running OpenCms instance
+     * 
+     * @throws Exception if something goes wrong
+     */
+    @Setup(Level.Trial)
+    public void setUp(CmsBenchmarkState state) throws Exception {
+
+        m_cms = state.createCmsObject();
+        m_files = state.getFiles();
+        m_index = 0;
+    }
+
+    /**
+     * Returns the next file to use.<p>
+     * 
+     * @return the next file to use
+     */
+    private CmsResource nextFile() {
+
+        m_index = (m_index + 1) % m_files.size();
+        return m_files.get(m_index);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * This library is part of OpenCms -
+ * the Open Source Content Management System
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software GmbH, please see the
+ * company website: http://www.alkacon.com
+ *
+ * For further information about OpenCms, please see the
+ * project website: http://www.opencms.org
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.opencms.benchmark;
+
+import org.opencms.i18n.CmsEncoder;
+import org.opencms.util.CmsFileUtil;
+import org.opencms.xml.CmsXmlContentDefinition;
+import org.opencms.xml.CmsXmlEntityResolver;
+import org.opencms.xml.content.CmsXmlContent;
+import org.opencms.xml.content.CmsXmlContentFactory;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for unmarshalling XML contents, which does not require a running OpenCms instance.<p>
+ * 
+ * Uses the same schema and content as the XML content unit tests.<p>
+ * 
+ * @since 9.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CmsXmlContentBenchmark {
+
+    /** The schema id. */
+    private static final String SCHEMA_SYSTEM_ID_1 = "http://www.opencms.org/test1.xsd";
+
+    /** The XML content as String. */
+    private String m_content;
+
+    /** The XML content as byte array. */
+    private byte[] m_contentBytes;
+
+    /** The entity resolver. */
+    private CmsXmlEntityResolver m_resolver;
+
+    /**
+     * Reads the schema and the XML content and caches the schema in the entity resolver.<p>
+     * 
+     * @throws Exception if something goes wrong
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+
+        m_resolver = new CmsXmlEntityResolver(null);
+        String schema = CmsFileUtil.readFile(
+            "org/opencms/xml/content/xmlcontent-definition-1.xsd",
+            CmsEncoder.ENCODING_UTF_8);
+        CmsXmlContentDefinition definition = CmsXmlContentDefinition.unmarshal(schema, SCHEMA_SYSTEM_ID_1, m_resolver);
+        CmsXmlEntityResolver.cacheSystemId(
+            SCHEMA_SYSTEM_ID_1,
+            definition.getSchema().asXML().getBytes(CmsEncoder.ENCODING_UTF_8));
+        m_content = CmsFileUtil.readFile("org/opencms/xml/content/xmlcontent-1.xml", CmsEncoder.ENCODING_UTF_8);
+        m_contentBytes = m_content.getBytes(CmsEncoder.ENCODING_UTF_8);
+    }
+
+    /**
+     * Unmarshals the XML content from a byte array and reads a value, like it is done when reading from the VFS.<p>
+     * 
+     * @return the value read
+     * 
+     * @throws Exception if something goes wrong
+     */
+    @Benchmark
+    public Object unmarshalFromBytes() throws Exception {
+
+        CmsXmlContent content = CmsXmlContentFactory.unmarshal(
+            null,
+            m_contentBytes,
+            CmsEncoder.ENCODING_UTF_8,
+            m_resolver);
+        return content.getValue("String", Locale.ENGLISH);
+    }
+
+    /**
+     * Unmarshals the XML content from a String and reads a value.<p>
+     * 
+     * @return the value read
+     * 
+     * @throws Exception if something goes wrong
+     */
+    @Benchmark
+    public Object unmarshalFromString() throws Exception {
+
+        CmsXmlContent content = CmsXmlContentFactory.unmarshal(m_content, CmsEncoder.ENCODING_UTF_8, m_resolver);
+        return content.getValue("String", Locale.ENGLISH);
+    }
+}
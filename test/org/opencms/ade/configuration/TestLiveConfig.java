@@ -28,6 +28,7 @@
 package org.opencms.ade.configuration;
 
 import org.opencms.ade.detailpage.CmsDetailPageInfo;
+import org.opencms.ade.galleries.CmsGalleryIndex;
 import org.opencms.file.CmsObject;
 import org.opencms.file.CmsProject;
 import org.opencms.file.CmsProperty;
@@ -137,6 +138,42 @@ public class TestLiveConfig extends OpenCmsTestCase {
         assertEquals("blah", formatters.get(0).getContainerType());
     }
 
+    /**
+     * Tests that the gallery index finds a gallery at its new path after its parent folder has been moved.<p>
+     * 
+     * @throws Exception
+     */
+    public void testGalleryIndexFolderMove() throws Exception {
+
+        try {
+            CmsObject cms = rootCms();
+            int folderType = OpenCms.getResourceManager().getResourceType("folder").getTypeId();
+            int galleryType = OpenCms.getResourceManager().getResourceType("imagegallery").getTypeId();
+            cms.createResource("/sites/default/today/gallerytest", folderType);
+            CmsResource gallery = cms.createResource("/sites/default/today/gallerytest/images", galleryType);
+
+            CmsGalleryIndex index = OpenCms.getADEManager().getGalleryIndex(cms);
+            List<CmsResource> galleries = index.getGalleries(
+                cms,
+                galleryType,
+                Collections.singletonList("/sites/default/today/gallerytest/"));
+            assertEquals(1, galleries.size());
+            assertEquals(gallery.getStructureId(), galleries.get(0).getStructureId());
+
+            cms.moveResource("/sites/default/today/gallerytest", "/sites/default/gallerymoved");
+            galleries = index.getGalleries(cms, galleryType, Collections.singletonList("/sites/default/gallerymoved/"));
+            assertEquals(1, galleries.size());
+            assertEquals("/sites/default/gallerymoved/images/", galleries.get(0).getRootPath());
+            galleries = index.getGalleries(
+                cms,
+                galleryType,
+                Collections.singletonList("/sites/default/today/gallerytest/"));
+            assertTrue(galleries.isEmpty());
+        } finally {
+            restoreFiles();
+        }
+    }
+
     /**
      * Tests the configuration in top-level sitemaps.<p>
      * @throws Exception
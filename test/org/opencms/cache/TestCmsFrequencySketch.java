@@ -0,0 +1,128 @@
+/*
+ * This library is part of OpenCms -
+ * the Open Source Content Management System
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software GmbH, please see the
+ * company website: http://www.alkacon.com
+ *
+ * For further information about OpenCms, please see the
+ * project website: http://www.opencms.org
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+
+package org.opencms.cache;
+
+import junit.framework.TestCase;
+
+/**
+ * Test case for <code>{@link org.opencms.cache.CmsFrequencySketch}</code>.<p>
+ * 
+ * @since 9.0.0
+ */
+public class TestCmsFrequencySketch extends TestCase {
+
+    /**
+     * Default JUnit constructor.<p>
+     * 
+     * @param arg0 JUnit parameters
+     */
+    public TestCmsFrequencySketch(String arg0) {
+
+        super(arg0);
+    }
+
+    /**
+     * Tests that all counters are halved once enough accesses have been recorded.<p>
+     * 
+     * @throws Exception in case the test fails
+     */
+    public void testAging() throws Exception {
+
+        CmsFrequencySketch sketch = new CmsFrequencySketch(16);
+        for (int i = 0; i < CmsFrequencySketch.MAX_FREQUENCY; i++) {
+            sketch.increment("hot");
+        }
+        assertEquals(CmsFrequencySketch.MAX_FREQUENCY, sketch.frequency("hot"));
+        int frequency = CmsFrequencySketch.MAX_FREQUENCY;
+        for (int i = 0; (i < 10000) && (frequency == CmsFrequencySketch.MAX_FREQUENCY); i++) {
+            sketch.increment("key" + i);
+            frequency = sketch.frequency("hot");
+        }
+        // the saturated counters of the hot key have been halved
+        assertEquals(CmsFrequencySketch.MAX_FREQUENCY / 2, frequency);
+    }
+
+    /**
+     * Tests clearing the sketch.<p>
+     * 
+     * @throws Exception in case the test fails
+     */
+    public void testClear() throws Exception {
+
+        CmsFrequencySketch sketch = new CmsFrequencySketch(64);
+        for (int i = 0; i < 5; i++) {
+            sketch.increment("a");
+            sketch.increment("b");
+        }
+        sketch.clear();
+        assertEquals(0, sketch.frequency("a"));
+        assertEquals(0, sketch.frequency("b"));
+    }
+
+    /**
+     * Tests that the estimated frequency is never lower than the real number of accesses.<p>
+     * 
+     * @throws Exception in case the test fails
+     */
+    public void testEstimateNotTooLow() throws Exception {
+
+        CmsFrequencySketch sketch = new CmsFrequencySketch(1024);
+        for (int i = 0; i < 500; i++) {
+            for (int j = 0; j < (i % 20); j++) {
+                sketch.increment(new Integer(i));
+            }
+        }
+        for (int i = 0; i < 500; i++) {
+            int expected = Math.min(i % 20, CmsFrequencySketch.MAX_FREQUENCY);
+            assertTrue(sketch.frequency(new Integer(i)) >= expected);
+        }
+    }
+
+    /**
+     * Tests the frequency of a single key.<p>
+     * 
+     * @throws Exception in case the test fails
+     */
+    public void testFrequency() throws Exception {
+
+        CmsFrequencySketch sketch = new CmsFrequencySketch(128);
+        assertEquals(0, sketch.frequency("a"));
+        assertEquals(0, sketch.frequency(null));
+        for (int i = 1; i <= CmsFrequencySketch.MAX_FREQUENCY; i++) {
+            sketch.increment("a");
+            assertEquals(i, sketch.frequency("a"));
+        }
+        // the frequency is capped
+        sketch.increment("a");
+        assertEquals(CmsFrequencySketch.MAX_FREQUENCY, sketch.frequency("a"));
+        assertEquals(0, sketch.frequency("b"));
+        sketch.increment(null);
+        assertEquals(1, sketch.frequency(null));
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * This library is part of OpenCms -
+ * the Open Source Content Management System
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software GmbH, please see the
+ * company website: http://www.alkacon.com
+ *
+ * For further information about OpenCms, please see the
+ * project website: http://www.opencms.org
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+
+package org.opencms.cache;
+
+import junit.framework.TestCase;
+
+/**
+ * Test case for the eviction policies of <code>{@link org.opencms.cache.CmsLruCache}</code>.<p>
+ * 
+ * @since 9.0.0
+ */
+public class TestCmsLruCache extends TestCase {
+
+    /**
+     * A cache object with a key and cache costs.<p>
+     */
+    private static class CmsTestCacheObject implements I_CmsLruCacheObject {
+
+        /** Flag to indicate if the object is in the cache. */
+        protected boolean m_cached;
+
+        /** The cache costs. */
+        private int m_costs;
+
+        /** The key. */
+        private String m_key;
+
+        /** The next object in the LRU list. */
+        private I_CmsLruCacheObject m_next;
+
+        /** The previous object in the LRU list. */
+        private I_CmsLruCacheObject m_previous;
+
+        /**
+         * Creates a new cache object.<p>
+         * 
+         * @param key the key
+         * @param costs the cache costs
+         */
+        protected CmsTestCacheObject(String key, int costs) {
+
+            m_key = key;
+            m_costs = costs;
+        }
+
+        /**
+         * @see org.opencms.cache.I_CmsLruCacheObject#addToLruCache()
+         */
+        public void addToLruCache() {
+
+            m_cached = true;
+        }
+
+        /**
+         * @see org.opencms.cache.I_CmsLruCacheObject#getLruCacheCosts()
+         */
+        public int getLruCacheCosts() {
+
+            return m_costs;
+        }
+
+        /**
+         * @see org.opencms.cache.I_CmsLruCacheObject#getNextLruObject()
+         */
+        public I_CmsLruCacheObject getNextLruObject() {
+
+            return m_next;
+        }
+
+        /**
+         * @see org.opencms.cache.I_CmsLruCacheObject#getPreviousLruObject()
+         */
+        public I_CmsLruCacheObject getPreviousLruObject() {
+
+            return m_previous;
+        }
+
+        /**
+         * @see org.opencms.cache.I_CmsLruCacheObject#getValue()
+         */
+        public Object getValue() {
+
+            return m_key;
+        }
+
+        /**
+         * @see org.opencms.cache.I_CmsLruCacheObject#removeFromLruCache()
+         */
+        public void removeFromLruCache() {
+
+            m_cached = false;
+        }
+
+        /**
+         * @see org.opencms.cache.I_CmsLruCacheObject#setNextLruObject(org.opencms.cache.I_CmsLruCacheObject)
+         */
+        public void setNextLruObject(I_CmsLruCacheObject theNextObject) {
+
+            m_next = theNextObject;
+        }
+
+        /**
+         * @see org.opencms.cache.I_CmsLruCacheObject#setPreviousLruObject(org.opencms.cache.I_CmsLruCacheObject)
+         */
+        public void setPreviousLruObject(I_CmsLruCacheObject thePreviousObject) {
+
+            m_previous = thePreviousObject;
+        }
+    }
+
+    /**
+     * Default JUnit constructor.<p>
+     * 
+     * @param arg0 JUnit parameters
+     */
+    public TestCmsLruCache(String arg0) {
+
+        super(arg0);
+    }
+
+    /**
+     * Tests that the adaptive policy does not admit a rarely requested object to a full cache,
+     * but admits it once it has been requested more often than the objects it would replace.<p>
+     * 
+     * @throws Exception in case the test fails
+     */
+    public void testAdaptiveAdmission() throws Exception {
+
+        CmsLruCache cache = new CmsLruCache(100, 80, -1, CmsLruCache.Policy.ADAPTIVE, 1024);
+        CmsTestCacheObject[] objects = new CmsTestCacheObject[10];
+        for (int i = 0; i < objects.length; i++) {
+            objects[i] = new CmsTestCacheObject("key" + i, 10);
+            // objects are always admitted as long as the cache is not full
+            assertTrue(cache.add(objects[i], objects[i].getValue()));
+        }
+        assertEquals(10, cache.size());
+        assertEquals(100, cache.getObjectCosts());
+        for (int hits = 0; hits < 2; hits++) {
+            for (int i = 0; i < objects.length; i++) {
+                assertTrue(cache.recordHit(objects[i]));
+            }
+        }
+
+        // the cached objects have been requested 3 times each, a new object only once
+        CmsTestCacheObject cold = new CmsTestCacheObject("cold", 10);
+        assertFalse(cache.add(cold, cold.getValue()));
+        assertFalse(cold.m_cached);
+        assertEquals(1, cache.getRejectedCount());
+        assertEquals(10, cache.size());
+
+        // a new object requested more often than the objects it replaces is admitted
+        CmsTestCacheObject hot = new CmsTestCacheObject("hot", 10);
+        int attempts = 1;
+        while (!cache.add(hot, hot.getValue())) {
+            attempts++;
+        }
+        assertEquals(4, attempts);
+        assertTrue(hot.m_cached);
+        assertTrue(cache.getObjectCosts() < cache.getAvgCacheCosts());
+        int cached = 0;
+        for (int i = 0; i < objects.length; i++) {
+            if (objects[i].m_cached) {
+                cached++;
+            }
+        }
+        assertEquals(cache.size() - 1, cached);
+    }
+
+    /**
+     * Tests that the adaptive policy evicts the objects of the probation segment first.<p>
+     * 
+     * @throws Exception in case the test fails
+     */
+    public void testAdaptiveProtectedSegment() throws Exception {
+
+        CmsLruCache cache = new CmsLruCache(100, 80, -1, CmsLruCache.Policy.ADAPTIVE, 1024);
+        CmsTestCacheObject used = new CmsTestCacheObject("used", 10);
+        cache.add(used, used.getValue());
+        CmsTestCacheObject[] objects = new CmsTestCacheObject[9];
+        for (int i = 0; i < objects.length; i++) {
+            objects[i] = new CmsTestCacheObject("key" + i, 10);
+            cache.add(objects[i], objects[i].getValue());
+        }
+        // the first object is requested again and moves to the protected segment
+        cache.recordHit(used);
+        cache.remove(objects[0]);
+        cache.remove(objects[1]);
+        assertEquals(80, cache.getObjectCosts());
+
+        // adding more objects which are requested as often as the ones in the probation segment
+        for (int i = 0; i < 5; i++) {
+            CmsTestCacheObject next = new CmsTestCacheObject("next" + i, 10);
+            cache.add(next, next.getValue());
+            cache.add(next, next.getValue());
+        }
+        assertTrue(used.m_cached);
+    }
+
+    /**
+     * Tests the LRU policy.<p>
+     * 
+     * @throws Exception in case the test fails
+     */
+    public void testLru() throws Exception {
+
+        CmsLruCache cache = new CmsLruCache(100, 80, 50);
+        assertEquals(CmsLruCache.Policy.LRU, cache.getPolicy());
+        CmsTestCacheObject[] objects = new CmsTestCacheObject[10];
+        for (int i = 0; i < objects.length; i++) {
+            objects[i] = new CmsTestCacheObject("key" + i, 10);
+            assertTrue(cache.add(objects[i]));
+        }
+        // objects with costs above the max. object costs are never cached
+        assertFalse(cache.add(new CmsTestCacheObject("large", 60)));
+
+        // the first object is used again, so the second one is the last recently used
+        assertTrue(cache.touch(objects[0]));
+        // hits are only recorded by the adaptive policy
+        assertFalse(cache.recordHit(objects[0]));
+        CmsTestCacheObject next = new CmsTestCacheObject("next", 10);
+        assertTrue(cache.add(next));
+
+        // the cache has removed the last recently used objects until the costs are below the avg. costs
+        assertEquals(70, cache.getObjectCosts());
+        assertTrue(objects[0].m_cached);
+        assertTrue(next.m_cached);
+        for (int i = 1; i < 5; i++) {
+            assertFalse(objects[i].m_cached);
+        }
+        for (int i = 5; i < objects.length; i++) {
+            assertTrue(objects[i].m_cached);
+        }
+        assertEquals(0, cache.getRejectedCount());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertFalse(objects[0].m_cached);
+    }
+}
@@ -33,6 +33,9 @@ import org.opencms.test.OpenCmsTestCase;
 import org.opencms.test.OpenCmsTestProperties;
 import org.opencms.util.CmsUUID;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import junit.extensions.TestSetup;
 import junit.framework.Test;
 import junit.framework.TestSuite;
@@ -73,6 +76,8 @@ public class TestReadResource extends OpenCmsTestCase {
         suite.addTest(new TestReadResource("testReadAfterExpirationDateIgnore"));
         suite.addTest(new TestReadResource("testReadWithResourceID"));
         suite.addTest(new TestReadResource("testReadWithWrongResourceID"));
+        suite.addTest(new TestReadResource("testReadResourcesWithStructureIds"));
+        suite.addTest(new TestReadResource("testReadWithRequestReadCache"));
         suite.addTest(new TestReadResource("testReadFileWithResourceID"));
 
         TestSetup wrapper = new TestSetup(suite) {
@@ -340,6 +345,82 @@ public class TestReadResource extends OpenCmsTestCase {
         }
     }
 
+    /**
+     * Test reading several resources at once by their structure ids.<p>
+     * 
+     * @throws Throwable if something is wrong
+     */
+    public void testReadResourcesWithStructureIds() throws Throwable {
+
+        CmsObject cms = getCmsObject();
+        echo("Testing reading several resources by their structure ids");
+
+        String[] paths = {"/folder1/image2.gif", "/index.html", "/folder1/", "/folder1/index.html"};
+        List<CmsUUID> ids = new ArrayList<CmsUUID>();
+        for (String path : paths) {
+            ids.add(cms.readResource(path).getStructureId());
+        }
+        // unknown and duplicate ids are ignored
+        ids.add(2, new CmsUUID("a7b5d298-b3ab-11d8-b3e3-514d35713fed"));
+        ids.add(ids.get(0));
+
+        List<CmsResource> resources = cms.readResources(ids, CmsResourceFilter.DEFAULT);
+        assertEquals(paths.length, resources.size());
+        for (int i = 0; i < paths.length; i++) {
+            assertEquals(cms.getRequestContext().addSiteRoot(paths[i]), resources.get(i).getRootPath());
+        }
+
+        // the filter is applied to the resources
+        resources = cms.readResources(ids, CmsResourceFilter.DEFAULT_FILES);
+        assertEquals(paths.length - 1, resources.size());
+        assertEquals(cms.getRequestContext().addSiteRoot(paths[3]), resources.get(2).getRootPath());
+
+        assertTrue(cms.readResources(new ArrayList<CmsUUID>(), CmsResourceFilter.ALL).isEmpty());
+    }
+
+    /**
+     * Test reading resources and properties with a request read cache.<p>
+     *
+     * @throws Throwable if something is wrong
+     */
+    public void testReadWithRequestReadCache() throws Throwable {
+
+        CmsObject cms = getCmsObject();
+        echo("Testing reading resources and properties with a request read cache");
+
+        String path = "/folder1/index.html";
+        CmsRequestReadCache readCache = new CmsRequestReadCache();
+        cms.getRequestContext().setReadCache(readCache);
+        try {
+            CmsResource resource = cms.readResource(path);
+            assertEquals(0, readCache.getHits());
+
+            // repeated reads by path or by structure id return copies of the cached resource
+            CmsResource cached = cms.readResource(path);
+            assertNotSame(resource, cached);
+            assertEquals(resource.getRootPath(), cached.getRootPath());
+            assertEquals(resource.getRootPath(), cms.readResource(resource.getStructureId()).getRootPath());
+            assertEquals(2, readCache.getHits());
+
+            String title = cms.readPropertyObject(path, CmsPropertyDefinition.PROPERTY_TITLE, false).getValue();
+            assertEquals(title, cms.readPropertyObject(path, CmsPropertyDefinition.PROPERTY_TITLE, false).getValue());
+            assertEquals(4, readCache.getHits());
+
+            // a write fires an event which discards the cached results
+            cms.lockResource(path);
+            cms.writePropertyObject(path, new CmsProperty(
+                CmsPropertyDefinition.PROPERTY_TITLE,
+                "Request read cache title",
+                null));
+            assertEquals(
+                "Request read cache title",
+                cms.readPropertyObject(path, CmsPropertyDefinition.PROPERTY_TITLE, false).getValue());
+            cms.unlockResource(path);
+        } finally {
+            cms.getRequestContext().setReadCache(null);
+        }
+    }
+
     /**
      * Test readFile with the structure id.<p>
      *
@@ -0,0 +1,216 @@
+/*
+ * This library is part of OpenCms -
+ * the Open Source Content Management System
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software GmbH, please see the
+ * company website: http://www.alkacon.com
+ *
+ * For further information about OpenCms, please see the
+ * project website: http://www.opencms.org
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+
+package org.opencms.file.collectors;
+
+import org.opencms.file.CmsResource;
+import org.opencms.file.I_CmsResource;
+import org.opencms.util.CmsUUID;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for selecting the first resources of a collector result.<p>
+ * 
+ * @since 9.0.0
+ */
+public class TestSelectTopResults extends TestCase {
+
+    /** The collector used to call the selection method. */
+    private A_CmsResourceCollector m_collector = new CmsDefaultResourceCollector();
+
+    /**
+     * Default JUnit constructor.<p>
+     * 
+     * @param arg0 JUnit parameters
+     */
+    public TestSelectTopResults(String arg0) {
+
+        super(arg0);
+    }
+
+    /**
+     * Tests that all resources are returned sorted if the count is larger than the number of resources.<p>
+     */
+    public void testCountLargerThanSize() {
+
+        List<CmsResource> resources = createResources(20, 5, 1);
+        List<CmsResource> result = m_collector.selectTopResults(resources, I_CmsResource.COMPARE_DATE_RELEASED, 25);
+        assertEquals(sortAndShrink(resources, I_CmsResource.COMPARE_DATE_RELEASED, 25), result);
+        assertEquals(20, result.size());
+
+        result = m_collector.selectTopResults(resources, I_CmsResource.COMPARE_DATE_RELEASED, 20);
+        assertEquals(sortAndShrink(resources, I_CmsResource.COMPARE_DATE_RELEASED, 20), result);
+    }
+
+    /**
+     * Tests that all resources are returned sorted if the count is 0 or negative.<p>
+     */
+    public void testCountZeroOrNegative() {
+
+        List<CmsResource> resources = createResources(20, 5, 2);
+        List<CmsResource> expected = sortAndShrink(resources, I_CmsResource.COMPARE_DATE_RELEASED, 0);
+        assertEquals(20, expected.size());
+        assertEquals(expected, m_collector.selectTopResults(resources, I_CmsResource.COMPARE_DATE_RELEASED, 0));
+        assertEquals(expected, m_collector.selectTopResults(resources, I_CmsResource.COMPARE_DATE_RELEASED, -1));
+
+        assertTrue(m_collector.selectTopResults(
+            new ArrayList<CmsResource>(),
+            I_CmsResource.COMPARE_DATE_RELEASED,
+            5).isEmpty());
+    }
+
+    /**
+     * Tests that the result matches a full sort of the resources followed by cutting off the list,
+     * for many different lists and counts.<p>
+     */
+    public void testOrderStability() {
+
+        for (int seed = 0; seed < 20; seed++) {
+            List<CmsResource> resources = createResources(100, 10 + seed, seed);
+            List<CmsResource> original = new ArrayList<CmsResource>(resources);
+            for (int count = 1; count <= 101; count += 5) {
+                assertEquals(
+                    "seed " + seed + ", count " + count,
+                    sortAndShrink(resources, I_CmsResource.COMPARE_DATE_RELEASED, count),
+                    m_collector.selectTopResults(resources, I_CmsResource.COMPARE_DATE_RELEASED, count));
+                assertEquals(
+                    "seed " + seed + ", count " + count,
+                    sortAndShrink(resources, I_CmsResource.COMPARE_ROOT_PATH, count),
+                    m_collector.selectTopResults(resources, I_CmsResource.COMPARE_ROOT_PATH, count));
+            }
+            // the input list must not be changed
+            assertEquals(original, resources);
+        }
+    }
+
+    /**
+     * Tests that resources which are equal according to the comparator keep their order.<p>
+     */
+    public void testTies() {
+
+        // all resources have the same release date
+        List<CmsResource> resources = createResources(30, 1, 3);
+        List<CmsResource> result = m_collector.selectTopResults(resources, I_CmsResource.COMPARE_DATE_RELEASED, 10);
+        assertEquals(resources.subList(0, 10), result);
+
+        // ties at the boundary of the selection
+        resources = new ArrayList<CmsResource>();
+        resources.add(createResource("/a", 3000));
+        resources.add(createResource("/b", 1000));
+        resources.add(createResource("/c", 2000));
+        resources.add(createResource("/d", 1000));
+        resources.add(createResource("/e", 2000));
+        resources.add(createResource("/f", 2000));
+        result = m_collector.selectTopResults(resources, I_CmsResource.COMPARE_DATE_RELEASED, 3);
+        // newest first, equal dates in the original order
+        List<CmsResource> expected = new ArrayList<CmsResource>();
+        expected.add(resources.get(0));
+        expected.add(resources.get(2));
+        expected.add(resources.get(4));
+        assertEquals(expected, result);
+        assertEquals(sortAndShrink(resources, I_CmsResource.COMPARE_DATE_RELEASED, 3), result);
+    }
+
+    /**
+     * Creates a resource with the given path and release date.<p>
+     * 
+     * @param rootPath the root path
+     * @param dateReleased the release date
+     * 
+     * @return the resource
+     */
+    private CmsResource createResource(String rootPath, long dateReleased) {
+
+        CmsUUID id = CmsUUID.getConstantUUID(rootPath);
+        return new CmsResource(
+            id,
+            id,
+            rootPath,
+            1,
+            false,
+            0,
+            CmsUUID.getNullUUID(),
+            CmsResource.STATE_UNCHANGED,
+            0,
+            CmsUUID.getNullUUID(),
+            0,
+            CmsUUID.getNullUUID(),
+            dateReleased,
+            CmsResource.DATE_EXPIRED_DEFAULT,
+            1,
+            0,
+            0,
+            0);
+    }
+
+    /**
+     * Creates a list of resources with random release dates and paths.<p>
+     * 
+     * @param count the number of resources
+     * @param dates the number of different release dates, the smaller the more ties
+     * @param seed the seed for the random numbers
+     * 
+     * @return the list of resources
+     */
+    private List<CmsResource> createResources(int count, int dates, long seed) {
+
+        Random random = new Random(seed);
+        List<CmsResource> result = new ArrayList<CmsResource>(count);
+        for (int i = 0; i < count; i++) {
+            long dateReleased = 1000L * (1 + random.nextInt(dates));
+            result.add(createResource("/test/" + random.nextInt(count) + "/file" + i, dateReleased));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the first resources in the given order, like the collectors did before selecting the results with a heap.<p>
+     * 
+     * @param resources the resources
+     * @param comparator the comparator defining the order
+     * @param count the maximum number of resources to return, if &lt;= 0 all resources are returned
+     * 
+     * @return the first resources
+     */
+    private List<CmsResource> sortAndShrink(
+        List<CmsResource> resources,
+        Comparator<? super CmsResource> comparator,
+        int count) {
+
+        List<CmsResource> result = new ArrayList<CmsResource>(resources);
+        Collections.sort(result, comparator);
+        return m_collector.shrinkToFit(result, count);
+    }
+}
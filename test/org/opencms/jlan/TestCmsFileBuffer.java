@@ -0,0 +1,297 @@
+/*
+ * This library is part of OpenCms -
+ * the Open Source Content Management System
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software GmbH, please see the
+ * company website: http://www.alkacon.com
+ *
+ * For further information about OpenCms, please see the
+ * project website: http://www.opencms.org
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+
+package org.opencms.jlan;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.alfresco.jlan.server.filesys.DiskFullException;
+
+import junit.framework.TestCase;
+
+/**
+ * Test case for <code>{@link org.opencms.jlan.CmsFileBuffer}</code> and <code>{@link org.opencms.jlan.CmsFileBufferPool}</code>.<p>
+ * 
+ * @since 9.0.0
+ */
+public class TestCmsFileBuffer extends TestCase {
+
+    /**
+     * Default JUnit constructor.<p>
+     * 
+     * @param arg0 JUnit parameters
+     */
+    public TestCmsFileBuffer(String arg0) {
+
+        super(arg0);
+    }
+
+    /**
+     * Tests that the initial contents are copied into the buffer and counted by the pool.<p>
+     * 
+     * @throws Exception in case the test fails
+     */
+    public void testInit() throws Exception {
+
+        CmsFileBufferPool pool = new CmsFileBufferPool(1024 * 1024, 1024 * 1024);
+        CmsFileBuffer buffer = pool.createBuffer();
+        byte[] data = createData(100000, 1);
+        buffer.init(data);
+        Arrays.fill(data, (byte)0);
+        assertEquals(100000, buffer.getLength());
+        assertEquals(0, buffer.getPosition());
+        assertEquals(2 * CmsFileBufferPool.CHUNK_SIZE, pool.getMemoryUsed());
+        assertTrue(Arrays.equals(createData(100000, 1), buffer.getContents()));
+        buffer.close();
+        assertEquals(0, pool.getMemoryUsed());
+        assertEquals(0, buffer.getLength());
+    }
+
+    /**
+     * Tests that a buffer can not grow larger than the maximum file size.<p>
+     * 
+     * @throws Exception in case the test fails
+     */
+    public void testMaxFileSize() throws Exception {
+
+        CmsFileBufferPool pool = new CmsFileBufferPool(1024 * 1024, 1024 * 1024);
+        pool.setMaxFileSize(1000);
+        CmsFileBuffer buffer = pool.createBuffer();
+        buffer.write(createData(1000, 1));
+        buffer.seek(1000);
+        try {
+            buffer.write(new byte[] {1});
+            fail("writing beyond the maximum file size must fail");
+        } catch (DiskFullException e) {
+            // expected
+        }
+        try {
+            buffer.truncate(2000);
+            fail("extending the file beyond the maximum file size must fail");
+        } catch (DiskFullException e) {
+            // expected
+        }
+        assertEquals(1000, buffer.getLength());
+        pool.setMaxFileSize(Long.MAX_VALUE);
+        assertEquals(CmsFileBufferPool.MAX_FILE_SIZE, pool.getMaxFileSize());
+        buffer.close();
+    }
+
+    /**
+     * Tests reading and writing a buffer which is kept in memory.<p>
+     * 
+     * Writing does not change the write position, the position is always set explicitly by the network file.<p>
+     * 
+     * @throws Exception in case the test fails
+     */
+    public void testReadWrite() throws Exception {
+
+        CmsFileBufferPool pool = new CmsFileBufferPool(1024 * 1024, 1024 * 1024);
+        CmsFileBuffer buffer = pool.createBuffer();
+        byte[] data = createData(3 * CmsFileBufferPool.CHUNK_SIZE + 17, 3);
+        buffer.write(data);
+        assertFalse(buffer.isSpilled());
+        assertEquals(data.length, buffer.getLength());
+        assertEquals(0, buffer.getPosition());
+        assertEquals(4 * CmsFileBufferPool.CHUNK_SIZE, pool.getMemoryUsed());
+
+        // overwrite a range across a chunk boundary
+        buffer.seek(CmsFileBufferPool.CHUNK_SIZE - 5);
+        buffer.write(new byte[] {-1, -1, -1, -1, -1, -1, -1, -1, -1, -1});
+        for (int i = 0; i < 10; i++) {
+            data[(CmsFileBufferPool.CHUNK_SIZE - 5) + i] = -1;
+        }
+        assertTrue(Arrays.equals(data, buffer.getContents()));
+
+        // read across the end of the file
+        byte[] dest = new byte[100];
+        assertEquals(17, buffer.read(dest, 100, 0, 3 * CmsFileBufferPool.CHUNK_SIZE));
+        assertEquals(data[3 * CmsFileBufferPool.CHUNK_SIZE], dest[0]);
+        assertEquals(-1, buffer.read(dest, 100, 0, data.length));
+        buffer.close();
+        assertEquals(0, pool.getMemoryUsed());
+    }
+
+    /**
+     * Tests that a buffer is moved to a temporary file if the memory limit of the pool is reached.<p>
+     * 
+     * @throws Exception in case the test fails
+     */
+    public void testSpillOnMemoryLimit() throws Exception {
+
+        CmsFileBufferPool pool = new CmsFileBufferPool(2 * CmsFileBufferPool.CHUNK_SIZE, 1024 * 1024);
+        CmsFileBuffer first = pool.createBuffer();
+        first.write(createData(CmsFileBufferPool.CHUNK_SIZE + 1, 5));
+        assertFalse(first.isSpilled());
+
+        // the second buffer does not get any memory
+        CmsFileBuffer second = pool.createBuffer();
+        byte[] data = createData(1000, 7);
+        second.write(data);
+        assertTrue(second.isSpilled());
+        assertEquals(1, pool.getSpilledBuffers());
+        assertTrue(Arrays.equals(data, second.getContents()));
+        second.close();
+        first.close();
+        assertEquals(0, pool.getSpilledBuffers());
+        assertEquals(1, pool.getSpilledBuffersTotal());
+        assertEquals(0, pool.getMemoryUsed());
+    }
+
+    /**
+     * Tests that a buffer is moved to a temporary file if it grows larger than the spill threshold.<p>
+     * 
+     * @throws Exception in case the test fails
+     */
+    public void testSpillOnThreshold() throws Exception {
+
+        CmsFileBufferPool pool = new CmsFileBufferPool(1024 * 1024, 100000);
+        CmsFileBuffer buffer = pool.createBuffer();
+        byte[] start = createData(90000, 11);
+        buffer.write(start);
+        assertFalse(buffer.isSpilled());
+        buffer.seek(start.length);
+        byte[] end = createData(20000, 13);
+        buffer.write(end);
+        assertTrue(buffer.isSpilled());
+        // the memory chunks have been released
+        assertEquals(0, pool.getMemoryUsed());
+
+        byte[] expected = new byte[110000];
+        System.arraycopy(start, 0, expected, 0, start.length);
+        System.arraycopy(end, 0, expected, start.length, end.length);
+        assertTrue(Arrays.equals(expected, buffer.getContents()));
+        buffer.close();
+        assertEquals(0, pool.getSpilledBuffers());
+    }
+
+    /**
+     * Tests truncating and extending buffers in memory and in a temporary file.<p>
+     * 
+     * @throws Exception in case the test fails
+     */
+    public void testTruncate() throws Exception {
+
+        checkTruncate(new CmsFileBufferPool(1024 * 1024, 1024 * 1024), false);
+        checkTruncate(new CmsFileBufferPool(1024 * 1024, 0), true);
+    }
+
+    /**
+     * Tests that gaps created by writing behind the end of the file are filled with 0s.<p>
+     * 
+     * @throws Exception in case the test fails
+     */
+    public void testZeroFill() throws Exception {
+
+        checkZeroFill(new CmsFileBufferPool(1024 * 1024, 1024 * 1024), false);
+        checkZeroFill(new CmsFileBufferPool(1024 * 1024, 0), true);
+    }
+
+    /**
+     * Truncates and extends a buffer and checks its contents.<p>
+     * 
+     * @param pool the pool to use
+     * @param spilled if the buffer is expected to use a temporary file
+     * 
+     * @throws IOException if something goes wrong
+     */
+    private void checkTruncate(CmsFileBufferPool pool, boolean spilled) throws IOException {
+
+        CmsFileBuffer buffer = pool.createBuffer();
+        byte[] data = createData(2 * CmsFileBufferPool.CHUNK_SIZE + 100, 17);
+        buffer.write(data);
+        assertEquals(spilled, buffer.isSpilled());
+        buffer.seek(data.length);
+
+        // shrinking releases the unused chunks and moves the write position
+        buffer.truncate(CmsFileBufferPool.CHUNK_SIZE + 10);
+        assertEquals(CmsFileBufferPool.CHUNK_SIZE + 10, buffer.getLength());
+        assertEquals(CmsFileBufferPool.CHUNK_SIZE + 10, buffer.getPosition());
+        if (!spilled) {
+            assertEquals(2 * CmsFileBufferPool.CHUNK_SIZE, pool.getMemoryUsed());
+        }
+
+        // extending the buffer again must not bring back the truncated data
+        buffer.truncate(2 * CmsFileBufferPool.CHUNK_SIZE + 100);
+        byte[] expected = new byte[data.length];
+        System.arraycopy(data, 0, expected, 0, CmsFileBufferPool.CHUNK_SIZE + 10);
+        assertTrue(Arrays.equals(expected, buffer.getContents()));
+
+        buffer.truncate(0);
+        assertEquals(0, buffer.getLength());
+        assertEquals(0, buffer.getContents().length);
+        buffer.close();
+        assertEquals(0, pool.getMemoryUsed());
+        assertEquals(0, pool.getSpilledBuffers());
+    }
+
+    /**
+     * Writes behind the end of a buffer and checks that the gap is filled with 0s.<p>
+     * 
+     * @param pool the pool to use
+     * @param spilled if the buffer is expected to use a temporary file
+     * 
+     * @throws IOException if something goes wrong
+     */
+    private void checkZeroFill(CmsFileBufferPool pool, boolean spilled) throws IOException {
+
+        CmsFileBuffer buffer = pool.createBuffer();
+        buffer.write(createData(CmsFileBufferPool.CHUNK_SIZE, 19));
+        // shrink first, so the memory chunk still contains data behind the end of the file
+        buffer.truncate(10);
+        buffer.seek(CmsFileBufferPool.CHUNK_SIZE + 50000);
+        byte[] tail = createData(10, 23);
+        buffer.write(tail);
+        assertEquals(spilled, buffer.isSpilled());
+        assertEquals(CmsFileBufferPool.CHUNK_SIZE + 50010, buffer.getLength());
+
+        byte[] expected = new byte[CmsFileBufferPool.CHUNK_SIZE + 50010];
+        System.arraycopy(createData(10, 19), 0, expected, 0, 10);
+        System.arraycopy(tail, 0, expected, CmsFileBufferPool.CHUNK_SIZE + 50000, 10);
+        assertTrue(Arrays.equals(expected, buffer.getContents()));
+        buffer.close();
+    }
+
+    /**
+     * Creates test data.<p>
+     * 
+     * @param length the length of the data
+     * @param seed the value of the first byte 
+     * 
+     * @return the test data
+     */
+    private byte[] createData(int length, int seed) {
+
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte)(seed + i);
+        }
+        return data;
+    }
+}
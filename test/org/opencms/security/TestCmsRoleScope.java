@@ -0,0 +1,197 @@
+/*
+ * This library is part of OpenCms -
+ * the Open Source Content Management System
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software GmbH, please see the
+ * company website: http://www.alkacon.com
+ *
+ * For further information about OpenCms, please see the
+ * project website: http://www.opencms.org
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+
+package org.opencms.security;
+
+import org.opencms.file.CmsGroup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for the <code>{@link org.opencms.security.CmsRoleScope}</code>.<p>
+ * 
+ * The scope must give the same result as the check of the resource paths with 
+ * <code>{@link String#startsWith(String)}</code> which it replaces.<p>
+ * 
+ * @since 9.0.0
+ */
+public class TestCmsRoleScope extends TestCase {
+
+    /** Root paths of organizational unit resources used by the tests. */
+    private static final String[] OU_PATHS = {
+        "/sites/default/news",
+        "/sites/default/about/",
+        "/sites/other/",
+        "/shared/file.txt"};
+
+    /** Root paths of resources to check. */
+    private static final String[] RESOURCE_PATHS = {
+        "/",
+        "/sites/",
+        "/sites/default/",
+        "/sites/default/news",
+        "/sites/default/news/",
+        "/sites/default/news/index.html",
+        "/sites/default/newsletter/index.html",
+        "/sites/default/new",
+        "/sites/default/about",
+        "/sites/default/about/",
+        "/sites/default/about/team.html",
+        "/sites/default/aboutus.html",
+        "/sites/other",
+        "/sites/other/index.html",
+        "/sites/otherside/index.html",
+        "/shared/file.txt",
+        "/shared/file.txt.bak",
+        "/shared/file.tx",
+        "/system/modules/"};
+
+    /**
+     * Default JUnit constructor.<p>
+     * 
+     * @param arg0 JUnit parameters
+     */
+    public TestCmsRoleScope(String arg0) {
+
+        super(arg0);
+    }
+
+    /**
+     * Tests that the scope gives the same result as <code>startsWith</code> for all combinations of 
+     * organizational unit resources and resource paths.<p>
+     */
+    public void testMatchesStartsWith() {
+
+        // all subsets of the OU resources
+        for (int mask = 0; mask < (1 << OU_PATHS.length); mask++) {
+            List<String> ouPaths = new ArrayList<String>();
+            for (int i = 0; i < OU_PATHS.length; i++) {
+                if ((mask & (1 << i)) != 0) {
+                    ouPaths.add(OU_PATHS[i]);
+                }
+            }
+            CmsRoleScope scope = createScope();
+            scope.addRole(CmsRole.WORKPLACE_USER, false, ouPaths);
+            for (String path : RESOURCE_PATHS) {
+                assertEquals(ouPaths + " / " + path, startsWith(ouPaths, path), scope.hasRoleForPath(
+                    CmsRole.WORKPLACE_USER,
+                    path));
+            }
+        }
+    }
+
+    /**
+     * Tests an organizational unit resource which is a prefix of a resource path without a slash boundary.<p>
+     * 
+     * The old check used <code>startsWith</code>, so the role also applies to such paths.<p>
+     */
+    public void testPrefixWithoutSlashBoundary() {
+
+        CmsRoleScope scope = createScope();
+        scope.addRole(CmsRole.WORKPLACE_USER, false, Collections.singletonList("/sites/default/news"));
+        assertTrue(scope.hasRoleForPath(CmsRole.WORKPLACE_USER, "/sites/default/newsletter/index.html"));
+        assertTrue(scope.hasRoleForPath(CmsRole.WORKPLACE_USER, "/sites/default/news/index.html"));
+        assertFalse(scope.hasRoleForPath(CmsRole.WORKPLACE_USER, "/sites/default/new"));
+
+        scope = createScope();
+        scope.addRole(CmsRole.WORKPLACE_USER, false, Collections.singletonList("/sites/default/news/"));
+        assertFalse(scope.hasRoleForPath(CmsRole.WORKPLACE_USER, "/sites/default/newsletter/index.html"));
+        assertFalse(scope.hasRoleForPath(CmsRole.WORKPLACE_USER, "/sites/default/news"));
+    }
+
+    /**
+     * Tests that the paths of a role do not apply to other roles.<p>
+     */
+    public void testRoles() {
+
+        CmsRoleScope scope = createScope();
+        assertFalse(scope.hasRole(CmsRole.WORKPLACE_USER));
+        assertFalse(scope.hasRoleForPath(CmsRole.WORKPLACE_USER, "/sites/default/"));
+
+        scope.addRole(CmsRole.WORKPLACE_USER, false, Arrays.asList(OU_PATHS));
+        scope.addRole(CmsRole.DEVELOPER, false, new ArrayList<String>());
+        assertTrue(scope.hasRole(CmsRole.WORKPLACE_USER));
+        assertTrue(scope.hasRole(CmsRole.DEVELOPER));
+        assertFalse(scope.hasRole(CmsRole.VFS_MANAGER));
+        assertTrue(scope.hasRoleForPath(CmsRole.WORKPLACE_USER, "/sites/other/index.html"));
+        assertFalse(scope.hasRoleForPath(CmsRole.DEVELOPER, "/sites/other/index.html"));
+        assertFalse(scope.hasRoleForPath(CmsRole.VFS_MANAGER, "/sites/other/index.html"));
+    }
+
+    /**
+     * Tests a role which applies to all resources.<p>
+     */
+    public void testUnrestricted() {
+
+        CmsRoleScope scope = createScope();
+        scope.addRole(CmsRole.WORKPLACE_USER, true, new ArrayList<String>());
+        for (String path : RESOURCE_PATHS) {
+            assertTrue(path, scope.hasRoleForPath(CmsRole.WORKPLACE_USER, path));
+        }
+
+        // the root folder as organizational unit resource
+        scope = createScope();
+        scope.addRole(CmsRole.WORKPLACE_USER, false, Collections.singletonList("/"));
+        for (String path : RESOURCE_PATHS) {
+            assertTrue(path, scope.hasRoleForPath(CmsRole.WORKPLACE_USER, path));
+        }
+    }
+
+    /**
+     * Creates an empty role scope.<p>
+     * 
+     * @return the role scope
+     */
+    private CmsRoleScope createScope() {
+
+        return new CmsRoleScope(new ArrayList<CmsGroup>());
+    }
+
+    /**
+     * Checks the resource path like it was done before the role scope was introduced.<p>
+     * 
+     * @param ouPaths the root paths of the organizational unit resources
+     * @param path the resource path to check
+     * 
+     * @return <code>true</code> if the resource path starts with one of the organizational unit resource paths
+     */
+    private boolean startsWith(List<String> ouPaths, String path) {
+
+        for (String ouPath : ouPaths) {
+            if (path.startsWith(ouPath)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}